@@ -2,8 +2,10 @@ package co.simplon.cda.event_connect_backend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class EventConnectBackendApplication {
 
 	public static void main(String[] args) {
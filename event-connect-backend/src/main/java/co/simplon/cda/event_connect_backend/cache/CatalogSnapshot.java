@@ -0,0 +1,28 @@
+package co.simplon.cda.event_connect_backend.cache;
+
+/**
+ * Réponse de listing pré-sérialisée pour une version du catalogue
+ *
+ * @param version    version du catalogue au moment de la construction
+ * @param json       corps JSON (tableau d'événements)
+ * @param gzip       même corps compressé en gzip
+ * @param nextCursor curseur de la page suivante (null sur la dernière page)
+ */
+public record CatalogSnapshot(
+        long version,
+        byte[] json,
+        byte[] gzip,
+        String nextCursor
+) {
+    /**
+     * ETag fort d'une version : une variante par encodage
+     * (les octets envoyés diffèrent entre JSON brut et gzip)
+     */
+    public static String etag(long version, boolean gzipped) {
+        return "\"v" + version + (gzipped ? "-gz" : "") + "\"";
+    }
+
+    public String etag(boolean gzipped) {
+        return etag(version, gzipped);
+    }
+}
@@ -0,0 +1,46 @@
+package co.simplon.cda.event_connect_backend.cache;
+
+import co.simplon.cda.event_connect_backend.changes.EventChange;
+import co.simplon.cda.event_connect_backend.changes.EventsChanged;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version du catalogue public des événements
+ *
+ * Avance après commit de chaque création, modification ou suppression (EventChange),
+ * de chaque écriture en lot (EventsChanged)
+ * et à minuit (le listing par défaut exclut les événements passés)
+ * Sert de base aux ETags des listings : tant qu'elle ne bouge pas,
+ * les réponses de GET /events et /events/by-category/{id} sont identiques
+ *
+ * Initialisée avec l'heure de démarrage : un redémarrage ne réutilise
+ * jamais une version déjà distribuée aux clients
+ */
+@Component
+public class CatalogVersion {
+
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+    public long current() {
+        return version.get();
+    }
+
+    @TransactionalEventListener
+    public void onEventChange(EventChange change) {
+        version.incrementAndGet();
+    }
+
+    @TransactionalEventListener
+    public void onEventsChanged(EventsChanged changed) {
+        version.incrementAndGet();
+    }
+
+    @Scheduled(cron = "0 0 0 * * *")
+    public void onNewDay() {
+        version.incrementAndGet();
+    }
+}
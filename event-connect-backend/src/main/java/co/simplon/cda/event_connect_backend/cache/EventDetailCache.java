@@ -0,0 +1,149 @@
+package co.simplon.cda.event_connect_backend.cache;
+
+import co.simplon.cda.event_connect_backend.changes.EventChange;
+import co.simplon.cda.event_connect_backend.changes.EventsChanged;
+import co.simplon.cda.event_connect_backend.dtos.event.EventViewDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Cache mémoire du détail des événements (GET /events/{id}, GET /events?ids=)
+ *
+ * Fonctionnement (read-through) :
+ * - Hit : le DTO est renvoyé sans requête SQL
+ * - Miss : le loader interroge la BDD, le résultat est mis en cache
+ *
+ * Éviction :
+ * - Par taille : au-delà de max-size entrées, les moins utilisées sont retirées
+ * - Par durée : une entrée expire après ttl
+ * - Cache négatif : un id inconnu est mémorisé (Optional.empty) pendant negative-ttl
+ *   pour ne pas marteler la BDD avec des 404
+ *
+ * Invalidation : après commit de toute création, modification ou suppression (EventChange)
+ *
+ * Compteurs hit/miss/éviction exposés par Micrometer :
+ * GET /actuator/metrics/cache.gets?tag=cache:eventDetails
+ */
+@Component
+public class EventDetailCache {
+    private static final Logger logger = LoggerFactory.getLogger(EventDetailCache.class);
+
+    static final String CACHE_NAME = "eventDetails";
+
+    private final Cache<Integer, Optional<EventViewDTO>> cache;
+
+    @Autowired
+    public EventDetailCache(
+            MeterRegistry meterRegistry,
+            @Value("${eventconnect.cache.event-details.max-size:10000}") long maxSize,
+            @Value("${eventconnect.cache.event-details.ttl:10m}") Duration ttl,
+            @Value("${eventconnect.cache.event-details.negative-ttl:30s}") Duration negativeTtl
+    ) {
+        this(maxSize, ttl, negativeTtl, Ticker.systemTicker());
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Constructeur sans métriques, avec horloge configurable (tests)
+     */
+    EventDetailCache(long maxSize, Duration ttl, Duration negativeTtl, Ticker ticker) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new DetailExpiry(ttl, negativeTtl))
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Renvoie le détail en cache ou le charge avec le loader
+     *
+     * Le loader est appelé une seule fois par id même en cas de requêtes
+     * simultanées (les autres threads attendent son résultat)
+     */
+    public Optional<EventViewDTO> get(Integer id, Function<Integer, Optional<EventViewDTO>> loader) {
+        return cache.get(id, loader);
+    }
+
+    /**
+     * Renvoie le détail de plusieurs événements, en cache ou chargés ensemble
+     *
+     * Le loader ne reçoit que les ids absents du cache et les charge en une fois ;
+     * il renvoie Optional.empty() pour un id inconnu (mis en cache négatif)
+     */
+    public Map<Integer, Optional<EventViewDTO>> getAll(
+            Collection<Integer> ids,
+            Function<List<Integer>, Map<Integer, Optional<EventViewDTO>>> loader) {
+        return cache.getAll(ids, missing -> loader.apply(List.copyOf(missing)));
+    }
+
+    /**
+     * Retire un événement du cache
+     */
+    public void invalidate(Integer id) {
+        cache.invalidate(id);
+    }
+
+    /**
+     * Invalidation après commit d'une écriture sur un événement
+     * (une création invalide aussi un éventuel cache négatif sur cet id)
+     */
+    @TransactionalEventListener
+    public void onEventChange(EventChange change) {
+        logger.debug("Invalidation du cache de détail pour l'événement {} ({})", change.eventId(), change.type());
+        invalidate(change.eventId());
+    }
+
+    /**
+     * Écriture en lot : ids retirés du cache (détails modifiés ou supprimés, cache négatif des ids créés)
+     */
+    @TransactionalEventListener
+    public void onEventsChanged(EventsChanged changed) {
+        cache.invalidateAll(changed.eventIds());
+    }
+
+    /**
+     * Statistiques du cache (hits, misses, évictions)
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Durée de vie variable : courte pour les ids inconnus, longue pour les événements existants
+     */
+    private record DetailExpiry(Duration ttl, Duration negativeTtl) implements Expiry<Integer, Optional<EventViewDTO>> {
+        @Override
+        public long expireAfterCreate(Integer id, Optional<EventViewDTO> value, long currentTime) {
+            return (value.isPresent() ? ttl : negativeTtl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Integer id, Optional<EventViewDTO> value, long currentTime, long currentDuration) {
+            return expireAfterCreate(id, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Integer id, Optional<EventViewDTO> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
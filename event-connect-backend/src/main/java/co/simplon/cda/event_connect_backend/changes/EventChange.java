@@ -0,0 +1,37 @@
+package co.simplon.cda.event_connect_backend.changes;
+
+/**
+ * Notification interne : un événement a été créé, modifié ou supprimé
+ *
+ * Publiée par EventService (ApplicationEventPublisher) pendant la transaction
+ * Les abonnés utilisent @TransactionalEventListener : ils ne la reçoivent
+ * qu'APRÈS le commit, donc jamais pour une modification annulée (rollback)
+ *
+ * Exemple d'abonné : EventDetailCache (invalidation du cache de détail)
+ *
+ * Également inscrite, elle, DANS la transaction au journal des modifications
+ * (EventChangeLog) : les consommateurs qui ne doivent rien manquer le relisent
+ * par offset (EventChangeSubscriber, GET /events/changes)
+ */
+public record EventChange(
+        Integer eventId,
+        Type type
+) {
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static EventChange created(Integer eventId) {
+        return new EventChange(eventId, Type.CREATED);
+    }
+
+    public static EventChange updated(Integer eventId) {
+        return new EventChange(eventId, Type.UPDATED);
+    }
+
+    public static EventChange deleted(Integer eventId) {
+        return new EventChange(eventId, Type.DELETED);
+    }
+}
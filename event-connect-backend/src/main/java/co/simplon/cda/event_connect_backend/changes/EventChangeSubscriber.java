@@ -0,0 +1,34 @@
+package co.simplon.cda.event_connect_backend.changes;
+
+import co.simplon.cda.event_connect_backend.dtos.event.EventChangeDTO;
+
+import java.util.List;
+
+/**
+ * Abonné au journal des modifications d'événements (outbox t_event_changes)
+ *
+ * Contrairement aux @TransactionalEventListener, les modifications sont relues
+ * depuis la base par EventChangeRelay : aucune n'est perdue si l'application
+ * s'arrête entre le commit et la notification
+ *
+ * Livraison "au moins une fois", par lots, dans l'ordre du journal :
+ * une exception interrompt la livraison et le même lot est relivré au passage suivant
+ * Le traitement doit donc être idempotent
+ *
+ * Tout bean Spring implémentant cette interface est abonné automatiquement, une fois
+ * le relais activé (eventconnect.outbox.relay.enabled=true, désactivé par défaut)
+ *
+ * Les caches et index en mémoire (EventDetailCache, CategoryBitmapIndex, EventSuggestIndex,
+ * EventGeoIndex) restent sur @TransactionalEventListener : reconstruits depuis la base
+ * au démarrage, ils n'ont rien à rattraper après un arrêt, et leur mise à jour doit
+ * suivre le commit immédiatement (lecture de sa propre écriture), sans attendre le relais
+ */
+public interface EventChangeSubscriber {
+
+    /**
+     * Nom unique et stable : clé de la position de lecture enregistrée en base
+     */
+    String name();
+
+    void onChanges(List<EventChangeDTO> changes);
+}
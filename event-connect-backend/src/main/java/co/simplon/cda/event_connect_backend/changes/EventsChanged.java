@@ -0,0 +1,19 @@
+package co.simplon.cda.event_connect_backend.changes;
+
+import java.util.List;
+
+/**
+ * Notification interne : des événements ont été créés, modifiés ou supprimés en lot
+ * (POST /events/import, POST /events/batch)
+ *
+ * Publiée une seule fois par opération, à la place d'un EventChange par événement :
+ * les abonnés reconstruisent leurs index en une requête au lieu de relire
+ * chaque événement concerné
+ *
+ * Comme EventChange, reçue uniquement après le commit (@TransactionalEventListener)
+ */
+public record EventsChanged(
+        List<Integer> eventIds,
+        EventChange.Type type
+) {
+}
@@ -0,0 +1,14 @@
+package co.simplon.cda.event_connect_backend.changes;
+
+/**
+ * Notification interne : une image a été mise de côté pour un événement (uploads/staging)
+ * et attend son traitement
+ *
+ * Reçue uniquement après le commit (@TransactionalEventListener) : le traitement
+ * ne démarre que si l'événement existe réellement en base
+ */
+public record ImageStaged(
+        Integer eventId,
+        String filename
+) {
+}
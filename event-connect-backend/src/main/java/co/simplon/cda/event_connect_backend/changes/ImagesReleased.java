@@ -0,0 +1,13 @@
+package co.simplon.cda.event_connect_backend.changes;
+
+import java.util.List;
+
+/**
+ * Notification interne : des événements ont été supprimés, leurs images
+ * (et miniatures) ne sont plus référencées
+ *
+ * Reçue uniquement après le commit (@TransactionalEventListener) : les fichiers
+ * ne sont retirés du disque que si la suppression est réellement enregistrée
+ */
+public record ImagesReleased(List<String> filenames) {
+}
@@ -17,8 +17,10 @@ public class CorsConfig {
                                 "http://localhost:4200",
                                 "https://event-connect-frontend.onrender.com"
                         )
-                        .allowedMethods("GET", "POST", "PUT", "DELETE")
+                        .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE")
                         .allowedHeaders("*")
+                        // Curseur de pagination et ETag (If-Match des modifications) lisibles par Angular
+                        .exposedHeaders("X-Next-Cursor", "ETag")
                         .allowCredentials(true);
             }
         };
@@ -0,0 +1,75 @@
+package co.simplon.cda.event_connect_backend.configuration;
+
+import co.simplon.cda.event_connect_backend.entities.Event;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Migration de la colonne identité t_events.event_id vers l'allocation par blocs
+ *
+ * Event.id est lu par blocs de Event.ID_ALLOCATION_SIZE dans t_events_event_id_seq
+ * (Hibernate fournit l'id dans l'INSERT) : la colonne doit accepter un id fourni
+ * (GENERATED BY DEFAULT) et sa séquence avancer de ID_ALLOCATION_SIZE.
+ * Les bases créées par init-scripts/01-init.sql le sont déjà ; une base existante
+ * (GENERATED ALWAYS, pas de 1) ne l'est pas, et spring.jpa.hibernate.ddl-auto=update
+ * ne modifie jamais une colonne existante
+ *
+ * Au démarrage, après la mise à jour du schéma par Hibernate et avant toute insertion :
+ * - Colonne absente, ou non identité (schéma créé par Hibernate, H2 des tests) → rien
+ * - Colonne déjà migrée → rien (migration idempotente)
+ * - Sinon, dans une transaction : GENERATED BY DEFAULT, INCREMENT BY ID_ALLOCATION_SIZE,
+ *   puis séquence repositionnée au-delà du plus grand id existant (jamais en arrière)
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class EventIdSequenceMigration {
+    private static final Logger logger = LoggerFactory.getLogger(EventIdSequenceMigration.class);
+
+    private static final String FIND_IDENTITY = """
+            SELECT identity_generation, identity_increment FROM information_schema.columns
+            WHERE table_schema = current_schema() AND table_name = 't_events'
+              AND column_name = 'event_id' AND is_identity = 'YES'
+            """;
+    private static final String SET_GENERATED_BY_DEFAULT =
+            "ALTER TABLE t_events ALTER COLUMN event_id SET GENERATED BY DEFAULT";
+    private static final String SET_INCREMENT =
+            "ALTER TABLE t_events ALTER COLUMN event_id SET INCREMENT BY " + Event.ID_ALLOCATION_SIZE;
+    // Le prochain bloc commence après max(event_id) et après la dernière valeur distribuée
+    private static final String SET_SEQUENCE_PAST_MAX_ID = """
+            SELECT setval(seq, GREATEST(pg_sequence_last_value(seq), (SELECT MAX(event_id) FROM t_events), 1))
+            FROM (SELECT pg_get_serial_sequence('t_events', 'event_id')::regclass AS seq) s
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public EventIdSequenceMigration(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @PostConstruct
+    public void migrate() {
+        List<Boolean> migrated = jdbcTemplate.query(FIND_IDENTITY, (rs, rowNum) ->
+                "BY DEFAULT".equals(rs.getString(1))
+                        && String.valueOf(Event.ID_ALLOCATION_SIZE).equals(rs.getString(2)));
+        if (migrated.isEmpty() || migrated.get(0)) {
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute(SET_GENERATED_BY_DEFAULT);
+            jdbcTemplate.execute(SET_INCREMENT);
+            jdbcTemplate.queryForObject(SET_SEQUENCE_PAST_MAX_ID, Long.class);
+        });
+        logger.info("Colonne t_events.event_id migrée : GENERATED BY DEFAULT, INCREMENT BY {}",
+                Event.ID_ALLOCATION_SIZE);
+    }
+}
@@ -1,13 +1,23 @@
 package co.simplon.cda.event_connect_backend.configuration;
 
+import co.simplon.cda.event_connect_backend.exceptions.ResourceNotFoundException;
+import co.simplon.cda.event_connect_backend.repositories.ProfileRepository;
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.JWTCreator.Builder;
 import com.auth0.jwt.algorithms.Algorithm;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 
 import java.time.Instant;
 import java.util.List;
 
 public class JwtProvider {
+    private static final Logger logger = LoggerFactory.getLogger(JwtProvider.class);
+
+    // Claim signé portant l'id du profil : les écritures n'ont pas à relire t_profiles
+    public static final String PROFILE_ID_CLAIM = "profile_id";
 
     private final Algorithm algorithm;
 
@@ -18,11 +28,12 @@ public class JwtProvider {
         this.expiration = expiration;
     }
 
-    public String create(String subject, List<String> roles) {
+    public String create(String subject, Integer profileId, List<String> roles) {
         Instant issuedAt = Instant.now();
         Builder builder = JWT.create()
                 .withIssuedAt(issuedAt)
                 .withSubject(subject)
+                .withClaim(PROFILE_ID_CLAIM, profileId)
                 .withClaim("roles", roles);
 
         if (expiration > -1) {
@@ -35,5 +46,34 @@ public class JwtProvider {
     public String verifyJwt(String token) {
         return JWT.decode(token).getSubject();
     }
-}
 
+    /**
+     * Id du profil authentifié, lu dans le jeton déjà vérifié par Spring Security
+     * null si le jeton a été émis avant l'ajout du claim
+     */
+    public static Integer profileId(Authentication authentication) {
+        if (authentication instanceof JwtAuthenticationToken token
+                && token.getToken().getClaim(PROFILE_ID_CLAIM) instanceof Number profileId) {
+            return profileId.intValue();
+        }
+        return null;
+    }
+
+    /**
+     * Id du profil authentifié, pour les services qui écrivent en son nom
+     * Lu dans le jeton (claim profile_id) ; jeton émis avant l'ajout du claim :
+     * lecture de l'id seul par email
+     */
+    public static Integer profileId(Authentication authentication, ProfileRepository profileRepository) {
+        Integer profileId = profileId(authentication);
+        if (profileId != null) {
+            return profileId;
+        }
+        String email = authentication.getName();
+        return profileRepository.findIdByEmail(email)
+                .orElseThrow(() -> {
+                    logger.error("Utilisateur non trouvé : {}", email);
+                    return new ResourceNotFoundException("Profile", "email", email);
+                });
+    }
+}
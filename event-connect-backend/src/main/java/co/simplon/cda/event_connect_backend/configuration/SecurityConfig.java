@@ -28,6 +28,7 @@ public class SecurityConfig {
     // Définir des constantes pour les endpoints
     private static final String EVENTS_BASE_PATH = "/events";
     private static final String EVENTS_PATH = "/events/**";
+    private static final String EVENT_CHANGES_PATH = "/events/changes";
     private static final String CATEGORIES_PATH = "/categories";
     private static final String UPLOAD_IMAGES_PATH = "/upload/images/**";
     private static final String PROFILES_BASE_PATH = "/profiles";
@@ -106,13 +107,16 @@ public class SecurityConfig {
                 .authorizeHttpRequests(req -> req
                         // Health check pour Render (DOIT ETRE PUBLIC)
                         .requestMatchers(ACTUATOR_HEALTH_PATH).permitAll()
+                        // Journal des modifications : consommateurs authentifiés (avant la règle publique)
+                        .requestMatchers(HttpMethod.GET, EVENT_CHANGES_PATH).authenticated()
                         // Routes publiques (GET uniquement)
                         .requestMatchers(HttpMethod.GET, EVENTS_BASE_PATH, EVENTS_PATH, CATEGORIES_PATH, UPLOAD_IMAGES_PATH).permitAll()
                         // Routes d'inscription/connexion (anonymous only)
                         .requestMatchers(HttpMethod.POST, PROFILES_BASE_PATH, PROFILES_AUTH_PATH).anonymous()
                         // Routes protégées pour les events (nécessite authentification)
-                        .requestMatchers(HttpMethod.POST, EVENTS_BASE_PATH).authenticated()
+                        .requestMatchers(HttpMethod.POST, EVENTS_BASE_PATH, EVENTS_PATH).authenticated()
                         .requestMatchers(HttpMethod.PUT, EVENTS_PATH).authenticated()
+                        .requestMatchers(HttpMethod.PATCH, EVENTS_PATH).authenticated()
                         .requestMatchers(HttpMethod.DELETE, EVENTS_PATH).authenticated()
                         // Toutes les autres routes nécessitent une authentification
                         .anyRequest().authenticated())
@@ -1,30 +1,83 @@
 package co.simplon.cda.event_connect_backend.controllers;
 
+import co.simplon.cda.event_connect_backend.cache.CatalogSnapshot;
+import co.simplon.cda.event_connect_backend.dtos.event.EventBatchDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventBatchMutationDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventBatchResultDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventChangeFeedDTO;
 import co.simplon.cda.event_connect_backend.dtos.event.EventCreateDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventImageDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventImportReportDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventNearbyDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventPageDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventPageRequest;
+import co.simplon.cda.event_connect_backend.dtos.event.EventSearchRequest;
+import co.simplon.cda.event_connect_backend.dtos.event.EventSuggestionDTO;
 import co.simplon.cda.event_connect_backend.dtos.event.EventUpdateDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventVersionDTO;
 import co.simplon.cda.event_connect_backend.dtos.event.EventViewDTO;
+import co.simplon.cda.event_connect_backend.exceptions.PreconditionFailedException;
+import co.simplon.cda.event_connect_backend.services.CatalogSnapshotService;
+import co.simplon.cda.event_connect_backend.services.EventChangeLog;
+import co.simplon.cda.event_connect_backend.services.EventImageService;
+import co.simplon.cda.event_connect_backend.services.EventImportService;
+import co.simplon.cda.event_connect_backend.services.EventRegistrationService;
+import co.simplon.cda.event_connect_backend.services.EventSearchService;
 import co.simplon.cda.event_connect_backend.services.EventService;
 import co.simplon.cda.event_connect_backend.services.FileStorageService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * Contrôleur REST pour la gestion des événements
  * Expose les endpoints CRUD pour l'API événements
  *
  * Routes :
- * - GET    /events           → Liste tous les événements (public)
+ * - GET    /events           → Liste paginée des événements, filtrable par catégories (public, ETag + gzip)
  * - GET    /events/{id}      → Détails d'un événement (public)
- * - GET    /events/by-category/{id} → Événements par catégorie (public)
+ * - GET    /events/{id}/image → État du traitement de l'image (PENDING, READY, FAILED) (public)
+ * - GET    /events?ids=1,2,3 → Détails de plusieurs événements, dans l'ordre demandé (public)
+ * - GET    /events/by-category/{id} → Événements par catégorie, paginés (public)
+ * - GET    /events/search?q= → Recherche plein texte, par pertinence, paginée (public)
+ * - GET    /events/suggest?prefix= → Autocomplétion sur le nom (public)
+ * - GET    /events/nearby?lat=&lon= → Événements proches, par distance (public)
+ * - GET    /events/stream    → Tous les événements en flux, tableau JSON (public)
+ * - GET    /events/export    → Tous les événements en flux, NDJSON (public)
+ * - GET    /events/changes?after= → Journal des modifications, à partir d'un offset (authentifié)
  * - POST   /events           → Créer un événement (authentifié)
+ * - POST   /events/import    → Importer des événements en lot, JSON ou CSV (authentifié)
  * - PUT    /events/{id}      → Modifier un événement (authentifié + owner)
+ * - PATCH  /events/{id}      → Modifier une partie d'un événement, JSON merge-patch (authentifié + owner)
  * - DELETE /events/{id}      → Supprimer un événement (authentifié + owner)
+ * - POST   /events/{id}/registrations → S'inscrire à un événement, dans la limite des places (authentifié)
+ * - DELETE /events/{id}/registrations → Annuler son inscription (authentifié)
+ * - POST   /events/batch     → Supprimer, reprogrammer ou recatégoriser plusieurs événements (authentifié + owner)
  */
 @RestController
 @RequestMapping("/events")
@@ -39,15 +92,48 @@ public class EventController {
     private static final String MSG_EVENT_CREATED = "Event créé avec succès";
     private static final String MSG_EVENT_UPDATED = "Event mis à jour avec succès";
     private static final String MSG_EVENT_DELETED = "Event supprimé avec succès";
+    private static final String MSG_REGISTRATION_CREATED = "Inscription enregistrée";
+    private static final String MSG_REGISTRATION_DELETED = "Inscription annulée";
+
+    // En-tête portant le curseur de la page suivante
+    static final String HEADER_NEXT_CURSOR = "X-Next-Cursor";
+    private static final String ENCODING_GZIP = "gzip";
+    private static final String ENCODING_ANY = "*";
+    private static final String EXPORT_FILENAME = "events.ndjson";
+    private static final String TEXT_CSV_VALUE = "text/csv";
+    private static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
     private final EventService eventService;
+    private final EventSearchService eventSearchService;
+    private final EventImportService eventImportService;
+    private final CatalogSnapshotService catalogSnapshotService;
     private final FileStorageService fileStorageService;
+    private final EventImageService eventImageService;
+    private final EventChangeLog eventChangeLog;
+    private final EventRegistrationService eventRegistrationService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Constructeur avec injection de dépendances
      */
-    public EventController(EventService eventService, FileStorageService fileStorageService) {
+    public EventController(EventService eventService,
+                           EventSearchService eventSearchService,
+                           EventImportService eventImportService,
+                           CatalogSnapshotService catalogSnapshotService,
+                           FileStorageService fileStorageService,
+                           EventImageService eventImageService,
+                           EventChangeLog eventChangeLog,
+                           EventRegistrationService eventRegistrationService,
+                           ObjectMapper objectMapper) {
         this.eventService = eventService;
+        this.eventSearchService = eventSearchService;
+        this.eventImportService = eventImportService;
+        this.catalogSnapshotService = catalogSnapshotService;
         this.fileStorageService = fileStorageService;
+        this.eventImageService = eventImageService;
+        this.eventChangeLog = eventChangeLog;
+        this.eventRegistrationService = eventRegistrationService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -57,6 +143,9 @@ public class EventController {
      * - "event" : JSON avec les données de l'événement
      * - "image" : Fichier image
      *
+     * L'image est seulement mise de côté : elle est traitée après l'enregistrement,
+     * en arrière-plan (état consultable via GET /events/{id}/image)
+     *
      * Sécurité : Nécessite une authentification JWT
      * L'utilisateur est automatiquement associé comme créateur
      */
@@ -65,22 +154,53 @@ public class EventController {
             @Valid @RequestPart("event") EventCreateDTO inputs,
             @RequestPart(value = "image", required = false) MultipartFile image) {
 
-        // Sauvegarde de l'image si fournie
+        // Mise de côté de l'image si fournie
         String imgUrl = null;
         if(image != null && !image.isEmpty()) {
-            imgUrl = fileStorageService.saveImage(image);
+            imgUrl = fileStorageService.stageImage(image);
         }
         // Création de l'événement en base
-        eventService.create(inputs, imgUrl);
+        String stagedImage = imgUrl;
+        withStagedImage(stagedImage, () -> {
+            eventService.create(inputs, stagedImage);
+            return null;
+        });
         return ResponseEntity.ok(Map.of(
                 RESPONSE_KEY_MESSAGE, MSG_EVENT_CREATED,
                 RESPONSE_KEY_STATUS, RESPONSE_STATUS_SUCCESS
         ));
     }
 
+    /**
+     * Importe des événements en lot (partenaires)
+     *
+     * Format de la requête :
+     * - application/json : tableau d'événements (mêmes attributs que la création)
+     * - text/csv : une ligne par événement, première ligne = noms des attributs
+     *
+     * Les lignes invalides sont rejetées, les autres importées : le compte rendu
+     * donne pour chaque ligne l'id créé ou les motifs du rejet
+     *
+     * Sécurité : Nécessite une authentification JWT
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public EventImportReportDTO importEvents(@RequestBody List<JsonNode> events) {
+        return eventImportService.importEvents(events);
+    }
+
+    @PostMapping(value = "/import", consumes = TEXT_CSV_VALUE)
+    public EventImportReportDTO importCsv(@RequestBody String csv) {
+        return eventImportService.importCsv(csv);
+    }
+
     /**
      * Met à jour un événement existant
      *
+     * Concurrence optimiste :
+     * - If-Match = ETag lu sur GET /events/{id} → 412 si l'événement a été modifié depuis
+     * - Sans If-Match, seule une modification concurrente à celle-ci est détectée (412)
+     * - Réponse : nouvel ETag et Last-Modified
+     *
      * Sécurité :
      * - Nécessite authentification
      * - Seul le créateur peut modifier son événement
@@ -88,13 +208,43 @@ public class EventController {
     @PutMapping(value = "/{id}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<Map<String, String>> update(@PathVariable Integer id,
                                          @Valid @RequestPart("event") EventUpdateDTO inputs,
-                                         @RequestPart(value = "image", required = false) MultipartFile image) {
-        // Sauvegarde de la nouvelle image si fournie
-        String imgUrl = (image != null) ? fileStorageService.saveImage(image) : null;
+                                         @RequestPart(value = "image", required = false) MultipartFile image,
+                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        // Condition vérifiée avant toute écriture, image comprise
+        Long expectedVersion = expectedVersion(ifMatch);
+
+        // Mise de côté de la nouvelle image si fournie
+        String imgUrl = (image != null) ? fileStorageService.stageImage(image) : null;
 
         // Mise à jour en base
-        eventService.update(inputs, id, imgUrl);
-        return ResponseEntity.ok(Map.of(
+        EventVersionDTO version = withStagedImage(imgUrl, () -> eventService.update(inputs, id, imgUrl, expectedVersion));
+        return versioned(ResponseEntity.ok(), version).body(Map.of(
+                RESPONSE_KEY_MESSAGE, MSG_EVENT_UPDATED,
+                RESPONSE_KEY_STATUS, RESPONSE_STATUS_SUCCESS
+        ));
+    }
+
+    /**
+     * Modifie une partie d'un événement (JSON merge-patch, RFC 7396)
+     *
+     * Format de la requête : application/merge-patch+json (ou application/json)
+     * - Attributs absents : inchangés
+     * - Attribut à null : effacé (prix, nombre de places, coordonnées)
+     * - Ex : {"dateEvent": "2026-12-24"} → seule la date est écrite
+     *
+     * L'image ne se modifie pas ici (PUT /events/{id} en multipart)
+     * Concurrence optimiste et réponse : comme PUT (If-Match → 412, nouvel ETag)
+     *
+     * Sécurité :
+     * - Nécessite authentification
+     * - Seul le créateur peut modifier son événement
+     */
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Map<String, String>> patch(@PathVariable Integer id,
+                                                     @RequestBody JsonNode patch,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        EventVersionDTO version = eventService.patch(id, patch, expectedVersion(ifMatch));
+        return versioned(ResponseEntity.ok(), version).body(Map.of(
                 RESPONSE_KEY_MESSAGE, MSG_EVENT_UPDATED,
                 RESPONSE_KEY_STATUS, RESPONSE_STATUS_SUCCESS
         ));
@@ -117,30 +267,386 @@ public class EventController {
     }
 
     /**
-     * Récupère tous les événements
+     * Inscrit l'utilisateur authentifié à un événement
+     *
+     * Réponses :
+     * - 201 : place réservée
+     * - 409 : événement complet ou utilisateur déjà inscrit
+     * - 503 : trop d'inscriptions simultanées, la requête peut être renvoyée
+     *
+     * Sécurité : Nécessite authentification
+     */
+    @PostMapping("/{id}/registrations")
+    public ResponseEntity<Map<String, String>> register(@PathVariable Integer id) {
+        eventRegistrationService.register(id);
+        return ResponseEntity.status(HttpStatus.CREATED).body(Map.of(
+                RESPONSE_KEY_MESSAGE, MSG_REGISTRATION_CREATED,
+                RESPONSE_KEY_STATUS, RESPONSE_STATUS_SUCCESS
+        ));
+    }
+
+    /**
+     * Annule l'inscription de l'utilisateur authentifié et libère sa place
+     *
+     * Sécurité : Nécessite authentification
+     */
+    @DeleteMapping("/{id}/registrations")
+    public ResponseEntity<Map<String, String>> unregister(@PathVariable Integer id) {
+        eventRegistrationService.unregister(id);
+        return ResponseEntity.ok(Map.of(
+                RESPONSE_KEY_MESSAGE, MSG_REGISTRATION_DELETED,
+                RESPONSE_KEY_STATUS, RESPONSE_STATUS_SUCCESS
+        ));
+    }
+
+    /**
+     * Applique une opération à plusieurs événements de l'organisateur
+     * (suppression, nouvelle date ou nouvelles catégories, voir EventBatchMutationDTO)
+     *
+     * Sécurité :
+     * - Nécessite authentification
+     * - Seuls les événements du créateur sont modifiés, les autres sont signalés
+     *   dans le résultat (FORBIDDEN, NOT_FOUND)
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public EventBatchResultDTO applyBatch(@Valid @RequestBody EventBatchMutationDTO inputs) {
+        return eventService.applyBatch(inputs);
+    }
+
+    /**
+     * Récupère une page d'événements
      * Endpoint public, accessible sans authentification
+     *
+     * Paramètres optionnels : cursor, sort, direction, size, from, to, upcoming (voir EventPageRequest)
+     * Par défaut, seuls les événements à venir sont listés
+     * Filtre multi-catégories : ?categories=1,4,7&match=all|any (any par défaut)
+     * Sélection des attributs : ?fields=id,nameEvent,imgUrl,dateEvent,price,categories
+     * Le curseur de la page suivante est renvoyé dans l'en-tête X-Next-Cursor
+     * Réponse servie depuis un snapshot pré-sérialisé (voir toSnapshotResponse)
      */
     @GetMapping()
-    public List<EventViewDTO> getAllEvents() {
-        return eventService.getAllEvents();
+    public ResponseEntity<byte[]> getAllEvents(EventPageRequest pageRequest, WebRequest request) {
+        return toSnapshotResponse(request, () -> catalogSnapshotService.getAllEvents(pageRequest));
     }
 
     /**
-     * Récupère les événements d'une catégorie spécifique
+     * Récupère une page d'événements d'une catégorie spécifique
      * Utilisé pour le filtrage sur la page d'accueil
      */
     @GetMapping("/by-category/{categoryId}")
-    public List<EventViewDTO> getEventsByCategory(@PathVariable Integer categoryId) {
-        return eventService.getEventsByCategory(categoryId);
+    public ResponseEntity<byte[]> getEventsByCategory(@PathVariable Integer categoryId,
+                                                      EventPageRequest pageRequest,
+                                                      WebRequest request) {
+        return toSnapshotResponse(request, () -> catalogSnapshotService.getEventsByCategory(categoryId, pageRequest));
+    }
+
+    /**
+     * Recherche d'événements par texte libre (nom, description, programme, adresse)
+     * Remplace le filtrage côté client
+     *
+     * Paramètres : q (obligatoire), cursor, size (voir EventSearchRequest)
+     * Résultats du plus pertinent au moins pertinent, curseur suivant dans X-Next-Cursor
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<EventViewDTO>> search(EventSearchRequest searchRequest) {
+        EventPageDTO page = eventSearchService.search(searchRequest);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(HEADER_NEXT_CURSOR, page.nextCursor());
+        }
+        return response.body(page.items());
+    }
+
+    /**
+     * Suggestions d'autocomplétion pendant la saisie
+     *
+     * Paramètres : prefix (obligatoire), limit (défaut 10, maximum 20)
+     * Réponse depuis un index mémoire, sans requête SQL
+     */
+    @GetMapping("/suggest")
+    public List<EventSuggestionDTO> suggest(@RequestParam(required = false) String prefix,
+                                            @RequestParam(required = false) Integer limit) {
+        return eventSearchService.suggest(prefix, limit);
+    }
+
+    /**
+     * Événements à venir autour d'une position, du plus proche au plus lointain
+     *
+     * Paramètres : lat, lon (obligatoires), radiusKm (défaut 10, maximum 200),
+     * limit (défaut 20, maximum 100)
+     */
+    @GetMapping("/nearby")
+    public List<EventNearbyDTO> nearby(@RequestParam(required = false) Double lat,
+                                       @RequestParam(required = false) Double lon,
+                                       @RequestParam(required = false) Double radiusKm,
+                                       @RequestParam(required = false) Integer limit) {
+        return eventSearchService.nearby(lat, lon, radiusKm, limit);
+    }
+
+    /**
+     * Récupère tous les événements (ou ceux d'une catégorie) sous forme de tableau JSON
+     *
+     * Chaque événement est écrit dans la réponse dès sa lecture en BDD :
+     * ni liste complète en mémoire, ni pagination côté client
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamEvents(@RequestParam(required = false) Integer categoryId) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(output -> writeEvents(output, categoryId, false));
+    }
+
+    /**
+     * Export de tous les événements (ou ceux d'une catégorie) au format NDJSON
+     * Un objet JSON par ligne, téléchargé en fichier events.ndjson
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportEvents(@RequestParam(required = false) Integer categoryId) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(EXPORT_FILENAME).build().toString())
+                .body(output -> writeEvents(output, categoryId, true));
+    }
+
+    /**
+     * Journal des modifications d'événements (créations, modifications, suppressions)
+     * à partir d'un offset conservé par le consommateur : au moins une fois, dans l'ordre
+     *
+     * Repartir de nextOffset à l'appel suivant ; une entrée peut être relue
+     * si le consommateur s'arrête avant d'avoir enregistré son offset
+     */
+    @GetMapping("/changes")
+    public EventChangeFeedDTO getChanges(@RequestParam(required = false) Long after,
+                                         @RequestParam(required = false) Integer limit) {
+        return eventChangeLog.getFeed(after, limit);
     }
 
     /**
      * Récupère les détails d'un événement spécifique
      * Utilisé pour la page de détails
+     *
+     * Cache HTTP :
+     * - ETag fort = version de l'événement, Last-Modified = date de dernière modification
+     * - If-None-Match (prioritaire) ou If-Modified-Since à jour → 304,
+     *   après la seule lecture de la révision (aucune colonne TEXT lue ni JSON écrit)
      */
     @GetMapping("/{id}")
-    public EventViewDTO getById(@PathVariable Integer id) {
-        return eventService.getById(id);
+    public ResponseEntity<EventViewDTO> getById(@PathVariable Integer id, WebRequest request) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        String ifModifiedSince = request.getHeader(HttpHeaders.IF_MODIFIED_SINCE);
+        if (ifNoneMatch != null || ifModifiedSince != null) {
+            EventVersionDTO version = eventService.getVersion(id);
+            boolean notModified = ifNoneMatch != null
+                    ? matchesEtag(ifNoneMatch, version.etag())
+                    : notModifiedSince(ifModifiedSince, version.updatedAt());
+            if (notModified) {
+                return versioned(ResponseEntity.status(HttpStatus.NOT_MODIFIED), version).build();
+            }
+        }
+
+        EventViewDTO event = eventService.getById(id);
+        return versioned(ResponseEntity.ok(), event.toVersion())
+                .cacheControl(CacheControl.noCache())
+                .body(event);
+    }
+
+    /**
+     * Récupère plusieurs événements en une requête (carrousel, favoris)
+     * Exemple : GET /events?ids=4,12,7
+     *
+     * Événements renvoyés dans l'ordre des ids, ids introuvables listés dans missingIds
+     * Au plus 100 ids par requête
+     */
+    @GetMapping(params = "ids")
+    public EventBatchDTO getByIds(@RequestParam List<Integer> ids) {
+        return eventService.getByIds(ids);
+    }
+
+    /**
+     * État du traitement de l'image d'un événement
+     * Interrogé par le frontend tant que l'image est PENDING (image par défaut en attendant)
+     */
+    @GetMapping("/{id}/image")
+    public EventImageDTO getImage(@PathVariable Integer id) {
+        return eventImageService.getImage(id);
+    }
+
+    /**
+     * Enregistrement de l'événement avec une image mise de côté :
+     * en cas d'échec, l'image ne sera jamais traitée et est supprimée
+     */
+    private <T> T withStagedImage(String stagedImage, Supplier<T> operation) {
+        try {
+            return operation.get();
+        } catch (RuntimeException e) {
+            fileStorageService.discardStaged(stagedImage);
+            throw e;
+        }
+    }
+
+    /**
+     * Corps JSON = tableau d'événements (format inchangé pour le frontend)
+     * En-tête X-Next-Cursor = curseur de la page suivante, absent sur la dernière page
+     *
+     * Cache HTTP :
+     * - ETag fort dérivé de la version du catalogue
+     * - If-None-Match identique → 304 sans requête SQL ni sérialisation
+     * - Corps gzip pré-calculé si le client accepte cet encodage
+     */
+    private ResponseEntity<byte[]> toSnapshotResponse(WebRequest request, Supplier<CatalogSnapshot> snapshotLoader) {
+        boolean gzipped = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String currentEtag = CatalogSnapshot.etag(catalogSnapshotService.currentVersion(), gzipped);
+        if (matchesEtag(request.getHeader(HttpHeaders.IF_NONE_MATCH), currentEtag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(currentEtag)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        CatalogSnapshot snapshot = snapshotLoader.get();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(snapshot.etag(gzipped))
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (snapshot.nextCursor() != null) {
+            response.header(HEADER_NEXT_CURSOR, snapshot.nextCursor());
+        }
+        if (gzipped) {
+            response.header(HttpHeaders.CONTENT_ENCODING, ENCODING_GZIP);
+            return response.body(snapshot.gzip());
+        }
+        return response.body(snapshot.json());
+    }
+
+    /**
+     * Écrit les événements au fil de leur lecture (exécuté hors du thread de la requête)
+     *
+     * @param ndjson true : un objet par ligne, false : tableau JSON
+     */
+    private void writeEvents(OutputStream output, Integer categoryId, boolean ndjson) throws IOException {
+        try (JsonGenerator generator = objectMapper.createGenerator(output)) {
+            if (ndjson) {
+                generator.setRootValueSeparator(null); // Séparateur = saut de ligne, écrit ci-dessous
+            } else {
+                generator.writeStartArray();
+            }
+            eventService.streamEvents(categoryId, event -> {
+                try {
+                    generator.writeObject(event);
+                    if (ndjson) {
+                        generator.writeRaw('\n');
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            if (!ndjson) {
+                generator.writeEndArray();
+            }
+        }
+    }
+
+    /**
+     * Comparaison faible, comme le prévoit If-None-Match (RFC 9110)
+     */
+    private static boolean matchesEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        ETag current = ETag.create(etag);
+        return ETag.parse(ifNoneMatch).stream()
+                .anyMatch(candidate -> candidate.isWildcard() || candidate.compare(current, false));
     }
 
-}
\ No newline at end of file
+    /**
+     * If-Match : version attendue, null si absent ou "*" (pas de condition)
+     * Seul un ETag fort émis par GET /events/{id} peut correspondre :
+     * ETag faible ou illisible → 412 sans rien modifier
+     */
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        List<ETag> etags = ETag.parse(ifMatch);
+        if (etags.stream().anyMatch(ETag::isWildcard)) {
+            return null;
+        }
+        if (etags.size() == 1 && !etags.get(0).weak()) {
+            try {
+                return Long.valueOf(etags.get(0).tag());
+            } catch (NumberFormatException e) {
+                // Traité ci-dessous : ne correspond à aucune version
+            }
+        }
+        throw new PreconditionFailedException("If-Match ne correspond à aucune version de l'événement");
+    }
+
+    /**
+     * If-Modified-Since : date HTTP (RFC 1123), ignorée si illisible (RFC 9110)
+     * La comparaison se fait à la seconde, précision de l'en-tête
+     */
+    private static boolean notModifiedSince(String ifModifiedSince, Instant updatedAt) {
+        if (updatedAt == null) {
+            return false;
+        }
+        try {
+            Instant since = ZonedDateTime.parse(ifModifiedSince, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+            return !updatedAt.truncatedTo(ChronoUnit.SECONDS).isAfter(since);
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    /**
+     * En-têtes ETag et Last-Modified d'un événement
+     */
+    private static <B extends ResponseEntity.HeadersBuilder<B>> B versioned(B response, EventVersionDTO version) {
+        response.eTag(version.etag());
+        if (version.updatedAt() != null) {
+            response.lastModified(version.updatedAt());
+        }
+        return response;
+    }
+
+    /**
+     * Accept-Encoding (RFC 9110) : codages séparés par des virgules, chacun avec un poids q optionnel
+     * gzip accepté s'il est cité avec un poids non nul ("gzip;q=0" = refusé),
+     * ou couvert par "*" sans être cité ; poids illisible → refusé
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        boolean wildcard = false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parameters = coding.split(";");
+            String name = parameters[0].trim().toLowerCase(Locale.ROOT);
+            if (name.equals(ENCODING_GZIP)) {
+                return quality(parameters) > 0;
+            }
+            if (name.equals(ENCODING_ANY)) {
+                wildcard = quality(parameters) > 0;
+            }
+        }
+        return wildcard;
+    }
+
+    /**
+     * Poids q d'un codage (1 par défaut)
+     */
+    private static double quality(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            String[] parameter = parameters[i].split("=", 2);
+            if (parameter.length == 2 && parameter[0].trim().equalsIgnoreCase("q")) {
+                try {
+                    return Double.parseDouble(parameter[1].trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
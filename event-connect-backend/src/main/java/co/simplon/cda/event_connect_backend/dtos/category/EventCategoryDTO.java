@@ -0,0 +1,17 @@
+package co.simplon.cda.event_connect_backend.dtos.category;
+
+/**
+ * Ligne de la table de liaison t_belong avec le nom de la catégorie
+ *
+ * Utilisé pour charger en une requête les catégories de plusieurs événements
+ * (projection JPQL, aucune entité chargée), puis les regrouper par eventId
+ */
+public record EventCategoryDTO(
+        Integer eventId,
+        Integer id,
+        String nameCategory
+) {
+    public CategoryDTO toCategoryDTO() {
+        return new CategoryDTO(id, nameCategory);
+    }
+}
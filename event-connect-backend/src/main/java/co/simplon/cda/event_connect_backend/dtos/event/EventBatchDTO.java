@@ -0,0 +1,15 @@
+package co.simplon.cda.event_connect_backend.dtos.event;
+
+import java.util.List;
+
+/**
+ * Réponse de la lecture groupée GET /events?ids=1,2,3
+ *
+ * items : événements trouvés, dans l'ordre des ids demandés
+ * missingIds : ids demandés sans événement (supprimé ou inexistant),
+ *              signalés sans faire échouer la requête
+ */
+public record EventBatchDTO(
+        List<EventViewDTO> items,
+        List<Integer> missingIds
+) {}
@@ -0,0 +1,33 @@
+package co.simplon.cda.event_connect_backend.dtos.event;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO d'une opération groupée sur les événements d'un organisateur (POST /events/batch)
+ *
+ * Exemples :
+ * { "operation": "DELETE", "eventIds": [4, 12, 7] }
+ * { "operation": "RESCHEDULE", "eventIds": [4, 12], "dateEvent": "2026-06-21" }
+ * { "operation": "RECATEGORIZE", "eventIds": [4, 12], "categoryIds": [1, 5] }
+ *
+ * dateEvent et categoryIds ne sont lus que par l'opération correspondante
+ */
+public record EventBatchMutationDTO(
+
+        @NotNull(message = "L'opération est requise")
+        EventBatchOperation operation,
+
+        @NotEmpty(message = "Au moins un événement est requis")
+        @Size(max = 500, message = "500 événements au plus par opération")
+        List<@NotNull Integer> eventIds,
+
+        LocalDate dateEvent, // RESCHEDULE
+
+        List<Integer> categoryIds // RECATEGORIZE
+) {
+}
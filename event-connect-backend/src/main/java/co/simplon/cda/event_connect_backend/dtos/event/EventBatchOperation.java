@@ -0,0 +1,14 @@
+package co.simplon.cda.event_connect_backend.dtos.event;
+
+/**
+ * Opération appliquée à plusieurs événements par POST /events/batch
+ *
+ * - DELETE : suppression (inscriptions et catégories associées comprises)
+ * - RESCHEDULE : nouvelle date (dateEvent)
+ * - RECATEGORIZE : remplacement des catégories (categoryIds)
+ */
+public enum EventBatchOperation {
+    DELETE,
+    RESCHEDULE,
+    RECATEGORIZE
+}
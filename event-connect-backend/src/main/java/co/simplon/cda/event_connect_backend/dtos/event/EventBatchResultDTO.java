@@ -0,0 +1,26 @@
+package co.simplon.cda.event_connect_backend.dtos.event;
+
+import java.util.List;
+
+/**
+ * Résultat d'une opération groupée (POST /events/batch), un élément par id demandé
+ *
+ * Statuts :
+ * - DONE : opération appliquée
+ * - NOT_FOUND : événement inexistant
+ * - FORBIDDEN : événement d'un autre organisateur (non modifié)
+ */
+public record EventBatchResultDTO(
+        EventBatchOperation operation,
+        int applied,
+        List<Outcome> outcomes
+) {
+    public enum Status {
+        DONE,
+        NOT_FOUND,
+        FORBIDDEN
+    }
+
+    public record Outcome(Integer eventId, Status status) {
+    }
+}
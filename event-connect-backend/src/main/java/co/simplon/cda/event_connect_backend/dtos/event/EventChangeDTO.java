@@ -0,0 +1,17 @@
+package co.simplon.cda.event_connect_backend.dtos.event;
+
+import co.simplon.cda.event_connect_backend.changes.EventChange;
+
+import java.time.Instant;
+
+/**
+ * Entrée du journal des modifications d'événements
+ * position : rang dans le journal, strictement croissant (offset des consommateurs)
+ */
+public record EventChangeDTO(
+        Long position,
+        Integer eventId,
+        EventChange.Type type,
+        Instant occurredAt
+) {
+}
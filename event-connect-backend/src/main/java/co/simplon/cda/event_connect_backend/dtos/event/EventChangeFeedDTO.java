@@ -0,0 +1,13 @@
+package co.simplon.cda.event_connect_backend.dtos.event;
+
+import java.util.List;
+
+/**
+ * Page du journal des modifications (GET /events/changes)
+ * nextOffset : valeur de "after" pour la page suivante (inchangée si rien de nouveau)
+ */
+public record EventChangeFeedDTO(
+        List<EventChangeDTO> changes,
+        Long nextOffset
+) {
+}
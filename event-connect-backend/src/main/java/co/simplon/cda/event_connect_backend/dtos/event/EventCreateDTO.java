@@ -18,7 +18,8 @@ import java.util.List;
  * 2. Spring valide automatiquement les contraintes (@Valid dans le controller)
  * 3. Le service crée l'entité Event correspondante
  *
- * Note : categoryIds contient les IDs pour la création en BDD
+ * Note : latitude / longitude sont facultatives mais vont ensemble
+ *        categoryIds contient les IDs pour la création en BDD
  *        categories contient les DTOs complets pour le retour front
  */
 public record EventCreateDTO(
@@ -53,6 +54,14 @@ public record EventCreateDTO(
         @NotBlank(message = "L'adresse est requise")
         String address,
 
+        @DecimalMin(value = "-90.0")
+        @DecimalMax(value = "90.0")
+        Double latitude, // Facultatif, renseigné avec longitude
+
+        @DecimalMin(value = "-180.0")
+        @DecimalMax(value = "180.0")
+        Double longitude,
+
         @NotEmpty(message = "Au moins une catégorie est requise")
         List<Integer> categoryIds, // IDs des catégories sélectionnées
         List<CategoryDTO> categories // DTO complet pour retour front
@@ -60,6 +69,7 @@ public record EventCreateDTO(
     @Override
     public String toString() {
         return "Event [nameEvent= " + nameEvent + ", imgUrl= " + imgUrl + ", description= " + description + ", dateEvent= " + dateEvent + ", program= " + program +
-                ", contact= " + contact + ", price= " + price + ", numberPlace= " + numberPlace + ", address= " + address + "]";
+                ", contact= " + contact + ", price= " + price + ", numberPlace= " + numberPlace + ", address= " + address +
+                ", latitude= " + latitude + ", longitude= " + longitude + "]";
     }
 }
\ No newline at end of file
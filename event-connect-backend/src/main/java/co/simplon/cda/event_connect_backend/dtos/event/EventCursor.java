@@ -0,0 +1,73 @@
+package co.simplon.cda.event_connect_backend.dtos.event;
+
+import co.simplon.cda.event_connect_backend.exceptions.InvalidRequestParameterException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Curseur de pagination (keyset) pour la liste des événements
+ *
+ * Contient la position du dernier élément renvoyé :
+ * - la clé de tri et son sens
+ * - la valeur de tri du dernier événement
+ * - l'id du dernier événement (départage les ex-aequo)
+ *
+ * Le client le reçoit dans l'en-tête X-Next-Cursor et le renvoie tel quel
+ * (?cursor=...) : il est encodé en Base64 URL-safe et doit rester opaque
+ *
+ * Avantage : la page suivante est lue avec un WHERE sur l'index
+ * au lieu d'un OFFSET, le temps de réponse ne dépend pas du numéro de page
+ */
+public record EventCursor(
+        EventSort sort,
+        boolean descending,
+        Object key, // null pour le tri par id
+        Integer lastId
+) {
+    private static final String VERSION = "v1";
+    private static final String SEPARATOR = "|";
+    private static final String PARAM_NAME = "cursor";
+
+    /**
+     * Construit le curseur pointant après le dernier événement de la page
+     */
+    public static EventCursor after(EventSort sort, boolean descending, EventViewDTO last) {
+        String key = sort.extractKey(last);
+        return new EventCursor(sort, descending, key != null ? sort.parseKey(key) : null, last.id());
+    }
+
+    /**
+     * Encode le curseur en chaîne opaque
+     */
+    public String encode() {
+        String raw = String.join(SEPARATOR,
+                VERSION,
+                sort.name(),
+                descending ? "desc" : "asc",
+                key != null ? key.toString() : "",
+                lastId.toString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Décode un curseur reçu du client
+     * Toute valeur altérée ou incomplète → 400 Bad Request
+     */
+    public static EventCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != 5 || !VERSION.equals(parts[0])) {
+                throw new InvalidRequestParameterException(PARAM_NAME, token);
+            }
+            EventSort sort = EventSort.valueOf(parts[1]);
+            boolean descending = "desc".equals(parts[2]);
+            Object key = sort == EventSort.ID ? null : sort.parseKey(parts[3]);
+            return new EventCursor(sort, descending, key, Integer.valueOf(parts[4]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidRequestParameterException(PARAM_NAME, token);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package co.simplon.cda.event_connect_backend.dtos.event;
+
+import co.simplon.cda.event_connect_backend.exceptions.InvalidRequestParameterException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Attributs d'un événement sélectionnables dans les listes (paramètre "fields")
+ *
+ * Exemple : GET /events?fields=id,nameEvent,imgUrl,dateEvent,price,categories
+ * (juste ce qu'affiche une carte, sans les colonnes TEXT description / programme / adresse)
+ *
+ * Seules les colonnes demandées sont lues en BDD et écrites dans le JSON
+ * Les noms sont ceux des propriétés JSON de EventViewDTO
+ */
+public enum EventField {
+    ID("id", "e.id", EventViewDTO::id),
+    NAME_EVENT("nameEvent", "e.nameEvent", EventViewDTO::nameEvent),
+    IMG_URL("imgUrl", "e.imgUrl", EventViewDTO::imgUrl),
+    DESCRIPTION("description", "e.description", EventViewDTO::description),
+    DATE_EVENT("dateEvent", "e.dateEvent", EventViewDTO::dateEvent),
+    PROGRAM("program", "e.program", EventViewDTO::program),
+    CONTACT("contact", "e.contact", EventViewDTO::contact),
+    PRICE("price", "e.price", EventViewDTO::price),
+    NUMBER_PLACE("numberPlace", "e.numberPlace", EventViewDTO::numberPlace),
+    ADDRESS("address", "e.address", EventViewDTO::address),
+    LATITUDE("latitude", "e.latitude", EventViewDTO::latitude),
+    LONGITUDE("longitude", "e.longitude", EventViewDTO::longitude),
+    CATEGORIES("categories", null, EventViewDTO::categories); // Requête séparée (t_belong)
+
+    private final String param;
+    private final String path;
+    private final Function<EventViewDTO, Object> accessor;
+
+    EventField(String param, String path, Function<EventViewDTO, Object> accessor) {
+        this.param = param;
+        this.path = path;
+        this.accessor = accessor;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    /**
+     * Chemin JPQL de la colonne (null pour les catégories)
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Convertit la valeur du paramètre "fields" (liste séparée par des virgules)
+     * null ou vide → null : tous les attributs
+     */
+    public static Set<EventField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<EventField> selected = EnumSet.noneOf(EventField.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            selected.add(Arrays.stream(values())
+                    .filter(field -> field.param.equalsIgnoreCase(trimmed))
+                    .findFirst()
+                    .orElseThrow(() -> new InvalidRequestParameterException("fields", trimmed)));
+        }
+        return Collections.unmodifiableSet(selected);
+    }
+
+    /**
+     * Sortie JSON restreinte aux attributs demandés, dans l'ordre de EventViewDTO
+     */
+    public static List<Map<String, Object>> project(List<EventViewDTO> events, Set<EventField> fields) {
+        return events.stream()
+                .map(event -> {
+                    Map<String, Object> json = new LinkedHashMap<>();
+                    fields.forEach(field -> json.put(field.param, field.accessor.apply(event)));
+                    return json;
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,15 @@
+package co.simplon.cda.event_connect_backend.dtos.event;
+
+import java.time.LocalDate;
+
+/**
+ * Position d'un événement (index de proximité, GET /events/nearby)
+ *
+ * latitude / longitude null : événement non géolocalisé
+ */
+public record EventGeoPointDTO(
+        Integer id,
+        Double latitude,
+        Double longitude,
+        LocalDate dateEvent
+) {}
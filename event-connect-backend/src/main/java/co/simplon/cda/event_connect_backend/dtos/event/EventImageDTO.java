@@ -0,0 +1,30 @@
+package co.simplon.cda.event_connect_backend.dtos.event;
+
+import co.simplon.cda.event_connect_backend.entities.ImageStatus;
+
+/**
+ * État de l'image d'un événement (GET /events/{id}/image)
+ *
+ * Interrogé par le frontend tant que imageStatus vaut PENDING ;
+ * en attendant (ou si FAILED), il affiche une image par défaut
+ *
+ * - thumbnailUrl : miniature générée par le traitement, null tant que l'image
+ *                  n'est pas prête ou si son format n'en produit pas (webp)
+ */
+public record EventImageDTO(
+        Integer eventId,
+        ImageStatus imageStatus,
+        String imgUrl,
+        String thumbnailUrl
+) {
+    /**
+     * Projection JPQL : la miniature est ajoutée ensuite (withThumbnail)
+     */
+    public EventImageDTO(Integer eventId, ImageStatus imageStatus, String imgUrl) {
+        this(eventId, imageStatus, imgUrl, null);
+    }
+
+    public EventImageDTO withThumbnail(String thumbnailUrl) {
+        return new EventImageDTO(eventId, imageStatus, imgUrl, thumbnailUrl);
+    }
+}
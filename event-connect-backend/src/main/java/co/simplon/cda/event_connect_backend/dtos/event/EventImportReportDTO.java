@@ -0,0 +1,16 @@
+package co.simplon.cda.event_connect_backend.dtos.event;
+
+import java.util.List;
+
+/**
+ * Compte rendu d'un import en lot (POST /events/import)
+ *
+ * Les lignes valides sont importées, les autres sont rejetées avec leurs motifs
+ * rows contient une entrée par ligne reçue, dans l'ordre du fichier
+ */
+public record EventImportReportDTO(
+        int imported,
+        int rejected,
+        List<EventImportRowDTO> rows
+) {
+}
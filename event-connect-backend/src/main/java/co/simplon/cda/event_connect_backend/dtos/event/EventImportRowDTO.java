@@ -0,0 +1,24 @@
+package co.simplon.cda.event_connect_backend.dtos.event;
+
+import java.util.List;
+
+/**
+ * Résultat de l'import d'une ligne (POST /events/import)
+ *
+ * - row : numéro de la ligne dans le fichier reçu (1 = premier événement, en-tête CSV exclu)
+ * - eventId : id de l'événement créé, null si la ligne est rejetée
+ * - errors : motifs du rejet, vide si la ligne est importée
+ */
+public record EventImportRowDTO(
+        int row,
+        Integer eventId,
+        List<String> errors
+) {
+    public static EventImportRowDTO imported(int row, Integer eventId) {
+        return new EventImportRowDTO(row, eventId, List.of());
+    }
+
+    public static EventImportRowDTO rejected(int row, List<String> errors) {
+        return new EventImportRowDTO(row, null, errors);
+    }
+}
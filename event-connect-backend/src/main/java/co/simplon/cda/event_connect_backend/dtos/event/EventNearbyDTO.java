@@ -0,0 +1,11 @@
+package co.simplon.cda.event_connect_backend.dtos.event;
+
+/**
+ * Événement proche d'une position (GET /events/nearby)
+ *
+ * Retourné du plus proche au plus lointain
+ */
+public record EventNearbyDTO(
+        EventViewDTO event,
+        double distanceKm // Distance à vol d'oiseau, arrondie à 10 m
+) {}
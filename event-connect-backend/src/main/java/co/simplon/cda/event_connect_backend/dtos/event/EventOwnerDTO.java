@@ -0,0 +1,12 @@
+package co.simplon.cda.event_connect_backend.dtos.event;
+
+/**
+ * Créateur d'un événement (vérification de propriétaire groupée)
+ * et image à retirer en cas de suppression
+ */
+public record EventOwnerDTO(
+        Integer eventId,
+        Integer profileId,
+        String imgUrl
+) {
+}
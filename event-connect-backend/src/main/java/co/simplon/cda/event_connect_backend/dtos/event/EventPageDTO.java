@@ -0,0 +1,17 @@
+package co.simplon.cda.event_connect_backend.dtos.event;
+
+import java.util.List;
+
+/**
+ * Page d'événements renvoyée par le service
+ *
+ * - items : événements de la page, dans l'ordre du tri
+ * - nextCursor : curseur de la page suivante (null s'il s'agit de la dernière)
+ *
+ * Le controller renvoie items comme corps JSON (tableau, format inchangé pour Angular)
+ * et nextCursor dans l'en-tête X-Next-Cursor
+ */
+public record EventPageDTO(
+        List<EventViewDTO> items,
+        String nextCursor
+) {}
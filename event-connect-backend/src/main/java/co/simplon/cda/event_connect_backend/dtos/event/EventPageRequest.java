@@ -0,0 +1,49 @@
+package co.simplon.cda.event_connect_backend.dtos.event;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Paramètres de pagination et de filtre reçus sur les listes d'événements
+ *
+ * Exemple : GET /events?sort=price&direction=desc&size=20
+ *           GET /events?from=2026-06-01&to=2026-06-30
+ *           GET /events?categories=1,4,7&match=all
+ *           GET /events?fields=id,nameEvent,imgUrl,dateEvent,price,categories
+ *           GET /events?cursor=djF8UFJJQ0V8... (page suivante)
+ *
+ * Tous les champs sont optionnels :
+ * - cursor : valeur de l'en-tête X-Next-Cursor de la page précédente
+ *            (il porte déjà le tri : sort et direction sont alors ignorés)
+ * - sort : dateEvent (défaut), price ou id
+ * - direction : asc (défaut) ou desc
+ * - size : taille de page (défaut 20, maximum 100)
+ * - from / to : bornes incluses sur la date de l'événement (format ISO, 2026-06-01)
+ *               à renvoyer avec le curseur pour les pages suivantes
+ * - upcoming : true (défaut sans "from") = événements à partir d'aujourd'hui,
+ *              false = inclut les événements passés
+ * - categories : ids de catégories séparés par des virgules (20 au maximum)
+ * - match : any (défaut) = au moins une des catégories, all = toutes les catégories
+ * - fields : attributs à renvoyer, séparés par des virgules (défaut : tous, voir EventField)
+ */
+public record EventPageRequest(
+        String cursor,
+        String sort,
+        String direction,
+        Integer size,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+        Boolean upcoming,
+        List<Integer> categories,
+        String match,
+        String fields
+) {
+    /**
+     * Première page avec le tri et le filtre par défaut
+     */
+    public static EventPageRequest firstPage() {
+        return new EventPageRequest(null, null, null, null, null, null, null, null, null, null);
+    }
+}
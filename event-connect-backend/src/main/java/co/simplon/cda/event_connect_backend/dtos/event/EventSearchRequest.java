@@ -0,0 +1,17 @@
+package co.simplon.cda.event_connect_backend.dtos.event;
+
+/**
+ * Paramètres de la recherche d'événements
+ *
+ * Exemple : GET /events/search?q=concert jazz&size=20
+ *           GET /events/search?q=concert jazz&cursor=... (page suivante)
+ *
+ * - q : texte recherché (obligatoire), syntaxe web : "plein air", -rock
+ * - cursor : valeur de l'en-tête X-Next-Cursor de la page précédente
+ * - size : taille de page (défaut 20, maximum 100)
+ */
+public record EventSearchRequest(
+        String q,
+        String cursor,
+        Integer size
+) {}
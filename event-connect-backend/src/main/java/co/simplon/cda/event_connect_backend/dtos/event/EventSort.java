@@ -0,0 +1,68 @@
+package co.simplon.cda.event_connect_backend.dtos.event;
+
+import co.simplon.cda.event_connect_backend.exceptions.InvalidRequestParameterException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Clés de tri autorisées pour la liste des événements
+ *
+ * Chaque clé est toujours complétée par l'id de l'événement
+ * pour garantir un ordre total (nécessaire à la pagination par curseur)
+ *
+ * Exemple : ?sort=price&direction=desc
+ */
+public enum EventSort {
+    DATE_EVENT("dateEvent"),
+    PRICE("price"),
+    ID("id");
+
+    private final String param;
+
+    EventSort(String param) {
+        this.param = param;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    /**
+     * Convertit la valeur du paramètre "sort" en clé de tri
+     * null → tri par date (comportement par défaut de l'accueil)
+     */
+    public static EventSort fromParam(String param) {
+        if (param == null || param.isBlank()) {
+            return DATE_EVENT;
+        }
+        return Arrays.stream(values())
+                .filter(sort -> sort.param.equalsIgnoreCase(param))
+                .findFirst()
+                .orElseThrow(() -> new InvalidRequestParameterException("sort", param));
+    }
+
+    /**
+     * Extrait la valeur de tri d'un événement (sérialisée dans le curseur)
+     * Un prix null est traité comme un événement gratuit (0)
+     */
+    public String extractKey(EventViewDTO event) {
+        return switch (this) {
+            case DATE_EVENT -> event.dateEvent().toString();
+            case PRICE -> event.price() != null ? event.price().toPlainString() : BigDecimal.ZERO.toPlainString();
+            case ID -> null;
+        };
+    }
+
+    /**
+     * Reconvertit la valeur lue dans le curseur vers le type de la colonne
+     */
+    public Object parseKey(String key) {
+        return switch (this) {
+            case DATE_EVENT -> LocalDate.parse(key);
+            case PRICE -> new BigDecimal(key);
+            case ID -> null;
+        };
+    }
+}
@@ -0,0 +1,14 @@
+package co.simplon.cda.event_connect_backend.dtos.event;
+
+import java.time.LocalDate;
+
+/**
+ * Suggestion d'autocomplétion (GET /events/suggest)
+ *
+ * Juste ce qu'il faut pour afficher la liste déroulante et ouvrir le détail
+ */
+public record EventSuggestionDTO(
+        Integer id,
+        String nameEvent,
+        LocalDate dateEvent
+) {}
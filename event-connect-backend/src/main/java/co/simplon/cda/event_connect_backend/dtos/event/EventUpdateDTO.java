@@ -27,6 +27,8 @@ public record EventUpdateDTO(
             BigDecimal price,
             Integer numberPlace,
             String address,
+            Double latitude, // null avec longitude : coordonnées retirées
+            Double longitude,
             List<Integer> categoryIds, // Nouvelles catégories sélectionnées
             List<CategoryDTO> categories
 ) {}
@@ -0,0 +1,22 @@
+package co.simplon.cda.event_connect_backend.dtos.event;
+
+import java.time.Instant;
+
+/**
+ * Révision d'un événement, pour la revalidation HTTP de GET /events/{id}
+ *
+ * - version : incrémentée à chaque modification → ETag fort "<version>"
+ * - updatedAt : date de dernière modification → Last-Modified
+ *               (null pour un événement jamais modifié depuis l'application)
+ */
+public record EventVersionDTO(
+        Long version,
+        Instant updatedAt
+) {
+    /**
+     * Valeur de l'en-tête ETag
+     */
+    public String etag() {
+        return "\"" + version + "\"";
+    }
+}
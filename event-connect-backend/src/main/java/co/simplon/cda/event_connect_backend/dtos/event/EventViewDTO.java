@@ -1,8 +1,10 @@
 package co.simplon.cda.event_connect_backend.dtos.event;
 
 import co.simplon.cda.event_connect_backend.dtos.category.CategoryDTO;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -13,12 +15,16 @@ import java.util.List;
  * - GET /events : liste de tous les événements
  * - GET /events/{id} : détails d'un événement
  * - GET /events/by-category/{id} : événements par catégorie
+ * - GET /events/nearby : événements proches (avec leur distance)
  *
  * Contient toutes les informations nécessaires pour l'affichage :
  * - Données de l'événement
  * - Liste des catégories associées (ManyToMany)
  *
  * Note : Ne contient PAS d'informations sensibles comme le profil du créateur
+ *
+ * Construit directement par les requêtes JPQL "SELECT new ..." de EventRepository
+ * (sans charger d'entité Event), puis complété avec ses catégories
  */
 public record EventViewDTO(
         Integer id,
@@ -31,5 +37,35 @@ public record EventViewDTO(
         BigDecimal price,
         Integer numberPlace,
         String address,
+        Double latitude, // null si l'événement n'est pas géolocalisé
+        Double longitude,
+        @JsonIgnore Long version, // En-têtes ETag / Last-Modified, hors du JSON
+        @JsonIgnore Instant updatedAt,
         List<CategoryDTO> categories // Liste des catégories associées
-) {}
+) {
+    /**
+     * Constructeur utilisé par les projections JPQL (colonnes de t_events seules)
+     * Les catégories sont ajoutées ensuite avec withCategories()
+     */
+    public EventViewDTO(Integer id, String nameEvent, String imgUrl, String description, LocalDate dateEvent,
+                        String program, String contact, BigDecimal price, Integer numberPlace, String address,
+                        Double latitude, Double longitude, Long version, Instant updatedAt) {
+        this(id, nameEvent, imgUrl, description, dateEvent, program, contact, price, numberPlace, address,
+                latitude, longitude, version, updatedAt, List.of());
+    }
+
+    /**
+     * Copie de l'événement avec sa liste de catégories
+     */
+    public EventViewDTO withCategories(List<CategoryDTO> categories) {
+        return new EventViewDTO(id, nameEvent, imgUrl, description, dateEvent, program, contact,
+                price, numberPlace, address, latitude, longitude, version, updatedAt, categories);
+    }
+
+    /**
+     * Révision de l'événement tel qu'il a été lu
+     */
+    public EventVersionDTO toVersion() {
+        return new EventVersionDTO(version, updatedAt);
+    }
+}
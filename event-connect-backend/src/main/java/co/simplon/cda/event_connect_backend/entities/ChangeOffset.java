@@ -0,0 +1,42 @@
+package co.simplon.cda.event_connect_backend.entities;
+
+import jakarta.persistence.*;
+
+/**
+ * Position de lecture d'un abonné dans le journal des modifications
+ * (dernière position livrée avec succès)
+ *
+ * La ligne "sequencer" contient la dernière position attribuée :
+ * verrouillée pendant l'attribution, elle sérialise les relais
+ */
+@Entity
+@Table(name = "t_change_offsets")
+public class ChangeOffset {
+
+    @Id
+    @Column(name = "consumer", length = 100)
+    private String consumer;
+
+    @Column(name = "last_position", nullable = false)
+    private Long lastPosition;
+
+    public ChangeOffset() {
+    }
+
+    public ChangeOffset(String consumer, Long lastPosition) {
+        this.consumer = consumer;
+        this.lastPosition = lastPosition;
+    }
+
+    public String getConsumer() {
+        return consumer;
+    }
+
+    public Long getLastPosition() {
+        return lastPosition;
+    }
+
+    public void setLastPosition(Long lastPosition) {
+        this.lastPosition = lastPosition;
+    }
+}
@@ -2,17 +2,46 @@ package co.simplon.cda.event_connect_backend.entities;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Check;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.LazyGroup;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
+// UPDATE limité aux colonnes modifiées (PATCH /events/{id}) : avec le suivi des modifications
+// du bytecode enhancement, une modification d'un seul attribut n'écrit ni ne relit les autres
 @Entity
 @Table(name = "t_events")
+@DynamicUpdate
+@Check(name = Event.CAPACITY_CONSTRAINT, constraints = "number_place IS NULL OR seats_taken <= number_place")
 public class Event {
+    // Jamais moins de places que d'inscrits : vérifié par EventService, garanti par la base
+    // (une inscription commitée entre la lecture et l'écriture de la modification)
+    public static final String CAPACITY_CONSTRAINT = "ck_events_capacity";
+
+    // Colonnes TEXT chargées à la demande, ensemble, au premier accès à l'une d'elles
+    // (bytecode enhancement, voir hibernate-enhance-maven-plugin dans pom.xml) :
+    // les vérifications de propriétaire et les écritures ne les lisent pas
+    private static final String TEXT_GROUP = "text";
+
+    // Ids lus par blocs de ID_ALLOCATION_SIZE dans la séquence de la colonne identité :
+    // contrairement à IDENTITY, Hibernate connaît l'id avant l'INSERT et peut regrouper
+    // les insertions (hibernate.jdbc.batch_size, import en lot)
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_id_generator")
+    @SequenceGenerator(name = "event_id_generator", sequenceName = "t_events_event_id_seq",
+            allocationSize = ID_ALLOCATION_SIZE)
     @Column(name = "event_id")
     private Integer id;
 
@@ -25,7 +54,14 @@ public class Event {
     @Column(name = "img_url")
     private String imgUrl;
 
+    // Image traitée en arrière-plan après l'enregistrement (EventImageService)
+    @Enumerated(EnumType.STRING)
+    @Column(name = "image_status", nullable = false, length = 10)
+    private ImageStatus imageStatus = ImageStatus.READY;
+
     @NotBlank(message = "La description est obligatoire")
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup(TEXT_GROUP)
     @Column(name = "description", columnDefinition = "TEXT")
     private String description;
 
@@ -35,6 +71,8 @@ public class Event {
     private LocalDate dateEvent;
 
     @NotBlank(message = "Le programme est obligatoire")
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup(TEXT_GROUP)
     @Column(name = "program", columnDefinition = "TEXT")
     private String program;
 
@@ -51,30 +89,67 @@ public class Event {
     @Column(name = "number_place")
     private Integer numberPlace;
 
+    // Compteur des inscriptions (t_register), écrit uniquement par les UPDATE conditionnels
+    // d'EventRepository : jamais marqué modifié ici, donc jamais réécrit par @DynamicUpdate
+    @Column(name = "seats_taken", nullable = false)
+    private Integer seatsTaken = 0;
+
     @NotBlank(message = "L'adresse est obligatoire")
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup(TEXT_GROUP)
     @Column(name = "address", columnDefinition = "TEXT")
     private String address;
 
+    // Coordonnées facultatives, utilisées par la recherche de proximité
+    @DecimalMin(value = "-90.0", message = "Latitude invalide")
+    @DecimalMax(value = "90.0", message = "Latitude invalide")
+    @Column(name = "latitude")
+    private Double latitude;
+
+    @DecimalMin(value = "-180.0", message = "Longitude invalide")
+    @DecimalMax(value = "180.0", message = "Longitude invalide")
+    @Column(name = "longitude")
+    private Double longitude;
+
+    // Révision incrémentée par Hibernate à chaque mise à jour (ETag de GET /events/{id})
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    // Date de dernière modification, renseignée par EventService (Last-Modified)
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    // Chargement groupé : les catégories de toute une page d'événements
+    // sont lues en une seule requête (IN) au lieu d'une requête par événement
     @NotNull(message = "La catégorie est obligatoire")
+    @BatchSize(size = 100)
+    // ON DELETE CASCADE vers t_events, comme eventconnect.ddl.sql (suppression en une instruction)
+    // Définition explicite : @OnDelete est ignoré ici à cause du côté inverse (Category.events)
     @ManyToMany
     @JoinTable(
             name = "t_belong",
-            joinColumns = @JoinColumn(name = "event_id"),
+            joinColumns = @JoinColumn(name = "event_id", foreignKey = @ForeignKey(foreignKeyDefinition =
+                    "FOREIGN KEY (event_id) REFERENCES t_events (event_id) ON DELETE CASCADE")),
             inverseJoinColumns = @JoinColumn(name = "category_id")
     )
     private List<Category> categories = new ArrayList<>();
 
-    @ManyToOne
+    // LAZY : le créateur n'est lu que pour les vérifications d'autorisation
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "profile_id", nullable = false)
     private Profile profile;
 
+    // Set : une inscription par profil, comme la clé primaire de t_register
+    // (écrite par EventRegistrationService, jamais via cette collection)
     @ManyToMany
+    @OnDelete(action = OnDeleteAction.CASCADE) // ON DELETE CASCADE, comme eventconnect.ddl.sql
     @JoinTable(
             name = "t_register",
             joinColumns = @JoinColumn(name = "event_id"),
             inverseJoinColumns = @JoinColumn(name = "profile_id")
     )
-    private List<Profile> registeredProfiles = new ArrayList<>();
+    private Set<Profile> registeredProfiles = new HashSet<>();
 
     public Integer getId() {
         return id;
@@ -108,6 +183,14 @@ public class Event {
         this.imgUrl = imgUrl;
     }
 
+    public ImageStatus getImageStatus() {
+        return imageStatus;
+    }
+
+    public void setImageStatus(ImageStatus imageStatus) {
+        this.imageStatus = imageStatus;
+    }
+
     public LocalDate getDateEvent() {
         return dateEvent;
     }
@@ -148,6 +231,34 @@ public class Event {
         this.address = address;
     }
 
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
     public Integer getNumberPlace() {
         return numberPlace;
     }
@@ -156,6 +267,10 @@ public class Event {
         this.numberPlace = numberPlace;
     }
 
+    public Integer getSeatsTaken() {
+        return seatsTaken;
+    }
+
     public List<Category> getCategories() {
         return categories;
     }
@@ -172,11 +287,11 @@ public class Event {
         this.profile = profile;
     }
 
-    public List<Profile> getRegisteredProfiles() {
+    public Set<Profile> getRegisteredProfiles() {
         return registeredProfiles;
     }
 
-    public void setRegisteredProfiles(List<Profile> registeredProfiles) {
+    public void setRegisteredProfiles(Set<Profile> registeredProfiles) {
         this.registeredProfiles = registeredProfiles;
     }
 }
@@ -0,0 +1,76 @@
+package co.simplon.cda.event_connect_backend.entities;
+
+import co.simplon.cda.event_connect_backend.changes.EventChange;
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Entrée de l'outbox des modifications d'événements
+ *
+ * Insérée dans la transaction de la modification (EventChangeLog) :
+ * elle existe si et seulement si la modification est commitée
+ *
+ * La position n'est attribuée qu'après le commit, par le relais ou à la lecture
+ * de GET /events/changes (EventChangeLog.sequence) :
+ * l'ordre des ids est celui des INSERT, pas celui des commits, et un lecteur
+ * qui avancerait selon l'id pourrait sauter une transaction encore en cours
+ */
+@Entity
+@Table(name = "t_event_changes")
+public class EventChangeRecord {
+
+    // Ids réservés par blocs comme ceux des événements : insertions regroupées (écritures en lot)
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_change_id_generator")
+    @SequenceGenerator(name = "event_change_id_generator", sequenceName = "t_event_changes_change_id_seq",
+            allocationSize = Event.ID_ALLOCATION_SIZE)
+    @Column(name = "change_id")
+    private Long id;
+
+    @Column(name = "event_id", nullable = false)
+    private Integer eventId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 10)
+    private EventChange.Type type;
+
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+
+    @Column(name = "log_position", unique = true)
+    private Long position;
+
+    public EventChangeRecord() {
+    }
+
+    public EventChangeRecord(Integer eventId, EventChange.Type type, Instant occurredAt) {
+        this.eventId = eventId;
+        this.type = type;
+        this.occurredAt = occurredAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Integer getEventId() {
+        return eventId;
+    }
+
+    public EventChange.Type getType() {
+        return type;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+
+    public Long getPosition() {
+        return position;
+    }
+
+    public void setPosition(Long position) {
+        this.position = position;
+    }
+}
@@ -0,0 +1,14 @@
+package co.simplon.cda.event_connect_backend.entities;
+
+/**
+ * État de l'image d'un événement dans la chaîne de traitement (EventImageService)
+ *
+ * - PENDING : fichier reçu et mis de côté, traitement en attente ou en cours
+ * - READY   : image validée, normalisée et publiée (uploads/events)
+ * - FAILED  : fichier refusé (contenu illisible ou non conforme à son extension)
+ */
+public enum ImageStatus {
+    PENDING,
+    READY,
+    FAILED
+}
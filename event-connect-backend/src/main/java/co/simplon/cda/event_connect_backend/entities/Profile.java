@@ -6,8 +6,20 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
 @Entity
-@Table(name = "t_profiles")
+@Table(name = "t_profiles", uniqueConstraints = {
+        @UniqueConstraint(name = Profile.EMAIL_CONSTRAINT, columnNames = "email"),
+        @UniqueConstraint(name = Profile.PHONE_CONSTRAINT, columnNames = "phone")
+})
 public class Profile {
+    /**
+     * Noms des contraintes, identiques à init-scripts/01-init.sql :
+     * l'inscription s'appuie dessus pour traduire une violation SQL
+     * en erreur métier sans requête préalable
+     */
+    public static final String EMAIL_CONSTRAINT = "uk_profiles_email";
+    public static final String PHONE_CONSTRAINT = "uk_profiles_phone";
+    public static final String ROLE_CONSTRAINT = "fk_profiles_role";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "profile_id")
@@ -16,7 +28,6 @@ public class Profile {
     @Email
     @NotBlank
     @Size(max = 320)
-    @Column(unique = true)
     private String email;
 
     @NotBlank
@@ -33,14 +44,14 @@ public class Profile {
 
     @NotBlank
     @Size(max = 20)
-    @Column(unique = true)
     private String phone;
 
     @Size(max = 50)
     private String organization;
 
     @ManyToOne
-    @JoinColumn(name = "role_id", nullable = false)
+    @JoinColumn(name = "role_id", nullable = false,
+            foreignKey = @ForeignKey(name = ROLE_CONSTRAINT))
     private Role role;
 
     // Getters & Setters
@@ -0,0 +1,20 @@
+package co.simplon.cda.event_connect_backend.exceptions;
+
+/**
+ * Exception levée lorsqu'une modification réduirait le nombre de places
+ * d'un événement sous le nombre d'inscrits
+ *
+ * Exemple d'utilisation :
+ * - PUT ou PATCH /events/{id} avec numberPlace = 10 alors que 12 places sont réservées
+ *
+ * Retourne un code HTTP 409 Conflict au client
+ */
+public class EventCapacityException extends RuntimeException {
+
+    /**
+     * Constructeur avec l'id de l'événement et le nombre de places demandé
+     */
+    public EventCapacityException(Integer eventId, Integer numberPlace) {
+        super(String.format("L'événement %d compte plus d'inscrits que les %d places demandées", eventId, numberPlace));
+    }
+}
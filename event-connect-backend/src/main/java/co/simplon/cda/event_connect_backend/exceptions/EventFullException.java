@@ -0,0 +1,19 @@
+package co.simplon.cda.event_connect_backend.exceptions;
+
+/**
+ * Exception levée lorsqu'une inscription dépasserait la capacité d'un événement
+ *
+ * Exemple d'utilisation :
+ * - POST /events/{id}/registrations alors que toutes les places sont réservées
+ *
+ * Retourne un code HTTP 409 Conflict au client
+ */
+public class EventFullException extends RuntimeException {
+
+    /**
+     * Constructeur avec l'id de l'événement complet
+     */
+    public EventFullException(Integer eventId) {
+        super(String.format("L'événement %d est complet", eventId));
+    }
+}
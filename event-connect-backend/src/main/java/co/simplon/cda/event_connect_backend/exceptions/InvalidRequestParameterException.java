@@ -0,0 +1,33 @@
+package co.simplon.cda.event_connect_backend.exceptions;
+
+/**
+ * Exception levée lorsqu'un paramètre de requête a une valeur invalide
+ *
+ * Exemples d'utilisation :
+ * - Clé de tri inconnue (?sort=foo)
+ * - Curseur de pagination altéré
+ * - Taille de page négative
+ *
+ * Retourne un code HTTP 400 Bad Request au client
+ */
+public class InvalidRequestParameterException extends RuntimeException {
+    private final transient String parameterName;
+    private final transient Object parameterValue;
+
+    /**
+     * Constructeur avec le nom et la valeur du paramètre rejeté
+     */
+    public InvalidRequestParameterException(String parameterName, Object parameterValue) {
+        super(String.format("Valeur invalide pour le paramètre %s : '%s'", parameterName, parameterValue));
+        this.parameterName = parameterName;
+        this.parameterValue = parameterValue;
+    }
+
+    public String getParameterName() {
+        return parameterName;
+    }
+
+    public Object getParameterValue() {
+        return parameterValue;
+    }
+}
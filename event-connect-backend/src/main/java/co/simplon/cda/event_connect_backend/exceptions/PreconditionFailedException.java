@@ -0,0 +1,28 @@
+package co.simplon.cda.event_connect_backend.exceptions;
+
+/**
+ * Exception levée lorsqu'une écriture conditionnelle ne peut pas être appliquée
+ *
+ * Exemples d'utilisation :
+ * - PUT /events/{id} avec un If-Match qui ne correspond plus à la version de l'événement
+ *   (modifié par quelqu'un d'autre depuis sa lecture)
+ *
+ * Retourne un code HTTP 412 Precondition Failed au client :
+ * il doit relire l'événement (nouvel ETag) avant de renvoyer sa modification
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    /**
+     * Constructeur avec message par défaut
+     */
+    public PreconditionFailedException() {
+        super("La ressource a été modifiée depuis sa lecture");
+    }
+
+    /**
+     * Constructeur avec message personnalisé
+     */
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
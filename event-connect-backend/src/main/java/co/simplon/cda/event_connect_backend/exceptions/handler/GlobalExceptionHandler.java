@@ -5,14 +5,18 @@ import co.simplon.cda.event_connect_backend.exceptions.*;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.TransientDataAccessException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -155,6 +159,71 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
     }
 
+    /**
+     * Gère les inscriptions à un événement complet (409)
+     */
+    @ExceptionHandler(EventFullException.class)
+    public ResponseEntity<ErrorResponse> handleEventFullException(
+            EventFullException ex,
+            HttpServletRequest request
+    ) {
+        logger.warn("Événement complet : {}", ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.of(
+                HttpStatus.CONFLICT.value(),
+                "Conflict",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    /**
+     * Gère les réductions du nombre de places sous le nombre d'inscrits (409)
+     */
+    @ExceptionHandler(EventCapacityException.class)
+    public ResponseEntity<ErrorResponse> handleEventCapacityException(
+            EventCapacityException ex,
+            HttpServletRequest request
+    ) {
+        logger.warn("Capacité insuffisante : {}", ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.of(
+                HttpStatus.CONFLICT.value(),
+                "Conflict",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    /**
+     * Gère les écritures concurrentes (412)
+     *
+     * Exemples :
+     * - If-Match qui ne correspond plus à la version de l'événement
+     * - Événement modifié par une autre requête entre sa lecture et son écriture
+     *   (contrôle de version d'Hibernate, sans verrou sur la ligne)
+     */
+    @ExceptionHandler({PreconditionFailedException.class, ObjectOptimisticLockingFailureException.class})
+    public ResponseEntity<ErrorResponse> handlePreconditionFailedException(
+            Exception ex,
+            HttpServletRequest request
+    ) {
+        logger.warn("Modification concurrente - URI: {}", request.getRequestURI());
+
+        ErrorResponse errorResponse = ErrorResponse.of(
+                HttpStatus.PRECONDITION_FAILED.value(),
+                "Precondition Failed",
+                "La ressource a été modifiée depuis sa lecture. Rechargez-la avant de la modifier.",
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(errorResponse);
+    }
+
     /**
      * Gère les erreurs de fichiers (400)
      *
@@ -177,6 +246,88 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
+    /**
+     * Gère les paramètres de requête invalides (400)
+     *
+     * Exemple : Clé de tri inconnue, curseur de pagination altéré
+     */
+    @ExceptionHandler(InvalidRequestParameterException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidRequestParameterException(
+            InvalidRequestParameterException ex,
+            HttpServletRequest request
+    ) {
+        logger.warn("Paramètre invalide : {}", ex.getParameterName());
+
+        ErrorResponse errorResponse = ErrorResponse.of(
+                HttpStatus.BAD_REQUEST.value(),
+                "Bad Request",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    /**
+     * Gère les paramètres de requête d'un type inattendu (400)
+     *
+     * Exemple : GET /events?ids=a (liste d'entiers attendue)
+     */
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleMethodArgumentTypeMismatchException(
+            MethodArgumentTypeMismatchException ex,
+            HttpServletRequest request
+    ) {
+        return handleInvalidRequestParameterException(
+                new InvalidRequestParameterException(ex.getName(), ex.getValue()), request);
+    }
+
+    /**
+     * Gère les corps de requête illisibles (400)
+     *
+     * Exemple : JSON mal formé envoyé à POST /events/import
+     */
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ErrorResponse> handleHttpMessageNotReadableException(
+            HttpMessageNotReadableException ex,
+            HttpServletRequest request
+    ) {
+        logger.warn("Corps de requête illisible : {}", ex.getMostSpecificCause().getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.of(
+                HttpStatus.BAD_REQUEST.value(),
+                "Bad Request",
+                "Le corps de la requête est illisible",
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    /**
+     * Gère les conflits de concurrence encore présents après les nouvelles tentatives (503)
+     *
+     * Exemple : verrou d'une ligne très disputée non obtenu à temps
+     * (inscriptions simultanées au même événement, voir EventRegistrationService)
+     * La requête peut être renvoyée telle quelle
+     */
+    @ExceptionHandler(TransientDataAccessException.class)
+    public ResponseEntity<ErrorResponse> handleTransientDataAccessException(
+            TransientDataAccessException ex,
+            HttpServletRequest request
+    ) {
+        logger.warn("Conflit de concurrence persistant - URI: {} : {}", request.getRequestURI(), ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.of(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                "Trop de demandes simultanées sur cette ressource. Veuillez réessayer.",
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+    }
+
     /**
      * Gère toutes les autres exceptions non prévues (500)
      *
@@ -0,0 +1,141 @@
+package co.simplon.cda.event_connect_backend.index;
+
+import co.simplon.cda.event_connect_backend.changes.EventChange;
+import co.simplon.cda.event_connect_backend.changes.EventsChanged;
+import co.simplon.cda.event_connect_backend.dtos.category.EventCategoryDTO;
+import co.simplon.cda.event_connect_backend.repositories.EventRepository;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Index mémoire catégorie → événements (contenu de t_belong), en bitmaps compressés
+ *
+ * Filtre multi-catégories (GET /events?categories=1,4,7&match=all|any) :
+ * - match=all : intersection des bitmaps (événements présents dans toutes les catégories)
+ * - match=any : union des bitmaps (événements présents dans au moins une catégorie)
+ * Quelques microsecondes, sans requête SQL ; seule la page est ensuite lue en BDD
+ *
+ * Mise à jour :
+ * - Construit au démarrage à partir de t_belong
+ * - Après commit de chaque création, modification ou suppression (EventChange) :
+ *   les catégories de l'événement sont relues et les bitmaps concernés remplacés
+ *
+ * Les bitmaps publiés ne sont jamais modifiés (copie puis remplacement) :
+ * les lectures se font sans verrou
+ *
+ * Un seul écrivain à la fois : chaque mise à jour lit t_belong PUIS publie sous le même verrou.
+ * Une lecture en base plus ancienne ne peut donc pas être publiée après une plus récente
+ * (reconstruction comprise), et la reconstruction remplace la table entière en une affectation
+ */
+@Component
+public class CategoryBitmapIndex {
+    private static final Logger logger = LoggerFactory.getLogger(CategoryBitmapIndex.class);
+
+    private final EventRepository eventRepository;
+
+    // id catégorie → ids des événements de cette catégorie (remplacée d'un bloc par build)
+    private volatile Map<Integer, RoaringBitmap> eventsByCategory = new ConcurrentHashMap<>();
+
+    public CategoryBitmapIndex(EventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+    /**
+     * Construction complète à partir de t_belong
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void build() {
+        Map<Integer, RoaringBitmap> bitmaps = new HashMap<>();
+        List<EventCategoryDTO> links = eventRepository.findAllCategoryLinks();
+        for (EventCategoryDTO link : links) {
+            bitmaps.computeIfAbsent(link.id(), id -> new RoaringBitmap()).add(link.eventId());
+        }
+        bitmaps.values().forEach(RoaringBitmap::runOptimize);
+
+        eventsByCategory = new ConcurrentHashMap<>(bitmaps);
+        logger.info("Index des catégories construit : {} catégories, {} associations", bitmaps.size(), links.size());
+    }
+
+    /**
+     * Mise à jour incrémentale après commit d'une écriture sur t_belong
+     * Lecture et publication sous le verrou des écritures (voir build)
+     */
+    @TransactionalEventListener
+    public synchronized void onEventChange(EventChange change) {
+        Set<Integer> categoryIds = change.type() == EventChange.Type.DELETED
+                ? Set.of()
+                : eventRepository.findCategoriesByEventIds(List.of(change.eventId())).stream()
+                        .map(EventCategoryDTO::id)
+                        .collect(Collectors.toSet());
+        setCategories(change.eventId(), categoryIds);
+    }
+
+    /**
+     * Écriture en lot : reconstruction complète (une requête) plutôt qu'une lecture par événement
+     */
+    @TransactionalEventListener
+    public void onEventsChanged(EventsChanged changed) {
+        build();
+    }
+
+    /**
+     * Événements appartenant à toutes (matchAll) ou à au moins une des catégories
+     *
+     * @return nouveau bitmap, modifiable par l'appelant
+     */
+    public RoaringBitmap match(Collection<Integer> categoryIds, boolean matchAll) {
+        Map<Integer, RoaringBitmap> current = eventsByCategory;
+        RoaringBitmap result = null;
+        for (Integer categoryId : categoryIds) {
+            RoaringBitmap events = current.getOrDefault(categoryId, new RoaringBitmap());
+            if (result == null) {
+                result = events.clone();
+            } else if (matchAll) {
+                result.and(events);
+            } else {
+                result.or(events);
+            }
+            if (matchAll && result.isEmpty()) {
+                break; // L'intersection ne peut plus que rester vide
+            }
+        }
+        return result != null ? result : new RoaringBitmap();
+    }
+
+    /**
+     * Remplace les catégories d'un événement dans l'index
+     */
+    synchronized void setCategories(Integer eventId, Set<Integer> categoryIds) {
+        // Retrait des catégories qu'il n'a plus
+        eventsByCategory.replaceAll((categoryId, events) -> {
+            if (categoryIds.contains(categoryId) || !events.contains(eventId)) {
+                return events;
+            }
+            RoaringBitmap copy = events.clone();
+            copy.remove(eventId);
+            return copy;
+        });
+        // Ajout dans ses catégories actuelles
+        for (Integer categoryId : categoryIds) {
+            RoaringBitmap events = eventsByCategory.getOrDefault(categoryId, new RoaringBitmap());
+            if (!events.contains(eventId)) {
+                RoaringBitmap copy = events.clone();
+                copy.add(eventId);
+                eventsByCategory.put(categoryId, copy);
+            }
+        }
+    }
+}
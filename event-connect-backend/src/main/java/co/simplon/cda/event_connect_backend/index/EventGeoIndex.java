@@ -0,0 +1,231 @@
+package co.simplon.cda.event_connect_backend.index;
+
+import co.simplon.cda.event_connect_backend.changes.EventChange;
+import co.simplon.cda.event_connect_backend.changes.EventsChanged;
+import co.simplon.cda.event_connect_backend.dtos.event.EventGeoPointDTO;
+import co.simplon.cda.event_connect_backend.repositories.EventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index spatial mémoire des événements géolocalisés (GET /events/nearby)
+ *
+ * Structure : grille régulière de cellules de CELL_DEGREES degrés (≈ 11 km en latitude)
+ * Chaque cellule contient les ids des événements situés dans son carré
+ *
+ * Recherche dans un rayon :
+ * 1. Seules les cellules recouvrant le carré englobant le cercle sont parcourues
+ * 2. La distance réelle (haversine) n'est calculée que pour leurs événements
+ * 3. Les k plus proches sont gardés (tas borné), du plus proche au plus lointain
+ *
+ * Mise à jour :
+ * - Construit au démarrage (événements à venir géolocalisés)
+ * - Après commit de chaque création, modification ou suppression (EventChange)
+ *
+ * Lectures sans verrou, écritures sérialisées (rares)
+ */
+@Component
+public class EventGeoIndex {
+    private static final Logger logger = LoggerFactory.getLogger(EventGeoIndex.class);
+
+    static final double CELL_DEGREES = 0.1;
+    private static final int LAT_CELLS = (int) Math.round(180 / CELL_DEGREES);
+    private static final int LON_CELLS = (int) Math.round(360 / CELL_DEGREES);
+    // Rayon moyen de la Terre
+    static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+    // Au-delà, le cercle peut couvrir toutes les longitudes (proximité d'un pôle)
+    private static final double MAX_BOUNDED_LATITUDE = 89.0;
+
+    private static final Comparator<Hit> NEAREST_FIRST =
+            Comparator.comparingDouble(Hit::distanceKm).thenComparing(Hit::eventId);
+
+    private final EventRepository eventRepository;
+
+    // Cellule → ids des événements qu'elle contient
+    private final Map<Long, Set<Integer>> cells = new ConcurrentHashMap<>();
+    // id → position de l'événement
+    private final Map<Integer, EventGeoPointDTO> points = new ConcurrentHashMap<>();
+
+    public EventGeoIndex(EventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+    /**
+     * Construction initiale, une fois l'application démarrée
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        List<EventGeoPointDTO> geoPoints = eventRepository.findGeoPointsFrom(LocalDate.now());
+        rebuild(geoPoints);
+        logger.info("Index de proximité construit : {} événements géolocalisés", geoPoints.size());
+    }
+
+    /**
+     * Mise à jour incrémentale après commit d'une écriture
+     */
+    @TransactionalEventListener
+    public void onEventChange(EventChange change) {
+        if (change.type() == EventChange.Type.DELETED) {
+            remove(change.eventId());
+        } else {
+            eventRepository.findGeoPointById(change.eventId())
+                    .ifPresentOrElse(this::put, () -> remove(change.eventId()));
+        }
+    }
+
+    /**
+     * Écriture en lot : reconstruction complète (une requête) plutôt qu'une lecture par événement
+     */
+    @TransactionalEventListener
+    public void onEventsChanged(EventsChanged changed) {
+        build();
+    }
+
+    /**
+     * Les k événements à venir situés à moins de radiusKm de la position,
+     * du plus proche au plus lointain
+     */
+    public List<Hit> nearby(double latitude, double longitude, double radiusKm, int limit) {
+        LocalDate today = LocalDate.now();
+        double deltaLat = radiusKm / KM_PER_DEGREE;
+
+        // Tas borné à limit éléments : le plus lointain est retiré en premier
+        PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, NEAREST_FIRST.reversed());
+        int fromLat = latCell(Math.max(-90, latitude - deltaLat));
+        int toLat = latCell(Math.min(90, latitude + deltaLat));
+        for (int lat = fromLat; lat <= toLat; lat++) {
+            for (int lon : lonCells(latitude, longitude, deltaLat)) {
+                Set<Integer> ids = cells.get(key(lat, lon));
+                if (ids == null) {
+                    continue;
+                }
+                for (Integer id : ids) {
+                    EventGeoPointDTO point = points.get(id);
+                    if (point == null || point.dateEvent().isBefore(today)) {
+                        continue;
+                    }
+                    double distance = distanceKm(latitude, longitude, point.latitude(), point.longitude());
+                    if (distance <= radiusKm) {
+                        best.offer(new Hit(id, distance));
+                        if (best.size() > limit) {
+                            best.poll();
+                        }
+                    }
+                }
+            }
+        }
+
+        List<Hit> result = new ArrayList<>(best);
+        result.sort(NEAREST_FIRST);
+        return result;
+    }
+
+    /**
+     * Remplace tout le contenu de l'index
+     */
+    synchronized void rebuild(Collection<EventGeoPointDTO> geoPoints) {
+        cells.clear();
+        points.clear();
+        geoPoints.forEach(this::put);
+    }
+
+    /**
+     * Ajoute ou déplace un événement (non géolocalisé : retiré)
+     */
+    synchronized void put(EventGeoPointDTO point) {
+        remove(point.id());
+        if (point.latitude() == null || point.longitude() == null) {
+            return;
+        }
+        points.put(point.id(), point);
+        cells.computeIfAbsent(cellOf(point), k -> ConcurrentHashMap.newKeySet()).add(point.id());
+    }
+
+    /**
+     * Retire un événement de l'index
+     */
+    synchronized void remove(Integer id) {
+        EventGeoPointDTO previous = points.remove(id);
+        if (previous != null) {
+            cells.computeIfPresent(cellOf(previous), (k, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    int size() {
+        return points.size();
+    }
+
+    /**
+     * Distance à vol d'oiseau entre deux positions (formule de haversine)
+     */
+    static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.pow(Math.sin(dLat / 2), 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.pow(Math.sin(dLon / 2), 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * MÉTHODE UTILITAIRE : Colonnes de longitude recouvrant le cercle
+     * Un degré de longitude raccourcit vers les pôles : l'écart est calculé
+     * à la latitude la plus éloignée de l'équateur, et fait le tour à ±180°
+     */
+    private static int[] lonCells(double latitude, double longitude, double deltaLat) {
+        double farthestLat = Math.abs(latitude) + deltaLat;
+        if (farthestLat < MAX_BOUNDED_LATITUDE) {
+            double deltaLon = deltaLat / Math.cos(Math.toRadians(farthestLat));
+            int from = (int) Math.floor((longitude - deltaLon + 180) / CELL_DEGREES);
+            int to = (int) Math.floor((longitude + deltaLon + 180) / CELL_DEGREES);
+            if (to - from + 1 < LON_CELLS) {
+                int[] columns = new int[to - from + 1];
+                for (int i = 0; i < columns.length; i++) {
+                    columns[i] = Math.floorMod(from + i, LON_CELLS);
+                }
+                return columns;
+            }
+        }
+        int[] all = new int[LON_CELLS];
+        for (int i = 0; i < LON_CELLS; i++) {
+            all[i] = i;
+        }
+        return all;
+    }
+
+    private static long cellOf(EventGeoPointDTO point) {
+        return key(latCell(point.latitude()),
+                Math.floorMod((int) Math.floor((point.longitude() + 180) / CELL_DEGREES), LON_CELLS));
+    }
+
+    private static int latCell(double latitude) {
+        return Math.min((int) Math.floor((latitude + 90) / CELL_DEGREES), LAT_CELLS - 1);
+    }
+
+    private static long key(int latCell, int lonCell) {
+        return (long) latCell * LON_CELLS + lonCell;
+    }
+
+    /**
+     * Événement trouvé et sa distance à la position recherchée
+     */
+    public record Hit(Integer eventId, double distanceKm) {
+    }
+}
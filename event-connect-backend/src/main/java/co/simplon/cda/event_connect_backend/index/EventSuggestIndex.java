@@ -0,0 +1,245 @@
+package co.simplon.cda.event_connect_backend.index;
+
+import co.simplon.cda.event_connect_backend.changes.EventChange;
+import co.simplon.cda.event_connect_backend.changes.EventsChanged;
+import co.simplon.cda.event_connect_backend.dtos.event.EventSuggestionDTO;
+import co.simplon.cda.event_connect_backend.repositories.EventRepository;
+import co.simplon.cda.event_connect_backend.utils.TextNormalizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Index mémoire des noms d'événements pour l'autocomplétion (GET /events/suggest)
+ *
+ * Chaque nom est indexé à partir de chacun de ses mots :
+ * "Fête de la Musique" → "fete de la musique", "de la musique", "la musique", "musique"
+ * Une saisie correspond donc au début du nom ou au début de n'importe quel mot
+ *
+ * Deux structures, pour un coût de recherche borné quelle que soit la taille du catalogue :
+ * - Préfixes courts (1 à SHORT_PREFIX_LENGTH caractères, ceux qui correspondent au plus
+ *   d'événements) : ensemble précalculé par préfixe, trié du plus proche au plus lointain ;
+ *   la recherche lit les limit premiers à partir d'aujourd'hui
+ * - Préfixes plus longs : tableau trié (ConcurrentSkipListMap) de clés "texte normalisé + id",
+ *   plage des clés commençant par prefix, parcourue sur au plus MAX_SCANNED_KEYS clés
+ *
+ * Mise à jour :
+ * - Construit au démarrage (événements à venir)
+ * - Après commit de chaque création, modification ou suppression (EventChange)
+ * - Reconstruit après une écriture en lot (EventsChanged) : le nouvel état est construit
+ *   à côté puis publié en une affectation, les lectures voient l'ancien ou le nouveau, jamais
+ *   un index vide ou partiel
+ *
+ * Lectures sans verrou, écritures sérialisées (rares) : une reconstruction ne peut donc pas
+ * effacer une mise à jour incrémentale arrivée pendant sa lecture en base
+ */
+@Component
+public class EventSuggestIndex {
+    private static final Logger logger = LoggerFactory.getLogger(EventSuggestIndex.class);
+
+    private static final char KEY_SEPARATOR = '\u0000';
+    static final int SHORT_PREFIX_LENGTH = 3;
+    static final int MAX_SCANNED_KEYS = 2_000;
+    private static final Comparator<EventSuggestionDTO> SOONEST_FIRST =
+            Comparator.comparing(EventSuggestionDTO::dateEvent).thenComparing(EventSuggestionDTO::id);
+
+    private final EventRepository eventRepository;
+
+    // État courant, remplacé d'un bloc par rebuild
+    private volatile State state = new State();
+
+    public EventSuggestIndex(EventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+    /**
+     * Construction initiale, une fois l'application démarrée
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void build() {
+        List<EventSuggestionDTO> suggestions = eventRepository.findSuggestionsFrom(LocalDate.now());
+        rebuild(suggestions);
+        logger.info("Index d'autocomplétion construit : {} événements", suggestions.size());
+    }
+
+    /**
+     * Mise à jour incrémentale après commit d'une écriture
+     */
+    @TransactionalEventListener
+    public synchronized void onEventChange(EventChange change) {
+        if (change.type() == EventChange.Type.DELETED) {
+            remove(change.eventId());
+        } else {
+            eventRepository.findSuggestionById(change.eventId())
+                    .ifPresentOrElse(this::put, () -> remove(change.eventId()));
+        }
+    }
+
+    /**
+     * Écriture en lot : reconstruction complète (une requête) plutôt qu'une lecture par événement
+     */
+    @TransactionalEventListener
+    public void onEventsChanged(EventsChanged changed) {
+        build();
+    }
+
+    /**
+     * Les k événements à venir dont le nom (ou un mot du nom) commence par prefix
+     * Du plus proche au plus lointain dans le temps
+     */
+    public List<EventSuggestionDTO> suggest(String prefix, int limit) {
+        String folded = TextNormalizer.fold(prefix);
+        LocalDate today = LocalDate.now();
+        State current = state;
+
+        if (folded.length() <= SHORT_PREFIX_LENGTH) {
+            NavigableSet<EventSuggestionDTO> candidates = current.byShortPrefix.get(folded);
+            if (candidates == null) {
+                return List.of();
+            }
+            // Déjà triés : les limit premiers à partir d'aujourd'hui
+            return candidates.tailSet(new EventSuggestionDTO(Integer.MIN_VALUE, null, today), true).stream()
+                    .limit(limit)
+                    .toList();
+        }
+
+        // Tas borné à limit éléments : le plus lointain est retiré en premier
+        PriorityQueue<EventSuggestionDTO> best = new PriorityQueue<>(limit + 1, SOONEST_FIRST.reversed());
+        Set<Integer> seen = new HashSet<>();
+        int scanned = 0;
+        for (Integer id : current.keys.subMap(folded, true, folded + Character.MAX_VALUE, false).values()) {
+            if (++scanned > MAX_SCANNED_KEYS) {
+                break;
+            }
+            Entry entry = current.entries.get(id);
+            if (entry == null || !seen.add(id) || entry.suggestion().dateEvent().isBefore(today)) {
+                continue;
+            }
+            best.offer(entry.suggestion());
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+
+        List<EventSuggestionDTO> result = new ArrayList<>(best);
+        result.sort(SOONEST_FIRST);
+        return result;
+    }
+
+    /**
+     * Remplace tout le contenu de l'index : construit à côté, publié en une affectation
+     */
+    synchronized void rebuild(Collection<EventSuggestionDTO> suggestions) {
+        State next = new State();
+        suggestions.forEach(next::put);
+        state = next;
+    }
+
+    /**
+     * Ajoute ou remplace un événement (ses anciennes clés sont retirées)
+     */
+    synchronized void put(EventSuggestionDTO suggestion) {
+        state.put(suggestion);
+    }
+
+    /**
+     * Retire un événement de l'index
+     */
+    synchronized void remove(Integer id) {
+        state.remove(id);
+    }
+
+    int size() {
+        return state.entries.size();
+    }
+
+    /**
+     * Contenu de l'index : structures concurrentes, lues sans verrou,
+     * modifiées par un seul écrivain à la fois (méthodes synchronized de l'index)
+     */
+    private static final class State {
+        // Clé "texte normalisé\0id" → id de l'événement
+        private final NavigableMap<String, Integer> keys = new ConcurrentSkipListMap<>();
+        // Préfixe court → événements correspondants, du plus proche au plus lointain
+        private final Map<String, NavigableSet<EventSuggestionDTO>> byShortPrefix = new ConcurrentHashMap<>();
+        // id → suggestion et clés indexées (pour la suppression)
+        private final Map<Integer, Entry> entries = new ConcurrentHashMap<>();
+
+        void put(EventSuggestionDTO suggestion) {
+            remove(suggestion.id());
+            if (suggestion.nameEvent() == null || suggestion.nameEvent().isBlank()) {
+                return;
+            }
+            List<String> eventKeys = keysOf(suggestion);
+            Set<String> shortPrefixes = shortPrefixesOf(eventKeys);
+            eventKeys.forEach(key -> keys.put(key, suggestion.id()));
+            shortPrefixes.forEach(prefix -> byShortPrefix
+                    .computeIfAbsent(prefix, p -> new ConcurrentSkipListSet<>(SOONEST_FIRST))
+                    .add(suggestion));
+            entries.put(suggestion.id(), new Entry(suggestion, eventKeys, shortPrefixes));
+        }
+
+        void remove(Integer id) {
+            Entry previous = entries.remove(id);
+            if (previous == null) {
+                return;
+            }
+            previous.keys().forEach(keys::remove);
+            previous.shortPrefixes().forEach(prefix -> byShortPrefix.computeIfPresent(prefix, (p, events) -> {
+                events.remove(previous.suggestion());
+                return events.isEmpty() ? null : events;
+            }));
+        }
+    }
+
+    /**
+     * MÉTHODE UTILITAIRE : Une clé par position de mot dans le nom normalisé
+     */
+    private static List<String> keysOf(EventSuggestionDTO suggestion) {
+        String name = TextNormalizer.fold(suggestion.nameEvent());
+        List<String> eventKeys = new ArrayList<>();
+        for (int start = 0; start < name.length(); start++) {
+            boolean wordStart = Character.isLetterOrDigit(name.charAt(start))
+                    && (start == 0 || !Character.isLetterOrDigit(name.charAt(start - 1)));
+            if (wordStart) {
+                eventKeys.add(name.substring(start) + KEY_SEPARATOR + suggestion.id());
+            }
+        }
+        return eventKeys;
+    }
+
+    /**
+     * MÉTHODE UTILITAIRE : Préfixes courts (1 à SHORT_PREFIX_LENGTH caractères) de chaque clé
+     */
+    private static Set<String> shortPrefixesOf(List<String> eventKeys) {
+        Set<String> prefixes = new HashSet<>();
+        for (String key : eventKeys) {
+            int textLength = key.indexOf(KEY_SEPARATOR);
+            for (int length = 1; length <= Math.min(SHORT_PREFIX_LENGTH, textLength); length++) {
+                prefixes.add(key.substring(0, length));
+            }
+        }
+        return prefixes;
+    }
+
+    private record Entry(EventSuggestionDTO suggestion, List<String> keys, Set<String> shortPrefixes) {
+    }
+}
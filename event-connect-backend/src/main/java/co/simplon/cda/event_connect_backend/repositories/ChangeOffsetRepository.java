@@ -0,0 +1,47 @@
+package co.simplon.cda.event_connect_backend.repositories;
+
+import co.simplon.cda.event_connect_backend.entities.ChangeOffset;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Repository des positions de lecture du journal des modifications
+ */
+public interface ChangeOffsetRepository extends JpaRepository<ChangeOffset, String> {
+
+    /**
+     * Position verrouillée jusqu'à la fin de la transaction (SELECT ... FOR UPDATE)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM ChangeOffset o WHERE o.consumer = :consumer")
+    Optional<ChangeOffset> findForUpdate(@Param("consumer") String consumer);
+
+    /**
+     * Crée la position d'un lecteur (0) si elle n'existe pas encore, sans toucher une position existante
+     * INSERT ... SELECT ... WHERE NOT EXISTS : même requête pour PostgreSQL et H2
+     *
+     * @return 1 si la ligne a été créée, 0 si elle existait
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO t_change_offsets (consumer, last_position)
+            SELECT CAST(:consumer AS VARCHAR(100)), 0
+            WHERE NOT EXISTS (SELECT 1 FROM t_change_offsets WHERE consumer = :consumer)
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("consumer") String consumer);
+
+    /**
+     * Plus petite position de t_change_offsets, tous lecteurs confondus (purge du journal)
+     * La ligne du séquenceur en fait partie : sans autre lecteur, toutes les entrées positionnées
+     */
+    @Query("SELECT MIN(o.lastPosition) FROM ChangeOffset o")
+    Long findMinPosition();
+}
@@ -0,0 +1,43 @@
+package co.simplon.cda.event_connect_backend.repositories;
+
+import co.simplon.cda.event_connect_backend.dtos.event.EventChangeDTO;
+import co.simplon.cda.event_connect_backend.entities.EventChangeRecord;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository de l'outbox des modifications d'événements (t_event_changes)
+ */
+public interface EventChangeRecordRepository extends JpaRepository<EventChangeRecord, Long> {
+
+    /**
+     * Entrées commitées sans position, dans l'ordre d'insertion
+     * (index partiel idx_event_changes_unsequenced)
+     */
+    @Query("SELECT r FROM EventChangeRecord r WHERE r.position IS NULL ORDER BY r.id")
+    List<EventChangeRecord> findUnsequenced(Pageable pageable);
+
+    /**
+     * Entrées du journal situées après une position, dans l'ordre du journal
+     */
+    @Query("""
+            SELECT new co.simplon.cda.event_connect_backend.dtos.event.EventChangeDTO(r.position, r.eventId, r.type, r.occurredAt)
+            FROM EventChangeRecord r
+            WHERE r.position > :after
+            ORDER BY r.position
+            """)
+    List<EventChangeDTO> findAfter(@Param("after") long after, Pageable pageable);
+
+    /**
+     * Purge : entrées anciennes et déjà livrées à tous les abonnés
+     */
+    @Modifying
+    @Query("DELETE FROM EventChangeRecord r WHERE r.position <= :position AND r.occurredAt < :before")
+    int deleteDelivered(@Param("position") long position, @Param("before") Instant before);
+}
@@ -0,0 +1,34 @@
+package co.simplon.cda.event_connect_backend.repositories;
+
+import co.simplon.cda.event_connect_backend.dtos.event.EventCursor;
+import co.simplon.cda.event_connect_backend.dtos.event.EventField;
+import co.simplon.cda.event_connect_backend.dtos.event.EventSort;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Critères d'une requête paginée par curseur sur t_events
+ *
+ * - eventIds : restriction à ces événements (null = aucune), issus de CategoryBitmapIndex
+ * - categoryIds / matchAllCategories : filtre par catégories évalué par la BDD
+ *   (null = aucun), utilisé quand eventIds serait une trop longue liste
+ * - from / to : bornes incluses sur date_event (null = pas de borne)
+ * - after : position de départ (null = première page)
+ * - limit : nombre maximum de lignes à lire
+ * - fields : colonnes à lire (null = toutes) ; l'id et la colonne de tri sont toujours lus
+ */
+public record EventPageCriteria(
+        Collection<Integer> eventIds,
+        List<Integer> categoryIds,
+        boolean matchAllCategories,
+        LocalDate from,
+        LocalDate to,
+        EventSort sort,
+        boolean descending,
+        EventCursor after,
+        int limit,
+        Set<EventField> fields
+) {}
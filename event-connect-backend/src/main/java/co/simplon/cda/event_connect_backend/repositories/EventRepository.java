@@ -1,31 +1,386 @@
 package co.simplon.cda.event_connect_backend.repositories;
 
+import co.simplon.cda.event_connect_backend.dtos.category.EventCategoryDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventGeoPointDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventImageDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventOwnerDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventSuggestionDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventVersionDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventViewDTO;
 import co.simplon.cda.event_connect_backend.entities.Event;
+import co.simplon.cda.event_connect_backend.entities.ImageStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository pour la gestion des événements
- * Fournit les opérations CRUD standard + une requête personnalisée
+ * Fournit les opérations CRUD standard
+ * + des projections en lecture seule vers les DTOs
+ * + la pagination par curseur (voir EventRepositoryCustom)
+ * + la lecture en flux pour l'export (curseur BDD)
+ * + la recherche plein texte (requêtes natives PostgreSQL)
  *
- * Spring Data JPA génère automatiquement les requêtes SQL
- * en se basant sur le nom de la méthode (Query Method)
+ * Projections "SELECT new ..." :
+ * Hibernate construit directement les DTOs à partir des colonnes lues,
+ * sans entité managée ni copie pour le dirty checking
  */
-public interface EventRepository extends JpaRepository<Event, Integer> {
+public interface EventRepository extends JpaRepository<Event, Integer>, EventRepositoryCustom {
     /**
-     * Recherche les événements appartenant à une catégorie spécifique
+     * Nombre de lignes lues par aller-retour lors d'une lecture en flux
+     * (PostgreSQL n'utilise un curseur qu'à l'intérieur d'une transaction)
+     */
+    int STREAM_FETCH_SIZE = 500;
+
+    /**
+     * Détail d'un événement, projeté en EventViewDTO (sans catégories)
+     */
+    @Query("""
+            SELECT new co.simplon.cda.event_connect_backend.dtos.event.EventViewDTO(
+                e.id, e.nameEvent, e.imgUrl, e.description, e.dateEvent,
+                e.program, e.contact, e.price, e.numberPlace, e.address, e.latitude, e.longitude,
+                e.version, e.updatedAt)
+            FROM Event e
+            WHERE e.id = :id
+            """)
+    Optional<EventViewDTO> findViewById(@Param("id") Integer id);
+
+    /**
+     * Plusieurs événements projetés en EventViewDTO (sans catégories), ordre quelconque
+     */
+    @Query("""
+            SELECT new co.simplon.cda.event_connect_backend.dtos.event.EventViewDTO(
+                e.id, e.nameEvent, e.imgUrl, e.description, e.dateEvent,
+                e.program, e.contact, e.price, e.numberPlace, e.address, e.latitude, e.longitude,
+                e.version, e.updatedAt)
+            FROM Event e
+            WHERE e.id IN :ids
+            """)
+    List<EventViewDTO> findViewsByIds(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Suggestions d'autocomplétion des événements à partir d'une date (construction de l'index)
+     */
+    @Query("""
+            SELECT new co.simplon.cda.event_connect_backend.dtos.event.EventSuggestionDTO(
+                e.id, e.nameEvent, e.dateEvent)
+            FROM Event e
+            WHERE e.dateEvent >= :from
+            """)
+    List<EventSuggestionDTO> findSuggestionsFrom(@Param("from") LocalDate from);
+
+    /**
+     * Suggestion d'autocomplétion d'un événement (mise à jour de l'index)
+     */
+    @Query("""
+            SELECT new co.simplon.cda.event_connect_backend.dtos.event.EventSuggestionDTO(
+                e.id, e.nameEvent, e.dateEvent)
+            FROM Event e
+            WHERE e.id = :id
+            """)
+    Optional<EventSuggestionDTO> findSuggestionById(@Param("id") Integer id);
+
+    /**
+     * Coordonnées des événements géolocalisés à partir d'une date (construction de l'index)
+     */
+    @Query("""
+            SELECT new co.simplon.cda.event_connect_backend.dtos.event.EventGeoPointDTO(
+                e.id, e.latitude, e.longitude, e.dateEvent)
+            FROM Event e
+            WHERE e.dateEvent >= :from
+            AND e.latitude IS NOT NULL AND e.longitude IS NOT NULL
+            """)
+    List<EventGeoPointDTO> findGeoPointsFrom(@Param("from") LocalDate from);
+
+    /**
+     * Coordonnées d'un événement (mise à jour de l'index)
+     */
+    @Query("""
+            SELECT new co.simplon.cda.event_connect_backend.dtos.event.EventGeoPointDTO(
+                e.id, e.latitude, e.longitude, e.dateEvent)
+            FROM Event e
+            WHERE e.id = :id
+            """)
+    Optional<EventGeoPointDTO> findGeoPointById(@Param("id") Integer id);
+
+    /**
+     * Révision d'un événement (revalidation de GET /events/{id})
      *
-     * Fonctionnement :
-     * - Spring analyse le nom de la méthode
-     * - "findBy" : requête SELECT
-     * - "Categories" : navigue vers la relation @ManyToMany categories
-     * - "Id" : filtre sur le champ id de Category
+     * Lecture seule de l'index idx_events_version (event_id INCLUDE version, updated_at) :
+     * une réponse 304 ne lit aucune colonne TEXT de la ligne
+     */
+    @Query("""
+            SELECT new co.simplon.cda.event_connect_backend.dtos.event.EventVersionDTO(e.version, e.updatedAt)
+            FROM Event e
+            WHERE e.id = :id
+            """)
+    Optional<EventVersionDTO> findVersionById(@Param("id") Integer id);
+
+    /**
+     * État de l'image d'un événement (GET /events/{id}/image), sans lire son détail
+     */
+    @Query("""
+            SELECT new co.simplon.cda.event_connect_backend.dtos.event.EventImageDTO(e.id, e.imageStatus, e.imgUrl)
+            FROM Event e
+            WHERE e.id = :id
+            """)
+    Optional<EventImageDTO> findImageById(@Param("id") Integer id);
+
+    /**
+     * Résultat du traitement d'une image, appelé hors requête HTTP (EventImageService)
+     *
+     * Sans effet si l'événement a changé d'image entre-temps : le traitement
+     * de l'ancienne image ne remplace pas l'état de la nouvelle
+     *
+     * @return 1 si l'état a été enregistré, 0 sinon
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE Event e
+            SET e.imageStatus = :imageStatus
+            WHERE e.id = :id AND e.imgUrl = :imgUrl
+            """)
+    int updateImageStatus(@Param("id") Integer id,
+                          @Param("imgUrl") String imgUrl,
+                          @Param("imageStatus") ImageStatus imageStatus);
+
+    /**
+     * Catégories de plusieurs événements en une seule requête
      *
-     * Génère automatiquement la requête SQL :
-     * SELECT e.* FROM t_events e
-     * JOIN t_belong b ON e.event_id = b.event_id
-     * WHERE b.category_id = ?
+     * SELECT b.event_id, c.category_id, c.name_category
+     * FROM t_belong b JOIN t_categories c ON c.category_id = b.category_id
+     * WHERE b.event_id IN (...)
+     */
+    @Query("""
+            SELECT new co.simplon.cda.event_connect_backend.dtos.category.EventCategoryDTO(
+                e.id, c.id, c.nameCategory)
+            FROM Event e
+            JOIN e.categories c
+            WHERE e.id IN :eventIds
+            """)
+    List<EventCategoryDTO> findCategoriesByEventIds(@Param("eventIds") Collection<Integer> eventIds);
+
+    /**
+     * Tous les événements en flux, triés par date puis id
+     *
+     * Les lignes sont lues par paquets de STREAM_FETCH_SIZE via un curseur :
+     * la mémoire utilisée ne dépend pas du nombre d'événements
+     * Le Stream doit être fermé et consommé dans une transaction
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            SELECT new co.simplon.cda.event_connect_backend.dtos.event.EventViewDTO(
+                e.id, e.nameEvent, e.imgUrl, e.description, e.dateEvent,
+                e.program, e.contact, e.price, e.numberPlace, e.address, e.latitude, e.longitude,
+                e.version, e.updatedAt)
+            FROM Event e
+            ORDER BY e.dateEvent, e.id
+            """)
+    Stream<EventViewDTO> streamAllViews();
+
+    /**
+     * Événements d'une catégorie en flux (mêmes règles que streamAllViews)
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            SELECT new co.simplon.cda.event_connect_backend.dtos.event.EventViewDTO(
+                e.id, e.nameEvent, e.imgUrl, e.description, e.dateEvent,
+                e.program, e.contact, e.price, e.numberPlace, e.address, e.latitude, e.longitude,
+                e.version, e.updatedAt)
+            FROM Event e
+            JOIN e.categories c
+            WHERE c.id = :categoryId
+            ORDER BY e.dateEvent, e.id
+            """)
+    Stream<EventViewDTO> streamViewsByCategory(@Param("categoryId") Integer categoryId);
+
+    /**
+     * Toutes les associations événement ↔ catégorie (construction de CategoryBitmapIndex)
+     */
+    @Query("""
+            SELECT new co.simplon.cda.event_connect_backend.dtos.category.EventCategoryDTO(
+                e.id, c.id, c.nameCategory)
+            FROM Event e
+            JOIN e.categories c
+            """)
+    List<EventCategoryDTO> findAllCategoryLinks();
+
+    /**
+     * Recherche plein texte (PostgreSQL uniquement) : ids des événements à venir, par pertinence
+     *
+     * - search_vector : colonne tsvector générée (nom, description, programme, adresse)
+     * - french_unaccent : configuration "french" + suppression des accents
+     * - websearch_to_tsquery : syntaxe type moteur de recherche ("jazz -rock", "concert plein air")
+     * - ts_rank_cd : pertinence, le nom pèse plus que la description (poids A > B > C)
+     * Index GIN idx_events_search (voir eventconnect.ddl.sql)
+     */
+    @Query(value = """
+            SELECT e.event_id
+            FROM t_events e, websearch_to_tsquery('french_unaccent', :q) tsq
+            WHERE e.search_vector @@ tsq
+              AND e.date_event >= CURRENT_DATE
+            ORDER BY ts_rank_cd(e.search_vector, tsq) DESC, e.event_id
+            LIMIT :limit OFFSET :offset
+            """, nativeQuery = true)
+    List<Integer> searchIds(@Param("q") String q, @Param("limit") int limit, @Param("offset") int offset);
+
+    /**
+     * Au moins un événement à venir correspond à la recherche plein texte
+     */
+    @Query(value = """
+            SELECT EXISTS (
+                SELECT 1
+                FROM t_events e
+                WHERE e.search_vector @@ websearch_to_tsquery('french_unaccent', :q)
+                  AND e.date_event >= CURRENT_DATE)
+            """, nativeQuery = true)
+    boolean existsSearchMatch(@Param("q") String q);
+
+    /**
+     * Repli par similarité de trigrammes sur le nom (fautes de frappe : "festval" → "Festival")
+     *
+     * word_similarity : la saisie est comparée au mot le plus proche du nom
+     * Index GIN idx_events_name_trgm (extension pg_trgm)
+     */
+    @Query(value = """
+            SELECT e.event_id
+            FROM t_events e
+            WHERE immutable_unaccent(lower(:q)) <% immutable_unaccent(lower(e.name_event))
+              AND e.date_event >= CURRENT_DATE
+            ORDER BY word_similarity(immutable_unaccent(lower(:q)), immutable_unaccent(lower(e.name_event))) DESC,
+                     e.event_id
+            LIMIT :limit OFFSET :offset
+            """, nativeQuery = true)
+    List<Integer> searchIdsBySimilarity(@Param("q") String q, @Param("limit") int limit, @Param("offset") int offset);
+
+    /**
+     * Créateurs de plusieurs événements en une requête (opérations groupées)
+     * Les ids inconnus sont absents du résultat
+     */
+    @Query("""
+            SELECT new co.simplon.cda.event_connect_backend.dtos.event.EventOwnerDTO(e.id, e.profile.id, e.imgUrl)
+            FROM Event e
+            WHERE e.id IN :ids
+            """)
+    List<EventOwnerDTO> findOwnersByIds(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Nouvelle date pour plusieurs événements, en une instruction
+     * La version est incrémentée comme par Hibernate (nouvel ETag)
+     */
+    @Modifying
+    @Query("""
+            UPDATE Event e
+            SET e.dateEvent = :dateEvent, e.version = e.version + 1, e.updatedAt = :updatedAt
+            WHERE e.id IN :ids
+            """)
+    int rescheduleAll(@Param("ids") Collection<Integer> ids,
+                      @Param("dateEvent") LocalDate dateEvent,
+                      @Param("updatedAt") Instant updatedAt);
+
+    /**
+     * Nouvelle révision pour plusieurs événements (modification de leurs catégories)
+     */
+    @Modifying
+    @Query("""
+            UPDATE Event e
+            SET e.version = e.version + 1, e.updatedAt = :updatedAt
+            WHERE e.id IN :ids
+            """)
+    int touchAll(@Param("ids") Collection<Integer> ids, @Param("updatedAt") Instant updatedAt);
+
+    /**
+     * Retire toutes les catégories de plusieurs événements
+     */
+    @Modifying
+    @Query(value = "DELETE FROM t_belong WHERE event_id IN :ids", nativeQuery = true)
+    int deleteCategoryLinks(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Associe chaque événement à chaque catégorie, en une instruction INSERT ... SELECT
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO t_belong (event_id, category_id)
+            SELECT e.event_id, c.category_id
+            FROM t_events e
+            CROSS JOIN t_categories c
+            WHERE e.event_id IN :eventIds
+              AND c.category_id IN :categoryIds
+            """, nativeQuery = true)
+    int insertCategoryLinks(@Param("eventIds") Collection<Integer> eventIds,
+                            @Param("categoryIds") Collection<Integer> categoryIds);
+
+    /**
+     * Supprime plusieurs événements en une instruction
+     * (Hibernate vide d'abord t_belong et t_register pour ces ids)
+     */
+    @Modifying
+    @Query("DELETE FROM Event e WHERE e.id IN :ids")
+    int deleteAllByIds(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Réserve une place en une instruction, seulement s'il en reste
+     * (number_place NULL : pas de limite). Sous PostgreSQL, un UPDATE concurrent
+     * attend le verrou de la ligne puis réévalue la condition sur la nouvelle valeur :
+     * pas de survente, sans lecture préalable ni SELECT ... FOR UPDATE
+     * La version n'est pas incrémentée : une inscription ne modifie pas l'événement (ETag)
+     * Retourne 0 si l'événement est complet ou n'existe pas
+     */
+    @Modifying
+    @Query("""
+            UPDATE Event e
+            SET e.seatsTaken = e.seatsTaken + 1
+            WHERE e.id = :id
+            AND (e.numberPlace IS NULL OR e.seatsTaken < e.numberPlace)
+            """)
+    int takeSeat(@Param("id") Integer id);
+
+    /**
+     * Libère une place réservée par takeSeat
+     */
+    @Modifying
+    @Query("""
+            UPDATE Event e
+            SET e.seatsTaken = e.seatsTaken - 1
+            WHERE e.id = :id AND e.seatsTaken > 0
+            """)
+    int releaseSeat(@Param("id") Integer id);
+
+    /**
+     * Inscrit un profil à un événement, sans charger la collection registeredProfiles
+     * (la clé primaire de t_register refuse une seconde inscription)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO t_register (profile_id, event_id) VALUES (:profileId, :eventId)",
+            nativeQuery = true)
+    int insertRegistration(@Param("eventId") Integer eventId, @Param("profileId") Integer profileId);
+
+    /**
+     * Désinscrit un profil d'un événement
+     * Retourne 0 si le profil n'était pas inscrit
      */
-    List<Event> findByCategoriesId(Integer categoryId);
+    @Modifying
+    @Query(value = "DELETE FROM t_register WHERE profile_id = :profileId AND event_id = :eventId",
+            nativeQuery = true)
+    int deleteRegistration(@Param("eventId") Integer eventId, @Param("profileId") Integer profileId);
 }
@@ -0,0 +1,35 @@
+package co.simplon.cda.event_connect_backend.repositories;
+
+import co.simplon.cda.event_connect_backend.dtos.event.EventOwnerDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventViewDTO;
+import co.simplon.cda.event_connect_backend.entities.Event;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Requêtes sur les événements qui ne peuvent pas être dérivées du nom de la méthode
+ *
+ * Implémentée par EventRepositoryImpl (Spring Data détecte le suffixe "Impl"
+ * et fusionne automatiquement ces méthodes dans EventRepository)
+ */
+public interface EventRepositoryCustom {
+    /**
+     * Lit une page d'événements par curseur (keyset pagination)
+     * Les DTOs sont projetés sans catégories (voir findCategoriesByEventIds)
+     */
+    List<EventViewDTO> findPage(EventPageCriteria criteria);
+
+    /**
+     * Insère des événements (et leurs lignes t_belong) par paquets de Event.ID_ALLOCATION_SIZE
+     * Les ids sont renseignés dans les entités au retour
+     */
+    void persistInBatches(List<Event> events);
+
+    /**
+     * Supprime un événement en une instruction, seulement s'il appartient à ce créateur,
+     * et renvoie son image (DELETE ... RETURNING) ; t_belong et t_register suivent par cascade
+     * Vide si aucune ligne supprimée : événement inexistant ou d'un autre créateur
+     */
+    Optional<EventOwnerDTO> deleteOwned(Integer id, Integer profileId);
+}
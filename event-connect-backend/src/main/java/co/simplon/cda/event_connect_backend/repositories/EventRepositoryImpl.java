@@ -0,0 +1,255 @@
+package co.simplon.cda.event_connect_backend.repositories;
+
+import co.simplon.cda.event_connect_backend.dtos.event.EventCursor;
+import co.simplon.cda.event_connect_backend.dtos.event.EventField;
+import co.simplon.cda.event_connect_backend.dtos.event.EventOwnerDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventSort;
+import co.simplon.cda.event_connect_backend.dtos.event.EventViewDTO;
+import co.simplon.cda.event_connect_backend.entities.Event;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Implémentation des requêtes personnalisées de EventRepository
+ *
+ * Pagination par curseur (keyset) :
+ * Au lieu de "OFFSET n" (qui lit puis jette n lignes), on reprend
+ * directement après le dernier élément de la page précédente :
+ *
+ * SELECT new EventViewDTO(e.id, ...) FROM Event e
+ * WHERE e.dateEvent > :key OR (e.dateEvent = :key AND e.id > :lastId)
+ * ORDER BY e.dateEvent ASC, e.id ASC
+ *
+ * Avec un index (date_event, event_id), chaque page coûte le même prix
+ * quelle que soit sa position dans la table
+ *
+ * Filtre par catégories : liste d'ids calculée par CategoryBitmapIndex
+ * (ou sous-requête sur t_belong si la liste est trop longue)
+ *
+ * Filtre sur la date (from / to) : parcours d'une plage du même index,
+ * les événements passés ne sont pas lus quand from = aujourd'hui
+ *
+ * Projection "SELECT new" : aucune entité Event n'est chargée
+ * Sélection partielle (paramètre fields) : seules les colonnes demandées sont lues,
+ * les colonnes TEXT (description, programme, adresse) ne quittent pas la BDD
+ */
+public class EventRepositoryImpl implements EventRepositoryCustom {
+
+    private static final String SELECT_VIEW = """
+            SELECT new co.simplon.cda.event_connect_backend.dtos.event.EventViewDTO(
+                e.id, e.nameEvent, e.imgUrl, e.description, e.dateEvent,
+                e.program, e.contact, e.price, e.numberPlace, e.address, e.latitude, e.longitude,
+                e.version, e.updatedAt)
+            FROM Event e""";
+
+    // Filtre par catégories côté BDD (repli quand la liste d'ids serait trop longue)
+    private static final String IN_ANY_CATEGORY = """
+            e.id IN (SELECT e2.id FROM Event e2 JOIN e2.categories c2
+                     WHERE c2.id IN :categoryIds)""";
+    private static final String IN_ALL_CATEGORIES = """
+            e.id IN (SELECT e2.id FROM Event e2 JOIN e2.categories c2
+                     WHERE c2.id IN :categoryIds
+                     GROUP BY e2.id HAVING COUNT(c2.id) = :categoryCount)""";
+
+    // Suppression par le créateur, image renvoyée par la même instruction :
+    // RETURNING sous PostgreSQL, table delta OLD TABLE sous H2 (tests)
+    private static final String DELETE_OWNED_RETURNING_IMAGE = """
+            DELETE FROM t_events
+            WHERE event_id = :id AND profile_id = :profileId
+            RETURNING img_url""";
+    private static final String DELETE_OWNED_OLD_TABLE_IMAGE = """
+            SELECT img_url FROM OLD TABLE (
+                DELETE FROM t_events
+                WHERE event_id = :id AND profile_id = :profileId)""";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<EventViewDTO> findPage(EventPageCriteria criteria) {
+        if (criteria.fields() == null) {
+            return createPageQuery(criteria, SELECT_VIEW, EventViewDTO.class).getResultList();
+        }
+
+        // Sélection partielle : colonnes demandées + id + colonne de tri (curseur)
+        Set<EventField> columns = EnumSet.of(EventField.ID);
+        criteria.fields().stream().filter(field -> field.getPath() != null).forEach(columns::add);
+        columns.add(sortField(criteria.sort()));
+        String select = columns.stream()
+                .map(field -> field.getPath() + " AS " + field.name())
+                .collect(Collectors.joining(", ", "SELECT ", " FROM Event e"));
+
+        return createPageQuery(criteria, select, Tuple.class).getResultList().stream()
+                .map(tuple -> toView(tuple, columns))
+                .toList();
+    }
+
+    /**
+     * Insertion par paquets : chaque flush envoie les INSERT en lots JDBC
+     * (hibernate.jdbc.batch_size), puis le contexte de persistance est vidé
+     * pour que la mémoire et le dirty checking ne grossissent pas avec l'import
+     */
+    @Override
+    public void persistInBatches(List<Event> events) {
+        for (int i = 0; i < events.size(); i++) {
+            entityManager.persist(events.get(i));
+            if ((i + 1) % Event.ID_ALLOCATION_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Override
+    public Optional<EventOwnerDTO> deleteOwned(Integer id, Integer profileId) {
+        List<?> deleted = entityManager.createNativeQuery(
+                        supportsDeleteReturning() ? DELETE_OWNED_RETURNING_IMAGE : DELETE_OWNED_OLD_TABLE_IMAGE)
+                .setParameter("id", id)
+                .setParameter("profileId", profileId)
+                .getResultList();
+        return deleted.isEmpty()
+                ? Optional.empty()
+                : Optional.of(new EventOwnerDTO(id, profileId, (String) deleted.get(0)));
+    }
+
+    /**
+     * MÉTHODE UTILITAIRE : La base accepte DELETE ... RETURNING (PostgreSQL)
+     */
+    private boolean supportsDeleteReturning() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+
+    /**
+     * MÉTHODE UTILITAIRE : Requête de page (filtres, position du curseur, tri, limite)
+     * pour la clause SELECT donnée
+     */
+    private <T> TypedQuery<T> createPageQuery(EventPageCriteria criteria, String select, Class<T> resultClass) {
+        String sortExpression = sortExpression(criteria.sort());
+        String direction = criteria.descending() ? "DESC" : "ASC";
+        String comparator = criteria.descending() ? "<" : ">";
+
+        StringBuilder jpql = new StringBuilder(select);
+        List<String> predicates = new ArrayList<>();
+
+        if (criteria.eventIds() != null) {
+            predicates.add("e.id IN :eventIds");
+        }
+        boolean filterByCategories = criteria.categoryIds() != null && !criteria.categoryIds().isEmpty();
+        if (filterByCategories) {
+            predicates.add(criteria.matchAllCategories() ? IN_ALL_CATEGORIES : IN_ANY_CATEGORY);
+        }
+        if (criteria.from() != null) {
+            predicates.add("e.dateEvent >= :from");
+        }
+        if (criteria.to() != null) {
+            predicates.add("e.dateEvent <= :to");
+        }
+
+        EventCursor after = criteria.after();
+        if (after != null) {
+            if (criteria.sort() == EventSort.ID) {
+                predicates.add("e.id " + comparator + " :lastId");
+            } else {
+                predicates.add("(" + sortExpression + " " + comparator + " :key OR ("
+                        + sortExpression + " = :key AND e.id " + comparator + " :lastId))");
+            }
+        }
+
+        if (!predicates.isEmpty()) {
+            jpql.append(" WHERE ").append(String.join(" AND ", predicates));
+        }
+
+        jpql.append(" ORDER BY ");
+        if (criteria.sort() != EventSort.ID) {
+            jpql.append(sortExpression).append(' ').append(direction).append(", ");
+        }
+        jpql.append("e.id ").append(direction);
+
+        TypedQuery<T> query = entityManager.createQuery(jpql.toString(), resultClass);
+        if (criteria.eventIds() != null) {
+            query.setParameter("eventIds", criteria.eventIds());
+        }
+        if (filterByCategories) {
+            query.setParameter("categoryIds", criteria.categoryIds());
+            if (criteria.matchAllCategories()) {
+                query.setParameter("categoryCount", (long) criteria.categoryIds().size());
+            }
+        }
+        if (criteria.from() != null) {
+            query.setParameter("from", criteria.from());
+        }
+        if (criteria.to() != null) {
+            query.setParameter("to", criteria.to());
+        }
+        if (after != null) {
+            query.setParameter("lastId", after.lastId());
+            if (criteria.sort() != EventSort.ID) {
+                query.setParameter("key", after.key());
+            }
+        }
+        return query.setMaxResults(criteria.limit());
+    }
+
+    /**
+     * MÉTHODE UTILITAIRE : DTO construit à partir des seules colonnes lues (les autres restent null)
+     */
+    private EventViewDTO toView(Tuple tuple, Set<EventField> columns) {
+        return new EventViewDTO(
+                tuple.get(EventField.ID.name(), Integer.class),
+                column(tuple, columns, EventField.NAME_EVENT, String.class),
+                column(tuple, columns, EventField.IMG_URL, String.class),
+                column(tuple, columns, EventField.DESCRIPTION, String.class),
+                column(tuple, columns, EventField.DATE_EVENT, LocalDate.class),
+                column(tuple, columns, EventField.PROGRAM, String.class),
+                column(tuple, columns, EventField.CONTACT, String.class),
+                column(tuple, columns, EventField.PRICE, BigDecimal.class),
+                column(tuple, columns, EventField.NUMBER_PLACE, Integer.class),
+                column(tuple, columns, EventField.ADDRESS, String.class),
+                column(tuple, columns, EventField.LATITUDE, Double.class),
+                column(tuple, columns, EventField.LONGITUDE, Double.class),
+                null, null);
+    }
+
+    private static <T> T column(Tuple tuple, Set<EventField> columns, EventField field, Class<T> type) {
+        return columns.contains(field) ? tuple.get(field.name(), type) : null;
+    }
+
+    /**
+     * Colonne lue pour construire le curseur de la page suivante
+     */
+    private EventField sortField(EventSort sort) {
+        return switch (sort) {
+            case DATE_EVENT -> EventField.DATE_EVENT;
+            case PRICE -> EventField.PRICE;
+            case ID -> EventField.ID;
+        };
+    }
+
+    /**
+     * Expression JPQL correspondant à la clé de tri
+     * Le prix null (événement gratuit) est ramené à 0 pour rester comparable
+     */
+    private String sortExpression(EventSort sort) {
+        return switch (sort) {
+            case DATE_EVENT -> "e.dateEvent";
+            case PRICE -> "COALESCE(e.price, 0)";
+            case ID -> "e.id";
+        };
+    }
+}
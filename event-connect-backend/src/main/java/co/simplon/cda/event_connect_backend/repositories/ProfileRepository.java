@@ -2,6 +2,10 @@ package co.simplon.cda.event_connect_backend.repositories;
 
 import co.simplon.cda.event_connect_backend.entities.Profile;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
 
 /**
  * Repository pour la gestion des profils utilisateurs
@@ -18,5 +22,10 @@ public interface ProfileRepository extends JpaRepository<Profile, Integer> {
      * SELECT * FROM t_profiles WHERE email = ?
      */
     Profile findByEmail(String email);
-    boolean existsByEmail(String email);
+
+    /**
+     * Id d'un profil par son email (jetons émis sans le claim profile_id)
+     */
+    @Query("SELECT p.id FROM Profile p WHERE p.email = :email")
+    Optional<Integer> findIdByEmail(@Param("email") String email);
 }
@@ -0,0 +1,134 @@
+package co.simplon.cda.event_connect_backend.services;
+
+import co.simplon.cda.event_connect_backend.cache.CatalogSnapshot;
+import co.simplon.cda.event_connect_backend.cache.CatalogVersion;
+import co.simplon.cda.event_connect_backend.changes.EventChange;
+import co.simplon.cda.event_connect_backend.changes.EventsChanged;
+import co.simplon.cda.event_connect_backend.dtos.event.EventField;
+import co.simplon.cda.event_connect_backend.dtos.event.EventPageDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventPageRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Service des snapshots du catalogue public
+ *
+ * Les listings publics sont identiques pour tous les visiteurs :
+ * chaque page est sérialisée une seule fois par version du catalogue
+ * puis servie telle quelle (JSON brut ou gzip), sans requête ni sérialisation
+ *
+ * Clé du cache : version + catégorie + paramètres de pagination (dont fields)
+ * Un snapshot construit pour une ancienne version n'est donc jamais resservi
+ */
+@Service
+public class CatalogSnapshotService {
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSnapshotService.class);
+
+    private final EventService eventService;
+    private final CatalogVersion catalogVersion;
+    private final ObjectMapper objectMapper;
+    private final Cache<SnapshotKey, CatalogSnapshot> snapshots;
+
+    public CatalogSnapshotService(
+            EventService eventService,
+            CatalogVersion catalogVersion,
+            ObjectMapper objectMapper,
+            @Value("${eventconnect.cache.catalog-snapshots.max-size:1000}") long maxSize
+    ) {
+        this.eventService = eventService;
+        this.catalogVersion = catalogVersion;
+        this.objectMapper = objectMapper;
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    /**
+     * Version courante du catalogue (lecture mémoire, aucune requête SQL)
+     */
+    public long currentVersion() {
+        return catalogVersion.current();
+    }
+
+    /**
+     * Snapshot d'une page de tous les événements
+     */
+    public CatalogSnapshot getAllEvents(EventPageRequest pageRequest) {
+        return getSnapshot(null, pageRequest, () -> eventService.getAllEvents(pageRequest));
+    }
+
+    /**
+     * Snapshot d'une page des événements d'une catégorie
+     */
+    public CatalogSnapshot getEventsByCategory(Integer categoryId, EventPageRequest pageRequest) {
+        return getSnapshot(categoryId, pageRequest, () -> eventService.getEventsByCategory(categoryId, pageRequest));
+    }
+
+    /**
+     * Les snapshots des versions précédentes ne seront plus demandés : libération mémoire
+     */
+    @TransactionalEventListener
+    public void onEventChange(EventChange change) {
+        snapshots.invalidateAll();
+    }
+
+    @TransactionalEventListener
+    public void onEventsChanged(EventsChanged changed) {
+        snapshots.invalidateAll();
+    }
+
+    /**
+     * MÉTHODE UTILITAIRE : Lecture du snapshot, construit en cas d'absence
+     *
+     * La version est lue AVANT la requête : si une écriture est commitée pendant
+     * la construction, le snapshot reste rattaché à l'ancienne version
+     */
+    private CatalogSnapshot getSnapshot(Integer categoryId, EventPageRequest pageRequest, Supplier<EventPageDTO> loader) {
+        long version = catalogVersion.current();
+        SnapshotKey key = new SnapshotKey(version, categoryId, pageRequest);
+        Set<EventField> fields = EventField.parse(pageRequest.fields());
+        return snapshots.get(key, k -> buildSnapshot(version, loader.get(), fields));
+    }
+
+    /**
+     * MÉTHODE UTILITAIRE : Sérialisation JSON puis compression gzip
+     * Avec fields, seuls les attributs demandés sont écrits
+     */
+    private CatalogSnapshot buildSnapshot(long version, EventPageDTO page, Set<EventField> fields) {
+        try {
+            Object items = fields == null ? page.items() : EventField.project(page.items(), fields);
+            byte[] json = objectMapper.writeValueAsBytes(items);
+            logger.debug("Snapshot du catalogue construit (version {}, {} octets)", version, json.length);
+            return new CatalogSnapshot(version, json, gzip(json), page.nextCursor());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Sérialisation du catalogue impossible", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(output)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return output.toByteArray();
+    }
+
+    private record SnapshotKey(long version, Integer categoryId, EventPageRequest pageRequest) {
+    }
+}
@@ -0,0 +1,211 @@
+package co.simplon.cda.event_connect_backend.services;
+
+import co.simplon.cda.event_connect_backend.changes.EventChange;
+import co.simplon.cda.event_connect_backend.changes.EventsChanged;
+import co.simplon.cda.event_connect_backend.dtos.event.EventChangeDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventChangeFeedDTO;
+import co.simplon.cda.event_connect_backend.entities.ChangeOffset;
+import co.simplon.cda.event_connect_backend.entities.EventChangeRecord;
+import co.simplon.cda.event_connect_backend.exceptions.InvalidRequestParameterException;
+import co.simplon.cda.event_connect_backend.repositories.ChangeOffsetRepository;
+import co.simplon.cda.event_connect_backend.repositories.EventChangeRecordRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Journal des modifications d'événements (outbox transactionnelle t_event_changes)
+ *
+ * Écriture : chaque EventChange / EventsChanged publié par EventService ou EventImportService
+ * est inscrit dans la MÊME transaction (@EventListener, synchrone) : une entrée par événement,
+ * insérées par lots avec le reste de la transaction, annulées avec elle
+ *
+ * Lecture : les entrées reçoivent une position croissante après le commit (sequence),
+ * puis sont lues par position (abonnés d'EventChangeRelay, GET /events/changes)
+ * Chaque lecteur mémorise sa dernière position : livraison au moins une fois
+ *
+ * Positionnement par le relais s'il est activé, sinon à la lecture de GET /events/changes ;
+ * purge planifiée ici dans les deux cas
+ */
+@Service
+@Transactional
+public class EventChangeLog {
+    private static final Logger logger = LoggerFactory.getLogger(EventChangeLog.class);
+
+    // Ligne de t_change_offsets portant la dernière position attribuée
+    static final String SEQUENCER = "sequencer";
+
+    static final int DEFAULT_FEED_LIMIT = 100;
+    static final int MAX_FEED_LIMIT = 1000;
+
+    private static final String PARAM_AFTER = "after";
+    private static final String PARAM_LIMIT = "limit";
+
+    private final EventChangeRecordRepository recordRepository;
+    private final ChangeOffsetRepository offsetRepository;
+    private final Duration retention;
+
+    public EventChangeLog(
+            EventChangeRecordRepository recordRepository,
+            ChangeOffsetRepository offsetRepository,
+            @Value("${eventconnect.outbox.retention:7d}") Duration retention
+    ) {
+        this.recordRepository = recordRepository;
+        this.offsetRepository = offsetRepository;
+        this.retention = retention;
+    }
+
+    /**
+     * Ligne du séquenceur créée au démarrage, avant le premier passage du relais :
+     * avec spring.jpa.hibernate.ddl-auto=update, t_change_offsets est créée vide
+     */
+    @PostConstruct
+    void init() {
+        register(SEQUENCER);
+    }
+
+    /**
+     * Crée la position d'un lecteur (0) si elle n'existe pas ; idempotent
+     * Hors transaction : l'INSERT a la sienne (ChangeOffsetRepository.insertIfAbsent)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void register(String consumer) {
+        try {
+            offsetRepository.insertIfAbsent(consumer);
+        } catch (DataIntegrityViolationException e) {
+            // Créée au même instant par une autre instance : la ligne existe
+            logger.debug("Position de {} déjà créée", consumer);
+        }
+    }
+
+    /**
+     * Inscription d'une modification, dans la transaction qui la publie
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onEventChange(EventChange change) {
+        recordRepository.save(new EventChangeRecord(change.eventId(), change.type(), Instant.now()));
+    }
+
+    /**
+     * Inscription d'une écriture en lot : une entrée par événement, INSERT regroupés
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onEventsChanged(EventsChanged changed) {
+        Instant now = Instant.now();
+        recordRepository.saveAll(changed.eventIds().stream()
+                .map(id -> new EventChangeRecord(id, changed.type(), now))
+                .toList());
+    }
+
+    /**
+     * Attribue une position aux entrées commitées qui n'en ont pas encore, dans l'ordre d'insertion
+     *
+     * La ligne SEQUENCER reste verrouillée jusqu'au commit : deux relais ne peuvent
+     * pas attribuer la même position. Une transaction commitée plus tard reçoit
+     * une position plus grande, elle n'est donc jamais sautée par un lecteur
+     *
+     * La ligne est créée au démarrage (init) : la créer ici à la volée laisserait
+     * deux relais l'insérer en même temps, sans verrou à prendre
+     *
+     * @return nombre d'entrées positionnées (limit : il en reste peut-être)
+     */
+    public int sequence(int limit) {
+        ChangeOffset sequencer = offsetRepository.findForUpdate(SEQUENCER)
+                .orElseThrow(() -> new IllegalStateException(
+                        "Ligne '" + SEQUENCER + "' absente de t_change_offsets"));
+        List<EventChangeRecord> pending = recordRepository.findUnsequenced(PageRequest.ofSize(limit));
+
+        long position = sequencer.getLastPosition();
+        for (EventChangeRecord record : pending) {
+            record.setPosition(++position);
+        }
+        sequencer.setLastPosition(position);
+        return pending.size();
+    }
+
+    /**
+     * Entrées situées après une position, dans l'ordre du journal
+     */
+    @Transactional(readOnly = true)
+    public List<EventChangeDTO> findAfter(long after, int limit) {
+        return recordRepository.findAfter(after, PageRequest.ofSize(limit));
+    }
+
+    /**
+     * Page du journal pour un consommateur externe, qui conserve lui-même son offset
+     * (GET /events/changes?after=&limit=)
+     *
+     * Les entrées commitées sont d'abord positionnées : le journal reste lisible
+     * quand le relais est désactivé
+     */
+    public EventChangeFeedDTO getFeed(Long after, Integer limit) {
+        if (after != null && after < 0) {
+            throw new InvalidRequestParameterException(PARAM_AFTER, after);
+        }
+        if (limit != null && limit < 1) {
+            throw new InvalidRequestParameterException(PARAM_LIMIT, limit);
+        }
+        long from = after == null ? 0 : after;
+        int size = limit == null ? DEFAULT_FEED_LIMIT : Math.min(limit, MAX_FEED_LIMIT);
+        sequence(size);
+        List<EventChangeDTO> changes = findAfter(from, size);
+        return new EventChangeFeedDTO(changes, changes.isEmpty() ? from : changes.getLast().position());
+    }
+
+    /**
+     * Dernière position livrée à un abonné (0 s'il n'a encore rien reçu)
+     */
+    @Transactional(readOnly = true)
+    public long getOffset(String consumer) {
+        return offsetRepository.findById(consumer)
+                .map(ChangeOffset::getLastPosition)
+                .orElse(0L);
+    }
+
+    /**
+     * Enregistre la dernière position livrée à un abonné
+     */
+    public void commitOffset(String consumer, long position) {
+        offsetRepository.findById(consumer)
+                .ifPresentOrElse(offset -> offset.setLastPosition(position),
+                        () -> offsetRepository.save(new ChangeOffset(consumer, position)));
+    }
+
+    /**
+     * Supprime, chaque heure, les entrées plus anciennes que la rétention déjà livrées à tous les lecteurs
+     * enregistrés dans t_change_offsets (abonnés de chaque instance, consommateurs
+     * externes qui y conservent leur position). Les consommateurs qui conservent
+     * eux-mêmes leur offset doivent relire le journal plus souvent que la durée de rétention
+     */
+    @Scheduled(cron = "${eventconnect.outbox.purge-cron:0 15 * * * *}")
+    public void purgeExpired() {
+        purge(Instant.now().minus(retention));
+    }
+
+    /**
+     * Supprime les entrées antérieures à before déjà livrées à tous les lecteurs (voir purgeExpired)
+     */
+    public int purge(Instant before) {
+        Long minPosition = offsetRepository.findMinPosition();
+        long delivered = minPosition == null ? 0L : minPosition;
+        int deleted = recordRepository.deleteDelivered(delivered, before);
+        if (deleted > 0) {
+            logger.info("Journal des modifications : {} entrées purgées", deleted);
+        }
+        return deleted;
+    }
+}
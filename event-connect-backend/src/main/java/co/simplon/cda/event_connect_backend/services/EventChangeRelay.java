@@ -0,0 +1,89 @@
+package co.simplon.cda.event_connect_backend.services;
+
+import co.simplon.cda.event_connect_backend.changes.EventChangeSubscriber;
+import co.simplon.cda.event_connect_backend.dtos.event.EventChangeDTO;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Relais de l'outbox des modifications d'événements
+ *
+ * À intervalle régulier :
+ * 1. Positionne les entrées commitées depuis le dernier passage (EventChangeLog.sequence)
+ * 2. Livre à chaque abonné (EventChangeSubscriber) les entrées situées après sa position,
+ *    par lots de batchSize, puis enregistre sa nouvelle position
+ *
+ * Un abonné en échec garde sa position : le même lot lui est relivré au passage suivant,
+ * sans retarder les autres abonnés
+ *
+ * Désactivé par défaut (eventconnect.outbox.relay.enabled) tant qu'aucun EventChangeSubscriber
+ * n'est déclaré : il verrouillerait le séquenceur à chaque passage pour ne rien livrer.
+ * Sans relais, le journal reste alimenté, positionné à la lecture de GET /events/changes
+ * et purgé (EventChangeLog)
+ */
+@Component
+@ConditionalOnProperty(name = "eventconnect.outbox.relay.enabled", havingValue = "true")
+public class EventChangeRelay {
+    private static final Logger logger = LoggerFactory.getLogger(EventChangeRelay.class);
+
+    private final EventChangeLog changeLog;
+    private final List<EventChangeSubscriber> subscribers;
+    private final int batchSize;
+
+    public EventChangeRelay(
+            EventChangeLog changeLog,
+            List<EventChangeSubscriber> subscribers,
+            @Value("${eventconnect.outbox.relay.batch-size:500}") int batchSize
+    ) {
+        this.changeLog = changeLog;
+        this.subscribers = subscribers;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Position (0) créée pour chaque abonné dès le démarrage : la purge ne retire
+     * pas les entrées d'un abonné qui n'a encore rien reçu
+     */
+    @PostConstruct
+    void registerSubscribers() {
+        subscribers.forEach(subscriber -> changeLog.register(subscriber.name()));
+    }
+
+    @Scheduled(fixedDelayString = "${eventconnect.outbox.relay.interval:1s}")
+    public void relay() {
+        int sequenced;
+        do {
+            sequenced = changeLog.sequence(batchSize);
+        } while (sequenced == batchSize);
+
+        for (EventChangeSubscriber subscriber : subscribers) {
+            deliver(subscriber);
+        }
+    }
+
+    /**
+     * Livre à un abonné tout ce qu'il n'a pas encore reçu, lot par lot
+     */
+    void deliver(EventChangeSubscriber subscriber) {
+        long offset = changeLog.getOffset(subscriber.name());
+        List<EventChangeDTO> changes;
+        while (!(changes = changeLog.findAfter(offset, batchSize)).isEmpty()) {
+            try {
+                subscriber.onChanges(changes);
+            } catch (RuntimeException e) {
+                logger.warn("Abonné {} en échec après la position {}, lot relivré au prochain passage : {}",
+                        subscriber.name(), offset, e.getMessage());
+                return;
+            }
+            offset = changes.getLast().position();
+            changeLog.commitOffset(subscriber.name(), offset);
+        }
+    }
+}
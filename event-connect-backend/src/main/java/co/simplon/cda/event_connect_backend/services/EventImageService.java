@@ -0,0 +1,290 @@
+package co.simplon.cda.event_connect_backend.services;
+
+import co.simplon.cda.event_connect_backend.changes.ImageStaged;
+import co.simplon.cda.event_connect_backend.changes.ImagesReleased;
+import co.simplon.cda.event_connect_backend.dtos.event.EventImageDTO;
+import co.simplon.cda.event_connect_backend.entities.ImageStatus;
+import co.simplon.cda.event_connect_backend.exceptions.InvalidFileException;
+import co.simplon.cda.event_connect_backend.exceptions.ResourceNotFoundException;
+import co.simplon.cda.event_connect_backend.repositories.EventRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service de traitement des images d'événements, en arrière-plan
+ *
+ * La requête de création / modification se contente de mettre l'image de côté
+ * (FileStorageService.stageImage) : l'événement est enregistré avec l'état PENDING
+ * et la réponse part sans attendre le traitement
+ *
+ * Après le commit, sur un pool de threads borné :
+ * 1. Validation : contenu réellement décodable et conforme à l'extension,
+ *    dimensions lues avant décodage (refus des images démesurées)
+ * 2. Normalisation : largeur plafonnée, ré-encodage (métadonnées EXIF retirées)
+ * 3. Variante : miniature pour les listings ("<nom>-thumb.<ext>")
+ * 4. Publication dans uploads/events, puis état READY (ou FAILED)
+ *
+ * Les images webp (sans décodeur dans le JDK) sont seulement vérifiées
+ * par leur signature puis publiées telles quelles, sans miniature
+ *
+ * Suppression d'événements : images et miniatures retirées après le commit (ImagesReleased)
+ *
+ * Pool saturé : le thread appelant traite l'image lui-même (CallerRunsPolicy),
+ * ce qui ralentit les uploads plutôt que de perdre des images
+ */
+@Service
+public class EventImageService {
+    private static final Logger logger = LoggerFactory.getLogger(EventImageService.class);
+
+    // Normalisation : largeur maximale de l'image publiée et de sa miniature
+    static final int MAX_WIDTH = 1920;
+    static final int THUMBNAIL_WIDTH = 400;
+    // Refus avant décodage : quelques Ko compressés peuvent représenter des Go de pixels
+    static final long MAX_PIXELS = 40_000_000L;
+
+    // Extension → format ImageIO (formats décodés, normalisés et déclinés en miniature)
+    private static final Map<String, String> IMAGE_IO_FORMATS = Map.of(
+            "png", "png",
+            "jpg", "jpeg",
+            "jpeg", "jpeg"
+    );
+
+    private static final String ERROR_UNREADABLE = "Contenu de l'image illisible";
+    private static final String ERROR_FORMAT_MISMATCH = "Le contenu de l'image ne correspond pas à son extension";
+    private static final String ERROR_TOO_MANY_PIXELS = "Dimensions de l'image trop grandes";
+    private static final String ERROR_NO_WRITER = "Format d'image non pris en charge : %s";
+
+    private final EventRepository eventRepository;
+    private final FileStorageService fileStorageService;
+    private final ExecutorService executor;
+
+    @Autowired
+    public EventImageService(
+            EventRepository eventRepository,
+            FileStorageService fileStorageService,
+            @Value("${eventconnect.images.workers:2}") int workers,
+            @Value("${eventconnect.images.queue-capacity:100}") int queueCapacity
+    ) {
+        this(eventRepository, fileStorageService, newExecutor(workers, queueCapacity));
+    }
+
+    EventImageService(EventRepository eventRepository, FileStorageService fileStorageService, ExecutorService executor) {
+        this.eventRepository = eventRepository;
+        this.fileStorageService = fileStorageService;
+        this.executor = executor;
+    }
+
+    /**
+     * État de l'image d'un événement, miniature comprise une fois l'image prête
+     */
+    @Transactional(readOnly = true)
+    public EventImageDTO getImage(Integer eventId) {
+        EventImageDTO image = eventRepository.findImageById(eventId)
+                .orElseThrow(() -> {
+                    logger.warn("Événement non trouvé : {}", eventId);
+                    return new ResourceNotFoundException("Event", "id", eventId);
+                });
+        if (image.imageStatus() == ImageStatus.READY && isDecodable(image.imgUrl())) {
+            return image.withThumbnail(fileStorageService.thumbnailName(image.imgUrl()));
+        }
+        return image;
+    }
+
+    /**
+     * Image mise de côté par une transaction commitée : traitement en arrière-plan
+     */
+    @TransactionalEventListener
+    public void onImageStaged(ImageStaged staged) {
+        executor.execute(() -> process(staged));
+    }
+
+    /**
+     * Événements supprimés et commités : images et miniatures retirées du disque
+     * Une image encore en traitement est retirée par process (plus aucune ligne à mettre à jour)
+     */
+    @TransactionalEventListener
+    public void onImagesReleased(ImagesReleased released) {
+        executor.execute(() -> released.filenames().forEach(this::deletePublished));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Traite une image mise de côté puis enregistre son état
+     * Le fichier mis de côté est toujours supprimé, quelle que soit l'issue
+     */
+    void process(ImageStaged staged) {
+        String filename = staged.filename();
+        ImageStatus status;
+        try {
+            String format = IMAGE_IO_FORMATS.get(extensionOf(filename));
+            if (format != null) {
+                normalize(filename, format);
+            } else {
+                checkWebpSignature(fileStorageService.getStagedPath(filename));
+                fileStorageService.publish(fileStorageService.getStagedPath(filename), filename);
+            }
+            status = ImageStatus.READY;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Image refusée pour l'événement {} : {}", staged.eventId(), e.getMessage());
+            deletePublished(filename);
+            status = ImageStatus.FAILED;
+        } finally {
+            fileStorageService.discardStaged(filename);
+        }
+
+        // Événement supprimé ou image remplacée entre-temps : fichiers publiés inutiles
+        if (eventRepository.updateImageStatus(staged.eventId(), filename, status) == 0) {
+            logger.info("Image {} abandonnée : l'événement {} ne l'utilise plus", filename, staged.eventId());
+            deletePublished(filename);
+            return;
+        }
+        logger.info("Image de l'événement {} traitée : {}", staged.eventId(), status);
+    }
+
+    /**
+     * Validation, normalisation et miniature d'une image décodable par ImageIO
+     */
+    private void normalize(String filename, String format) throws IOException {
+        BufferedImage image = read(fileStorageService.getStagedPath(filename), format);
+        boolean alpha = "png".equals(format);
+        writeAndPublish(resize(image, MAX_WIDTH, alpha), format, filename);
+        writeAndPublish(resize(image, THUMBNAIL_WIDTH, alpha), format, fileStorageService.thumbnailName(filename));
+    }
+
+    /**
+     * Décode l'image après avoir vérifié son format réel et ses dimensions
+     */
+    private BufferedImage read(Path source, String format) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                throw new InvalidFileException(ERROR_UNREADABLE);
+            }
+            ImageReader reader = readers.next();
+            try {
+                if (!format.equalsIgnoreCase(reader.getFormatName())) {
+                    throw new InvalidFileException(ERROR_FORMAT_MISMATCH);
+                }
+                reader.setInput(input, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > MAX_PIXELS) {
+                    throw new InvalidFileException(ERROR_TOO_MANY_PIXELS);
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Redessine l'image dans une largeur maximale (jamais agrandie)
+     * Sans canal alpha (jpeg), la transparence est remplacée par du blanc
+     */
+    private BufferedImage resize(BufferedImage image, int maxWidth, boolean alpha) {
+        int width = Math.min(image.getWidth(), maxWidth);
+        int height = Math.max(1, (int) Math.round((double) image.getHeight() * width / image.getWidth()));
+        BufferedImage target = new BufferedImage(width, height,
+                alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            if (!alpha) {
+                graphics.setColor(Color.WHITE);
+                graphics.fillRect(0, 0, width, height);
+            }
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    /**
+     * Écrit l'image dans un fichier de travail puis la publie sous son nom définitif
+     */
+    private void writeAndPublish(BufferedImage image, String format, String filename) throws IOException {
+        Path workFile = fileStorageService.createWorkFile(filename);
+        try {
+            if (!ImageIO.write(image, format, workFile.toFile())) {
+                throw new InvalidFileException(String.format(ERROR_NO_WRITER, format));
+            }
+            fileStorageService.publish(workFile, filename);
+        } finally {
+            Files.deleteIfExists(workFile);
+        }
+    }
+
+    /**
+     * Signature webp : "RIFF" <taille sur 4 octets> "WEBP"
+     */
+    private void checkWebpSignature(Path source) throws IOException {
+        byte[] header;
+        try (InputStream input = Files.newInputStream(source)) {
+            header = input.readNBytes(12);
+        }
+        if (header.length < 12
+                || !"RIFF".equals(new String(header, 0, 4, StandardCharsets.US_ASCII))
+                || !"WEBP".equals(new String(Arrays.copyOfRange(header, 8, 12), StandardCharsets.US_ASCII))) {
+            throw new InvalidFileException(ERROR_FORMAT_MISMATCH);
+        }
+    }
+
+    /**
+     * Retire une image publiée et sa miniature (image refusée, abandonnée ou libérée)
+     */
+    private void deletePublished(String filename) {
+        fileStorageService.deleteImage(filename);
+        if (isDecodable(filename)) {
+            fileStorageService.deleteImage(fileStorageService.thumbnailName(filename));
+        }
+    }
+
+    private boolean isDecodable(String filename) {
+        return filename != null && IMAGE_IO_FORMATS.containsKey(extensionOf(filename));
+    }
+
+    private static String extensionOf(String filename) {
+        return filename.substring(filename.lastIndexOf('.') + 1).toLowerCase();
+    }
+
+    /**
+     * Pool borné : workers threads, au plus queueCapacity images en attente
+     */
+    private static ExecutorService newExecutor(int workers, int queueCapacity) {
+        return new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("image-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+}
@@ -0,0 +1,323 @@
+package co.simplon.cda.event_connect_backend.services;
+
+import co.simplon.cda.event_connect_backend.changes.EventChange;
+import co.simplon.cda.event_connect_backend.changes.EventsChanged;
+import co.simplon.cda.event_connect_backend.configuration.JwtProvider;
+import co.simplon.cda.event_connect_backend.dtos.event.EventCreateDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventImportReportDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventImportRowDTO;
+import co.simplon.cda.event_connect_backend.entities.Category;
+import co.simplon.cda.event_connect_backend.entities.Event;
+import co.simplon.cda.event_connect_backend.entities.Profile;
+import co.simplon.cda.event_connect_backend.exceptions.InvalidRequestParameterException;
+import co.simplon.cda.event_connect_backend.repositories.CategoryRepository;
+import co.simplon.cda.event_connect_backend.repositories.EventRepository;
+import co.simplon.cda.event_connect_backend.repositories.ProfileRepository;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.lang.reflect.RecordComponent;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Service d'import en lot des événements (POST /events/import)
+ *
+ * Fonctionnalités :
+ * - Fichier JSON (tableau d'EventCreateDTO) ou CSV (une ligne par événement)
+ * - Validation de TOUTES les lignes avant la première écriture
+ *   (contraintes d'EventCreateDTO, coordonnées, catégories existantes)
+ * - Insertion des lignes valides par paquets JDBC (événements puis t_belong),
+ *   ids réservés par blocs dans la séquence (voir Event.ID_ALLOCATION_SIZE)
+ * - Compte rendu ligne par ligne : id créé ou motifs du rejet
+ *
+ * Les événements importés appartiennent à l'utilisateur authentifié
+ * Les index et caches sont mis à jour une seule fois, après commit (EventsChanged)
+ */
+@Service
+public class EventImportService {
+    private static final Logger logger = LoggerFactory.getLogger(EventImportService.class);
+
+    // Nombre maximal de lignes par import
+    static final int MAX_IMPORT_ROWS = 10_000;
+    // Séparateur des ids de catégories dans une cellule CSV (ex : "1|3|4")
+    static final String CSV_CATEGORY_SEPARATOR = "|";
+    private static final String CSV_CATEGORY_IDS = "categoryIds";
+    // Colonnes CSV acceptées : attributs d'EventCreateDTO saisis par le partenaire
+    private static final Set<String> CSV_COLUMNS = Arrays.stream(EventCreateDTO.class.getRecordComponents())
+            .map(RecordComponent::getName)
+            .filter(name -> !name.equals("categories"))
+            .collect(Collectors.toUnmodifiableSet());
+    private static final String PARAM_EVENTS = "events";
+    private static final String PARAM_CSV = "csv";
+
+    private final EventRepository eventRepository;
+    private final CategoryRepository categoryRepository;
+    private final ProfileRepository profileRepository;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CsvMapper csvMapper = CsvMapper.builder()
+            .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+            .enable(CsvParser.Feature.TRIM_SPACES)
+            .build();
+
+    public EventImportService(
+            EventRepository eventRepository,
+            CategoryRepository categoryRepository,
+            ProfileRepository profileRepository,
+            Validator validator,
+            ObjectMapper objectMapper,
+            ApplicationEventPublisher eventPublisher
+    ) {
+        this.eventRepository = eventRepository;
+        this.categoryRepository = categoryRepository;
+        this.profileRepository = profileRepository;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Importe un tableau JSON d'événements (objets au format d'EventCreateDTO)
+     * Chaque objet est lu séparément : un attribut illisible ne rejette que sa ligne
+     */
+    @Transactional
+    public EventImportReportDTO importEvents(List<JsonNode> json) {
+        if (json == null) {
+            throw new InvalidRequestParameterException(PARAM_EVENTS, null);
+        }
+        checkSize(json.size());
+        List<EventCreateDTO> rows = new ArrayList<>(json.size());
+        Map<Integer, List<String>> formatErrors = new HashMap<>();
+        json.forEach(node -> readRow(node, rows, formatErrors));
+        return importRows(rows, formatErrors);
+    }
+
+    /**
+     * Importe un fichier CSV (séparateur ",", première ligne = noms des colonnes)
+     *
+     * Colonnes : attributs d'EventCreateDTO (nameEvent, description, dateEvent au format
+     * AAAA-MM-JJ, ..., categoryIds séparés par "|") ; cellule vide = valeur absente
+     * Une ligne illisible (nombre, date...) est rejetée sans bloquer les autres
+     */
+    @Transactional
+    public EventImportReportDTO importCsv(String csv) {
+        List<EventCreateDTO> rows = new ArrayList<>();
+        Map<Integer, List<String>> formatErrors = new HashMap<>();
+        CsvSchema schema = CsvSchema.emptySchema().withHeader();
+
+        try (MappingIterator<Map<String, String>> lines = csvMapper.readerForMapOf(String.class)
+                .with(schema)
+                .readValues(csv == null ? "" : csv)) {
+            while (lines.hasNextValue()) {
+                checkSize(rows.size() + 1);
+                Map<String, String> line = lines.nextValue();
+                if (rows.isEmpty()) {
+                    checkColumns(line.keySet());
+                }
+                readRow(toJsonValues(line), rows, formatErrors);
+            }
+        } catch (IOException e) {
+            logger.warn("Fichier CSV illisible : {}", e.getMessage());
+            throw new InvalidRequestParameterException(PARAM_CSV, "ligne " + (rows.size() + 1));
+        }
+        return importRows(rows, formatErrors);
+    }
+
+    /**
+     * Validation de toutes les lignes, puis insertion groupée des lignes valides
+     *
+     * @param rows         événements dans l'ordre du fichier (null : ligne illisible)
+     * @param formatErrors erreurs de lecture, par numéro de ligne
+     */
+    private EventImportReportDTO importRows(List<EventCreateDTO> rows, Map<Integer, List<String>> formatErrors) {
+        long start = System.nanoTime();
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String email = authentication.getName();
+        // Id du profil porté par le jeton : référence sans lecture de t_profiles
+        Integer profileId = JwtProvider.profileId(authentication, profileRepository);
+        Profile profile = profileRepository.getReferenceById(profileId);
+
+        // Toutes les catégories citées, en une requête
+        Map<Integer, Category> categories = categoryRepository.findAllById(rows.stream()
+                        .filter(Objects::nonNull)
+                        .map(EventCreateDTO::categoryIds)
+                        .filter(Objects::nonNull)
+                        .flatMap(Collection::stream)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
+
+        // 1. Validation : aucune écriture tant que toutes les lignes n'ont pas été vérifiées
+        Instant updatedAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        Map<Integer, Event> events = new LinkedHashMap<>();
+        Map<Integer, List<String>> errors = new HashMap<>(formatErrors);
+        for (int i = 0; i < rows.size(); i++) {
+            int row = i + 1;
+            EventCreateDTO inputs = rows.get(i);
+            if (inputs == null) {
+                errors.putIfAbsent(row, List.of("ligne vide"));
+                continue;
+            }
+            List<String> rowErrors = validate(inputs, categories);
+            if (rowErrors.isEmpty()) {
+                events.put(row, toEvent(inputs, categories, profile, updatedAt));
+            } else {
+                errors.put(row, rowErrors);
+            }
+        }
+
+        // 2. Insertion groupée des lignes valides
+        eventRepository.persistInBatches(List.copyOf(events.values()));
+
+        List<EventImportRowDTO> report = new ArrayList<>(rows.size());
+        for (int row = 1; row <= rows.size(); row++) {
+            Event event = events.get(row);
+            report.add(event != null
+                    ? EventImportRowDTO.imported(row, event.getId())
+                    : EventImportRowDTO.rejected(row, errors.get(row)));
+        }
+        if (!events.isEmpty()) {
+            eventPublisher.publishEvent(new EventsChanged(events.values().stream().map(Event::getId).toList(),
+                    EventChange.Type.CREATED));
+        }
+
+        logger.info("Import de {} événements par {} : {} importés, {} rejetés en {} ms",
+                rows.size(), email, events.size(), errors.size(), (System.nanoTime() - start) / 1_000_000);
+        return new EventImportReportDTO(events.size(), errors.size(), report);
+    }
+
+    /**
+     * MÉTHODE UTILITAIRE : Motifs de rejet d'une ligne (vide si la ligne est valide)
+     */
+    private List<String> validate(EventCreateDTO inputs, Map<Integer, Category> categories) {
+        List<String> rowErrors = validator.validate(inputs).stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(EventImportService::formatViolation)
+                .collect(Collectors.toCollection(ArrayList::new));
+        if ((inputs.latitude() == null) != (inputs.longitude() == null)) {
+            rowErrors.add("latitude / longitude : à renseigner ensemble");
+        }
+        if (inputs.categoryIds() != null) {
+            List<Integer> unknown = inputs.categoryIds().stream()
+                    .filter(id -> id == null || !categories.containsKey(id))
+                    .toList();
+            if (!unknown.isEmpty()) {
+                rowErrors.add("categoryIds : catégories inconnues " + unknown);
+            }
+        }
+        return rowErrors;
+    }
+
+    /**
+     * MÉTHODE UTILITAIRE : Entité à insérer (mêmes règles que EventService.create)
+     * imgUrl n'est jamais repris du fichier : seul FileStorageService nomme les images,
+     * un nom fourni par le client désignerait un fichier supprimé avec l'événement
+     */
+    private Event toEvent(EventCreateDTO inputs, Map<Integer, Category> categories, Profile profile, Instant updatedAt) {
+        Event event = new Event();
+        event.setNameEvent(inputs.nameEvent());
+        event.setDescription(inputs.description());
+        event.setDateEvent(inputs.dateEvent());
+        event.setProgram(inputs.program());
+        event.setContact(inputs.contact());
+        event.setPrice(inputs.price());
+        event.setNumberPlace(inputs.numberPlace());
+        event.setAddress(inputs.address());
+        event.setLatitude(inputs.latitude());
+        event.setLongitude(inputs.longitude());
+        event.setUpdatedAt(updatedAt);
+        event.setProfile(profile);
+        event.setCategories(inputs.categoryIds().stream()
+                .distinct()
+                .map(categories::get)
+                .collect(Collectors.toCollection(ArrayList::new)));
+        return event;
+    }
+
+    /**
+     * MÉTHODE UTILITAIRE : Lecture d'une ligne, ajoutée aux lignes du fichier
+     * (null et erreur de format si un attribut est illisible)
+     */
+    private void readRow(Object values, List<EventCreateDTO> rows, Map<Integer, List<String>> formatErrors) {
+        try {
+            rows.add(values == null ? null : objectMapper.convertValue(values, EventCreateDTO.class));
+        } catch (IllegalArgumentException e) {
+            rows.add(null);
+            formatErrors.put(rows.size(), List.of(formatError(e)));
+        }
+    }
+
+    /**
+     * MÉTHODE UTILITAIRE : Ligne CSV → valeurs JSON (cellule categoryIds découpée sur "|")
+     */
+    private static Map<String, Object> toJsonValues(Map<String, String> line) {
+        Map<String, Object> values = new HashMap<>(line);
+        String categoryIds = line.get(CSV_CATEGORY_IDS);
+        if (categoryIds != null) {
+            values.put(CSV_CATEGORY_IDS, Arrays.stream(categoryIds.split(Pattern.quote(CSV_CATEGORY_SEPARATOR)))
+                    .map(String::trim)
+                    .toList());
+        }
+        return values;
+    }
+
+    private void checkColumns(Set<String> columns) {
+        columns.stream()
+                .filter(column -> !CSV_COLUMNS.contains(column))
+                .findFirst()
+                .ifPresent(column -> {
+                    throw new InvalidRequestParameterException(PARAM_CSV, column);
+                });
+    }
+
+    private void checkSize(int size) {
+        if (size > MAX_IMPORT_ROWS) {
+            throw new InvalidRequestParameterException(PARAM_EVENTS, size + " lignes (maximum " + MAX_IMPORT_ROWS + ")");
+        }
+    }
+
+    private static String formatViolation(ConstraintViolation<EventCreateDTO> violation) {
+        return violation.getPropertyPath() + " : " + violation.getMessage();
+    }
+
+    /**
+     * Attribut illisible (ex : "dateEvent : format invalide")
+     */
+    private static String formatError(IllegalArgumentException e) {
+        if (e.getCause() instanceof JsonMappingException mapping && !mapping.getPath().isEmpty()) {
+            return mapping.getPath().get(0).getFieldName() + " : format invalide";
+        }
+        return "format invalide";
+    }
+}
@@ -0,0 +1,149 @@
+package co.simplon.cda.event_connect_backend.services;
+
+import co.simplon.cda.event_connect_backend.configuration.JwtProvider;
+import co.simplon.cda.event_connect_backend.exceptions.DuplicateResourceException;
+import co.simplon.cda.event_connect_backend.exceptions.EventFullException;
+import co.simplon.cda.event_connect_backend.exceptions.ResourceNotFoundException;
+import co.simplon.cda.event_connect_backend.repositories.EventRepository;
+import co.simplon.cda.event_connect_backend.repositories.ProfileRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Service métier des inscriptions aux événements (t_register)
+ *
+ * La capacité est garantie par la base, sans lecture préalable ni verrou applicatif :
+ * - Inscription : UPDATE conditionnel du compteur seats_taken (EventRepository.takeSeat),
+ *   puis INSERT dans t_register, dans la même transaction
+ * - Désinscription : DELETE dans t_register, puis décrément du compteur
+ *
+ * Chaque tentative a sa propre transaction (TransactionTemplate, pas de @Transactional) :
+ * un conflit passager (verrou non obtenu à temps, deadlock, sérialisation) est rejoué
+ * jusqu'à maxAttempts fois, après une attente aléatoire croissante, puis remonté (503)
+ */
+@Service
+public class EventRegistrationService {
+    private static final Logger logger = LoggerFactory.getLogger(EventRegistrationService.class);
+
+    // Constantes pour les noms de ressources
+    private static final String RESOURCE_NAME_EVENT = "Event";
+    private static final String RESOURCE_NAME_REGISTRATION = "Registration";
+    private static final String FIELD_NAME_ID = "id";
+    private static final String FIELD_NAME_EVENT_ID = "eventId";
+
+    private final EventRepository eventRepository;
+    private final ProfileRepository profileRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+
+    public EventRegistrationService(
+            EventRepository eventRepository,
+            ProfileRepository profileRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${eventconnect.registration.max-attempts:5}") int maxAttempts,
+            @Value("${eventconnect.registration.retry-backoff:20ms}") Duration retryBackoff
+    ) {
+        this.eventRepository = eventRepository;
+        this.profileRepository = profileRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+    }
+
+    /**
+     * Inscrit l'utilisateur authentifié à un événement
+     *
+     * Le compteur est incrémenté en premier : une inscription refusée (complet, inexistant)
+     * n'écrit rien. Un doublon fait échouer l'INSERT et annule la place réservée.
+     *
+     * @throws EventFullException si toutes les places sont réservées (409)
+     * @throws DuplicateResourceException si l'utilisateur est déjà inscrit (409)
+     * @throws ResourceNotFoundException si l'événement n'existe pas (404)
+     */
+    public void register(Integer eventId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Integer profileId = JwtProvider.profileId(authentication, profileRepository);
+
+        withRetry(() -> {
+            if (eventRepository.takeSeat(eventId) == 0) {
+                // Échec seulement : distinguer l'événement complet de l'événement inexistant
+                if (!eventRepository.existsById(eventId)) {
+                    throw new ResourceNotFoundException(RESOURCE_NAME_EVENT, FIELD_NAME_ID, eventId);
+                }
+                throw new EventFullException(eventId);
+            }
+            try {
+                eventRepository.insertRegistration(eventId, profileId);
+            } catch (DataIntegrityViolationException e) {
+                throw new DuplicateResourceException(RESOURCE_NAME_REGISTRATION, FIELD_NAME_EVENT_ID, eventId);
+            }
+        });
+
+        logger.info("Profil {} inscrit à l'événement {}", profileId, eventId);
+    }
+
+    /**
+     * Désinscrit l'utilisateur authentifié d'un événement et libère sa place
+     *
+     * @throws ResourceNotFoundException si l'utilisateur n'était pas inscrit (404)
+     */
+    public void unregister(Integer eventId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Integer profileId = JwtProvider.profileId(authentication, profileRepository);
+
+        withRetry(() -> {
+            if (eventRepository.deleteRegistration(eventId, profileId) == 0) {
+                throw new ResourceNotFoundException(RESOURCE_NAME_REGISTRATION, FIELD_NAME_EVENT_ID, eventId);
+            }
+            eventRepository.releaseSeat(eventId);
+        });
+
+        logger.info("Profil {} désinscrit de l'événement {}", profileId, eventId);
+    }
+
+    /**
+     * MÉTHODE UTILITAIRE : Exécute l'action dans une transaction, rejouée sur conflit passager
+     */
+    private void withRetry(Runnable action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> action.run());
+                return;
+            } catch (TransientDataAccessException e) {
+                if (attempt >= maxAttempts) {
+                    logger.warn("Conflit persistant après {} tentatives : {}", attempt, e.getMessage());
+                    throw e;
+                }
+                logger.debug("Conflit passager (tentative {}/{}) : {}", attempt, maxAttempts, e.getMessage());
+                backOff(attempt, e);
+            }
+        }
+    }
+
+    /**
+     * MÉTHODE UTILITAIRE : Attente avant la tentative suivante
+     * Croissante et aléatoire, pour que les transactions en conflit ne se retrouvent pas
+     * à nouveau au même instant
+     */
+    private void backOff(int attempt, TransientDataAccessException cause) {
+        long maxMillis = retryBackoff.toMillis() * attempt;
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(maxMillis + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+}
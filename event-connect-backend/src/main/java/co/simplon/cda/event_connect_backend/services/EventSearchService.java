@@ -0,0 +1,225 @@
+package co.simplon.cda.event_connect_backend.services;
+
+import co.simplon.cda.event_connect_backend.cache.CatalogVersion;
+import co.simplon.cda.event_connect_backend.dtos.event.EventNearbyDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventPageDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventSearchRequest;
+import co.simplon.cda.event_connect_backend.dtos.event.EventSuggestionDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventViewDTO;
+import co.simplon.cda.event_connect_backend.exceptions.InvalidRequestParameterException;
+import co.simplon.cda.event_connect_backend.index.EventGeoIndex;
+import co.simplon.cda.event_connect_backend.index.EventSuggestIndex;
+import co.simplon.cda.event_connect_backend.repositories.EventRepository;
+import co.simplon.cda.event_connect_backend.utils.TextNormalizer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service de recherche plein texte sur les événements
+ *
+ * Fonctionnalités :
+ * - Recherche PostgreSQL (tsvector, configuration française sans accents)
+ * - Repli par trigrammes sur le nom quand aucun résultat exact (fautes de frappe)
+ * - Tri par pertinence, pagination par curseur opaque (X-Next-Cursor)
+ * - Cache court des requêtes fréquentes, par version du catalogue
+ * - Autocomplétion sur le nom, en mémoire (EventSuggestIndex)
+ * - Événements proches d'une position, par grille spatiale en mémoire (EventGeoIndex)
+ *
+ * Seuls les événements à venir sont recherchés
+ */
+@Service
+public class EventSearchService {
+    private static final Logger logger = LoggerFactory.getLogger(EventSearchService.class);
+
+    // Longueur maximale de la recherche (au-delà : refus, pas de troncature silencieuse)
+    static final int MAX_QUERY_LENGTH = 200;
+    // Nombre de suggestions d'autocomplétion
+    static final int DEFAULT_SUGGEST_LIMIT = 10;
+    static final int MAX_SUGGEST_LIMIT = 20;
+    // Recherche de proximité : rayon (km) et nombre de résultats
+    static final double DEFAULT_RADIUS_KM = 10;
+    static final double MAX_RADIUS_KM = 200;
+    static final int DEFAULT_NEARBY_LIMIT = 20;
+    static final int MAX_NEARBY_LIMIT = 100;
+    private static final String CURSOR_PREFIX = "s1|";
+    private static final String PARAM_QUERY = "q";
+    private static final String PARAM_CURSOR = "cursor";
+    private static final String PARAM_PREFIX = "prefix";
+    private static final String PARAM_LIMIT = "limit";
+    private static final String PARAM_LATITUDE = "lat";
+    private static final String PARAM_LONGITUDE = "lon";
+    private static final String PARAM_RADIUS = "radiusKm";
+
+    private final EventRepository eventRepository;
+    private final EventService eventService;
+    private final CatalogVersion catalogVersion;
+    private final EventSuggestIndex eventSuggestIndex;
+    private final EventGeoIndex eventGeoIndex;
+    private final Cache<SearchKey, EventPageDTO> results;
+
+    public EventSearchService(
+            EventRepository eventRepository,
+            EventService eventService,
+            CatalogVersion catalogVersion,
+            EventSuggestIndex eventSuggestIndex,
+            EventGeoIndex eventGeoIndex,
+            @Value("${eventconnect.cache.search.max-size:1000}") long maxSize,
+            @Value("${eventconnect.cache.search.ttl:30s}") Duration ttl
+    ) {
+        this.eventRepository = eventRepository;
+        this.eventService = eventService;
+        this.catalogVersion = catalogVersion;
+        this.eventSuggestIndex = eventSuggestIndex;
+        this.eventGeoIndex = eventGeoIndex;
+        this.results = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Recherche une page d'événements, du plus pertinent au moins pertinent
+     *
+     * La recherche est normalisée (casse, accents, espaces) avant la mise en cache :
+     * "Fête  de la Musique" et "fete de la musique" partagent le même résultat
+     */
+    @Transactional(readOnly = true)
+    public EventPageDTO search(EventSearchRequest request) {
+        String query = normalize(request.q());
+        int offset = request.cursor() != null ? decodeCursor(request.cursor()) : 0;
+        int size = EventService.resolvePageSize(request.size());
+
+        SearchKey key = new SearchKey(catalogVersion.current(), query, offset, size);
+        return results.get(key, k -> findPage(query, offset, size));
+    }
+
+    /**
+     * Suggestions pour la saisie en cours : événements à venir dont le nom
+     * (ou un mot du nom) commence par prefix, les plus proches d'abord
+     *
+     * Servi entièrement depuis la mémoire, aucune requête SQL
+     */
+    public List<EventSuggestionDTO> suggest(String prefix, Integer limit) {
+        if (prefix == null || prefix.isBlank() || prefix.length() > MAX_QUERY_LENGTH) {
+            throw new InvalidRequestParameterException(PARAM_PREFIX, String.valueOf(prefix));
+        }
+        if (limit != null && limit < 1) {
+            throw new InvalidRequestParameterException(PARAM_LIMIT, limit);
+        }
+        int resolvedLimit = limit == null ? DEFAULT_SUGGEST_LIMIT : Math.min(limit, MAX_SUGGEST_LIMIT);
+        return eventSuggestIndex.suggest(prefix, resolvedLimit);
+    }
+
+    /**
+     * Événements à venir situés à moins de radiusKm de la position, du plus proche au plus lointain
+     *
+     * Les candidats sont sélectionnés par cellules de l'index spatial (aucun parcours de la table),
+     * seuls les k plus proches sont ensuite lus en BDD
+     */
+    @Transactional(readOnly = true)
+    public List<EventNearbyDTO> nearby(Double latitude, Double longitude, Double radiusKm, Integer limit) {
+        if (latitude == null || latitude.isNaN() || latitude < -90 || latitude > 90) {
+            throw new InvalidRequestParameterException(PARAM_LATITUDE, latitude);
+        }
+        if (longitude == null || longitude.isNaN() || longitude < -180 || longitude > 180) {
+            throw new InvalidRequestParameterException(PARAM_LONGITUDE, longitude);
+        }
+        if (radiusKm != null && !(radiusKm > 0 && radiusKm <= MAX_RADIUS_KM)) {
+            throw new InvalidRequestParameterException(PARAM_RADIUS, radiusKm);
+        }
+        if (limit != null && limit < 1) {
+            throw new InvalidRequestParameterException(PARAM_LIMIT, limit);
+        }
+        double resolvedRadius = radiusKm == null ? DEFAULT_RADIUS_KM : radiusKm;
+        int resolvedLimit = limit == null ? DEFAULT_NEARBY_LIMIT : Math.min(limit, MAX_NEARBY_LIMIT);
+
+        List<EventGeoIndex.Hit> hits = eventGeoIndex.nearby(latitude, longitude, resolvedRadius, resolvedLimit);
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        Map<Integer, EventViewDTO> views = eventService.getViewsByIds(hits.stream().map(EventGeoIndex.Hit::eventId).toList())
+                .stream()
+                .collect(Collectors.toMap(EventViewDTO::id, Function.identity()));
+
+        // Événement supprimé entre l'index et la lecture : ignoré
+        return hits.stream()
+                .filter(hit -> views.containsKey(hit.eventId()))
+                .map(hit -> new EventNearbyDTO(views.get(hit.eventId()), Math.round(hit.distanceKm() * 100) / 100.0))
+                .toList();
+    }
+
+    /**
+     * MÉTHODE UTILITAIRE : Recherche plein texte, puis repli par trigrammes
+     *
+     * Le repli n'est utilisé que si la recherche plein texte ne trouve rien du tout
+     * (et pas simplement parce qu'on a dépassé sa dernière page)
+     */
+    private EventPageDTO findPage(String query, int offset, int size) {
+        logger.debug("Recherche d'événements : '{}' (offset {})", query, offset);
+
+        List<Integer> ids = eventRepository.searchIds(query, size + 1, offset);
+        if (ids.isEmpty() && (offset == 0 || !eventRepository.existsSearchMatch(query))) {
+            logger.debug("Aucun résultat plein texte pour '{}', repli par similarité", query);
+            ids = eventRepository.searchIdsBySimilarity(query, size + 1, offset);
+        }
+
+        boolean hasNext = ids.size() > size;
+        List<EventViewDTO> items = eventService.getViewsByIds(ids.subList(0, Math.min(size, ids.size())));
+        String nextCursor = hasNext ? encodeCursor(offset + size) : null;
+        return new EventPageDTO(items, nextCursor);
+    }
+
+    /**
+     * MÉTHODE UTILITAIRE : Minuscules, sans accents, espaces réduits
+     */
+    static String normalize(String query) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidRequestParameterException(PARAM_QUERY, String.valueOf(query));
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new InvalidRequestParameterException(PARAM_QUERY, query.substring(0, MAX_QUERY_LENGTH) + "...");
+        }
+        return TextNormalizer.fold(query);
+    }
+
+    /**
+     * Curseur de recherche : position dans le classement, encodée en Base64 URL
+     * (la pertinence n'est pas une clé stable : pas de keyset possible ici)
+     */
+    private static String encodeCursor(int offset) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + offset).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int decodeCursor(String cursor) {
+        int offset;
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            offset = decoded.startsWith(CURSOR_PREFIX)
+                    ? Integer.parseInt(decoded.substring(CURSOR_PREFIX.length()))
+                    : -1;
+        } catch (IllegalArgumentException e) {
+            offset = -1; // Base64 ou nombre invalide
+        }
+        if (offset < 0) {
+            throw new InvalidRequestParameterException(PARAM_CURSOR, cursor);
+        }
+        return offset;
+    }
+
+    private record SearchKey(long version, String query, int offset, int size) {
+    }
+}
@@ -1,27 +1,80 @@
 package co.simplon.cda.event_connect_backend.services;
 
+import co.simplon.cda.event_connect_backend.cache.EventDetailCache;
+import co.simplon.cda.event_connect_backend.changes.EventChange;
+import co.simplon.cda.event_connect_backend.changes.EventsChanged;
+import co.simplon.cda.event_connect_backend.changes.ImageStaged;
+import co.simplon.cda.event_connect_backend.changes.ImagesReleased;
+import co.simplon.cda.event_connect_backend.configuration.JwtProvider;
 import co.simplon.cda.event_connect_backend.dtos.category.CategoryDTO;
+import co.simplon.cda.event_connect_backend.dtos.category.EventCategoryDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventBatchDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventBatchMutationDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventBatchOperation;
+import co.simplon.cda.event_connect_backend.dtos.event.EventBatchResultDTO;
 import co.simplon.cda.event_connect_backend.dtos.event.EventCreateDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventCursor;
+import co.simplon.cda.event_connect_backend.dtos.event.EventField;
+import co.simplon.cda.event_connect_backend.dtos.event.EventOwnerDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventPageDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventPageRequest;
+import co.simplon.cda.event_connect_backend.dtos.event.EventSort;
 import co.simplon.cda.event_connect_backend.dtos.event.EventUpdateDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventVersionDTO;
 import co.simplon.cda.event_connect_backend.dtos.event.EventViewDTO;
 import co.simplon.cda.event_connect_backend.entities.Category;
 import co.simplon.cda.event_connect_backend.entities.Event;
-import co.simplon.cda.event_connect_backend.entities.Profile;
+import co.simplon.cda.event_connect_backend.entities.ImageStatus;
+import co.simplon.cda.event_connect_backend.exceptions.EventCapacityException;
+import co.simplon.cda.event_connect_backend.exceptions.InvalidRequestParameterException;
+import co.simplon.cda.event_connect_backend.exceptions.PreconditionFailedException;
+import co.simplon.cda.event_connect_backend.exceptions.ResourceNotFoundException;
+import co.simplon.cda.event_connect_backend.exceptions.UnauthorizedAccessException;
+import co.simplon.cda.event_connect_backend.index.CategoryBitmapIndex;
 import co.simplon.cda.event_connect_backend.repositories.CategoryRepository;
+import co.simplon.cda.event_connect_backend.repositories.EventPageCriteria;
 import co.simplon.cda.event_connect_backend.repositories.EventRepository;
 import co.simplon.cda.event_connect_backend.repositories.ProfileRepository;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import co.simplon.cda.event_connect_backend.exceptions.ResourceNotFoundException;
-import co.simplon.cda.event_connect_backend.exceptions.UnauthorizedAccessException;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import org.roaringbitmap.RoaringBitmap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service métier pour la gestion des événements
@@ -33,7 +86,14 @@ import java.util.List;
  * - ✅ Logs pour traçabilité (SLF4J)
  * - ✅ Transactions explicites
  * - ✅ Validation des autorisations renforcée
- * - ✅ Méthode utilitaire pour conversion Entity → DTO
+ * - ✅ Lectures par projection directe vers les DTOs (sans entité managée)
+ * - ✅ Cache du détail, invalidé après commit de chaque écriture (EventChange)
+ * - ✅ Lecture groupée du détail (cache d'abord, puis une seule lecture des manquants)
+ * - ✅ Filtre multi-catégories (ET / OU) calculé sur index bitmap en mémoire
+ * - ✅ Sélection partielle des colonnes sur les listes (paramètre fields)
+ * - ✅ Opérations groupées (suppression, date, catégories) : une vérification de propriétaire,
+ *      puis des instructions ensemblistes
+ * - ✅ Modification partielle (PATCH) : seules les colonnes modifiées sont écrites
  */
 @Service
 @Transactional
@@ -44,18 +104,58 @@ public class EventService {
     private static final String RESOURCE_NAME_EVENT = "Event";
     private static final String FIELD_NAME_ID = "id";
 
+    // Pagination : taille par défaut et plafond (protège la mémoire et la BDD)
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
+
+    // Lecture groupée : nombre maximum d'IDs par requête (GET /events?ids=)
+    static final int MAX_BATCH_IDS = 100;
+
+    // Filtre multi-catégories : nombre maximum de catégories par requête
+    static final int MAX_CATEGORY_FILTER = 20;
+    // Au-delà de ce nombre d'événements correspondants, la BDD filtre elle-même
+    // par catégories plutôt que de recevoir une longue liste d'ids
+    static final int MAX_EVENT_IDS_FILTER = 1000;
+
+    // PATCH : attributs modifiables (ceux d'EventUpdateDTO, hors image et identifiants)
+    private static final Map<String, RecordComponent> PATCHABLE_FIELDS = Arrays.stream(EventUpdateDTO.class.getRecordComponents())
+            .filter(component -> !Set.of("id", "imgUrl", "categories").contains(component.getName()))
+            .collect(Collectors.toUnmodifiableMap(RecordComponent::getName, Function.identity()));
+    private static final String PARAM_PATCH = "patch";
+    private static final String PARAM_CATEGORY_IDS = "categoryIds";
+
     private final EventRepository eventRepository;
     private final CategoryRepository categoryRepository;
     private final ProfileRepository profileRepository;
+    private final EventDetailCache eventDetailCache;
+    private final CategoryBitmapIndex categoryBitmapIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    // Lecture du détail en cas de miss du cache (un hit n'ouvre aucune transaction)
+    private final TransactionTemplate readOnlyTransaction;
 
     public EventService(
             EventRepository eventRepository,
             CategoryRepository categoryRepository,
-            ProfileRepository profileRepository
+            ProfileRepository profileRepository,
+            EventDetailCache eventDetailCache,
+            CategoryBitmapIndex categoryBitmapIndex,
+            ApplicationEventPublisher eventPublisher,
+            Validator validator,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager
     ) {
         this.eventRepository = eventRepository;
         this.categoryRepository = categoryRepository;
         this.profileRepository = profileRepository;
+        this.eventDetailCache = eventDetailCache;
+        this.categoryBitmapIndex = categoryBitmapIndex;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
     /**
@@ -74,12 +174,8 @@ public class EventService {
 
         logger.info("Création d'événement par : {}", email);
 
-        // Recherche du profil
-        Profile profile = profileRepository.findByEmail(email);
-        if (profile == null) {
-            logger.error("Utilisateur non trouvé : {}", email);
-            throw new ResourceNotFoundException("Profile", "email", email);
-        }
+        // Id du profil porté par le jeton : aucune lecture de t_profiles
+        Integer profileId = JwtProvider.profileId(authentication, profileRepository);
 
         // Validation de l'image obligatoire
         if (imgUrl == null || imgUrl.isBlank()) {
@@ -91,6 +187,7 @@ public class EventService {
         Event event = new Event();
         event.setNameEvent(inputs.nameEvent());
         event.setImgUrl(imgUrl);
+        event.setImageStatus(ImageStatus.PENDING);
         event.setDescription(inputs.description());
         event.setDateEvent(inputs.dateEvent());
         event.setProgram(inputs.program());
@@ -98,7 +195,9 @@ public class EventService {
         event.setPrice(inputs.price());
         event.setNumberPlace(inputs.numberPlace());
         event.setAddress(inputs.address());
-        event.setProfile(profile);
+        setLocation(event, inputs.latitude(), inputs.longitude());
+        event.setUpdatedAt(now());
+        event.setProfile(profileRepository.getReferenceById(profileId));
 
         // Association avec les catégories
         if (inputs.categoryIds() != null && !inputs.categoryIds().isEmpty()) {
@@ -114,6 +213,8 @@ public class EventService {
 
         // Sauvegarde en base
         Event savedEvent = eventRepository.save(event);
+        eventPublisher.publishEvent(EventChange.created(savedEvent.getId()));
+        eventPublisher.publishEvent(new ImageStaged(savedEvent.getId(), imgUrl));
         logger.info("Événement créé avec succès - ID: {} par {}", savedEvent.getId(), email);
     }
 
@@ -124,30 +225,23 @@ public class EventService {
      * - Vérification renforcée des autorisations
      * - Exceptions personnalisées
      * - Logs détaillés
+     * - Concurrence optimiste, sans verrou : version attendue (If-Match) comparée à la version lue,
+     *   puis UPDATE ... WHERE version = ? par Hibernate (modification concurrente → 412)
+     *
+     * @param expectedVersion version lue par le client, null pour ne pas la vérifier
+     * @return nouvelle révision (ETag de la réponse)
      */
-    public void update(EventUpdateDTO inputs, Integer id, String imgUrl) {
+    public EventVersionDTO update(EventUpdateDTO inputs, Integer id, String imgUrl, Long expectedVersion) {
         logger.info("Tentative de modification de l'événement {} par utilisateur authentifié", id);
-
-        // Récupération de l'événement
-        Event event = eventRepository.findById(id)
-                .orElseThrow(() -> {
-                    logger.warn("Événement non trouvé : {}", id);
-                    return new ResourceNotFoundException(RESOURCE_NAME_EVENT, FIELD_NAME_ID, id);
-                });
-
-        // Vérification des autorisations
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String email = authentication.getName();
-
-        if (!event.getProfile().getEmail().equals(email)) {
-            logger.warn("Tentative de modification non autorisée de l'événement {} par {}", id, email);
-            throw new UnauthorizedAccessException("Vous ne pouvez modifier que vos propres événements");
-        }
+        Event event = findForUpdate(id, authentication, expectedVersion);
 
         // Mise à jour des champs
         event.setNameEvent(inputs.nameEvent());
         if (imgUrl != null) {
             event.setImgUrl(imgUrl);
+            event.setImageStatus(ImageStatus.PENDING);
         }
         event.setDescription(inputs.description());
         event.setDateEvent(inputs.dateEvent());
@@ -155,7 +249,11 @@ public class EventService {
         event.setContact(inputs.contact());
         event.setPrice(inputs.price());
         event.setNumberPlace(inputs.numberPlace());
+        checkCapacity(event);
         event.setAddress(inputs.address());
+        setLocation(event, inputs.latitude(), inputs.longitude());
+        // Ligne toujours modifiée : Hibernate incrémente aussi la version (nouvel ETag)
+        event.setUpdatedAt(now());
 
         // Mise à jour des catégories si fournies
         if (inputs.categoryIds() != null && !inputs.categoryIds().isEmpty()) {
@@ -169,101 +267,642 @@ public class EventService {
             event.setCategories(categories);
         }
 
+        // Écriture immédiate : conflit détecté ici et nouvelle version connue
         eventRepository.save(event);
+        flushChecked(event);
+        eventPublisher.publishEvent(EventChange.updated(id));
+        if (imgUrl != null) {
+            eventPublisher.publishEvent(new ImageStaged(id, imgUrl));
+        }
         logger.info("Événement {} mis à jour avec succès par {}", id, email);
+        return new EventVersionDTO(event.getVersion(), event.getUpdatedAt());
+    }
+
+    /**
+     * Modifie une partie d'un événement (PATCH, JSON merge-patch, RFC 7396)
+     *
+     * - Attribut absent : inchangé ; attribut à null : effacé (refusé s'il est obligatoire)
+     * - Seuls les attributs présents sont validés (mêmes règles qu'à la création)
+     * - Seuls les attributs réellement modifiés sont écrits : l'UPDATE ne contient
+     *   que leurs colonnes (@DynamicUpdate), les catégories ne sont résolues que si
+     *   categoryIds change, l'image n'est jamais concernée
+     * - Aucune modification effective → ni écriture ni nouvelle version
+     *
+     * @param expectedVersion version lue par le client (If-Match), null pour ne pas la vérifier
+     * @return révision de l'événement après modification
+     */
+    public EventVersionDTO patch(Integer id, JsonNode patch, Long expectedVersion) {
+        // Lecture du patch avant tout accès à la base : un patch invalide ne coûte aucune requête
+        Map<String, Object> changes = readPatch(patch);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String email = authentication.getName();
+        Event event = findForUpdate(id, authentication, expectedVersion);
+
+        boolean changed = false;
+        for (Map.Entry<String, Object> change : changes.entrySet()) {
+            Object value = change.getValue();
+            changed |= switch (change.getKey()) {
+                case "nameEvent" -> apply(event::getNameEvent, event::setNameEvent, (String) value);
+                case "description" -> apply(event::getDescription, event::setDescription, (String) value);
+                case "dateEvent" -> apply(event::getDateEvent, event::setDateEvent, (LocalDate) value);
+                case "program" -> apply(event::getProgram, event::setProgram, (String) value);
+                case "contact" -> apply(event::getContact, event::setContact, (String) value);
+                case "price" -> apply(event::getPrice, event::setPrice, (BigDecimal) value);
+                case "numberPlace" -> apply(event::getNumberPlace, event::setNumberPlace, (Integer) value);
+                case "address" -> apply(event::getAddress, event::setAddress, (String) value);
+                case "categoryIds" -> patchCategories(event, (List<?>) value);
+                default -> false; // latitude / longitude : traitées ensemble ci-dessous
+            };
+        }
+        if (changes.containsKey("latitude") || changes.containsKey("longitude")) {
+            Double latitude = changes.containsKey("latitude") ? (Double) changes.get("latitude") : event.getLatitude();
+            Double longitude = changes.containsKey("longitude") ? (Double) changes.get("longitude") : event.getLongitude();
+            if (!Objects.equals(latitude, event.getLatitude()) || !Objects.equals(longitude, event.getLongitude())) {
+                setLocation(event, latitude, longitude);
+                changed = true;
+            }
+        }
+
+        if (!changed) {
+            logger.info("Événement {} : aucune modification effective", id);
+            return new EventVersionDTO(event.getVersion(), event.getUpdatedAt());
+        }
+
+        if (changes.containsKey("numberPlace")) {
+            checkCapacity(event);
+        }
+        event.setUpdatedAt(now());
+        // Écriture immédiate : conflit détecté ici et nouvelle version connue
+        flushChecked(event);
+        eventPublisher.publishEvent(EventChange.updated(id));
+        logger.info("Événement {} modifié ({}) par {}", id, changes.keySet(), email);
+        return new EventVersionDTO(event.getVersion(), event.getUpdatedAt());
+    }
+
+    /**
+     * MÉTHODE UTILITAIRE : Nombre de places au moins égal au nombre d'inscrits
+     * (compteur lu avec l'événement, aucune requête)
+     *
+     * @throws EventCapacityException sinon (409)
+     */
+    private static void checkCapacity(Event event) {
+        Integer numberPlace = event.getNumberPlace();
+        if (numberPlace != null && numberPlace < event.getSeatsTaken()) {
+            logger.warn("Événement {} : {} places demandées pour {} inscrits",
+                    event.getId(), numberPlace, event.getSeatsTaken());
+            throw new EventCapacityException(event.getId(), numberPlace);
+        }
+    }
+
+    /**
+     * MÉTHODE UTILITAIRE : Écriture immédiate d'un événement modifié
+     * Une inscription commitée depuis checkCapacity viole CAPACITY_CONSTRAINT : même 409
+     */
+    private void flushChecked(Event event) {
+        try {
+            eventRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            String message = e.getMostSpecificCause().getMessage();
+            if (message != null && message.toLowerCase(Locale.ROOT).contains(Event.CAPACITY_CONSTRAINT)) {
+                throw new EventCapacityException(event.getId(), event.getNumberPlace());
+            }
+            throw e;
+        }
     }
 
     /**
      * Supprime un événement
+     *
+     * Aucune entité chargée : une seule instruction DELETE conditionnée au créateur,
+     * qui renvoie l'image (retirée du disque avec sa miniature après le commit)
+     * Seulement si rien n'est supprimé, une lecture de l'id distingue 404 / 403
      */
     public void delete(Integer id) {
         logger.info("Tentative de suppression de l'événement {}", id);
 
-        Event event = eventRepository.findById(id)
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String email = authentication.getName();
+        Integer profileId = JwtProvider.profileId(authentication, profileRepository);
+
+        EventOwnerDTO deleted = eventRepository.deleteOwned(id, profileId)
                 .orElseThrow(() -> {
-                    logger.warn("Événement non trouvé pour suppression : {}", id);
-                    return new ResourceNotFoundException(RESOURCE_NAME_EVENT, FIELD_NAME_ID, id);
+                    if (!eventRepository.existsById(id)) {
+                        logger.warn("Événement non trouvé pour suppression : {}", id);
+                        return new ResourceNotFoundException(RESOURCE_NAME_EVENT, FIELD_NAME_ID, id);
+                    }
+                    logger.warn("Tentative de suppression non autorisée de l'événement {} par {}", id, email);
+                    return new UnauthorizedAccessException("Vous ne pouvez supprimer que vos propres événements");
                 });
 
-        // Vérification des autorisations
+        eventPublisher.publishEvent(EventChange.deleted(id));
+        releaseImages(List.of(deleted));
+        logger.info("Événement {} supprimé avec succès par {}", id, email);
+    }
+
+    /**
+     * Applique une même opération à plusieurs événements de l'utilisateur authentifié
+     * (suppression, nouvelle date ou nouvelles catégories)
+     *
+     * - Propriétaires de tous les événements vérifiés en une requête
+     * - Opération appliquée par instructions ensemblistes (WHERE event_id IN ...),
+     *   dans une seule transaction, aux seuls événements de l'utilisateur
+     * - Les autres ids sont signalés (NOT_FOUND, FORBIDDEN) sans faire échouer l'opération
+     */
+    public EventBatchResultDTO applyBatch(EventBatchMutationDTO inputs) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String email = authentication.getName();
+        List<Integer> ids = inputs.eventIds().stream().distinct().toList();
+        checkBatchParameters(inputs);
+        Integer profileId = JwtProvider.profileId(authentication, profileRepository);
+
+        List<EventOwnerDTO> found = eventRepository.findOwnersByIds(ids);
+        Map<Integer, Integer> owners = found.stream()
+                .collect(Collectors.toMap(EventOwnerDTO::eventId, EventOwnerDTO::profileId));
+        List<Integer> owned = ids.stream()
+                .filter(id -> profileId.equals(owners.get(id)))
+                .toList();
 
-        if (!event.getProfile().getEmail().equals(email)) {
-            logger.warn("Tentative de suppression non autorisée de l'événement {} par {}", id, email);
-            throw new UnauthorizedAccessException("Vous ne pouvez supprimer que vos propres événements");
+        if (!owned.isEmpty()) {
+            Instant updatedAt = now();
+            switch (inputs.operation()) {
+                case DELETE -> {
+                    eventRepository.deleteAllByIds(owned);
+                    releaseImages(found.stream().filter(o -> profileId.equals(o.profileId())).toList());
+                }
+                case RESCHEDULE -> eventRepository.rescheduleAll(owned, inputs.dateEvent(), updatedAt);
+                case RECATEGORIZE -> {
+                    eventRepository.deleteCategoryLinks(owned);
+                    eventRepository.insertCategoryLinks(owned, inputs.categoryIds());
+                    eventRepository.touchAll(owned, updatedAt);
+                }
+            }
+            eventPublisher.publishEvent(new EventsChanged(owned, inputs.operation() == EventBatchOperation.DELETE
+                    ? EventChange.Type.DELETED
+                    : EventChange.Type.UPDATED));
         }
 
-        eventRepository.deleteById(id);
-        logger.info("Événement {} supprimé avec succès par {}", id, email);
+        List<EventBatchResultDTO.Outcome> outcomes = ids.stream()
+                .map(id -> new EventBatchResultDTO.Outcome(id, batchStatus(owners.get(id), profileId)))
+                .toList();
+        if (owned.size() < owners.size()) {
+            logger.warn("Opération {} refusée sur {} événement(s) d'un autre organisateur pour {}",
+                    inputs.operation(), owners.size() - owned.size(), email);
+        }
+        logger.info("Opération {} appliquée à {} événement(s) sur {} par {}", inputs.operation(), owned.size(), ids.size(), email);
+        return new EventBatchResultDTO(inputs.operation(), owned.size(), outcomes);
     }
 
     /**
-     * Récupère tous les événements
+     * Récupère une page d'événements
      *
      * Endpoint public, accessible sans authentification
+     * Pagination par curseur : voir EventCursor
      */
     @Transactional(readOnly = true)
-    public List<EventViewDTO> getAllEvents() {
-        logger.debug("Récupération de tous les événements");
-
-        List<Event> events = eventRepository.findAll();
-        return events.stream()
-                .map(this::convertToDTO)
-                .toList();
+    public EventPageDTO getAllEvents(EventPageRequest pageRequest) {
+        logger.debug("Récupération d'une page d'événements");
+
+        List<Integer> categoryIds = pageRequest.categories() != null
+                ? pageRequest.categories().stream().distinct().toList()
+                : List.of();
+        if (categoryIds.size() > MAX_CATEGORY_FILTER || categoryIds.stream().anyMatch(Objects::isNull)) {
+            throw new InvalidRequestParameterException("categories", pageRequest.categories());
+        }
+        return findPage(categoryIds, isMatchAll(pageRequest.match()), pageRequest);
     }
 
     /**
-     * Récupère les événements d'une catégorie spécifique
+     * Récupère une page d'événements d'une catégorie spécifique
      */
     @Transactional(readOnly = true)
-    public List<EventViewDTO> getEventsByCategory(Integer categoryId) {
+    public EventPageDTO getEventsByCategory(Integer categoryId, EventPageRequest pageRequest) {
         logger.debug("Récupération des événements de la catégorie {}", categoryId);
 
-        List<Event> events = eventRepository.findByCategoriesId(categoryId);
-        return events.stream()
-                .map(this::convertToDTO)
-                .toList();
+        return findPage(List.of(categoryId), false, pageRequest);
     }
 
     /**
      * Récupère un événement par son ID
+     *
+     * Lecture via EventDetailCache : la BDD n'est interrogée qu'en cas de miss
+     * (un id inconnu est aussi mis en cache, brièvement)
+     * Pas de transaction ici : seul le chargement d'un miss en ouvre une, en lecture seule
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public EventViewDTO getById(Integer id) {
         logger.debug("Récupération de l'événement {}", id);
 
+        return eventDetailCache.get(id, missing -> readOnlyTransaction.execute(status -> loadView(missing)))
+                .orElseThrow(() -> {
+                    logger.warn("Événement non trouvé : {}", id);
+                    return new ResourceNotFoundException(RESOURCE_NAME_EVENT, FIELD_NAME_ID, id);
+                });
+    }
+
+    /**
+     * Révision d'un événement (ETag / Last-Modified), sans lire son détail
+     * Permet de répondre 304 Not Modified avec une lecture d'index seule
+     */
+    @Transactional(readOnly = true)
+    public EventVersionDTO getVersion(Integer id) {
+        return eventRepository.findVersionById(id)
+                .orElseThrow(() -> {
+                    logger.warn("Événement non trouvé : {}", id);
+                    return new ResourceNotFoundException(RESOURCE_NAME_EVENT, FIELD_NAME_ID, id);
+                });
+    }
+
+    /**
+     * Récupère plusieurs événements par leurs IDs, dans l'ordre des IDs fournis
+     * Les IDs inconnus sont ignorés
+     *
+     * 2 requêtes quel que soit le nombre d'IDs (événements + catégories)
+     */
+    @Transactional(readOnly = true)
+    public List<EventViewDTO> getViewsByIds(List<Integer> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Integer, EventViewDTO> byId = findViews(ids);
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Lecture groupée du détail de plusieurs événements (carrousel, favoris)
+     *
+     * Les détails déjà en cache sont servis sans requête SQL,
+     * les autres sont lus ensemble (2 requêtes au plus) puis mis en cache
+     * Les IDs inconnus sont signalés dans missingIds, sans erreur
+     *
+     * Comme getById : seule la lecture des manquants ouvre une transaction
+     *
+     * @param ids IDs demandés (MAX_BATCH_IDS au plus), doublons ignorés
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public EventBatchDTO getByIds(List<Integer> ids) {
+        if (ids == null || ids.isEmpty() || ids.size() > MAX_BATCH_IDS || ids.stream().anyMatch(Objects::isNull)) {
+            throw new InvalidRequestParameterException("ids", ids);
+        }
+        List<Integer> requested = ids.stream().distinct().toList();
+        logger.debug("Lecture groupée de {} événements", requested.size());
+
+        Map<Integer, Optional<EventViewDTO>> found = eventDetailCache.getAll(requested,
+                missing -> readOnlyTransaction.execute(status -> loadViews(missing)));
+        List<EventViewDTO> items = new ArrayList<>();
+        List<Integer> missingIds = new ArrayList<>();
+        for (Integer id : requested) {
+            Optional<EventViewDTO> view = found.getOrDefault(id, Optional.empty());
+            if (view.isPresent()) {
+                items.add(view.get());
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new EventBatchDTO(items, missingIds);
+    }
+
+    /**
+     * Parcourt tous les événements (ou ceux d'une catégorie) en flux
+     *
+     * Les lignes arrivent via un curseur BDD (voir EventRepository.streamAllViews)
+     * Les catégories sont chargées par paquets de STREAM_FETCH_SIZE événements :
+     * la mémoire reste constante, quel que soit le nombre d'événements
+     *
+     * @param categoryId catégorie à filtrer, null pour tous les événements
+     * @param consumer   appelé pour chaque événement, dans l'ordre (date, id)
+     */
+    @Transactional(readOnly = true)
+    public void streamEvents(Integer categoryId, Consumer<EventViewDTO> consumer) {
+        logger.debug("Lecture en flux des événements (catégorie : {})", categoryId);
+
+        try (Stream<EventViewDTO> events = categoryId == null
+                ? eventRepository.streamAllViews()
+                : eventRepository.streamViewsByCategory(categoryId)) {
+            List<EventViewDTO> batch = new ArrayList<>(EventRepository.STREAM_FETCH_SIZE);
+            Iterator<EventViewDTO> iterator = events.iterator();
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == EventRepository.STREAM_FETCH_SIZE) {
+                    withCategories(batch).forEach(consumer);
+                    batch.clear();
+                }
+            }
+            withCategories(batch).forEach(consumer);
+        }
+    }
+
+    /**
+     * MÉTHODE UTILITAIRE : Lecture du détail en BDD (appelée en cas de miss du cache)
+     */
+    private Optional<EventViewDTO> loadView(Integer id) {
+        return eventRepository.findViewById(id)
+                .map(event -> withCategories(List.of(event)).get(0));
+    }
+
+    /**
+     * MÉTHODE UTILITAIRE : Chargement groupé pour le cache de détail
+     * (Optional.empty pour les IDs inconnus : cache négatif)
+     */
+    private Map<Integer, Optional<EventViewDTO>> loadViews(List<Integer> ids) {
+        Map<Integer, EventViewDTO> byId = findViews(ids);
+        Map<Integer, Optional<EventViewDTO>> result = new HashMap<>();
+        ids.forEach(id -> result.put(id, Optional.ofNullable(byId.get(id))));
+        return result;
+    }
+
+    /**
+     * MÉTHODE UTILITAIRE : Événements et leurs catégories, indexés par ID
+     */
+    private Map<Integer, EventViewDTO> findViews(Collection<Integer> ids) {
+        return withCategories(eventRepository.findViewsByIds(ids)).stream()
+                .collect(Collectors.toMap(EventViewDTO::id, Function.identity()));
+    }
+
+    /**
+     * MÉTHODE UTILITAIRE : Lecture d'une page par curseur
+     *
+     * On lit une ligne de plus que demandé : si elle existe,
+     * il y a une page suivante et on construit son curseur
+     *
+     * Filtre par catégories : les événements correspondants sont calculés
+     * en mémoire (CategoryBitmapIndex), la BDD ne lit que la page demandée
+     *
+     * Sélection partielle (fields) : colonnes non demandées laissées à null,
+     * catégories lues seulement si elles sont demandées
+     */
+    private EventPageDTO findPage(List<Integer> categoryIds, boolean matchAll, EventPageRequest pageRequest) {
+        EventCursor after = pageRequest.cursor() != null ? EventCursor.decode(pageRequest.cursor()) : null;
+        EventSort sort = after != null ? after.sort() : EventSort.fromParam(pageRequest.sort());
+        boolean descending = after != null ? after.descending() : isDescending(pageRequest.direction());
+        int size = resolvePageSize(pageRequest.size());
+        LocalDate from = resolveFrom(pageRequest);
+        LocalDate to = pageRequest.to();
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new InvalidRequestParameterException("to", to.toString());
+        }
+
+        List<Integer> eventIds = null;
+        List<Integer> categoryFilter = null;
+        if (!categoryIds.isEmpty()) {
+            RoaringBitmap matching = categoryBitmapIndex.match(categoryIds, matchAll);
+            if (matching.isEmpty()) {
+                return new EventPageDTO(List.of(), null);
+            }
+            if (matching.getCardinality() <= MAX_EVENT_IDS_FILTER) {
+                eventIds = Arrays.stream(matching.toArray()).boxed().toList();
+            } else {
+                categoryFilter = categoryIds;
+            }
+        }
+
+        Set<EventField> fields = EventField.parse(pageRequest.fields());
+        List<EventViewDTO> events = eventRepository.findPage(new EventPageCriteria(
+                eventIds, categoryFilter, matchAll, from, to, sort, descending, after, size + 1, fields));
+
+        boolean hasNext = events.size() > size;
+        List<EventViewDTO> items = events.subList(0, Math.min(size, events.size()));
+        if (fields == null || fields.contains(EventField.CATEGORIES)) {
+            items = withCategories(items);
+        }
+
+        String nextCursor = hasNext
+                ? EventCursor.after(sort, descending, items.get(items.size() - 1)).encode()
+                : null;
+        return new EventPageDTO(items, nextCursor);
+    }
+
+    /**
+     * MÉTHODE UTILITAIRE : Borne basse sur la date de l'événement
+     *
+     * - upcoming=true : jamais avant aujourd'hui
+     * - upcoming absent : aujourd'hui, sauf si "from" est fourni
+     * - upcoming=false : seulement "from" (null = tout l'historique)
+     */
+    private LocalDate resolveFrom(EventPageRequest pageRequest) {
+        LocalDate from = pageRequest.from();
+        boolean upcoming = pageRequest.upcoming() != null ? pageRequest.upcoming() : from == null;
+        if (!upcoming) {
+            return from;
+        }
+        LocalDate today = LocalDate.now();
+        return from == null || from.isBefore(today) ? today : from;
+    }
+
+    /**
+     * MÉTHODE UTILITAIRE : Paramètres propres à l'opération groupée (400 si absents ou invalides)
+     */
+    private void checkBatchParameters(EventBatchMutationDTO inputs) {
+        if (inputs.operation() == EventBatchOperation.RESCHEDULE
+                && (inputs.dateEvent() == null || inputs.dateEvent().isBefore(LocalDate.now()))) {
+            throw new InvalidRequestParameterException("dateEvent", inputs.dateEvent());
+        }
+        if (inputs.operation() == EventBatchOperation.RECATEGORIZE) {
+            List<Integer> categoryIds = inputs.categoryIds() == null ? List.of() : inputs.categoryIds();
+            if (categoryIds.isEmpty() || categoryIds.stream().anyMatch(Objects::isNull)
+                    || categoryRepository.findAllById(categoryIds).size() != new HashSet<>(categoryIds).size()) {
+                throw new InvalidRequestParameterException(PARAM_CATEGORY_IDS, inputs.categoryIds());
+            }
+        }
+    }
+
+    /**
+     * MÉTHODE UTILITAIRE : Résultat d'une opération groupée pour un événement
+     */
+    private static EventBatchResultDTO.Status batchStatus(Integer ownerId, Integer profileId) {
+        if (ownerId == null) {
+            return EventBatchResultDTO.Status.NOT_FOUND;
+        }
+        return ownerId.equals(profileId) ? EventBatchResultDTO.Status.DONE : EventBatchResultDTO.Status.FORBIDDEN;
+    }
+
+    /**
+     * MÉTHODE UTILITAIRE : Images des événements supprimés, retirées après le commit
+     */
+    private void releaseImages(List<EventOwnerDTO> deleted) {
+        List<String> filenames = deleted.stream()
+                .map(EventOwnerDTO::imgUrl)
+                .filter(Objects::nonNull)
+                .toList();
+        if (!filenames.isEmpty()) {
+            eventPublisher.publishEvent(new ImagesReleased(filenames));
+        }
+    }
+
+    /**
+     * MÉTHODE UTILITAIRE : Date de modification, à la milliseconde
+     * (précision conservée par PostgreSQL et par l'en-tête Last-Modified arrondi à la seconde)
+     */
+    private static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.MILLIS);
+    }
+
+    /**
+     * MÉTHODE UTILITAIRE : Événement à modifier, après vérification du propriétaire
+     * et de la version attendue (If-Match)
+     * Créateur comparé par id (clé étrangère déjà lue) : t_profiles n'est pas lue
+     */
+    private Event findForUpdate(Integer id, Authentication authentication, Long expectedVersion) {
         Event event = eventRepository.findById(id)
                 .orElseThrow(() -> {
                     logger.warn("Événement non trouvé : {}", id);
                     return new ResourceNotFoundException(RESOURCE_NAME_EVENT, FIELD_NAME_ID, id);
                 });
 
-        return convertToDTO(event);
+        if (!event.getProfile().getId().equals(JwtProvider.profileId(authentication, profileRepository))) {
+            logger.warn("Tentative de modification non autorisée de l'événement {} par {}", id, authentication.getName());
+            throw new UnauthorizedAccessException("Vous ne pouvez modifier que vos propres événements");
+        }
+
+        // Modifié depuis la lecture du client : sa version écraserait celle d'un autre
+        if (expectedVersion != null && !expectedVersion.equals(event.getVersion())) {
+            logger.warn("Version périmée pour l'événement {} : {} attendue, {} actuelle",
+                    id, expectedVersion, event.getVersion());
+            throw new PreconditionFailedException("L'événement a été modifié depuis sa lecture");
+        }
+        return event;
     }
 
     /**
-     * MÉTHODE UTILITAIRE : Conversion Event → EventViewDTO
+     * MÉTHODE UTILITAIRE : Lecture d'un merge-patch
+     * Attributs connus, convertis dans leur type et validés comme à la création
+     *
+     * @return valeurs par attribut, dans l'ordre du patch (null = attribut effacé)
      */
-    private EventViewDTO convertToDTO(Event event) {
-        List<CategoryDTO> categoryDTOs = event.getCategories() != null
-                ? event.getCategories().stream()
-                .map(cat -> new CategoryDTO(cat.getId(), cat.getNameCategory()))
-                .toList()
-                : new ArrayList<>();
+    private Map<String, Object> readPatch(JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            throw new InvalidRequestParameterException(PARAM_PATCH, patch);
+        }
+        Map<String, Object> changes = new LinkedHashMap<>();
+        for (Map.Entry<String, JsonNode> property : patch.properties()) {
+            String name = property.getKey();
+            RecordComponent component = PATCHABLE_FIELDS.get(name);
+            if (component == null) {
+                throw new InvalidRequestParameterException(name, property.getValue());
+            }
+            Object value;
+            try {
+                value = objectMapper.convertValue(property.getValue(),
+                        objectMapper.constructType(component.getGenericType()));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidRequestParameterException(name, property.getValue());
+            }
+            if (!validator.validateValue(EventCreateDTO.class, name, value).isEmpty()) {
+                throw new InvalidRequestParameterException(name, value);
+            }
+            changes.put(name, value);
+        }
+        return changes;
+    }
 
-        return new EventViewDTO(
-                event.getId(),
-                event.getNameEvent(),
-                event.getImgUrl(),
-                event.getDescription(),
-                event.getDateEvent(),
-                event.getProgram(),
-                event.getContact(),
-                event.getPrice(),
-                event.getNumberPlace(),
-                event.getAddress(),
-                categoryDTOs
-        );
+    /**
+     * MÉTHODE UTILITAIRE : Nouvelle valeur appliquée seulement si elle diffère
+     * (attribut inchangé = colonne absente de l'UPDATE)
+     */
+    private static <T> boolean apply(Supplier<T> current, Consumer<T> setter, T value) {
+        if (Objects.equals(current.get(), value)) {
+            return false;
+        }
+        setter.accept(value);
+        return true;
+    }
+
+    /**
+     * MÉTHODE UTILITAIRE : Catégories d'un patch, résolues seulement si elles changent
+     */
+    private boolean patchCategories(Event event, List<?> values) {
+        if (values.stream().anyMatch(Objects::isNull)) {
+            throw new InvalidRequestParameterException(PARAM_CATEGORY_IDS, values);
+        }
+        Set<Integer> categoryIds = values.stream()
+                .map(Integer.class::cast)
+                .collect(Collectors.toSet());
+        Set<Integer> currentIds = event.getCategories().stream()
+                .map(Category::getId)
+                .collect(Collectors.toSet());
+        if (categoryIds.equals(currentIds)) {
+            return false;
+        }
+        List<Category> categories = categoryRepository.findAllById(categoryIds);
+        if (categories.size() != categoryIds.size()) {
+            logger.error("Catégories inconnues parmi les IDs : {}", categoryIds);
+            throw new ResourceNotFoundException("Aucune catégorie trouvée avec les IDs fournis");
+        }
+        event.setCategories(new ArrayList<>(categories));
+        return true;
+    }
+
+    /**
+     * MÉTHODE UTILITAIRE : Coordonnées de l'événement (les deux ou aucune)
+     */
+    private void setLocation(Event event, Double latitude, Double longitude) {
+        if ((latitude == null) != (longitude == null)) {
+            throw new InvalidRequestParameterException(latitude == null ? "latitude" : "longitude", null);
+        }
+        event.setLatitude(latitude);
+        event.setLongitude(longitude);
+    }
+
+    /**
+     * MÉTHODE UTILITAIRE : Combinaison des catégories (any par défaut)
+     */
+    private boolean isMatchAll(String match) {
+        if (match == null || match.isBlank() || match.equalsIgnoreCase("any")) {
+            return false;
+        }
+        if (match.equalsIgnoreCase("all")) {
+            return true;
+        }
+        throw new InvalidRequestParameterException("match", match);
+    }
+
+    /**
+     * MÉTHODE UTILITAIRE : Sens du tri (asc par défaut)
+     */
+    private boolean isDescending(String direction) {
+        if (direction == null || direction.isBlank() || direction.equalsIgnoreCase("asc")) {
+            return false;
+        }
+        if (direction.equalsIgnoreCase("desc")) {
+            return true;
+        }
+        throw new InvalidRequestParameterException("direction", direction);
+    }
+
+    /**
+     * MÉTHODE UTILITAIRE : Taille de page bornée à MAX_PAGE_SIZE
+     * (partagée avec EventSearchService)
+     */
+    static int resolvePageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (size < 1) {
+            throw new InvalidRequestParameterException("size", size);
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * MÉTHODE UTILITAIRE : Ajout des catégories aux événements projetés
+     *
+     * Une seule requête pour toute la liste (IN sur les ids),
+     * puis regroupement en mémoire par événement
+     */
+    private List<EventViewDTO> withCategories(List<EventViewDTO> events) {
+        if (events.isEmpty()) {
+            return events;
+        }
+        List<Integer> eventIds = events.stream().map(EventViewDTO::id).toList();
+        Map<Integer, List<CategoryDTO>> categoriesByEvent = eventRepository.findCategoriesByEventIds(eventIds).stream()
+                .collect(Collectors.groupingBy(
+                        EventCategoryDTO::eventId,
+                        Collectors.mapping(EventCategoryDTO::toCategoryDTO, Collectors.toList())));
+
+        return events.stream()
+                .map(event -> event.withCategories(categoriesByEvent.getOrDefault(event.id(), List.of())))
+                .toList();
     }
-}
\ No newline at end of file
+}
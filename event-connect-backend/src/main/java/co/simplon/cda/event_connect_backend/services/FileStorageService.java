@@ -3,13 +3,14 @@ package co.simplon.cda.event_connect_backend.services;
 import co.simplon.cda.event_connect_backend.exceptions.InvalidFileException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.util.List;
 import java.util.UUID;
@@ -18,8 +19,9 @@ import java.util.UUID;
  * Service de gestion du stockage des fichiers uploadés
  * Gère la sauvegarde, suppression et récupération des images d'événements
  *
- * Architecture de stockage :
- * - Dossier : uploads/events/
+ * Architecture de stockage (racine : eventconnect.storage.root, "uploads" par défaut) :
+ * - Dossier : uploads/events/ (images publiées)
+ * - Dossier : uploads/staging/ (images reçues, en attente de traitement par EventImageService)
  * - Noms de fichiers : UUID + extension (ex: "abc123-def456.png")
  * - Avantage : Évite les conflits de noms et les injections de path
  *
@@ -30,6 +32,7 @@ import java.util.UUID;
  * - ✅ Logs détaillés
  * - ✅ Nettoyage des fichiers orphelins
  * - ✅ Complexité cognitive réduite (refactoring SonarQube)
+ * - ✅ Mise de côté rapide à la réception, publication après traitement
  * - ✅ Pas de log de données utilisateur non sanitizées
  *
  * Sécurité :
@@ -42,7 +45,7 @@ public class FileStorageService {
     private static final Logger logger = LoggerFactory.getLogger(FileStorageService.class);
 
     // Configuration
-    private static final Path UPLOAD_PATH = Paths.get("uploads/events");
+    private static final String THUMBNAIL_SUFFIX = "-thumb";
     private static final long MAX_FILE_SIZE = 5L * 1024 * 1024; // 5 MB
     private static final List<String> ALLOWED_EXTENSIONS = List.of("png", "jpg", "jpeg", "webp");
     private static final List<String> ALLOWED_MIME_TYPES = List.of("image/png", "image/jpeg", "image/jpg", "image/webp");
@@ -55,17 +58,25 @@ public class FileStorageService {
     private static final String ERROR_SAVING_FILE = "Erreur lors de la sauvegarde du fichier";
     private static final String ERROR_CREATING_DIRECTORY = "Impossible de créer le dossier de stockage";
 
+    private final Path uploadPath;
+    private final Path stagingPath;
+
     /**
-     * Constructeur : Crée le dossier de stockage s'il n'existe pas
+     * Constructeur : Crée les dossiers de stockage s'ils n'existent pas
+     *
+     * @param root racine du stockage (events/ et staging/ y sont créés)
      */
-    public FileStorageService() {
+    public FileStorageService(@Value("${eventconnect.storage.root:uploads}") Path root) {
+        this.uploadPath = root.resolve("events");
+        this.stagingPath = root.resolve("staging");
         try {
-            Files.createDirectories(UPLOAD_PATH);
+            Files.createDirectories(uploadPath);
+            Files.createDirectories(stagingPath);
             if (logger.isInfoEnabled()) {
-                logger.info("Dossier de stockage initialisé : {}", UPLOAD_PATH.toAbsolutePath());
+                logger.info("Dossier de stockage initialisé : {}", uploadPath.toAbsolutePath());
             }
         } catch (IOException e) {
-            throw new InvalidFileException(ERROR_CREATING_DIRECTORY + " : " + UPLOAD_PATH.toAbsolutePath(), e);
+            throw new InvalidFileException(ERROR_CREATING_DIRECTORY + " : " + uploadPath.toAbsolutePath(), e);
         }
     }
 
@@ -78,6 +89,75 @@ public class FileStorageService {
      * - Pas de log de données utilisateur non sanitizées
      */
     public String saveImage(MultipartFile file) {
+        return store(file, uploadPath);
+    }
+
+    /**
+     * Met de côté une image uploadée (uploads/staging), sans la publier
+     *
+     * Seules les vérifications immédiates (taille, type, extension) sont faites
+     * sur le thread de la requête : le contenu est validé, normalisé et publié
+     * ensuite par EventImageService, sous le même nom de fichier
+     */
+    public String stageImage(MultipartFile file) {
+        return store(file, stagingPath);
+    }
+
+    /**
+     * Chemin d'une image mise de côté
+     */
+    public Path getStagedPath(String filename) {
+        return resolveInside(stagingPath, filename);
+    }
+
+    /**
+     * Fichier de travail dans le dossier de mise de côté (même système de fichiers
+     * que uploads/events : la publication est un simple renommage)
+     */
+    public Path createWorkFile(String filename) throws IOException {
+        return Files.createTempFile(stagingPath, filename, ".part");
+    }
+
+    /**
+     * Publie un fichier de travail sous son nom définitif (uploads/events)
+     * Renommage atomique : l'image n'est jamais servie à moitié écrite
+     */
+    public void publish(Path workFile, String filename) throws IOException {
+        Files.move(workFile, resolveInside(uploadPath, filename),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        if (logger.isInfoEnabled()) {
+            logger.info("Fichier publié : {}", filename);
+        }
+    }
+
+    /**
+     * Supprime une image mise de côté (traitée, refusée ou abandonnée)
+     */
+    public void discardStaged(String filename) {
+        if (filename == null || filename.isBlank()) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(resolveInside(stagingPath, filename));
+        } catch (InvalidFileException e) {
+            logger.warn("Suppression refusée : nom hors du dossier de mise de côté");
+        } catch (IOException e) {
+            logger.error("Erreur lors de la suppression du fichier mis de côté", e);
+        }
+    }
+
+    /**
+     * Nom de la miniature d'une image ("abc123.png" → "abc123-thumb.png")
+     */
+    public String thumbnailName(String filename) {
+        int dot = filename.lastIndexOf('.');
+        return filename.substring(0, dot) + THUMBNAIL_SUFFIX + filename.substring(dot);
+    }
+
+    /**
+     * Validation puis sauvegarde dans le dossier donné
+     */
+    private String store(MultipartFile file, Path directory) {
         // Gestion du cas où aucune image n'est fournie
         if (isFileEmpty(file)) {
             logEmptyFileWarning();
@@ -92,7 +172,7 @@ public class FileStorageService {
         String extension = validateAndExtractExtension(file);
 
         // Génération d'un nom unique et sauvegarde
-        return saveFileToStorage(file, extension);
+        return saveFileToStorage(file, extension, directory);
     }
 
     /**
@@ -111,7 +191,7 @@ public class FileStorageService {
         }
 
         try {
-            Path filePath = UPLOAD_PATH.resolve(filename);
+            Path filePath = resolveInside(uploadPath, filename);
             boolean deleted = Files.deleteIfExists(filePath);
 
             if (deleted) {
@@ -119,6 +199,9 @@ public class FileStorageService {
             } else {
                 logger.debug("Fichier déjà absent : {}", filename);
             }
+        } catch (InvalidFileException e) {
+            // Nom lu en base mais hors de uploads/events : jamais supprimé
+            logger.warn("Suppression refusée : nom hors du dossier des images");
         } catch (IOException e) {
             if (logger.isErrorEnabled()) {
                 // Pas de log du filename ici car il vient de l'extérieur
@@ -140,7 +223,26 @@ public class FileStorageService {
             }
             throw new InvalidFileException(ERROR_INVALID_FILENAME);
         }
-        return UPLOAD_PATH.resolve(filename);
+        return resolveInside(uploadPath, filename);
+    }
+
+    /**
+     * Chemin d'un fichier du dossier donné, refusé s'il en sort
+     * ("../", chemin absolu, nom vide ou réduit au dossier lui-même)
+     * Les noms viennent du client ou de la base : tous les accès passent par ici
+     */
+    private Path resolveInside(Path directory, String filename) {
+        Path root = directory.toAbsolutePath().normalize();
+        Path resolved;
+        try {
+            resolved = root.resolve(filename).normalize();
+        } catch (InvalidPathException e) {
+            throw new InvalidFileException(ERROR_INVALID_FILENAME, e);
+        }
+        if (!resolved.startsWith(root) || resolved.equals(root)) {
+            throw new InvalidFileException(ERROR_INVALID_FILENAME);
+        }
+        return resolved;
     }
 
     /**
@@ -241,9 +343,9 @@ public class FileStorageService {
     /**
      * Sauvegarde physiquement le fichier sur le disque
      */
-    private String saveFileToStorage(MultipartFile file, String extension) {
+    private String saveFileToStorage(MultipartFile file, String extension, Path directory) {
         String filename = UUID.randomUUID() + "." + extension;
-        Path targetPath = UPLOAD_PATH.resolve(filename);
+        Path targetPath = directory.resolve(filename);
 
         try {
             Files.copy(file.getInputStream(), targetPath, StandardCopyOption.REPLACE_EXISTING);
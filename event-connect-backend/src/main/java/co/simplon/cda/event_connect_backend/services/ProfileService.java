@@ -6,26 +6,28 @@ import co.simplon.cda.event_connect_backend.dtos.profile.ProfileCreateDTO;
 import co.simplon.cda.event_connect_backend.dtos.profile.ProfileViewDTO;
 import co.simplon.cda.event_connect_backend.dtos.role.RoleDTO;
 import co.simplon.cda.event_connect_backend.entities.Profile;
-import co.simplon.cda.event_connect_backend.entities.Role;
 import co.simplon.cda.event_connect_backend.repositories.ProfileRepository;
 import co.simplon.cda.event_connect_backend.repositories.RoleRepository;
 import co.simplon.cda.event_connect_backend.exceptions.DuplicateResourceException;
 import co.simplon.cda.event_connect_backend.exceptions.InvalidCredentialsException;
 import co.simplon.cda.event_connect_backend.exceptions.ResourceNotFoundException;
+import org.hibernate.exception.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Locale;
 
 /**
  * Service métier pour la gestion des profils utilisateurs
  * Gère l'inscription, l'authentification et la gestion des comptes
  *
  * Améliorations :
- * - Validation de l'unicité email/téléphone AVANT insertion
+ * - Unicité email/téléphone garantie par les contraintes, en un seul INSERT
  * - Exceptions personnalisées avec messages clairs
  * - Logs pour traçabilité (SLF4J)
  * - Transactions explicites
@@ -46,6 +48,14 @@ public class ProfileService {
     // Messages d'erreur
     private static final String ERROR_PROFILE_CREATION = "Erreur lors de la création du profil";
 
+    // Mot de passe posé à l'INSERT, remplacé par le hash dans la même transaction :
+    // ce n'est pas un hash BCrypt, aucune saisie ne peut donc lui correspondre
+    private static final String PENDING_PASSWORD = "!";
+
+    // Contraintes nommées de t_profiles vérifiées par l'INSERT d'inscription
+    private static final List<String> PROFILE_CONSTRAINTS =
+            List.of(Profile.EMAIL_CONSTRAINT, Profile.PHONE_CONSTRAINT, Profile.ROLE_CONSTRAINT);
+
     private final ProfileRepository profileRepository;
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
@@ -66,53 +76,93 @@ public class ProfileService {
     /**
      * Crée un nouveau profil utilisateur (inscription)
      *
-     * AMÉLIORATIONS :
-     * - Validation de l'unicité email/téléphone
-     * - Exceptions personnalisées
-     * - Logs pour traçabilité
+     * Une seule instruction INSERT suffit à valider l'inscription : l'unicité
+     * de l'email et du téléphone ainsi que l'existence du rôle sont vérifiées
+     * par les contraintes nommées de t_profiles, dont le nom est traduit en
+     * exception métier (voir {@link #toBusinessException}).
+     *
+     * Le hash BCrypt (volontairement coûteux) n'est calculé qu'une fois l'INSERT
+     * accepté : la ligne est d'abord insérée avec un mot de passe inutilisable,
+     * puis mise à jour dans la même transaction. Un doublon ne coûte ainsi
+     * ni requête préalable ni hash.
      */
     public void create(ProfileCreateDTO inputs) {
         logger.info("Tentative de création de profil pour : {}", inputs.email());
 
-        // 1. Validation de l'unicité de l'email
-        if (profileRepository.existsByEmail(inputs.email())) {
-            logger.warn("Tentative d'inscription avec email existant : {}", inputs.email());
-            throw new DuplicateResourceException(RESOURCE_NAME_PROFILE, FIELD_NAME_EMAIL, inputs.email());
-        }
-
-        // 2. Vérification de l'existence du rôle
-        Role role = roleRepository.findById(inputs.roleId())
-                .orElseThrow(() -> {
-                    logger.error("Tentative de création avec rôle inexistant : {}", inputs.roleId());
-                    return new ResourceNotFoundException(RESOURCE_NAME_ROLE, FIELD_NAME_ID, inputs.roleId());
-                });
-
-        // 3. Construction de l'entité Profile
+        // 1. Construction de l'entité, le rôle est une simple référence (contrôlé par la FK)
         Profile profile = new Profile();
         profile.setLastName(inputs.lastName());
         profile.setFirstName(inputs.firstName());
         profile.setEmail(inputs.email());
-
-        // 4. Hashage sécurisé du mot de passe avec BCrypt
-        String encodedPassword = passwordEncoder.encode(inputs.password());
-        profile.setPassword(encodedPassword);
+        profile.setPassword(PENDING_PASSWORD);
         profile.setPhone(inputs.phone());
         profile.setOrganization(inputs.organization());
-        profile.setRole(role);
+        profile.setRole(roleRepository.getReferenceById(inputs.roleId()));
 
-        // 5. Sauvegarde en base
+        // 2. INSERT immédiat : les contraintes tranchent, avant tout calcul de hash
         try {
-            profileRepository.save(profile);
-            logger.info("Profil créé avec succès pour : {}", inputs.email());
-        } catch (Exception e) {
-            // Gestion des contraintes SQL (unicité du téléphone)
-            if (e.getMessage().contains(FIELD_NAME_PHONE)) {
-                logger.warn("Tentative d'inscription avec téléphone existant : {}", inputs.phone());
-                throw new DuplicateResourceException(RESOURCE_NAME_PROFILE, FIELD_NAME_PHONE, inputs.phone());
-            }
-            logger.error("Erreur lors de la création du profil : ", e);
-            throw new DuplicateResourceException(ERROR_PROFILE_CREATION);
+            profileRepository.saveAndFlush(profile);
+        } catch (DataIntegrityViolationException e) {
+            throw toBusinessException(e, inputs);
+        }
+
+        // 3. Hashage sécurisé du mot de passe avec BCrypt, écrit au commit
+        profile.setPassword(passwordEncoder.encode(inputs.password()));
+        logger.info("Profil créé avec succès pour : {}", inputs.email());
+    }
+
+    /**
+     * Traduit la contrainte violée par l'INSERT d'inscription en exception métier
+     */
+    private RuntimeException toBusinessException(DataIntegrityViolationException e, ProfileCreateDTO inputs) {
+        String constraint = violatedConstraint(e);
+
+        if (Profile.EMAIL_CONSTRAINT.equals(constraint)) {
+            logger.warn("Tentative d'inscription avec email existant : {}", inputs.email());
+            return new DuplicateResourceException(RESOURCE_NAME_PROFILE, FIELD_NAME_EMAIL, inputs.email());
+        }
+        if (Profile.PHONE_CONSTRAINT.equals(constraint)) {
+            logger.warn("Tentative d'inscription avec téléphone existant : {}", inputs.phone());
+            return new DuplicateResourceException(RESOURCE_NAME_PROFILE, FIELD_NAME_PHONE, inputs.phone());
+        }
+        if (Profile.ROLE_CONSTRAINT.equals(constraint)) {
+            logger.error("Tentative de création avec rôle inexistant : {}", inputs.roleId());
+            return new ResourceNotFoundException(RESOURCE_NAME_ROLE, FIELD_NAME_ID, inputs.roleId());
+        }
+        logger.error("Erreur lors de la création du profil : ", e);
+        return new DuplicateResourceException(ERROR_PROFILE_CREATION);
+    }
+
+    /**
+     * MÉTHODE UTILITAIRE : Contrainte de t_profiles violée, par son nom complet (sans la casse)
+     *
+     * Le nom extrait par Hibernate varie selon la base : PostgreSQL le renvoie tel que déclaré,
+     * H2 en majuscules, préfixé du schéma ("PUBLIC.UK_PROFILES_EMAIL_INDEX_2") ou, pour une
+     * clé étrangère, amputé de sa première lettre. Dans ce dernier cas seulement, le nom
+     * complet est cherché dans le message du pilote (qui contient aussi les valeurs saisies :
+     * il n'est lu qu'après échec sur le nom extrait)
+     *
+     * @return EMAIL_CONSTRAINT, PHONE_CONSTRAINT, ROLE_CONSTRAINT ou null
+     */
+    private static String violatedConstraint(DataIntegrityViolationException e) {
+        String reported = e.getCause() instanceof ConstraintViolationException violation
+                ? violation.getConstraintName()
+                : null;
+        String constraint = findConstraint(reported, PROFILE_CONSTRAINTS);
+        return constraint != null
+                ? constraint
+                : findConstraint(e.getMostSpecificCause().getMessage(), List.of(Profile.ROLE_CONSTRAINT));
+    }
+
+    private static String findConstraint(String text, List<String> constraints) {
+        if (text == null) {
+            return null;
         }
+        String lowerCase = text.toLowerCase(Locale.ROOT);
+        return constraints.stream()
+                .filter(lowerCase::contains)
+                .findFirst()
+                .orElse(null);
     }
 
     /**
@@ -146,10 +196,10 @@ public class ProfileService {
             throw new InvalidCredentialsException();
         }
 
-        // 4. Génération du token JWT avec le rôle
+        // 4. Génération du token JWT avec l'id du profil et le rôle
         String roleName = profile.getRole().getName();
         List<String> roles = List.of(roleName);
-        String token = jwtProvider.create(inputs.email(), roles);
+        String token = jwtProvider.create(inputs.email(), profile.getId(), roles);
 
         logger.info("Connexion réussie pour : {}", inputs.email());
         return token;
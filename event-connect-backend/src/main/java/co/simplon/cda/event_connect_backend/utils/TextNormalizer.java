@@ -0,0 +1,27 @@
+package co.simplon.cda.event_connect_backend.utils;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalisation de texte pour la recherche et l'autocomplétion
+ *
+ * "  Fête de la  MUSIQUE " → "fete de la musique"
+ * - accents retirés (é → e, ç → c)
+ * - minuscules
+ * - espaces en début/fin retirés, espaces multiples réduits à un seul
+ */
+public final class TextNormalizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}");
+    private static final Pattern WHITESPACES = Pattern.compile("\\s+");
+
+    private TextNormalizer() {
+    }
+
+    public static String fold(String text) {
+        String withoutAccents = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return WHITESPACES.matcher(withoutAccents.toLowerCase(Locale.ROOT).trim()).replaceAll(" ");
+    }
+}
@@ -1,4 +1,6 @@
 -- Supprime les tables dans le bon ordre
+DROP TABLE IF EXISTS t_change_offsets CASCADE;
+DROP TABLE IF EXISTS t_event_changes CASCADE;
 DROP TABLE IF EXISTS t_register CASCADE;
 DROP TABLE IF EXISTS t_belong CASCADE;
 DROP TABLE IF EXISTS t_events CASCADE;
@@ -6,6 +8,22 @@ DROP TABLE IF EXISTS t_profiles CASCADE;
 DROP TABLE IF EXISTS t_roles CASCADE;
 DROP TABLE IF EXISTS t_categories CASCADE;
 
+-- Recherche plein texte (GET /events/search)
+-- unaccent : "fete" trouve "Fête" / pg_trgm : tolérance aux fautes de frappe
+CREATE EXTENSION IF NOT EXISTS unaccent;
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Configuration "french" + suppression des accents avant la racinisation
+DROP TEXT SEARCH CONFIGURATION IF EXISTS french_unaccent;
+CREATE TEXT SEARCH CONFIGURATION french_unaccent (COPY = french);
+ALTER TEXT SEARCH CONFIGURATION french_unaccent
+    ALTER MAPPING FOR hword, hword_part, word WITH unaccent, french_stem;
+
+-- unaccent() n'est pas IMMUTABLE : version figée, utilisable dans un index
+CREATE OR REPLACE FUNCTION immutable_unaccent(text) RETURNS text AS
+$$ SELECT public.unaccent('public.unaccent', $1) $$
+LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT;
+
 -- Table catégories
 CREATE TABLE t_categories(
    category_id INTEGER GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
@@ -21,29 +39,53 @@ CREATE TABLE t_roles(
 -- Table profils
 CREATE TABLE t_profiles(
    profile_id INTEGER GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
-   email VARCHAR(320) UNIQUE NOT NULL,
+   email VARCHAR(320) NOT NULL,
    first_name VARCHAR(50) NOT NULL,
    last_name VARCHAR(100) NOT NULL,
    password VARCHAR(72) NOT NULL,
-   phone VARCHAR(20) UNIQUE NOT NULL,
+   phone VARCHAR(20) NOT NULL,
    organization VARCHAR(50),
    role_id INTEGER NOT NULL,
-   FOREIGN KEY(role_id) REFERENCES t_roles(role_id)
+   CONSTRAINT uk_profiles_email UNIQUE (email),
+   CONSTRAINT uk_profiles_phone UNIQUE (phone),
+   CONSTRAINT fk_profiles_role FOREIGN KEY(role_id) REFERENCES t_roles(role_id)
 );
 
 -- Table événements (sans category_id pour ManyToMany)
 CREATE TABLE t_events(
-   event_id INTEGER GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+   -- Séquence par pas de 50 : Hibernate réserve un bloc d'ids par appel (optimiseur pooled-lo),
+   -- les INSERT sans id restent possibles (BY DEFAULT)
+   event_id INTEGER GENERATED BY DEFAULT AS IDENTITY (INCREMENT BY 50) PRIMARY KEY,
    name_event VARCHAR(50),
    img_url VARCHAR(255),
+   -- Image traitée en arrière-plan : PENDING à la réception, READY une fois publiée
+   image_status VARCHAR(10) NOT NULL DEFAULT 'READY' CHECK (image_status IN ('PENDING', 'READY', 'FAILED')),
    description TEXT NOT NULL,
    date_event DATE NOT NULL,
    program TEXT NOT NULL,
    contact TEXT NOT NULL,
    price DECIMAL(15,2),
    number_place INT,
+   -- Places réservées (t_register), incrémentées sous condition par EventRegistrationService
+   seats_taken INT NOT NULL DEFAULT 0 CHECK (seats_taken >= 0),
    address TEXT NOT NULL,
+   -- Coordonnées facultatives (GET /events/nearby), toujours renseignées ensemble
+   latitude DOUBLE PRECISION CHECK (latitude BETWEEN -90 AND 90),
+   longitude DOUBLE PRECISION CHECK (longitude BETWEEN -180 AND 180),
+   -- Révision de l'événement (ETag) et date de dernière modification (Last-Modified)
+   version BIGINT NOT NULL DEFAULT 0,
+   updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
    profile_id INTEGER NOT NULL,
+   -- Maintenue par PostgreSQL à chaque écriture (nom > description > programme, adresse)
+   search_vector TSVECTOR GENERATED ALWAYS AS (
+       setweight(to_tsvector('french_unaccent', COALESCE(name_event, '')), 'A') ||
+       setweight(to_tsvector('french_unaccent', description), 'B') ||
+       setweight(to_tsvector('french_unaccent', program), 'C') ||
+       setweight(to_tsvector('french_unaccent', address), 'C')
+   ) STORED,
+   CHECK ((latitude IS NULL) = (longitude IS NULL)),
+   -- Jamais moins de places que d'inscrits (Event.CAPACITY_CONSTRAINT, 409 côté API)
+   CONSTRAINT ck_events_capacity CHECK (number_place IS NULL OR seats_taken <= number_place),
    FOREIGN KEY(profile_id) REFERENCES t_profiles(profile_id)
 );
 
@@ -61,6 +103,51 @@ CREATE TABLE t_register(
    profile_id INTEGER NOT NULL,
    event_id INTEGER NOT NULL,
    PRIMARY KEY(profile_id, event_id),
-   FOREIGN KEY(profile_id) REFERENCES t_profiles(profile_id),
-   FOREIGN KEY(event_id) REFERENCES t_events(event_id)
-);
\ No newline at end of file
+   FOREIGN KEY(profile_id) REFERENCES t_profiles(profile_id) ON DELETE CASCADE,
+   FOREIGN KEY(event_id) REFERENCES t_events(event_id) ON DELETE CASCADE
+);
+
+-- Outbox des modifications d'événements (EventChangeLog), alimentée dans la transaction
+-- de chaque écriture ; sans clé étrangère : les suppressions y sont aussi inscrites
+-- log_position : attribuée après le commit par le relais, ordre de lecture des abonnés
+CREATE TABLE t_event_changes(
+   change_id BIGINT GENERATED BY DEFAULT AS IDENTITY (INCREMENT BY 50) PRIMARY KEY,
+   event_id INTEGER NOT NULL,
+   change_type VARCHAR(10) NOT NULL CHECK (change_type IN ('CREATED', 'UPDATED', 'DELETED')),
+   occurred_at TIMESTAMP WITH TIME ZONE NOT NULL,
+   log_position BIGINT UNIQUE
+);
+
+-- Positions de lecture des abonnés du journal ("sequencer" : dernière position attribuée)
+CREATE TABLE t_change_offsets(
+   consumer VARCHAR(100) PRIMARY KEY,
+   last_position BIGINT NOT NULL
+);
+
+-- Ligne du séquenceur créée avec la table : verrouillée par chaque relais (SELECT ... FOR UPDATE),
+-- elle doit exister avant le premier passage pour que deux relais ne la créent pas en même temps
+INSERT INTO t_change_offsets (consumer, last_position) VALUES ('sequencer', 0);
+
+-- Index pour la pagination par curseur (GET /events?sort=price)
+-- Même expression que le tri : un prix null compte comme 0
+CREATE INDEX idx_events_price_id ON t_events ((COALESCE(price, 0)), event_id);
+
+-- Index pour le filtre par catégorie (la clé primaire commence par event_id)
+CREATE INDEX idx_belong_category_event ON t_belong (category_id, event_id);
+
+-- Index pour le tri par date (défaut) et le filtre from / to / upcoming
+-- La liste par défaut démarre à la date du jour : l'historique n'est pas parcouru
+CREATE INDEX idx_events_date_id ON t_events (date_event, event_id);
+
+-- Index de la recherche plein texte (search_vector @@ websearch_to_tsquery(...))
+CREATE INDEX idx_events_search ON t_events USING GIN (search_vector);
+
+-- Index du repli par trigrammes sur le nom (fautes de frappe)
+CREATE INDEX idx_events_name_trgm ON t_events USING GIN (immutable_unaccent(lower(name_event)) gin_trgm_ops);
+
+-- Revalidation de GET /events/{id} (If-None-Match / If-Modified-Since) :
+-- version et date lues dans l'index seul (index-only scan), sans toucher la ligne
+CREATE INDEX idx_events_version ON t_events (event_id) INCLUDE (version, updated_at);
+
+-- Entrées à positionner par le relais : index partiel, vide la plupart du temps
+CREATE INDEX idx_event_changes_unsequenced ON t_event_changes (change_id) WHERE log_position IS NULL;
\ No newline at end of file
@@ -1,5 +1,8 @@
 package co.simplon.cda.event_connect_backend;
 
+import co.simplon.cda.event_connect_backend.entities.ChangeOffset;
+import co.simplon.cda.event_connect_backend.repositories.ChangeOffsetRepository;
+import co.simplon.cda.event_connect_backend.services.EventChangeLog;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -17,6 +20,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 class EventConnectBackendApplicationTests {
 	@Autowired
 	private ApplicationContext applicationContext;
+	@Autowired
+	private ChangeOffsetRepository changeOffsetRepository;
+	@Autowired
+	private EventChangeLog eventChangeLog;
 
 	@Test
 	void contextLoads() {
@@ -39,4 +46,14 @@ class EventConnectBackendApplicationTests {
 		assertThat(applicationContext.containsBean("profileService")).isTrue();
 		assertThat(applicationContext.containsBean("fileStorageService")).isTrue();
 	}
+
+	@Test
+	void changeLogSequencerIsSeeded() {
+		// Vérifie que la ligne du séquenceur est créée au démarrage (schéma créé par Hibernate, sans script)
+		Long position = changeOffsetRepository.findById("sequencer").map(ChangeOffset::getLastPosition).orElseThrow();
+
+		// Une seconde création ne modifie pas la position existante
+		eventChangeLog.register("sequencer");
+		assertThat(changeOffsetRepository.findById("sequencer")).map(ChangeOffset::getLastPosition).contains(position);
+	}
 }
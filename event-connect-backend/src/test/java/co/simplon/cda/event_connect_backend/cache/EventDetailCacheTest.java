@@ -0,0 +1,185 @@
+package co.simplon.cda.event_connect_backend.cache;
+
+import co.simplon.cda.event_connect_backend.changes.EventChange;
+import co.simplon.cda.event_connect_backend.dtos.event.EventViewDTO;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitaires pour EventDetailCache
+ *
+ * Horloge simulée : l'expiration est testée sans attente réelle
+ */
+class EventDetailCacheTest {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+    private static final Duration NEGATIVE_TTL = Duration.ofSeconds(30);
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private EventDetailCache cache;
+
+    @BeforeEach
+    void setUp() {
+        Ticker ticker = now::get;
+        cache = new EventDetailCache(100, TTL, NEGATIVE_TTL, ticker);
+    }
+
+    /**
+     * TEST 1 : miss puis hit, le loader n'est appelé qu'une fois
+     */
+    @Test
+    void get_SecondRead_ShouldBeServedFromCache() {
+        // WHEN
+        Optional<EventViewDTO> first = cache.get(1, loader());
+        Optional<EventViewDTO> second = cache.get(1, loader());
+
+        // THEN
+        assertThat(first).isPresent();
+        assertThat(second).containsSame(first.get());
+        assertThat(loads).hasValue(1);
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+    }
+
+    /**
+     * TEST 2 : un id inconnu est mis en cache pendant negative-ttl seulement
+     */
+    @Test
+    void get_UnknownId_ShouldBeCachedForNegativeTtl() {
+        // GIVEN
+        cache.get(999, loader());
+
+        // WHEN : avant expiration
+        cache.get(999, loader());
+
+        // THEN
+        assertThat(loads).hasValue(1);
+
+        // WHEN : après expiration
+        advance(NEGATIVE_TTL.plusSeconds(1));
+        cache.get(999, loader());
+
+        // THEN
+        assertThat(loads).hasValue(2);
+    }
+
+    /**
+     * TEST 3 : un événement existant reste en cache jusqu'à ttl
+     */
+    @Test
+    void get_ExistingEvent_ShouldExpireAfterTtl() {
+        // GIVEN
+        cache.get(1, loader());
+
+        // WHEN
+        advance(NEGATIVE_TTL.plusSeconds(1));
+        cache.get(1, loader());
+        advance(TTL);
+        cache.get(1, loader());
+
+        // THEN
+        assertThat(loads).hasValue(2);
+    }
+
+    /**
+     * TEST 4 : une notification EventChange invalide l'entrée
+     */
+    @Test
+    void onEventChange_ShouldInvalidateEntry() {
+        // GIVEN
+        cache.get(1, loader());
+
+        // WHEN
+        cache.onEventChange(EventChange.updated(1));
+        cache.get(1, loader());
+
+        // THEN
+        assertThat(loads).hasValue(2);
+    }
+
+    /**
+     * TEST 5 : une création invalide un cache négatif sur le même id
+     */
+    @Test
+    void onEventChange_Created_ShouldReplaceNegativeEntry() {
+        // GIVEN
+        cache.get(999, loader());
+
+        // WHEN
+        cache.onEventChange(EventChange.created(999));
+
+        // THEN
+        assertThat(cache.get(999, id -> Optional.of(view(id)))).isPresent();
+    }
+
+    /**
+     * TEST 6 : lecture groupée → seuls les ids absents du cache sont chargés, en un appel
+     */
+    @Test
+    void getAll_ShouldLoadOnlyMissingIdsAtOnce() {
+        // GIVEN
+        cache.get(1, loader());
+        List<List<Integer>> batches = new ArrayList<>();
+
+        // WHEN
+        Map<Integer, Optional<EventViewDTO>> first = cache.getAll(List.of(1, 2, 999), ids -> {
+            batches.add(ids);
+            Map<Integer, Optional<EventViewDTO>> loaded = new HashMap<>();
+            ids.forEach(id -> loaded.put(id, id < 100 ? Optional.of(view(id)) : Optional.empty()));
+            return loaded;
+        });
+        Map<Integer, Optional<EventViewDTO>> second = cache.getAll(List.of(2, 999), ids -> {
+            batches.add(ids);
+            return Map.of();
+        });
+
+        // THEN : 1 en cache, 2 et 999 chargés ensemble, puis plus rien à charger
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).containsExactlyInAnyOrder(2, 999);
+        assertThat(first.get(1)).isPresent();
+        assertThat(first.get(2)).isPresent();
+        assertThat(first.get(999)).isEmpty();
+        assertThat(second.get(2)).isPresent();
+        assertThat(second.get(999)).isEmpty();
+    }
+
+    // ========================================
+    // MÉTHODES UTILITAIRES
+    // ========================================
+
+    /**
+     * Loader simulé : les ids < 100 existent, les autres non
+     */
+    private Function<Integer, Optional<EventViewDTO>> loader() {
+        return id -> {
+            loads.incrementAndGet();
+            return id < 100 ? Optional.of(view(id)) : Optional.empty();
+        };
+    }
+
+    private EventViewDTO view(Integer id) {
+        return new EventViewDTO(id, "Event " + id, "image.png", "Description", LocalDate.now(),
+                "Programme", "Contact", BigDecimal.TEN, 100, "Paris", null, null, 1L, null);
+    }
+
+    private void advance(Duration duration) {
+        now.addAndGet(duration.toNanos());
+    }
+}
@@ -0,0 +1,99 @@
+package co.simplon.cda.event_connect_backend.configuration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour EventIdSequenceMigration
+ *
+ * Structure :
+ * - Colonne non identité (schéma créé par Hibernate) → rien
+ * - Colonne déjà migrée → rien
+ * - Colonne d'origine (GENERATED ALWAYS, pas de 1) → migrée dans une transaction
+ */
+@ExtendWith(MockitoExtension.class)
+class EventIdSequenceMigrationTest {
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private EventIdSequenceMigration migration;
+
+    @BeforeEach
+    void setUp() {
+        migration = new EventIdSequenceMigration(jdbcTemplate, transactionTemplate);
+    }
+
+    /**
+     * TEST 1 : pas de colonne identité → aucune modification du schéma
+     */
+    @Test
+    void migrate_WithoutIdentityColumn_ShouldDoNothing() {
+        // GIVEN
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class))).thenReturn(List.of());
+
+        // WHEN
+        migration.migrate();
+
+        // THEN
+        verify(jdbcTemplate, never()).execute(anyString());
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    /**
+     * TEST 2 : colonne déjà migrée → aucune modification du schéma
+     */
+    @Test
+    void migrate_AlreadyMigrated_ShouldDoNothing() {
+        // GIVEN
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class))).thenReturn(List.of(true));
+
+        // WHEN
+        migration.migrate();
+
+        // THEN
+        verify(jdbcTemplate, never()).execute(anyString());
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    /**
+     * TEST 3 : colonne d'origine → BY DEFAULT, pas de 50 puis séquence repositionnée, dans une transaction
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void migrate_OriginalIdentity_ShouldAlterColumnAndMoveSequence() {
+        // GIVEN
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class))).thenReturn(List.of(false));
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any(Consumer.class));
+
+        // WHEN
+        migration.migrate();
+
+        // THEN
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute(contains("SET GENERATED BY DEFAULT"));
+        inOrder.verify(jdbcTemplate).execute(contains("SET INCREMENT BY 50"));
+        inOrder.verify(jdbcTemplate).queryForObject(contains("setval"), eq(Long.class));
+    }
+}
@@ -0,0 +1,407 @@
+package co.simplon.cda.event_connect_backend.controllers;
+
+import co.simplon.cda.event_connect_backend.cache.CatalogSnapshot;
+import co.simplon.cda.event_connect_backend.dtos.event.EventCreateDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventPageDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventPageRequest;
+import co.simplon.cda.event_connect_backend.dtos.event.EventSearchRequest;
+import co.simplon.cda.event_connect_backend.dtos.event.EventUpdateDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventVersionDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventViewDTO;
+import co.simplon.cda.event_connect_backend.exceptions.PreconditionFailedException;
+import co.simplon.cda.event_connect_backend.exceptions.ResourceNotFoundException;
+import co.simplon.cda.event_connect_backend.services.CatalogSnapshotService;
+import co.simplon.cda.event_connect_backend.services.EventChangeLog;
+import co.simplon.cda.event_connect_backend.services.EventImageService;
+import co.simplon.cda.event_connect_backend.services.EventImportService;
+import co.simplon.cda.event_connect_backend.services.EventRegistrationService;
+import co.simplon.cda.event_connect_backend.services.EventSearchService;
+import co.simplon.cda.event_connect_backend.services.EventService;
+import co.simplon.cda.event_connect_backend.services.FileStorageService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour EventController (listings publics)
+ *
+ * Structure :
+ * - ETag et 304 sans construction de snapshot
+ * - Choix du corps JSON ou gzip selon Accept-Encoding
+ * - En-tête X-Next-Cursor
+ * - Écriture en flux (tableau JSON et NDJSON)
+ * - Recherche (curseur dans X-Next-Cursor)
+ * - Détail d'un événement (ETag / Last-Modified, 304)
+ * - Image mise de côté, supprimée si l'enregistrement échoue
+ * - Modification conditionnelle (If-Match → 412, nouvel ETag), PUT et PATCH
+ */
+@ExtendWith(MockitoExtension.class)
+class EventControllerTest {
+
+    private static final byte[] JSON = "[]".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] GZIP = {31, -117, 8};
+    private static final Instant UPDATED_AT = Instant.parse("2026-09-01T10:00:00Z");
+
+    @Mock
+    private EventService eventService;
+    @Mock
+    private EventSearchService eventSearchService;
+    @Mock
+    private EventImportService eventImportService;
+    @Mock
+    private CatalogSnapshotService catalogSnapshotService;
+    @Mock
+    private FileStorageService fileStorageService;
+    @Mock
+    private EventImageService eventImageService;
+    @Mock
+    private EventChangeLog eventChangeLog;
+    @Mock
+    private EventRegistrationService eventRegistrationService;
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    @InjectMocks
+    private EventController eventController;
+
+    /**
+     * TEST 1 : If-None-Match à jour → 304 sans lecture du catalogue
+     */
+    @Test
+    void getAllEvents_WithCurrentEtag_ShouldReturnNotModified() {
+        // GIVEN
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/events");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"v7\"");
+        when(catalogSnapshotService.currentVersion()).thenReturn(7L);
+
+        // WHEN
+        ResponseEntity<byte[]> response = eventController.getAllEvents(EventPageRequest.firstPage(), new ServletWebRequest(request));
+
+        // THEN
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"v7\"");
+        assertThat(response.getBody()).isNull();
+        verify(catalogSnapshotService, never()).getAllEvents(any());
+    }
+
+    /**
+     * TEST 2 : ETag périmé → 200 avec le JSON du snapshot et le nouvel ETag
+     */
+    @Test
+    void getAllEvents_WithStaleEtag_ShouldReturnSnapshot() {
+        // GIVEN
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/events");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"v6\"");
+        EventPageRequest pageRequest = EventPageRequest.firstPage();
+        when(catalogSnapshotService.currentVersion()).thenReturn(7L);
+        when(catalogSnapshotService.getAllEvents(pageRequest)).thenReturn(new CatalogSnapshot(7L, JSON, GZIP, "abc"));
+
+        // WHEN
+        ResponseEntity<byte[]> response = eventController.getAllEvents(pageRequest, new ServletWebRequest(request));
+
+        // THEN
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"v7\"");
+        assertThat(response.getHeaders().getFirst(EventController.HEADER_NEXT_CURSOR)).isEqualTo("abc");
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getBody()).isEqualTo(JSON);
+    }
+
+    /**
+     * TEST 3 : client acceptant gzip → corps pré-compressé et ETag de la variante gzip
+     */
+    @Test
+    void getEventsByCategory_AcceptingGzip_ShouldReturnCompressedBody() {
+        // GIVEN
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/events/by-category/2");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br");
+        EventPageRequest pageRequest = EventPageRequest.firstPage();
+        when(catalogSnapshotService.currentVersion()).thenReturn(7L);
+        when(catalogSnapshotService.getEventsByCategory(2, pageRequest)).thenReturn(new CatalogSnapshot(7L, JSON, GZIP, null));
+
+        // WHEN
+        ResponseEntity<byte[]> response = eventController.getEventsByCategory(2, pageRequest, new ServletWebRequest(request));
+
+        // THEN
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"v7-gz\"");
+        assertThat(response.getHeaders().getVary()).contains(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(response.getHeaders().containsKey(EventController.HEADER_NEXT_CURSOR)).isFalse();
+        assertThat(response.getBody()).isEqualTo(GZIP);
+    }
+
+    /**
+     * TEST 4 : flux JSON → tableau contenant chaque événement produit par le service
+     */
+    @Test
+    void streamEvents_ShouldWriteJsonArray() throws IOException {
+        // GIVEN
+        mockStreamedEvents(null, 2);
+
+        // WHEN
+        ResponseEntity<StreamingResponseBody> response = eventController.streamEvents(null);
+        String body = write(response.getBody());
+
+        // THEN
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(objectMapper.readTree(body).size()).isEqualTo(2);
+        assertThat(objectMapper.readTree(body).get(1).get("nameEvent").asText()).isEqualTo("Event 2");
+    }
+
+    /**
+     * TEST 5 : export NDJSON → une ligne JSON par événement, en pièce jointe
+     */
+    @Test
+    void exportEvents_ShouldWriteOneJsonObjectPerLine() throws IOException {
+        // GIVEN
+        mockStreamedEvents(4, 3);
+
+        // WHEN
+        ResponseEntity<StreamingResponseBody> response = eventController.exportEvents(4);
+        String body = write(response.getBody());
+
+        // THEN
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_NDJSON);
+        assertThat(response.getHeaders().getContentDisposition().getFilename()).isEqualTo("events.ndjson");
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(body).endsWith("\n");
+        assertThat(objectMapper.readTree(lines[0]).get("id").asInt()).isEqualTo(1);
+    }
+
+    /**
+     * TEST 6 : recherche → tableau d'événements, curseur suivant en en-tête
+     */
+    @Test
+    void search_ShouldReturnItemsAndNextCursorHeader() {
+        // GIVEN
+        EventSearchRequest searchRequest = new EventSearchRequest("jazz", null, 1);
+        EventViewDTO event = new EventViewDTO(1, "Jazz", "image.png", "Description",
+                LocalDate.of(2026, 12, 1), "Programme", "Contact", BigDecimal.TEN, 100, "Paris", null, null, 1L, null);
+        when(eventSearchService.search(searchRequest)).thenReturn(new EventPageDTO(List.of(event), "next"));
+
+        // WHEN
+        ResponseEntity<List<EventViewDTO>> response = eventController.search(searchRequest);
+
+        // THEN
+        assertThat(response.getBody()).containsExactly(event);
+        assertThat(response.getHeaders().getFirst(EventController.HEADER_NEXT_CURSOR)).isEqualTo("next");
+    }
+
+    /**
+     * TEST 7 : If-None-Match égal à la version → 304 sans lecture du détail
+     */
+    @Test
+    void getById_WithCurrentEtag_ShouldReturnNotModified() {
+        // GIVEN
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/events/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"3\"");
+        when(eventService.getVersion(1)).thenReturn(new EventVersionDTO(3L, UPDATED_AT));
+
+        // WHEN
+        ResponseEntity<EventViewDTO> response = eventController.getById(1, new ServletWebRequest(request));
+
+        // THEN
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"3\"");
+        assertThat(response.getHeaders().getLastModified()).isEqualTo(UPDATED_AT.toEpochMilli());
+        verify(eventService, never()).getById(any());
+    }
+
+    /**
+     * TEST 8 : If-None-Match prioritaire sur If-Modified-Since → ancienne version, 200 avec le détail
+     */
+    @Test
+    void getById_WithStaleEtag_ShouldReturnEventWithValidators() {
+        // GIVEN
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/events/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"2\"");
+        request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, "Sat, 01 Jan 2050 00:00:00 GMT");
+        EventViewDTO event = new EventViewDTO(1, "Jazz", "image.png", "Description",
+                LocalDate.of(2026, 12, 1), "Programme", "Contact", BigDecimal.TEN, 100, "Paris", null, null, 3L, UPDATED_AT);
+        when(eventService.getVersion(1)).thenReturn(event.toVersion());
+        when(eventService.getById(1)).thenReturn(event);
+
+        // WHEN
+        ResponseEntity<EventViewDTO> response = eventController.getById(1, new ServletWebRequest(request));
+
+        // THEN
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(event);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"3\"");
+        assertThat(response.getHeaders().getLastModified()).isEqualTo(UPDATED_AT.toEpochMilli());
+        assertThat(response.getHeaders().getCacheControl()).isEqualTo("no-cache");
+    }
+
+    /**
+     * TEST 9 : If-Modified-Since postérieur à la modification (à la seconde près) → 304
+     */
+    @Test
+    void getById_NotModifiedSince_ShouldReturnNotModified() {
+        // GIVEN
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/events/1");
+        request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, "Tue, 01 Sep 2026 10:00:00 GMT");
+        when(eventService.getVersion(1)).thenReturn(new EventVersionDTO(3L, UPDATED_AT.plusMillis(450)));
+
+        // WHEN
+        ResponseEntity<EventViewDTO> response = eventController.getById(1, new ServletWebRequest(request));
+
+        // THEN
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        verify(eventService, never()).getById(any());
+    }
+
+    /**
+     * TEST 10 : création refusée par le service → image mise de côté supprimée, erreur propagée
+     */
+    @Test
+    void create_WhenServiceFails_ShouldDiscardStagedImage() {
+        // GIVEN
+        MultipartFile image = new MockMultipartFile("image", "photo.png", "image/png", new byte[]{1});
+        EventCreateDTO inputs = new EventCreateDTO("Concert", null, "Description", LocalDate.of(2026, 12, 1),
+                "Programme", "Contact", BigDecimal.TEN, 100, "Paris", null, null, List.of(1), null);
+        when(fileStorageService.stageImage(image)).thenReturn("abc.png");
+        doThrow(new ResourceNotFoundException("Aucune catégorie trouvée avec les IDs fournis"))
+                .when(eventService).create(inputs, "abc.png");
+
+        // WHEN & THEN
+        assertThatThrownBy(() -> eventController.create(inputs, image))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verify(fileStorageService).discardStaged("abc.png");
+        verify(fileStorageService, never()).saveImage(any());
+    }
+
+    /**
+     * TEST 11 : If-Match faible ou illisible → 412 avant toute écriture (ni image, ni service)
+     */
+    @Test
+    void update_WithUnusableIfMatch_ShouldFailBeforeAnyWrite() {
+        // GIVEN
+        MultipartFile image = new MockMultipartFile("image", "photo.png", "image/png", new byte[]{1});
+        EventUpdateDTO inputs = mock(EventUpdateDTO.class);
+
+        // WHEN & THEN
+        assertThatThrownBy(() -> eventController.update(1, inputs, image, "W/\"3\""))
+                .isInstanceOf(PreconditionFailedException.class);
+        assertThatThrownBy(() -> eventController.update(1, inputs, image, "\"v3\""))
+                .isInstanceOf(PreconditionFailedException.class);
+        verifyNoInteractions(eventService, fileStorageService);
+    }
+
+    /**
+     * TEST 12 : If-Match fort → version transmise au service, nouvel ETag dans la réponse ;
+     * "*" → aucune condition
+     */
+    @Test
+    void update_WithIfMatch_ShouldPassExpectedVersionAndReturnNewEtag() {
+        // GIVEN
+        EventUpdateDTO inputs = mock(EventUpdateDTO.class);
+        when(eventService.update(inputs, 1, null, 3L)).thenReturn(new EventVersionDTO(4L, UPDATED_AT));
+        when(eventService.update(inputs, 1, null, null)).thenReturn(new EventVersionDTO(5L, UPDATED_AT));
+
+        // WHEN
+        ResponseEntity<Map<String, String>> response = eventController.update(1, inputs, null, "\"3\"");
+        ResponseEntity<Map<String, String>> unconditional = eventController.update(1, inputs, null, "*");
+
+        // THEN
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"4\"");
+        assertThat(response.getHeaders().getLastModified()).isEqualTo(UPDATED_AT.toEpochMilli());
+        assertThat(unconditional.getHeaders().getETag()).isEqualTo("\"5\"");
+    }
+
+    /**
+     * TEST 13 : PATCH → patch et version attendue transmis au service, nouvel ETag ; aucune image
+     */
+    @Test
+    void patch_ShouldPassPatchAndExpectedVersion() throws IOException {
+        // GIVEN
+        JsonNode patch = objectMapper.readTree("{\"price\": null}");
+        when(eventService.patch(1, patch, 3L)).thenReturn(new EventVersionDTO(4L, UPDATED_AT));
+
+        // WHEN
+        ResponseEntity<Map<String, String>> response = eventController.patch(1, patch, "\"3\"");
+
+        // THEN
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"4\"");
+        verifyNoInteractions(fileStorageService, eventImageService);
+    }
+
+    /**
+     * TEST 14 : gzip refusé (q=0) ou non cité → corps JSON ; "*" ou q non nul → gzip
+     */
+    @Test
+    void getAllEvents_ShouldHonorAcceptEncodingWeights() {
+        // GIVEN
+        EventPageRequest pageRequest = EventPageRequest.firstPage();
+        when(catalogSnapshotService.currentVersion()).thenReturn(7L);
+        when(catalogSnapshotService.getAllEvents(pageRequest)).thenReturn(new CatalogSnapshot(7L, JSON, GZIP, null));
+
+        // WHEN & THEN
+        assertThat(getAllEventsWith(pageRequest, "gzip;q=0, deflate")).isEqualTo(JSON);
+        assertThat(getAllEventsWith(pageRequest, "br, GZIP ; Q=0.0")).isEqualTo(JSON);
+        assertThat(getAllEventsWith(pageRequest, "x-gzip-like, deflate")).isEqualTo(JSON);
+        assertThat(getAllEventsWith(pageRequest, "*;q=0")).isEqualTo(JSON);
+        assertThat(getAllEventsWith(pageRequest, "gzip;q=0, *")).isEqualTo(JSON);
+        assertThat(getAllEventsWith(pageRequest, "deflate;q=1, gzip;q=0.5")).isEqualTo(GZIP);
+        assertThat(getAllEventsWith(pageRequest, "*")).isEqualTo(GZIP);
+    }
+
+    /**
+     * GET /events avec cet Accept-Encoding : corps renvoyé
+     */
+    private byte[] getAllEventsWith(EventPageRequest pageRequest, String acceptEncoding) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/events");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        return eventController.getAllEvents(pageRequest, new ServletWebRequest(request)).getBody();
+    }
+
+    /**
+     * Simule un service qui produit "count" événements
+     */
+    @SuppressWarnings("unchecked")
+    private void mockStreamedEvents(Integer categoryId, int count) {
+        doAnswer(invocation -> {
+            Consumer<EventViewDTO> consumer = invocation.getArgument(1, Consumer.class);
+            for (int id = 1; id <= count; id++) {
+                consumer.accept(new EventViewDTO(id, "Event " + id, "image.png", "Description",
+                        LocalDate.of(2026, 12, id), "Programme", "Contact", BigDecimal.TEN, 100, "Paris", null, null, 1L, null));
+            }
+            return null;
+        }).when(eventService).streamEvents(eq(categoryId), any());
+    }
+
+    private String write(StreamingResponseBody body) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        body.writeTo(output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+}
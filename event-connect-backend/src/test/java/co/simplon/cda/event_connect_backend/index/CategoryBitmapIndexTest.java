@@ -0,0 +1,153 @@
+package co.simplon.cda.event_connect_backend.index;
+
+import co.simplon.cda.event_connect_backend.changes.EventChange;
+import co.simplon.cda.event_connect_backend.dtos.category.EventCategoryDTO;
+import co.simplon.cda.event_connect_backend.repositories.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour CategoryBitmapIndex
+ *
+ * Structure :
+ * - Combinaison des catégories (all / any)
+ * - Mises à jour incrémentales (EventChange)
+ * - Écritures concurrentes (reconstruction / mise à jour)
+ */
+@ExtendWith(MockitoExtension.class)
+class CategoryBitmapIndexTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    private CategoryBitmapIndex index;
+
+    @BeforeEach
+    void setUp() {
+        // Catégorie 1 : événements 1, 2, 3 / catégorie 4 : 2, 3, 5 / catégorie 7 : 3
+        when(eventRepository.findAllCategoryLinks()).thenReturn(List.of(
+                link(1, 1), link(2, 1), link(3, 1),
+                link(2, 4), link(3, 4), link(5, 4),
+                link(3, 7)
+        ));
+        index = new CategoryBitmapIndex(eventRepository);
+        index.build();
+    }
+
+    /**
+     * TEST 1 : match=all → événements présents dans toutes les catégories
+     */
+    @Test
+    void match_WithMatchAll_ShouldIntersect() {
+        assertThat(ids(index.match(List.of(1, 4), true))).containsExactly(2, 3);
+        assertThat(ids(index.match(List.of(1, 4, 7), true))).containsExactly(3);
+        assertThat(index.match(List.of(1, 99), true).isEmpty()).isTrue();
+    }
+
+    /**
+     * TEST 2 : match=any → événements présents dans au moins une catégorie
+     */
+    @Test
+    void match_WithMatchAny_ShouldUnion() {
+        assertThat(ids(index.match(List.of(1, 4), false))).containsExactly(1, 2, 3, 5);
+        assertThat(ids(index.match(List.of(7, 99), false))).containsExactly(3);
+        assertThat(index.match(List.of(), false).isEmpty()).isTrue();
+    }
+
+    /**
+     * TEST 3 : le résultat est une copie, l'index n'est pas modifié par l'appelant
+     */
+    @Test
+    void match_ShouldReturnIndependentBitmap() {
+        RoaringBitmap result = index.match(List.of(1), false);
+        result.add(42);
+
+        assertThat(ids(index.match(List.of(1), false))).containsExactly(1, 2, 3);
+    }
+
+    /**
+     * TEST 4 : modification → catégories de l'événement relues et remplacées
+     */
+    @Test
+    void onEventChange_WhenUpdated_ShouldMoveEventBetweenCategories() {
+        // GIVEN : l'événement 1 passe de la catégorie 1 à la catégorie 7
+        when(eventRepository.findCategoriesByEventIds(List.of(1))).thenReturn(List.of(link(1, 7)));
+
+        // WHEN
+        index.onEventChange(EventChange.updated(1));
+
+        // THEN
+        assertThat(ids(index.match(List.of(1), false))).containsExactly(2, 3);
+        assertThat(ids(index.match(List.of(7), false))).containsExactly(1, 3);
+    }
+
+    /**
+     * TEST 5 : suppression → événement retiré de toutes les catégories, sans requête
+     */
+    @Test
+    void onEventChange_WhenDeleted_ShouldRemoveEvent() {
+        // WHEN
+        index.onEventChange(EventChange.deleted(3));
+
+        // THEN
+        assertThat(ids(index.match(List.of(1, 4, 7), false))).containsExactly(1, 2, 5);
+        verify(eventRepository, never()).findCategoriesByEventIds(any());
+    }
+
+    /**
+     * TEST 6 : reconstruction pendant une mise à jour incrémentale → la lecture en base
+     * la plus récente gagne (la mise à jour lue avant n'écrase pas la reconstruction)
+     */
+    @Test
+    void build_DuringIncrementalUpdate_ShouldNotBeOverwrittenByOlderRead() throws InterruptedException {
+        // GIVEN : la mise à jour lit "événement 1 → catégorie 4" puis attend avant de publier
+        CountDownLatch read = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(eventRepository.findCategoriesByEventIds(List.of(1))).thenAnswer(invocation -> {
+            read.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(link(1, 4));
+        });
+        // Entre-temps, l'événement 1 est passé en catégorie 7 : la reconstruction le lit
+        when(eventRepository.findAllCategoryLinks()).thenReturn(List.of(
+                link(1, 7), link(2, 1), link(3, 1)
+        ));
+
+        // WHEN
+        Thread update = new Thread(() -> index.onEventChange(EventChange.updated(1)));
+        update.start();
+        assertThat(read.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread rebuild = new Thread(index::build);
+        rebuild.start();
+        // Reconstruction bloquée derrière la mise à jour (ou terminée si rien ne les sérialise)
+        while (rebuild.isAlive() && rebuild.getState() != Thread.State.BLOCKED) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        update.join(5_000);
+        rebuild.join(5_000);
+
+        // THEN
+        assertThat(ids(index.match(List.of(7), false))).containsExactly(1);
+        assertThat(ids(index.match(List.of(4), false))).isEmpty();
+    }
+
+    private static EventCategoryDTO link(Integer eventId, Integer categoryId) {
+        return new EventCategoryDTO(eventId, categoryId, "Catégorie " + categoryId);
+    }
+
+    private static List<Integer> ids(RoaringBitmap bitmap) {
+        return bitmap.stream().boxed().toList();
+    }
+}
@@ -0,0 +1,139 @@
+package co.simplon.cda.event_connect_backend.index;
+
+import co.simplon.cda.event_connect_backend.changes.EventChange;
+import co.simplon.cda.event_connect_backend.dtos.event.EventGeoPointDTO;
+import co.simplon.cda.event_connect_backend.repositories.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour EventGeoIndex
+ *
+ * Structure :
+ * - Recherche dans un rayon (tri par distance, limite, événements passés)
+ * - Cas limites de la grille (antiméridien, pôles)
+ * - Mises à jour incrémentales (EventChange)
+ */
+@ExtendWith(MockitoExtension.class)
+class EventGeoIndexTest {
+
+    private static final double PARIS_LAT = 48.8534;
+    private static final double PARIS_LON = 2.3488;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    private EventGeoIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new EventGeoIndex(eventRepository);
+        index.rebuild(List.of(
+                point(1, 48.8606, 2.3376, 5),   // Louvre, ≈ 1,2 km
+                point(2, 48.8049, 2.1204, 2),   // Versailles, ≈ 17,6 km
+                point(3, 45.7640, 4.8357, 1),   // Lyon, ≈ 392 km
+                point(4, 48.8566, 2.3522, -1),  // Hôtel de Ville, passé
+                point(5, 48.8530, 2.3499, 10)   // Notre-Dame, ≈ 0,1 km
+        ));
+    }
+
+    /**
+     * TEST 1 : seuls les événements dans le rayon, du plus proche au plus lointain
+     */
+    @Test
+    void nearby_ShouldReturnEventsWithinRadiusSortedByDistance() {
+        List<EventGeoIndex.Hit> hits = index.nearby(PARIS_LAT, PARIS_LON, 20, 10);
+
+        assertThat(hits).extracting(EventGeoIndex.Hit::eventId).containsExactly(5, 1, 2);
+        assertThat(hits.get(2).distanceKm()).isCloseTo(17.6, within(0.5));
+        assertThat(index.nearby(PARIS_LAT, PARIS_LON, 5, 10))
+                .extracting(EventGeoIndex.Hit::eventId).containsExactly(5, 1);
+    }
+
+    /**
+     * TEST 2 : limite k appliquée aux plus proches
+     */
+    @Test
+    void nearby_ShouldKeepNearestWithinLimit() {
+        assertThat(index.nearby(PARIS_LAT, PARIS_LON, 500, 2))
+                .extracting(EventGeoIndex.Hit::eventId).containsExactly(5, 1);
+    }
+
+    /**
+     * TEST 3 : un cercle qui traverse l'antiméridien (±180°) trouve les deux côtés
+     */
+    @Test
+    void nearby_AcrossAntimeridian_ShouldFindBothSides() {
+        index.rebuild(List.of(point(10, -17.0, 179.99, 1), point(11, -17.0, -179.99, 1)));
+
+        assertThat(index.nearby(-17.0, 179.995, 5, 10))
+                .extracting(EventGeoIndex.Hit::eventId).containsExactlyInAnyOrder(10, 11);
+    }
+
+    /**
+     * TEST 4 : près d'un pôle, toutes les longitudes sont parcourues
+     */
+    @Test
+    void nearby_NearPole_ShouldSearchAllLongitudes() {
+        index.rebuild(List.of(point(20, 89.95, 120.0, 1), point(21, 89.95, -60.0, 1)));
+
+        assertThat(index.nearby(89.95, 0.0, 20, 10))
+                .extracting(EventGeoIndex.Hit::eventId).containsExactlyInAnyOrder(20, 21);
+    }
+
+    /**
+     * TEST 5 : modification → événement déplacé, coordonnées retirées → hors index
+     */
+    @Test
+    void onEventChange_WhenUpdated_ShouldMoveOrRemoveEvent() {
+        // GIVEN : Lyon déplacé à Paris, Versailles n'est plus géolocalisé
+        when(eventRepository.findGeoPointById(3)).thenReturn(Optional.of(point(3, 48.8530, 2.3490, 1)));
+        when(eventRepository.findGeoPointById(2)).thenReturn(Optional.of(new EventGeoPointDTO(2, null, null, LocalDate.now())));
+
+        // WHEN
+        index.onEventChange(EventChange.updated(3));
+        index.onEventChange(EventChange.updated(2));
+
+        // THEN
+        assertThat(index.nearby(PARIS_LAT, PARIS_LON, 50, 10))
+                .extracting(EventGeoIndex.Hit::eventId).containsExactly(3, 5, 1);
+        assertThat(index.nearby(45.7640, 4.8357, 50, 10)).isEmpty();
+    }
+
+    /**
+     * TEST 6 : suppression → retiré sans requête
+     */
+    @Test
+    void onEventChange_WhenDeleted_ShouldRemoveEvent() {
+        index.onEventChange(EventChange.deleted(5));
+
+        assertThat(index.size()).isEqualTo(4);
+        assertThat(index.nearby(PARIS_LAT, PARIS_LON, 5, 10))
+                .extracting(EventGeoIndex.Hit::eventId).containsExactly(1);
+        verifyNoInteractions(eventRepository);
+    }
+
+    /**
+     * TEST 7 : distance de haversine (Paris → Lyon ≈ 392 km)
+     */
+    @Test
+    void distanceKm_ShouldMatchKnownDistance() {
+        assertThat(EventGeoIndex.distanceKm(PARIS_LAT, PARIS_LON, 45.7640, 4.8357)).isCloseTo(392, within(2.0));
+        assertThat(EventGeoIndex.distanceKm(PARIS_LAT, PARIS_LON, PARIS_LAT, PARIS_LON)).isZero();
+    }
+
+    private static EventGeoPointDTO point(Integer id, double latitude, double longitude, int daysFromNow) {
+        return new EventGeoPointDTO(id, latitude, longitude, LocalDate.now().plusDays(daysFromNow));
+    }
+}
@@ -0,0 +1,209 @@
+package co.simplon.cda.event_connect_backend.index;
+
+import co.simplon.cda.event_connect_backend.changes.EventChange;
+import co.simplon.cda.event_connect_backend.dtos.event.EventSuggestionDTO;
+import co.simplon.cda.event_connect_backend.repositories.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour EventSuggestIndex
+ *
+ * Structure :
+ * - Correspondance par préfixe (début du nom, début d'un mot, accents)
+ * - Classement et limite (top-k à venir)
+ * - Mises à jour incrémentales (EventChange)
+ * - Reconstruction publiée d'un bloc, préfixes courts précalculés
+ */
+@ExtendWith(MockitoExtension.class)
+class EventSuggestIndexTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    private EventSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new EventSuggestIndex(eventRepository);
+        index.rebuild(List.of(
+                suggestion(1, "Fête de la Musique", 10),
+                suggestion(2, "Festival Rock en Seine", 3),
+                suggestion(3, "🎨 Explosion de Couleurs", 5),
+                suggestion(4, "Feu d'artifice", 1)
+        ));
+    }
+
+    /**
+     * TEST 1 : début du nom, sans accents ni casse
+     */
+    @Test
+    void suggest_ShouldMatchNameStartIgnoringAccentsAndCase() {
+        assertThat(ids(index.suggest("FETE", 10))).containsExactly(1);
+        assertThat(ids(index.suggest("fête de", 10))).containsExactly(1);
+    }
+
+    /**
+     * TEST 2 : début d'un mot quelconque du nom (émoji ignoré)
+     */
+    @Test
+    void suggest_ShouldMatchAnyWordStart() {
+        assertThat(ids(index.suggest("couleur", 10))).containsExactly(3);
+        assertThat(ids(index.suggest("explo", 10))).containsExactly(3);
+        assertThat(ids(index.suggest("artif", 10))).containsExactly(4);
+        assertThat(index.suggest("usique", 10)).isEmpty();
+    }
+
+    /**
+     * TEST 3 : les plus proches dans le temps d'abord, limités à k, sans doublon
+     */
+    @Test
+    void suggest_ShouldReturnSoonestEventsFirstWithinLimit() {
+        // "fe" : Feu (J+1), Festival (J+3), Fête (J+10)
+        assertThat(ids(index.suggest("fe", 10))).containsExactly(4, 2, 1);
+        assertThat(ids(index.suggest("fe", 2))).containsExactly(4, 2);
+        // "de" : mot au milieu du nom (n°3 à J+5, n°1 à J+10)
+        assertThat(ids(index.suggest("de", 10))).containsExactly(3, 1);
+    }
+
+    /**
+     * TEST 4 : un événement passé n'est plus suggéré
+     */
+    @Test
+    void suggest_ShouldSkipPastEvents() {
+        // GIVEN
+        index.put(new EventSuggestionDTO(5, "Fest passé", LocalDate.now().minusDays(1)));
+
+        // WHEN & THEN
+        assertThat(ids(index.suggest("fest", 10))).containsExactly(2);
+    }
+
+    /**
+     * TEST 5 : modification → anciennes clés retirées, nouvelles ajoutées
+     */
+    @Test
+    void onEventChange_Updated_ShouldReindexEvent() {
+        // GIVEN
+        when(eventRepository.findSuggestionById(2)).thenReturn(Optional.of(suggestion(2, "Jazz à Juan", 3)));
+
+        // WHEN
+        index.onEventChange(EventChange.updated(2));
+
+        // THEN
+        assertThat(index.suggest("festival", 10)).isEmpty();
+        assertThat(ids(index.suggest("jazz", 10))).containsExactly(2);
+        assertThat(ids(index.suggest("juan", 10))).containsExactly(2);
+    }
+
+    /**
+     * TEST 6 : création puis suppression
+     */
+    @Test
+    void onEventChange_CreatedThenDeleted_ShouldAddThenRemoveEvent() {
+        // GIVEN
+        when(eventRepository.findSuggestionById(6)).thenReturn(Optional.of(suggestion(6, "Salon du livre", 7)));
+
+        // WHEN
+        index.onEventChange(EventChange.created(6));
+
+        // THEN
+        assertThat(ids(index.suggest("livre", 10))).containsExactly(6);
+
+        // WHEN
+        index.onEventChange(EventChange.deleted(6));
+
+        // THEN
+        assertThat(index.suggest("livre", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(4);
+        verify(eventRepository, times(1)).findSuggestionById(6);
+    }
+
+    /**
+     * TEST 7 : construction au démarrage depuis la BDD (événements à venir)
+     */
+    @Test
+    void build_ShouldLoadUpcomingEvents() {
+        // GIVEN
+        when(eventRepository.findSuggestionsFrom(LocalDate.now())).thenReturn(List.of(suggestion(7, "Marathon", 2)));
+
+        // WHEN
+        index.build();
+
+        // THEN
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(ids(index.suggest("mara", 10))).containsExactly(7);
+    }
+
+    /**
+     * TEST 8 : reconstruction → l'ancien contenu reste visible jusqu'à la publication du nouveau
+     */
+    @Test
+    void rebuild_ShouldKeepPreviousContentVisibleUntilSwap() {
+        // GIVEN : chaque lecture du nouveau contenu interroge l'index pendant la reconstruction
+        List<Integer> seenDuringRebuild = new ArrayList<>();
+        List<EventSuggestionDTO> next = new AbstractList<>() {
+            private final List<EventSuggestionDTO> content = List.of(suggestion(8, "Feria", 2));
+
+            @Override
+            public EventSuggestionDTO get(int i) {
+                seenDuringRebuild.addAll(ids(index.suggest("fe", 10)));
+                return content.get(i);
+            }
+
+            @Override
+            public int size() {
+                return content.size();
+            }
+        };
+
+        // WHEN
+        index.rebuild(next);
+
+        // THEN
+        assertThat(seenDuringRebuild).containsExactly(4, 2, 1);
+        assertThat(ids(index.suggest("fe", 10))).containsExactly(8);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    /**
+     * TEST 9 : préfixe court (ensemble précalculé) → tri, limite, passés ignorés, mises à jour suivies
+     */
+    @Test
+    void suggest_WithShortPrefix_ShouldUsePrecomputedOrderAndFollowUpdates() {
+        // GIVEN
+        index.put(suggestion(5, "Foire aux vins", -1));
+        index.put(suggestion(4, "Marché de nuit", 1));
+
+        // WHEN & THEN
+        assertThat(ids(index.suggest("f", 10))).containsExactly(2, 1);
+        assertThat(ids(index.suggest("f", 1))).containsExactly(2);
+        assertThat(ids(index.suggest("m", 10))).containsExactly(4, 1);
+
+        // WHEN
+        index.remove(1);
+
+        // THEN
+        assertThat(ids(index.suggest("f", 10))).containsExactly(2);
+        assertThat(ids(index.suggest("m", 10))).containsExactly(4);
+    }
+
+    private EventSuggestionDTO suggestion(Integer id, String name, int daysFromNow) {
+        return new EventSuggestionDTO(id, name, LocalDate.now().plusDays(daysFromNow));
+    }
+
+    private List<Integer> ids(List<EventSuggestionDTO> suggestions) {
+        return suggestions.stream().map(EventSuggestionDTO::id).toList();
+    }
+}
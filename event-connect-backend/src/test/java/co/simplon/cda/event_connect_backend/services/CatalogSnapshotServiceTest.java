@@ -0,0 +1,178 @@
+package co.simplon.cda.event_connect_backend.services;
+
+import co.simplon.cda.event_connect_backend.cache.CatalogSnapshot;
+import co.simplon.cda.event_connect_backend.cache.CatalogVersion;
+import co.simplon.cda.event_connect_backend.changes.EventChange;
+import co.simplon.cda.event_connect_backend.dtos.event.EventPageDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventPageRequest;
+import co.simplon.cda.event_connect_backend.dtos.event.EventViewDTO;
+import co.simplon.cda.event_connect_backend.exceptions.InvalidRequestParameterException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour CatalogSnapshotService
+ *
+ * Structure :
+ * - Construction du snapshot (JSON + gzip)
+ * - Réutilisation tant que la version ne change pas
+ * - Reconstruction après changement de version
+ * - Sélection des attributs (fields)
+ */
+@ExtendWith(MockitoExtension.class)
+class CatalogSnapshotServiceTest {
+
+    @Mock
+    private EventService eventService;
+    @Mock
+    private CatalogVersion catalogVersion;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private CatalogSnapshotService catalogSnapshotService;
+
+    @BeforeEach
+    void setUp() {
+        catalogSnapshotService = new CatalogSnapshotService(eventService, catalogVersion, objectMapper, 100);
+    }
+
+    /**
+     * TEST 1 : le snapshot contient le JSON de la page et sa version gzip
+     */
+    @Test
+    void getAllEvents_ShouldBuildJsonAndGzipSnapshot() throws IOException {
+        // GIVEN
+        EventPageRequest pageRequest = EventPageRequest.firstPage();
+        List<EventViewDTO> events = List.of(createView(1), createView(2));
+        when(catalogVersion.current()).thenReturn(42L);
+        when(eventService.getAllEvents(pageRequest)).thenReturn(new EventPageDTO(events, "next"));
+
+        // WHEN
+        CatalogSnapshot snapshot = catalogSnapshotService.getAllEvents(pageRequest);
+
+        // THEN
+        assertThat(snapshot.version()).isEqualTo(42L);
+        assertThat(snapshot.nextCursor()).isEqualTo("next");
+        assertThat(snapshot.json()).isEqualTo(objectMapper.writeValueAsBytes(events));
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(snapshot.gzip()))) {
+            assertThat(gzip.readAllBytes()).isEqualTo(snapshot.json());
+        }
+        assertThat(snapshot.etag(true)).isEqualTo("\"v42-gz\"");
+    }
+
+    /**
+     * TEST 2 : même version et mêmes paramètres → aucun nouvel appel au service
+     */
+    @Test
+    void getAllEvents_SameVersion_ShouldReuseSnapshot() {
+        // GIVEN
+        EventPageRequest pageRequest = EventPageRequest.firstPage();
+        when(catalogVersion.current()).thenReturn(1L);
+        when(eventService.getAllEvents(pageRequest)).thenReturn(new EventPageDTO(List.of(createView(1)), null));
+
+        // WHEN
+        CatalogSnapshot first = catalogSnapshotService.getAllEvents(pageRequest);
+        CatalogSnapshot second = catalogSnapshotService.getAllEvents(pageRequest);
+
+        // THEN
+        assertThat(second).isSameAs(first);
+        verify(eventService, times(1)).getAllEvents(pageRequest);
+    }
+
+    /**
+     * TEST 3 : nouvelle version → snapshot reconstruit
+     */
+    @Test
+    void getEventsByCategory_AfterVersionChange_ShouldRebuildSnapshot() {
+        // GIVEN
+        EventPageRequest pageRequest = EventPageRequest.firstPage();
+        when(catalogVersion.current()).thenReturn(1L, 2L);
+        when(eventService.getEventsByCategory(3, pageRequest)).thenReturn(new EventPageDTO(List.of(createView(1)), null));
+
+        // WHEN
+        catalogSnapshotService.getEventsByCategory(3, pageRequest);
+        catalogSnapshotService.onEventChange(EventChange.updated(1));
+        CatalogSnapshot snapshot = catalogSnapshotService.getEventsByCategory(3, pageRequest);
+
+        // THEN
+        assertThat(snapshot.version()).isEqualTo(2L);
+        verify(eventService, times(2)).getEventsByCategory(3, pageRequest);
+    }
+
+    /**
+     * TEST 4 : les listings par catégorie ne partagent pas les snapshots globaux
+     */
+    @Test
+    void getEventsByCategory_ShouldNotReuseGlobalSnapshot() {
+        // GIVEN
+        EventPageRequest pageRequest = EventPageRequest.firstPage();
+        when(catalogVersion.current()).thenReturn(1L);
+        when(eventService.getAllEvents(pageRequest)).thenReturn(new EventPageDTO(List.of(createView(1)), null));
+        when(eventService.getEventsByCategory(3, pageRequest)).thenReturn(new EventPageDTO(List.of(), null));
+
+        // WHEN
+        catalogSnapshotService.getAllEvents(pageRequest);
+        CatalogSnapshot snapshot = catalogSnapshotService.getEventsByCategory(3, pageRequest);
+
+        // THEN
+        assertThat(new String(snapshot.json())).isEqualTo("[]");
+    }
+
+    /**
+     * TEST 5 : fields → JSON restreint aux attributs demandés, dans l'ordre de EventViewDTO
+     */
+    @Test
+    void getAllEvents_WithFields_ShouldWriteRequestedAttributesOnly() {
+        // GIVEN
+        EventPageRequest pageRequest = new EventPageRequest(null, null, null, null, null, null, null, null, null,
+                "price, nameEvent,id");
+        when(catalogVersion.current()).thenReturn(1L);
+        when(eventService.getAllEvents(pageRequest)).thenReturn(new EventPageDTO(List.of(createView(1)), null));
+
+        // WHEN
+        CatalogSnapshot snapshot = catalogSnapshotService.getAllEvents(pageRequest);
+
+        // THEN
+        assertThat(new String(snapshot.json())).isEqualTo("[{\"id\":1,\"nameEvent\":\"Event 1\",\"price\":10}]");
+    }
+
+    /**
+     * TEST 6 : attribut inconnu → 400 avant toute lecture
+     */
+    @Test
+    void getAllEvents_WithUnknownField_ShouldThrowInvalidRequestParameterException() {
+        // GIVEN
+        EventPageRequest pageRequest = new EventPageRequest(null, null, null, null, null, null, null, null, null,
+                "nameEvent,password");
+        when(catalogVersion.current()).thenReturn(1L);
+
+        // WHEN & THEN
+        assertThatThrownBy(() -> catalogSnapshotService.getAllEvents(pageRequest))
+                .isInstanceOf(InvalidRequestParameterException.class)
+                .hasMessageContaining("password");
+        verifyNoInteractions(eventService);
+    }
+
+    private EventViewDTO createView(Integer id) {
+        return new EventViewDTO(id, "Event " + id, "image.png", "Description", LocalDate.of(2026, 12, 1),
+                "Programme", "Contact", BigDecimal.TEN, 100, "Paris", null, null, 1L, null);
+    }
+}
@@ -0,0 +1,207 @@
+package co.simplon.cda.event_connect_backend.services;
+
+import co.simplon.cda.event_connect_backend.changes.EventChange;
+import co.simplon.cda.event_connect_backend.changes.EventsChanged;
+import co.simplon.cda.event_connect_backend.dtos.event.EventChangeDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventChangeFeedDTO;
+import co.simplon.cda.event_connect_backend.entities.ChangeOffset;
+import co.simplon.cda.event_connect_backend.entities.EventChangeRecord;
+import co.simplon.cda.event_connect_backend.exceptions.InvalidRequestParameterException;
+import co.simplon.cda.event_connect_backend.repositories.ChangeOffsetRepository;
+import co.simplon.cda.event_connect_backend.repositories.EventChangeRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour EventChangeLog (outbox des modifications)
+ *
+ * Structure :
+ * - Inscription : une entrée par événement, sans position
+ * - Positionnement : positions consécutives après la dernière attribuée
+ * - Création idempotente des positions (séquenceur au démarrage)
+ * - Lecture du journal par offset (GET /events/changes), entrées en attente positionnées d'abord
+ * - Purge limitée aux entrées livrées à tous les lecteurs de t_change_offsets
+ */
+@ExtendWith(MockitoExtension.class)
+class EventChangeLogTest {
+    private static final Duration RETENTION = Duration.ofDays(7);
+
+    @Mock
+    private EventChangeRecordRepository recordRepository;
+    @Mock
+    private ChangeOffsetRepository offsetRepository;
+
+    private EventChangeLog eventChangeLog;
+
+    @BeforeEach
+    void setUp() {
+        eventChangeLog = new EventChangeLog(recordRepository, offsetRepository, RETENTION);
+    }
+
+    /**
+     * TEST 1 : écriture en lot → une entrée par événement, du type de l'opération, sans position
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void onEventsChanged_ShouldSaveOneRecordPerEvent() {
+        // WHEN
+        eventChangeLog.onEventsChanged(new EventsChanged(List.of(3, 4), EventChange.Type.DELETED));
+
+        // THEN
+        ArgumentCaptor<List<EventChangeRecord>> records = ArgumentCaptor.forClass(List.class);
+        verify(recordRepository).saveAll(records.capture());
+        assertThat(records.getValue()).extracting(EventChangeRecord::getEventId).containsExactly(3, 4);
+        assertThat(records.getValue()).allSatisfy(record -> {
+            assertThat(record.getType()).isEqualTo(EventChange.Type.DELETED);
+            assertThat(record.getPosition()).isNull();
+        });
+    }
+
+    /**
+     * TEST 2 : entrées en attente → positions consécutives après la dernière attribuée
+     */
+    @Test
+    void sequence_ShouldAssignConsecutivePositions() {
+        // GIVEN
+        ChangeOffset sequencer = new ChangeOffset(EventChangeLog.SEQUENCER, 41L);
+        EventChangeRecord first = new EventChangeRecord(1, EventChange.Type.CREATED, Instant.now());
+        EventChangeRecord second = new EventChangeRecord(2, EventChange.Type.UPDATED, Instant.now());
+        when(offsetRepository.findForUpdate(EventChangeLog.SEQUENCER)).thenReturn(Optional.of(sequencer));
+        when(recordRepository.findUnsequenced(PageRequest.ofSize(10))).thenReturn(List.of(first, second));
+
+        // WHEN
+        int sequenced = eventChangeLog.sequence(10);
+
+        // THEN
+        assertThat(sequenced).isEqualTo(2);
+        assertThat(first.getPosition()).isEqualTo(42L);
+        assertThat(second.getPosition()).isEqualTo(43L);
+        assertThat(sequencer.getLastPosition()).isEqualTo(43L);
+    }
+
+    /**
+     * TEST 3 : ligne du séquenceur absente → erreur, rien n'est créé ni positionné
+     */
+    @Test
+    void sequence_WithoutSequencerRow_ShouldFailWithoutCreatingIt() {
+        // GIVEN
+        when(offsetRepository.findForUpdate(EventChangeLog.SEQUENCER)).thenReturn(Optional.empty());
+
+        // WHEN & THEN
+        assertThatThrownBy(() -> eventChangeLog.sequence(10))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining(EventChangeLog.SEQUENCER);
+
+        verify(offsetRepository, never()).save(any());
+        verify(recordRepository, never()).findUnsequenced(any());
+    }
+
+    /**
+     * TEST 4 : lecture du journal → entrées en attente positionnées d'abord (relais désactivé),
+     * nextOffset = dernière position lue (inchangé si rien de nouveau), limite plafonnée,
+     * paramètres négatifs refusés
+     */
+    @Test
+    void getFeed_ShouldReturnNextOffset() {
+        // GIVEN
+        EventChangeRecord pending = new EventChangeRecord(1, EventChange.Type.UPDATED, Instant.now());
+        when(offsetRepository.findForUpdate(EventChangeLog.SEQUENCER))
+                .thenReturn(Optional.of(new ChangeOffset(EventChangeLog.SEQUENCER, 11L)));
+        when(recordRepository.findUnsequenced(PageRequest.ofSize(EventChangeLog.MAX_FEED_LIMIT)))
+                .thenReturn(List.of(pending));
+        when(recordRepository.findAfter(eq(10L), any())).thenReturn(List.of(
+                new EventChangeDTO(11L, 1, EventChange.Type.CREATED, Instant.now()),
+                new EventChangeDTO(12L, 1, EventChange.Type.UPDATED, Instant.now())));
+        when(recordRepository.findAfter(eq(12L), any())).thenReturn(List.of());
+
+        // WHEN
+        EventChangeFeedDTO feed = eventChangeLog.getFeed(10L, 5000);
+        EventChangeFeedDTO empty = eventChangeLog.getFeed(12L, null);
+
+        // THEN
+        assertThat(feed.changes()).hasSize(2);
+        assertThat(feed.nextOffset()).isEqualTo(12L);
+        assertThat(empty.nextOffset()).isEqualTo(12L);
+        assertThat(pending.getPosition()).isEqualTo(12L);
+        verify(recordRepository).findAfter(10L, PageRequest.ofSize(EventChangeLog.MAX_FEED_LIMIT));
+        assertThatThrownBy(() -> eventChangeLog.getFeed(-1L, null))
+                .isInstanceOf(InvalidRequestParameterException.class);
+        assertThatThrownBy(() -> eventChangeLog.getFeed(0L, 0))
+                .isInstanceOf(InvalidRequestParameterException.class);
+    }
+
+    /**
+     * TEST 5 : purge → jusqu'à la plus petite position de t_change_offsets ; table vide → rien
+     */
+    @Test
+    void purge_ShouldKeepEntriesNotDeliveredToAllConsumers() {
+        // GIVEN
+        Instant before = Instant.now();
+        when(offsetRepository.findMinPosition()).thenReturn(12L, (Long) null);
+
+        // WHEN
+        eventChangeLog.purge(before);
+        eventChangeLog.purge(before);
+
+        // THEN
+        verify(recordRepository).deleteDelivered(12L, before);
+        verify(recordRepository).deleteDelivered(0L, before);
+        verify(recordRepository, times(2)).deleteDelivered(anyLong(), any());
+        verify(offsetRepository, never()).findById(any());
+    }
+
+    /**
+     * TEST 6 : création d'une position → INSERT conditionnel ; ligne créée au même instant
+     * par une autre instance → aucune erreur
+     */
+    @Test
+    void register_ShouldInsertIfAbsentAndIgnoreConcurrentInsert() {
+        // GIVEN
+        when(offsetRepository.insertIfAbsent("geo"))
+                .thenReturn(1)
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        // WHEN & THEN
+        eventChangeLog.register("geo");
+        eventChangeLog.register("geo");
+
+        verify(offsetRepository, times(2)).insertIfAbsent("geo");
+        verify(offsetRepository, never()).save(any());
+    }
+
+    /**
+     * TEST 7 : purge planifiée → entrées plus anciennes que la rétention
+     */
+    @Test
+    void purgeExpired_ShouldPurgeEntriesOlderThanRetention() {
+        // GIVEN
+        when(offsetRepository.findMinPosition()).thenReturn(5L);
+        Instant limit = Instant.now().minus(RETENTION);
+
+        // WHEN
+        eventChangeLog.purgeExpired();
+
+        // THEN
+        ArgumentCaptor<Instant> before = ArgumentCaptor.forClass(Instant.class);
+        verify(recordRepository).deleteDelivered(eq(5L), before.capture());
+        assertThat(before.getValue()).isBetween(limit, Instant.now().minus(RETENTION));
+    }
+}
@@ -0,0 +1,121 @@
+package co.simplon.cda.event_connect_backend.services;
+
+import co.simplon.cda.event_connect_backend.changes.EventChange;
+import co.simplon.cda.event_connect_backend.changes.EventChangeSubscriber;
+import co.simplon.cda.event_connect_backend.dtos.event.EventChangeDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour EventChangeRelay
+ *
+ * Structure :
+ * - Positionnement répété tant que des lots complets restent
+ * - Livraison par lots, position enregistrée après chaque lot
+ * - Abonné en échec : position conservée, autres abonnés servis
+ * - Positions des abonnés créées au démarrage
+ */
+@ExtendWith(MockitoExtension.class)
+class EventChangeRelayTest {
+    private static final int BATCH_SIZE = 2;
+
+    @Mock
+    private EventChangeLog changeLog;
+    @Mock
+    private EventChangeSubscriber failing;
+    @Mock
+    private EventChangeSubscriber healthy;
+
+    private EventChangeRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new EventChangeRelay(changeLog, List.of(failing, healthy), BATCH_SIZE);
+    }
+
+    /**
+     * TEST 1 : lots complets → positionnement répété ; chaque lot livré puis sa position enregistrée ;
+     * abonné en échec → position inchangée, l'autre abonné reçoit tout
+     */
+    @Test
+    void relay_ShouldDeliverBatchesAndKeepOffsetOnFailure() {
+        // GIVEN
+        List<EventChangeDTO> firstBatch = List.of(change(1), change(2));
+        List<EventChangeDTO> secondBatch = List.of(change(3));
+        when(changeLog.sequence(BATCH_SIZE)).thenReturn(2, 1);
+        when(failing.name()).thenReturn("failing");
+        when(healthy.name()).thenReturn("healthy");
+        when(changeLog.getOffset("failing")).thenReturn(0L);
+        when(changeLog.getOffset("healthy")).thenReturn(0L);
+        when(changeLog.findAfter(0L, BATCH_SIZE)).thenReturn(firstBatch);
+        when(changeLog.findAfter(2L, BATCH_SIZE)).thenReturn(secondBatch);
+        when(changeLog.findAfter(3L, BATCH_SIZE)).thenReturn(List.of());
+        doThrow(new IllegalStateException("indisponible")).when(failing).onChanges(firstBatch);
+
+        // WHEN
+        relay.relay();
+
+        // THEN
+        verify(changeLog, times(2)).sequence(BATCH_SIZE);
+        verify(changeLog, never()).commitOffset(eq("failing"), anyLong());
+        verify(healthy).onChanges(firstBatch);
+        verify(healthy).onChanges(secondBatch);
+        verify(changeLog).commitOffset("healthy", 2L);
+        verify(changeLog).commitOffset("healthy", 3L);
+    }
+
+    /**
+     * TEST 2 : rien de nouveau → aucune livraison ni position enregistrée
+     */
+    @Test
+    void relay_WithoutNewChanges_ShouldNotDeliver() {
+        // GIVEN
+        when(changeLog.sequence(BATCH_SIZE)).thenReturn(0);
+        when(failing.name()).thenReturn("failing");
+        when(healthy.name()).thenReturn("healthy");
+        when(changeLog.getOffset(anyString())).thenReturn(5L);
+        when(changeLog.findAfter(5L, BATCH_SIZE)).thenReturn(List.of());
+
+        // WHEN
+        relay.relay();
+
+        // THEN
+        verify(failing, never()).onChanges(any());
+        verify(healthy, never()).onChanges(any());
+        verify(changeLog, never()).commitOffset(anyString(), anyLong());
+    }
+
+    /**
+     * TEST 3 : démarrage → position créée pour chaque abonné
+     */
+    @Test
+    void registerSubscribers_ShouldRegisterEachSubscriber() {
+        // GIVEN
+        when(failing.name()).thenReturn("failing");
+        when(healthy.name()).thenReturn("healthy");
+
+        // WHEN
+        relay.registerSubscribers();
+
+        // THEN
+        verify(changeLog).register("failing");
+        verify(changeLog).register("healthy");
+        verifyNoMoreInteractions(changeLog);
+    }
+
+    private static EventChangeDTO change(long position) {
+        return new EventChangeDTO(position, 1, EventChange.Type.UPDATED, Instant.now());
+    }
+}
@@ -0,0 +1,189 @@
+package co.simplon.cda.event_connect_backend.services;
+
+import co.simplon.cda.event_connect_backend.changes.ImageStaged;
+import co.simplon.cda.event_connect_backend.changes.ImagesReleased;
+import co.simplon.cda.event_connect_backend.dtos.event.EventImageDTO;
+import co.simplon.cda.event_connect_backend.entities.ImageStatus;
+import co.simplon.cda.event_connect_backend.exceptions.ResourceNotFoundException;
+import co.simplon.cda.event_connect_backend.repositories.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour EventImageService
+ *
+ * Structure :
+ * - Traitement confié au pool, jamais sur le thread de la requête
+ * - Image valide : normalisée, miniature générée, publiée → READY
+ * - Contenu illisible ou non conforme à l'extension → FAILED, rien de publié
+ * - Image remplacée entre-temps → fichiers publiés retirés
+ * - État de l'image (GET /events/{id}/image)
+ * - Événements supprimés → images retirées
+ */
+@ExtendWith(MockitoExtension.class)
+class EventImageServiceTest {
+    @Mock
+    private EventRepository eventRepository;
+    @Mock
+    private ExecutorService executor;
+
+    // Racine de stockage propre à chaque test : uploads/ n'est jamais touché
+    @TempDir
+    Path storageRoot;
+
+    private Path uploadPath;
+    private Path stagingPath;
+    private FileStorageService fileStorageService;
+    private EventImageService eventImageService;
+    private String filename;
+
+    @BeforeEach
+    void setUp() {
+        fileStorageService = new FileStorageService(storageRoot);
+        uploadPath = storageRoot.resolve("events");
+        stagingPath = storageRoot.resolve("staging");
+        eventImageService = new EventImageService(eventRepository, fileStorageService, executor);
+        filename = UUID.randomUUID() + ".png";
+    }
+
+    /**
+     * TEST 1 : image mise de côté → traitement soumis au pool, rien sur le thread appelant
+     */
+    @Test
+    void onImageStaged_ShouldSubmitToExecutor() {
+        // WHEN
+        eventImageService.onImageStaged(new ImageStaged(1, filename));
+
+        // THEN
+        verify(executor).execute(any(Runnable.class));
+        verifyNoInteractions(eventRepository);
+    }
+
+    /**
+     * TEST 2 : PNG trop large → publié à la largeur maximale, miniature générée, READY
+     */
+    @Test
+    void process_ValidImage_ShouldPublishNormalizedImageAndThumbnail() throws IOException {
+        // GIVEN
+        stage(new BufferedImage(EventImageService.MAX_WIDTH + 480, 1200, BufferedImage.TYPE_INT_ARGB), "png");
+        when(eventRepository.updateImageStatus(1, filename, ImageStatus.READY)).thenReturn(1);
+
+        // WHEN
+        eventImageService.process(new ImageStaged(1, filename));
+
+        // THEN
+        BufferedImage published = ImageIO.read(uploadPath.resolve(filename).toFile());
+        BufferedImage thumbnail = ImageIO.read(uploadPath.resolve(fileStorageService.thumbnailName(filename)).toFile());
+        assertThat(published.getWidth()).isEqualTo(EventImageService.MAX_WIDTH);
+        assertThat(published.getHeight()).isEqualTo(960);
+        assertThat(thumbnail.getWidth()).isEqualTo(EventImageService.THUMBNAIL_WIDTH);
+        assertThat(stagingPath.resolve(filename)).doesNotExist();
+        verify(eventRepository).updateImageStatus(1, filename, ImageStatus.READY);
+    }
+
+    /**
+     * TEST 3 : contenu illisible ou JPEG déguisé en PNG → FAILED, rien de publié
+     */
+    @Test
+    void process_InvalidContent_ShouldMarkFailed() throws IOException {
+        // GIVEN : un JPEG nommé .png
+        stage(new BufferedImage(100, 100, BufferedImage.TYPE_INT_RGB), "jpeg");
+        when(eventRepository.updateImageStatus(1, filename, ImageStatus.FAILED)).thenReturn(1);
+
+        // WHEN
+        eventImageService.process(new ImageStaged(1, filename));
+
+        // THEN
+        assertThat(uploadPath.resolve(filename)).doesNotExist();
+        assertThat(stagingPath.resolve(filename)).doesNotExist();
+        verify(eventRepository).updateImageStatus(1, filename, ImageStatus.FAILED);
+
+        // GIVEN : des octets quelconques
+        Files.write(stagingPath.resolve(filename), new byte[]{1, 2, 3});
+
+        // WHEN
+        eventImageService.process(new ImageStaged(1, filename));
+
+        // THEN
+        verify(eventRepository, times(2)).updateImageStatus(1, filename, ImageStatus.FAILED);
+    }
+
+    /**
+     * TEST 4 : événement supprimé ou image remplacée pendant le traitement → fichiers retirés
+     */
+    @Test
+    void process_WhenImageNoLongerUsed_ShouldDeletePublishedFiles() throws IOException {
+        // GIVEN
+        stage(new BufferedImage(100, 50, BufferedImage.TYPE_INT_ARGB), "png");
+        when(eventRepository.updateImageStatus(1, filename, ImageStatus.READY)).thenReturn(0);
+
+        // WHEN
+        eventImageService.process(new ImageStaged(1, filename));
+
+        // THEN
+        assertThat(uploadPath.resolve(filename)).doesNotExist();
+        assertThat(uploadPath.resolve(fileStorageService.thumbnailName(filename))).doesNotExist();
+    }
+
+    /**
+     * TEST 5 : état de l'image → miniature uniquement une fois l'image prête ; 404 si inconnu
+     */
+    @Test
+    void getImage_ShouldExposeThumbnailOnlyWhenReady() {
+        // GIVEN
+        when(eventRepository.findImageById(1)).thenReturn(Optional.of(new EventImageDTO(1, ImageStatus.READY, "abc.png")));
+        when(eventRepository.findImageById(2)).thenReturn(Optional.of(new EventImageDTO(2, ImageStatus.PENDING, "def.png")));
+        when(eventRepository.findImageById(3)).thenReturn(Optional.empty());
+
+        // WHEN & THEN
+        assertThat(eventImageService.getImage(1).thumbnailUrl()).isEqualTo("abc-thumb.png");
+        assertThat(eventImageService.getImage(2).thumbnailUrl()).isNull();
+        assertThatThrownBy(() -> eventImageService.getImage(3))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    /**
+     * TEST 6 : événements supprimés → images et miniatures retirées, sur le pool
+     */
+    @Test
+    void onImagesReleased_ShouldDeleteImagesAndThumbnails() throws IOException {
+        // GIVEN
+        Files.write(uploadPath.resolve(filename), new byte[]{1});
+        Files.write(uploadPath.resolve(fileStorageService.thumbnailName(filename)), new byte[]{1});
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+
+        // WHEN
+        eventImageService.onImagesReleased(new ImagesReleased(List.of(filename)));
+
+        // THEN
+        assertThat(uploadPath.resolve(filename)).doesNotExist();
+        assertThat(uploadPath.resolve(fileStorageService.thumbnailName(filename))).doesNotExist();
+        verify(executor).execute(any(Runnable.class));
+    }
+
+    private void stage(BufferedImage image, String format) throws IOException {
+        ImageIO.write(image, format, stagingPath.resolve(filename).toFile());
+    }
+}
@@ -0,0 +1,279 @@
+package co.simplon.cda.event_connect_backend.services;
+
+import co.simplon.cda.event_connect_backend.changes.EventChange;
+import co.simplon.cda.event_connect_backend.changes.EventsChanged;
+import co.simplon.cda.event_connect_backend.configuration.JwtProvider;
+import co.simplon.cda.event_connect_backend.dtos.event.EventImportReportDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventImportRowDTO;
+import co.simplon.cda.event_connect_backend.entities.Category;
+import co.simplon.cda.event_connect_backend.entities.Event;
+import co.simplon.cda.event_connect_backend.entities.Profile;
+import co.simplon.cda.event_connect_backend.exceptions.InvalidRequestParameterException;
+import co.simplon.cda.event_connect_backend.repositories.CategoryRepository;
+import co.simplon.cda.event_connect_backend.repositories.EventRepository;
+import co.simplon.cda.event_connect_backend.repositories.ProfileRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour EventImportService
+ *
+ * Structure :
+ * - Import JSON : lignes valides insérées en une fois, ids dans le compte rendu
+ * - Rejets ligne par ligne (contraintes, coordonnées, catégories inconnues)
+ * - Import CSV (catégories "1|2", cellule illisible, colonne inconnue)
+ * - Limite du nombre de lignes
+ */
+@ExtendWith(MockitoExtension.class)
+class EventImportServiceTest {
+
+    private static final String EMAIL = "partner@example.com";
+    private static final Integer PROFILE_ID = 7;
+    private static final String CSV_HEADER = "nameEvent,description,dateEvent,program,contact,price,numberPlace,address,categoryIds\n";
+
+    @Mock
+    private EventRepository eventRepository;
+    @Mock
+    private CategoryRepository categoryRepository;
+    @Mock
+    private ProfileRepository profileRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private EventImportService eventImportService;
+    private Profile profile;
+
+    @BeforeEach
+    void setUp() {
+        eventImportService = new EventImportService(eventRepository, categoryRepository, profileRepository,
+                Validation.buildDefaultValidatorFactory().getValidator(), objectMapper, eventPublisher);
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "HS256")
+                .subject(EMAIL)
+                .claim(JwtProvider.PROFILE_ID_CLAIM, PROFILE_ID)
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt, List.of(), EMAIL));
+        profile = new Profile();
+        profile.setEmail(EMAIL);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * TEST 1 : lignes valides → une seule insertion groupée, ids dans l'ordre du fichier
+     */
+    @Test
+    void importEvents_ValidRows_ShouldPersistAllAtOnce() {
+        // GIVEN
+        mockProfileAndCategories(1, 2);
+        List<Event> persisted = mockPersist(100);
+
+        // WHEN
+        EventImportReportDTO report = eventImportService.importEvents(List.of(row("A", "[1]"), row("B", "[1, 2]")));
+
+        // THEN
+        assertThat(report.imported()).isEqualTo(2);
+        assertThat(report.rejected()).isZero();
+        assertThat(report.rows()).containsExactly(EventImportRowDTO.imported(1, 100), EventImportRowDTO.imported(2, 101));
+        assertThat(persisted).extracting(Event::getNameEvent).containsExactly("A", "B");
+        assertThat(persisted.get(1).getCategories()).hasSize(2);
+        assertThat(persisted).allSatisfy(event -> {
+            assertThat(event.getProfile()).isSameAs(profile);
+            assertThat(event.getUpdatedAt()).isNotNull();
+        });
+        verify(eventRepository, times(1)).persistInBatches(any());
+        verify(categoryRepository, times(1)).findAllById(anyCollection());
+        verify(eventPublisher).publishEvent(new EventsChanged(List.of(100, 101), EventChange.Type.CREATED));
+    }
+
+    /**
+     * TEST 2 : lignes invalides rejetées avec leurs motifs, les autres importées
+     */
+    @Test
+    void importEvents_InvalidRows_ShouldRejectOnlyThoseRows() throws Exception {
+        // GIVEN
+        mockProfileAndCategories(1);
+        List<Event> persisted = mockPersist(100);
+        JsonNode missingName = objectMapper.readTree("""
+                {"description": "D", "dateEvent": "%s", "program": "P", "contact": "C",
+                 "address": "Paris", "categoryIds": [1]}""".formatted(LocalDate.now().plusDays(1)));
+        JsonNode latitudeOnly = objectMapper.readTree("""
+                {"nameEvent": "Lat", "description": "D", "dateEvent": "%s", "program": "P", "contact": "C",
+                 "address": "Paris", "latitude": 48.85, "categoryIds": [1]}""".formatted(LocalDate.now().plusDays(1)));
+        JsonNode badDate = objectMapper.readTree("""
+                {"nameEvent": "Date", "dateEvent": "demain", "categoryIds": [1]}""");
+
+        // WHEN
+        EventImportReportDTO report = eventImportService.importEvents(
+                List.of(row("OK", "[1]"), missingName, latitudeOnly, row("Unknown", "[1, 99]"), badDate));
+
+        // THEN
+        assertThat(report.imported()).isEqualTo(1);
+        assertThat(report.rejected()).isEqualTo(4);
+        assertThat(report.rows().get(0)).isEqualTo(EventImportRowDTO.imported(1, 100));
+        assertThat(report.rows().get(1).errors()).singleElement().asString().startsWith("nameEvent");
+        assertThat(report.rows().get(2).errors()).containsExactly("latitude / longitude : à renseigner ensemble");
+        assertThat(report.rows().get(3).errors()).containsExactly("categoryIds : catégories inconnues [99]");
+        assertThat(report.rows().get(4).errors()).containsExactly("dateEvent : format invalide");
+        assertThat(persisted).extracting(Event::getNameEvent).containsExactly("OK");
+    }
+
+    /**
+     * TEST 3 : CSV → catégories séparées par "|", cellule vide = valeur absente,
+     * ligne illisible rejetée sans bloquer les autres
+     */
+    @Test
+    void importCsv_ShouldReadEachLine() {
+        // GIVEN
+        mockProfileAndCategories(1, 2);
+        List<Event> persisted = mockPersist(100);
+        String date = LocalDate.now().plusDays(3).toString();
+        String csv = CSV_HEADER
+                + "Concert,Description,\"" + date + "\",Programme,Contact,12.50,100,\"1 rue de Paris, Lyon\",1|2\n"
+                + "Gratuit,Description," + date + ",Programme,Contact,,,Paris,2\n"
+                + "Prix,Description," + date + ",Programme,Contact,douze,100,Paris,1\n";
+
+        // WHEN
+        EventImportReportDTO report = eventImportService.importCsv(csv);
+
+        // THEN
+        assertThat(report.imported()).isEqualTo(2);
+        assertThat(report.rows().get(2)).isEqualTo(EventImportRowDTO.rejected(3, List.of("price : format invalide")));
+        assertThat(persisted.get(0).getAddress()).isEqualTo("1 rue de Paris, Lyon");
+        assertThat(persisted.get(0).getCategories()).extracting(Category::getId).containsExactly(1, 2);
+        assertThat(persisted.get(1).getPrice()).isNull();
+    }
+
+    /**
+     * TEST 4 : colonne CSV inconnue → 400 avant toute écriture
+     */
+    @Test
+    void importCsv_WithUnknownColumn_ShouldThrowInvalidRequestParameterException() {
+        // GIVEN
+        String csv = "nameEvent,password\nConcert,secret\n";
+
+        // WHEN & THEN
+        assertThatThrownBy(() -> eventImportService.importCsv(csv))
+                .isInstanceOf(InvalidRequestParameterException.class)
+                .hasMessageContaining("password");
+        verifyNoInteractions(eventRepository);
+    }
+
+    /**
+     * TEST 5 : plus de MAX_IMPORT_ROWS lignes → 400 sans lecture ni écriture
+     */
+    @Test
+    void importEvents_TooManyRows_ShouldThrowInvalidRequestParameterException() {
+        // GIVEN
+        List<JsonNode> rows = Collections.nCopies(EventImportService.MAX_IMPORT_ROWS + 1, row("A", "[1]"));
+
+        // WHEN & THEN
+        assertThatThrownBy(() -> eventImportService.importEvents(rows))
+                .isInstanceOf(InvalidRequestParameterException.class);
+        verifyNoInteractions(eventRepository, categoryRepository, profileRepository);
+    }
+
+    /**
+     * TEST 6 : aucune ligne valide → pas de notification aux index
+     */
+    @Test
+    void importEvents_NoValidRow_ShouldNotPublishEventsChanged() {
+        // GIVEN
+        mockProfileAndCategories();
+        mockPersist(100);
+
+        // WHEN
+        EventImportReportDTO report = eventImportService.importEvents(List.of(row("A", "[5]")));
+
+        // THEN
+        assertThat(report.imported()).isZero();
+        verifyNoInteractions(eventPublisher);
+    }
+
+    /**
+     * TEST 7 : imgUrl fourni dans le fichier → ignoré, événement importé sans image
+     * (un nom choisi par le client pourrait désigner un autre fichier, supprimé avec l'événement)
+     */
+    @Test
+    void importEvents_WithImgUrl_ShouldIgnoreIt() throws Exception {
+        // GIVEN
+        mockProfileAndCategories(1);
+        List<Event> persisted = mockPersist(100);
+        JsonNode withImage = objectMapper.readTree("""
+                {"nameEvent": "Image", "imgUrl": "../../application.properties", "description": "D",
+                 "dateEvent": "%s", "program": "P", "contact": "C", "address": "Paris",
+                 "categoryIds": [1]}""".formatted(LocalDate.now().plusDays(1)));
+
+        // WHEN
+        EventImportReportDTO report = eventImportService.importEvents(List.of(withImage));
+
+        // THEN
+        assertThat(report.imported()).isEqualTo(1);
+        assertThat(persisted).singleElement().extracting(Event::getImgUrl).isNull();
+    }
+
+    private JsonNode row(String name, String categoryIds) {
+        try {
+            return objectMapper.readTree("""
+                    {"nameEvent": "%s", "description": "D", "dateEvent": "%s", "program": "P",
+                     "contact": "C", "price": 10, "numberPlace": 50, "address": "Paris", "categoryIds": %s}"""
+                    .formatted(name, LocalDate.now().plusDays(1), categoryIds));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void mockProfileAndCategories(Integer... categoryIds) {
+        when(profileRepository.getReferenceById(PROFILE_ID)).thenReturn(profile);
+        List<Category> categories = new ArrayList<>();
+        for (Integer id : categoryIds) {
+            Category category = new Category();
+            category.setId(id);
+            categories.add(category);
+        }
+        when(categoryRepository.findAllById(anyCollection())).thenReturn(categories);
+    }
+
+    /**
+     * Simule l'insertion : ids attribués à partir de firstId, entités insérées capturées
+     */
+    @SuppressWarnings("unchecked")
+    private List<Event> mockPersist(int firstId) {
+        List<Event> persisted = new ArrayList<>();
+        doAnswer(invocation -> {
+            List<Event> events = invocation.getArgument(0, List.class);
+            for (Event event : events) {
+                event.setId(firstId + persisted.size());
+                persisted.add(event);
+            }
+            return null;
+        }).when(eventRepository).persistInBatches(any());
+        return persisted;
+    }
+}
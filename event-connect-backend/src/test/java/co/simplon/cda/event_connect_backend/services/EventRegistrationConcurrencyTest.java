@@ -0,0 +1,302 @@
+package co.simplon.cda.event_connect_backend.services;
+
+import co.simplon.cda.event_connect_backend.configuration.JwtProvider;
+import co.simplon.cda.event_connect_backend.entities.Category;
+import co.simplon.cda.event_connect_backend.entities.Event;
+import co.simplon.cda.event_connect_backend.entities.Profile;
+import co.simplon.cda.event_connect_backend.entities.Role;
+import co.simplon.cda.event_connect_backend.exceptions.DuplicateResourceException;
+import co.simplon.cda.event_connect_backend.exceptions.EventCapacityException;
+import co.simplon.cda.event_connect_backend.exceptions.EventFullException;
+import co.simplon.cda.event_connect_backend.repositories.CategoryRepository;
+import co.simplon.cda.event_connect_backend.repositories.EventRepository;
+import co.simplon.cda.event_connect_backend.repositories.ProfileRepository;
+import co.simplon.cda.event_connect_backend.repositories.RoleRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests d'intégration des inscriptions sous forte concurrence
+ *
+ * Objectif : aucune survente quand des centaines de clients s'inscrivent
+ * au même événement au même instant (UPDATE conditionnel du compteur seats_taken)
+ *
+ * Utilise H2 en mémoire (profil "test") : chaque client est un thread avec son propre jeton,
+ * tous libérés ensemble ; le résultat de chaque appel est compté par type
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS) // Clients insérés une seule fois
+class EventRegistrationConcurrencyTest {
+
+    private static final int CLIENT_COUNT = 300;
+    private static final int CAPACITY = 50;
+    private static final long TIMEOUT_SECONDS = 60;
+
+    private static final String OK = "OK";
+
+    @Autowired
+    private EventRegistrationService registrationService;
+    @Autowired
+    private EventService eventService;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private ProfileRepository profileRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Profile> clients = new ArrayList<>();
+    private Category category;
+    private Event event;
+
+    @BeforeAll
+    void setUp() {
+        Role role = new Role();
+        role.setName("ROLE_USER");
+        roleRepository.save(role);
+
+        for (int i = 0; i < CLIENT_COUNT; i++) {
+            Profile profile = new Profile();
+            profile.setEmail("client" + i + "@example.com");
+            profile.setFirstName("Client");
+            profile.setLastName("Numero" + i);
+            profile.setPassword("password");
+            profile.setPhone(String.format("07%08d", i));
+            profile.setRole(role);
+            clients.add(profile);
+        }
+        profileRepository.saveAll(clients);
+
+        category = new Category();
+        category.setNameCategory("Concert");
+        categoryRepository.save(category);
+    }
+
+    @AfterEach
+    void deleteEvent() {
+        jdbcTemplate.update("DELETE FROM t_register");
+        jdbcTemplate.update("DELETE FROM t_belong");
+        eventRepository.deleteAllInBatch();
+    }
+
+    @AfterAll
+    void tearDown() {
+        categoryRepository.deleteAllInBatch();
+        profileRepository.deleteAllInBatch();
+        roleRepository.deleteAllInBatch();
+    }
+
+    /**
+     * TEST 1 : 300 clients pour 50 places, tous en même temps
+     * Exactement 50 inscriptions, les autres refusées (complet), compteur = lignes t_register
+     */
+    @Test
+    void register_WithHundredsOfConcurrentClients_ShouldNeverOversell() throws InterruptedException {
+        // GIVEN
+        event = createEvent(CAPACITY);
+
+        // WHEN
+        Map<String, Integer> outcomes = hammer(CLIENT_COUNT, i -> registerAs(clients.get(i)));
+
+        // THEN
+        assertThat(outcomes).containsOnlyKeys(OK, EventFullException.class.getSimpleName());
+        assertThat(outcomes.get(OK)).isEqualTo(CAPACITY);
+        assertThat(seatsTaken()).isEqualTo(CAPACITY);
+        assertThat(registrationCount()).isEqualTo(CAPACITY);
+    }
+
+    /**
+     * TEST 2 : même client, 20 envois simultanés (double clic, rejeu réseau)
+     * Une seule inscription, une seule place ; les doublons n'en consomment pas
+     */
+    @Test
+    void register_SameClientConcurrently_ShouldTakeOneSeat() throws InterruptedException {
+        // GIVEN
+        event = createEvent(CAPACITY);
+        Profile client = clients.get(0);
+
+        // WHEN
+        Map<String, Integer> outcomes = hammer(20, i -> registerAs(client));
+
+        // THEN
+        assertThat(outcomes).containsOnlyKeys(OK, DuplicateResourceException.class.getSimpleName());
+        assertThat(outcomes.get(OK)).isEqualTo(1);
+        assertThat(seatsTaken()).isEqualTo(1);
+        assertThat(registrationCount()).isEqualTo(1);
+    }
+
+    /**
+     * TEST 3 : événement complet, les 50 inscrits se désinscrivent pendant que 250 autres s'inscrivent
+     * Le compteur reste égal au nombre d'inscriptions et ne dépasse jamais la capacité
+     */
+    @Test
+    void registerAndUnregister_Concurrently_ShouldKeepCounterConsistent() throws InterruptedException {
+        // GIVEN : événement complet
+        event = createEvent(CAPACITY);
+        hammer(CAPACITY, i -> registerAs(clients.get(i)));
+        assertThat(seatsTaken()).isEqualTo(CAPACITY);
+
+        // WHEN : les inscrits partent, les suivants arrivent
+        Map<String, Integer> outcomes = hammer(CLIENT_COUNT, i -> {
+            if (i < CAPACITY) {
+                unregisterAs(clients.get(i));
+            } else {
+                registerAs(clients.get(i));
+            }
+        });
+
+        // THEN
+        assertThat(outcomes).containsOnlyKeys(OK, EventFullException.class.getSimpleName());
+        int registered = registrationCount();
+        assertThat(registered).isLessThanOrEqualTo(CAPACITY);
+        assertThat(seatsTaken()).isEqualTo(registered);
+        assertThat(outcomes.get(OK)).isEqualTo(CAPACITY + registered);
+    }
+
+    /**
+     * TEST 4 : l'organisateur réduit la capacité à 20 pendant que 49 clients s'inscrivent
+     * Réduction acceptée (au plus 20 inscrits) ou refusée (409, capacité inchangée) :
+     * jamais plus d'inscrits que de places
+     */
+    @Test
+    void patchNumberPlace_WhileClientsRegister_ShouldNeverGoBelowSeatsTaken() throws Exception {
+        // GIVEN
+        event = createEvent(CAPACITY);
+        Profile organizer = clients.get(CLIENT_COUNT - 1);
+        JsonNode patch = objectMapper.readTree("{\"numberPlace\": 20}");
+
+        // WHEN
+        Map<String, Integer> outcomes = hammer(CAPACITY, i -> {
+            if (i == 0) {
+                authenticate(organizer);
+                eventService.patch(event.getId(), patch, null);
+            } else {
+                registerAs(clients.get(i));
+            }
+        });
+
+        // THEN
+        assertThat(outcomes.keySet()).isSubsetOf(OK,
+                EventFullException.class.getSimpleName(), EventCapacityException.class.getSimpleName());
+        int numberPlace = jdbcTemplate.queryForObject("SELECT number_place FROM t_events WHERE event_id = ?",
+                Integer.class, event.getId());
+        assertThat(numberPlace).isEqualTo(outcomes.containsKey(EventCapacityException.class.getSimpleName()) ? CAPACITY : 20);
+        assertThat(seatsTaken()).isEqualTo(registrationCount()).isLessThanOrEqualTo(numberPlace);
+    }
+
+    // ========== MÉTHODES UTILITAIRES ==========
+
+    /**
+     * Lance count appels simultanés (un thread chacun, libérés ensemble)
+     * et compte les résultats : OK ou nom simple de l'exception
+     */
+    private Map<String, Integer> hammer(int count, IntConsumer call) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(count);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(count);
+        Map<String, Integer> outcomes = new ConcurrentHashMap<>();
+        for (int i = 0; i < count; i++) {
+            int index = i;
+            executor.execute(() -> {
+                String outcome = OK;
+                try {
+                    start.await();
+                    call.accept(index);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    outcome = e.getClass().getSimpleName();
+                } catch (RuntimeException e) {
+                    outcome = e.getClass().getSimpleName();
+                } finally {
+                    SecurityContextHolder.clearContext();
+                    outcomes.merge(outcome, 1, Integer::sum);
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        assertThat(done.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+        return outcomes;
+    }
+
+    private void registerAs(Profile client) {
+        authenticate(client);
+        registrationService.register(event.getId());
+    }
+
+    private void unregisterAs(Profile client) {
+        authenticate(client);
+        registrationService.unregister(event.getId());
+    }
+
+    private void authenticate(Profile client) {
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "HS256")
+                .subject(client.getEmail())
+                .claim(JwtProvider.PROFILE_ID_CLAIM, client.getId())
+                .build();
+        SecurityContextHolder.setContext(new SecurityContextImpl(
+                new JwtAuthenticationToken(jwt, List.of(), client.getEmail())));
+    }
+
+    private Event createEvent(int capacity) {
+        Event created = new Event();
+        created.setNameEvent("Concert complet");
+        created.setImgUrl("concert.png");
+        created.setDescription("Description");
+        created.setDateEvent(LocalDate.now().plusDays(7));
+        created.setProgram("Programme");
+        created.setContact("Contact");
+        created.setPrice(BigDecimal.TEN);
+        created.setNumberPlace(capacity);
+        created.setAddress("Lyon");
+        created.setProfile(clients.get(CLIENT_COUNT - 1));
+        created.setCategories(List.of(category));
+        return eventRepository.save(created);
+    }
+
+    private int seatsTaken() {
+        return jdbcTemplate.queryForObject("SELECT seats_taken FROM t_events WHERE event_id = ?",
+                Integer.class, event.getId());
+    }
+
+    private int registrationCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM t_register WHERE event_id = ?",
+                Integer.class, event.getId());
+    }
+}
@@ -0,0 +1,218 @@
+package co.simplon.cda.event_connect_backend.services;
+
+import co.simplon.cda.event_connect_backend.configuration.JwtProvider;
+import co.simplon.cda.event_connect_backend.exceptions.DuplicateResourceException;
+import co.simplon.cda.event_connect_backend.exceptions.EventFullException;
+import co.simplon.cda.event_connect_backend.exceptions.ResourceNotFoundException;
+import co.simplon.cda.event_connect_backend.repositories.EventRepository;
+import co.simplon.cda.event_connect_backend.repositories.ProfileRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour EventRegistrationService
+ *
+ * Structure :
+ * - Inscription : place réservée puis ligne t_register, refus (complet, inexistant, doublon)
+ * - Désinscription : ligne supprimée puis place libérée, 404 si non inscrit
+ * - Conflits passagers rejoués, puis remontés après maxAttempts
+ *
+ * La capacité sous forte concurrence est vérifiée sur une vraie base
+ * dans EventRegistrationConcurrencyTest
+ */
+@ExtendWith(MockitoExtension.class)
+class EventRegistrationServiceTest {
+    private static final Integer EVENT_ID = 10;
+    private static final Integer PROFILE_ID = 3;
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Mock
+    private EventRepository eventRepository;
+    @Mock
+    private ProfileRepository profileRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private EventRegistrationService registrationService;
+
+    @BeforeEach
+    void setUp() {
+        registrationService = new EventRegistrationService(
+                eventRepository, profileRepository, transactionManager, MAX_ATTEMPTS, Duration.ZERO);
+
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "HS256")
+                .subject("test@example.com")
+                .claim(JwtProvider.PROFILE_ID_CLAIM, PROFILE_ID)
+                .build();
+        SecurityContextHolder.setContext(new SecurityContextImpl(new JwtAuthenticationToken(jwt, List.of(), "test@example.com")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * TEST 1 : register() - place disponible → compteur incrémenté puis inscription écrite,
+     * sans lecture de l'événement
+     */
+    @Test
+    void register_WithSeatLeft_ShouldTakeSeatThenInsertRegistration() {
+        // GIVEN
+        when(eventRepository.takeSeat(EVENT_ID)).thenReturn(1);
+
+        // WHEN
+        registrationService.register(EVENT_ID);
+
+        // THEN
+        var order = inOrder(eventRepository, transactionManager);
+        order.verify(eventRepository).takeSeat(EVENT_ID);
+        order.verify(eventRepository).insertRegistration(EVENT_ID, PROFILE_ID);
+        order.verify(transactionManager).commit(any());
+        verify(eventRepository, never()).existsById(any());
+        verify(profileRepository, never()).findIdByEmail(any());
+    }
+
+    /**
+     * TEST 2 : register() - événement complet → 409, aucune inscription écrite
+     */
+    @Test
+    void register_WhenEventFull_ShouldThrowEventFullException() {
+        // GIVEN
+        when(eventRepository.takeSeat(EVENT_ID)).thenReturn(0);
+        when(eventRepository.existsById(EVENT_ID)).thenReturn(true);
+
+        // WHEN & THEN
+        assertThatThrownBy(() -> registrationService.register(EVENT_ID))
+                .isInstanceOf(EventFullException.class)
+                .hasMessageContaining("complet");
+
+        verify(eventRepository, never()).insertRegistration(anyInt(), anyInt());
+        verify(transactionManager).rollback(any());
+    }
+
+    /**
+     * TEST 3 : register() - événement inexistant → 404
+     */
+    @Test
+    void register_WhenEventDoesNotExist_ShouldThrowResourceNotFoundException() {
+        // GIVEN
+        when(eventRepository.takeSeat(EVENT_ID)).thenReturn(0);
+        when(eventRepository.existsById(EVENT_ID)).thenReturn(false);
+
+        // WHEN & THEN
+        assertThatThrownBy(() -> registrationService.register(EVENT_ID))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Event");
+
+        verify(eventRepository, never()).insertRegistration(anyInt(), anyInt());
+    }
+
+    /**
+     * TEST 4 : register() - déjà inscrit → 409, la transaction (et la place réservée) est annulée
+     */
+    @Test
+    void register_WhenAlreadyRegistered_ShouldRollbackAndThrowDuplicateResourceException() {
+        // GIVEN
+        when(eventRepository.takeSeat(EVENT_ID)).thenReturn(1);
+        when(eventRepository.insertRegistration(EVENT_ID, PROFILE_ID))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        // WHEN & THEN
+        assertThatThrownBy(() -> registrationService.register(EVENT_ID))
+                .isInstanceOf(DuplicateResourceException.class)
+                .hasMessageContaining("Registration");
+
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+    }
+
+    /**
+     * TEST 5 : register() - verrou non obtenu → transaction rejouée, puis inscription réussie
+     */
+    @Test
+    void register_WithTransientConflict_ShouldRetryInNewTransaction() {
+        // GIVEN
+        when(eventRepository.takeSeat(EVENT_ID))
+                .thenThrow(new CannotAcquireLockException("lock timeout"))
+                .thenReturn(1);
+
+        // WHEN
+        registrationService.register(EVENT_ID);
+
+        // THEN
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(transactionManager, times(1)).rollback(any());
+        verify(transactionManager, times(1)).commit(any());
+        verify(eventRepository, times(1)).insertRegistration(EVENT_ID, PROFILE_ID);
+    }
+
+    /**
+     * TEST 6 : register() - conflit persistant → remonté après maxAttempts tentatives (503)
+     */
+    @Test
+    void register_WithPersistentConflict_ShouldGiveUpAfterMaxAttempts() {
+        // GIVEN
+        when(eventRepository.takeSeat(EVENT_ID)).thenThrow(new CannotAcquireLockException("lock timeout"));
+
+        // WHEN & THEN
+        assertThatThrownBy(() -> registrationService.register(EVENT_ID))
+                .isInstanceOf(CannotAcquireLockException.class);
+
+        verify(eventRepository, times(MAX_ATTEMPTS)).takeSeat(EVENT_ID);
+        verify(transactionManager, never()).commit(any());
+    }
+
+    /**
+     * TEST 7 : unregister() - inscrit → inscription supprimée puis place libérée
+     */
+    @Test
+    void unregister_WhenRegistered_ShouldDeleteRegistrationThenReleaseSeat() {
+        // GIVEN
+        when(eventRepository.deleteRegistration(EVENT_ID, PROFILE_ID)).thenReturn(1);
+
+        // WHEN
+        registrationService.unregister(EVENT_ID);
+
+        // THEN
+        var order = inOrder(eventRepository);
+        order.verify(eventRepository).deleteRegistration(EVENT_ID, PROFILE_ID);
+        order.verify(eventRepository).releaseSeat(EVENT_ID);
+    }
+
+    /**
+     * TEST 8 : unregister() - non inscrit → 404, compteur inchangé
+     */
+    @Test
+    void unregister_WhenNotRegistered_ShouldThrowResourceNotFoundException() {
+        // GIVEN
+        when(eventRepository.deleteRegistration(EVENT_ID, PROFILE_ID)).thenReturn(0);
+
+        // WHEN & THEN
+        assertThatThrownBy(() -> registrationService.unregister(EVENT_ID))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Registration");
+
+        verify(eventRepository, never()).releaseSeat(any());
+    }
+}
@@ -0,0 +1,267 @@
+package co.simplon.cda.event_connect_backend.services;
+
+import co.simplon.cda.event_connect_backend.cache.CatalogVersion;
+import co.simplon.cda.event_connect_backend.dtos.event.EventNearbyDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventPageDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventSearchRequest;
+import co.simplon.cda.event_connect_backend.dtos.event.EventSuggestionDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventViewDTO;
+import co.simplon.cda.event_connect_backend.exceptions.InvalidRequestParameterException;
+import co.simplon.cda.event_connect_backend.index.EventGeoIndex;
+import co.simplon.cda.event_connect_backend.index.EventSuggestIndex;
+import co.simplon.cda.event_connect_backend.repositories.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour EventSearchService
+ *
+ * Les requêtes natives PostgreSQL sont simulées (H2 ne connaît pas tsvector)
+ *
+ * Structure :
+ * - Normalisation et cache des recherches
+ * - Repli par trigrammes
+ * - Pagination par curseur
+ * - Validation des paramètres
+ * - Autocomplétion (délégation à l'index mémoire)
+ * - Proximité (index spatial, puis lecture des seuls événements retenus)
+ */
+@ExtendWith(MockitoExtension.class)
+class EventSearchServiceTest {
+
+    @Mock
+    private EventRepository eventRepository;
+    @Mock
+    private EventService eventService;
+    @Mock
+    private CatalogVersion catalogVersion;
+    @Mock
+    private EventSuggestIndex eventSuggestIndex;
+    @Mock
+    private EventGeoIndex eventGeoIndex;
+
+    private EventSearchService eventSearchService;
+
+    @BeforeEach
+    void setUp() {
+        eventSearchService = new EventSearchService(eventRepository, eventService, catalogVersion, eventSuggestIndex,
+                eventGeoIndex, 100, Duration.ofSeconds(30));
+    }
+
+    /**
+     * TEST 1 : résultats dans l'ordre de pertinence renvoyé par la BDD
+     */
+    @Test
+    void search_ShouldReturnEventsInRankOrder() {
+        // GIVEN
+        when(eventRepository.searchIds("jazz", EventService.DEFAULT_PAGE_SIZE + 1, 0)).thenReturn(List.of(3, 1));
+        when(eventService.getViewsByIds(List.of(3, 1))).thenReturn(List.of(createView(3), createView(1)));
+
+        // WHEN
+        EventPageDTO result = eventSearchService.search(new EventSearchRequest("jazz", null, null));
+
+        // THEN
+        assertThat(result.items()).extracting(EventViewDTO::id).containsExactly(3, 1);
+        assertThat(result.nextCursor()).isNull();
+        verify(eventRepository, never()).searchIdsBySimilarity(anyString(), anyInt(), anyInt());
+    }
+
+    /**
+     * TEST 2 : casse, accents et espaces normalisés → une seule requête pour deux saisies
+     */
+    @Test
+    void search_EquivalentQueries_ShouldShareCachedResult() {
+        // GIVEN
+        when(eventRepository.searchIds("fete de la musique", EventService.DEFAULT_PAGE_SIZE + 1, 0)).thenReturn(List.of(1));
+        when(eventService.getViewsByIds(List.of(1))).thenReturn(List.of(createView(1)));
+
+        // WHEN
+        EventPageDTO first = eventSearchService.search(new EventSearchRequest("  Fête de la  Musique ", null, null));
+        EventPageDTO second = eventSearchService.search(new EventSearchRequest("fete DE LA musique", null, null));
+
+        // THEN
+        assertThat(second).isSameAs(first);
+        verify(eventRepository, times(1)).searchIds(anyString(), anyInt(), anyInt());
+    }
+
+    /**
+     * TEST 3 : aucun résultat plein texte → repli par similarité
+     */
+    @Test
+    void search_WithoutFullTextMatch_ShouldFallBackToSimilarity() {
+        // GIVEN
+        when(eventRepository.searchIds("festval", EventService.DEFAULT_PAGE_SIZE + 1, 0)).thenReturn(List.of());
+        when(eventRepository.searchIdsBySimilarity("festval", EventService.DEFAULT_PAGE_SIZE + 1, 0)).thenReturn(List.of(5));
+        when(eventService.getViewsByIds(List.of(5))).thenReturn(List.of(createView(5)));
+
+        // WHEN
+        EventPageDTO result = eventSearchService.search(new EventSearchRequest("festval", null, null));
+
+        // THEN
+        assertThat(result.items()).extracting(EventViewDTO::id).containsExactly(5);
+    }
+
+    /**
+     * TEST 4 : page suivante → curseur, puis reprise au bon rang
+     */
+    @Test
+    void search_WithMoreResults_ShouldReturnCursorToNextPage() {
+        // GIVEN
+        when(eventRepository.searchIds("concert", 3, 0)).thenReturn(List.of(1, 2, 3));
+        when(eventRepository.searchIds("concert", 3, 2)).thenReturn(List.of(3));
+        when(eventService.getViewsByIds(anyList())).thenReturn(List.of());
+
+        // WHEN
+        EventPageDTO first = eventSearchService.search(new EventSearchRequest("concert", null, 2));
+        EventPageDTO second = eventSearchService.search(new EventSearchRequest("concert", first.nextCursor(), 2));
+
+        // THEN
+        assertThat(first.nextCursor()).isNotNull();
+        assertThat(second.nextCursor()).isNull();
+        verify(eventService).getViewsByIds(List.of(1, 2));
+        verify(eventService).getViewsByIds(List.of(3));
+        verify(eventRepository, never()).existsSearchMatch(anyString());
+    }
+
+    /**
+     * TEST 5 : au-delà de la dernière page plein texte → pas de repli par similarité
+     */
+    @Test
+    void search_PastLastFullTextPage_ShouldNotFallBack() {
+        // GIVEN
+        when(eventRepository.searchIds("concert", 3, 2)).thenReturn(List.of());
+        when(eventRepository.existsSearchMatch("concert")).thenReturn(true);
+        when(eventService.getViewsByIds(List.of())).thenReturn(List.of());
+        String cursor = Base64.getUrlEncoder().withoutPadding().encodeToString("s1|2".getBytes());
+
+        // WHEN
+        EventPageDTO result = eventSearchService.search(new EventSearchRequest("concert", cursor, 2));
+
+        // THEN
+        assertThat(result.items()).isEmpty();
+        verify(eventRepository, never()).searchIdsBySimilarity(anyString(), anyInt(), anyInt());
+    }
+
+    /**
+     * TEST 6 : paramètres invalides → 400, sans requête
+     */
+    @ParameterizedTest(name = "cursor = {0}")
+    @ValueSource(strings = {"not-base64!", "czF8LTE", "eHh8MTA"}) // invalide, "s1|-1", "xx|10"
+    void search_WithInvalidCursor_ShouldThrowInvalidRequestParameterException(String cursor) {
+        assertThatThrownBy(() -> eventSearchService.search(new EventSearchRequest("jazz", cursor, null)))
+                .isInstanceOf(InvalidRequestParameterException.class);
+        verifyNoInteractions(eventRepository);
+    }
+
+    @ParameterizedTest(name = "q = \"{0}\"")
+    @ValueSource(strings = {"", "   "})
+    void search_WithBlankQuery_ShouldThrowInvalidRequestParameterException(String query) {
+        assertThatThrownBy(() -> eventSearchService.search(new EventSearchRequest(query, null, null)))
+                .isInstanceOf(InvalidRequestParameterException.class);
+        assertThatThrownBy(() -> eventSearchService.search(new EventSearchRequest(null, null, null)))
+                .isInstanceOf(InvalidRequestParameterException.class);
+        verifyNoInteractions(eventRepository);
+    }
+
+    /**
+     * TEST 8 : suggest() → index mémoire, limite par défaut puis bornée
+     */
+    @Test
+    void suggest_ShouldDelegateToIndexWithBoundedLimit() {
+        // GIVEN
+        List<EventSuggestionDTO> suggestions = List.of(new EventSuggestionDTO(1, "Jazz", LocalDate.now()));
+        when(eventSuggestIndex.suggest("ja", EventSearchService.DEFAULT_SUGGEST_LIMIT)).thenReturn(suggestions);
+        when(eventSuggestIndex.suggest("ja", EventSearchService.MAX_SUGGEST_LIMIT)).thenReturn(suggestions);
+
+        // WHEN & THEN
+        assertThat(eventSearchService.suggest("ja", null)).isEqualTo(suggestions);
+        assertThat(eventSearchService.suggest("ja", 500)).isEqualTo(suggestions);
+        verifyNoInteractions(eventRepository);
+    }
+
+    /**
+     * TEST 9 : préfixe vide ou limite invalide → 400
+     */
+    @Test
+    void suggest_WithInvalidParameters_ShouldThrowInvalidRequestParameterException() {
+        assertThatThrownBy(() -> eventSearchService.suggest(" ", null))
+                .isInstanceOf(InvalidRequestParameterException.class);
+        assertThatThrownBy(() -> eventSearchService.suggest("ja", 0))
+                .isInstanceOf(InvalidRequestParameterException.class);
+        verifyNoInteractions(eventSuggestIndex);
+    }
+
+    /**
+     * TEST 10 : nearby() → ordre de distance de l'index conservé, événement disparu ignoré
+     */
+    @Test
+    void nearby_ShouldKeepDistanceOrderAndSkipMissingEvents() {
+        // GIVEN
+        when(eventGeoIndex.nearby(48.85, 2.35, EventSearchService.DEFAULT_RADIUS_KM, EventSearchService.DEFAULT_NEARBY_LIMIT))
+                .thenReturn(List.of(new EventGeoIndex.Hit(4, 0.4321), new EventGeoIndex.Hit(9, 1.5), new EventGeoIndex.Hit(2, 3.25)));
+        when(eventService.getViewsByIds(List.of(4, 9, 2))).thenReturn(List.of(createView(2), createView(4)));
+
+        // WHEN
+        List<EventNearbyDTO> result = eventSearchService.nearby(48.85, 2.35, null, null);
+
+        // THEN
+        assertThat(result).extracting(nearby -> nearby.event().id()).containsExactly(4, 2);
+        assertThat(result).extracting(EventNearbyDTO::distanceKm).containsExactly(0.43, 3.25);
+    }
+
+    /**
+     * TEST 11 : aucun événement dans le rayon → aucune requête SQL
+     */
+    @Test
+    void nearby_WithoutHits_ShouldNotQueryDatabase() {
+        // GIVEN
+        when(eventGeoIndex.nearby(45.0, 5.0, 50.0, EventSearchService.MAX_NEARBY_LIMIT)).thenReturn(List.of());
+
+        // WHEN
+        List<EventNearbyDTO> result = eventSearchService.nearby(45.0, 5.0, 50.0, 1000);
+
+        // THEN
+        assertThat(result).isEmpty();
+        verifyNoInteractions(eventService);
+    }
+
+    /**
+     * TEST 12 : position absente ou hors limites, rayon invalide → 400
+     */
+    @Test
+    void nearby_WithInvalidParameters_ShouldThrowInvalidRequestParameterException() {
+        assertThatThrownBy(() -> eventSearchService.nearby(null, 2.35, null, null))
+                .isInstanceOf(InvalidRequestParameterException.class);
+        assertThatThrownBy(() -> eventSearchService.nearby(91.0, 2.35, null, null))
+                .isInstanceOf(InvalidRequestParameterException.class);
+        assertThatThrownBy(() -> eventSearchService.nearby(48.85, -181.0, null, null))
+                .isInstanceOf(InvalidRequestParameterException.class);
+        assertThatThrownBy(() -> eventSearchService.nearby(48.85, 2.35, 0.0, null))
+                .isInstanceOf(InvalidRequestParameterException.class);
+        assertThatThrownBy(() -> eventSearchService.nearby(48.85, 2.35, EventSearchService.MAX_RADIUS_KM + 1, null))
+                .isInstanceOf(InvalidRequestParameterException.class);
+        verifyNoInteractions(eventGeoIndex);
+    }
+
+    private EventViewDTO createView(Integer id) {
+        return new EventViewDTO(id, "Event " + id, "image.png", "Description", LocalDate.now().plusDays(1),
+                "Programme", "Contact", BigDecimal.TEN, 100, "Paris", null, null, 1L, null);
+    }
+}
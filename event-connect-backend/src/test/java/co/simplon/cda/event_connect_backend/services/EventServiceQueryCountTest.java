@@ -0,0 +1,666 @@
+package co.simplon.cda.event_connect_backend.services;
+
+import co.simplon.cda.event_connect_backend.cache.EventDetailCache;
+import co.simplon.cda.event_connect_backend.changes.EventChange;
+import co.simplon.cda.event_connect_backend.configuration.JwtProvider;
+import co.simplon.cda.event_connect_backend.dtos.event.EventBatchDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventBatchMutationDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventBatchOperation;
+import co.simplon.cda.event_connect_backend.dtos.event.EventBatchResultDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventChangeDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventImportReportDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventImportRowDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventPageDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventPageRequest;
+import co.simplon.cda.event_connect_backend.dtos.event.EventViewDTO;
+import co.simplon.cda.event_connect_backend.entities.Category;
+import co.simplon.cda.event_connect_backend.entities.Event;
+import co.simplon.cda.event_connect_backend.entities.Profile;
+import co.simplon.cda.event_connect_backend.entities.Role;
+import co.simplon.cda.event_connect_backend.exceptions.UnauthorizedAccessException;
+import co.simplon.cda.event_connect_backend.index.CategoryBitmapIndex;
+import co.simplon.cda.event_connect_backend.repositories.CategoryRepository;
+import co.simplon.cda.event_connect_backend.repositories.EventRepository;
+import co.simplon.cda.event_connect_backend.repositories.ProfileRepository;
+import co.simplon.cda.event_connect_backend.repositories.RoleRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Tests d'intégration du nombre de requêtes SQL sur les lectures d'événements
+ *
+ * Objectif : détecter tout retour du problème N+1
+ * (une requête par événement pour charger ses catégories ou son créateur)
+ *
+ * Utilise H2 en mémoire et les statistiques Hibernate (profil "test")
+ * Chaque lecture doit rester sous un budget fixe, indépendant du nombre d'événements
+ * et ne doit charger aucune entité (projections directes vers les DTOs)
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS) // Jeu de données inséré une seule fois
+class EventServiceQueryCountTest {
+
+    private static final int EVENT_COUNT = 500;
+    private static final int PAST_EVENT_COUNT = 200;
+
+    // Budget : 1 requête pour la page (ou le détail) + 1 requête pour les catégories
+    private static final int MAX_QUERIES_PER_PAGE = 2;
+    private static final int MAX_QUERIES_FOR_DETAIL = 2;
+    private static final int MAX_QUERIES_FOR_IMPORT = 20;
+    // Écritures : budget + entrées de l'outbox (ids lus par blocs de 50, INSERT regroupés par 50)
+    private static final int MAX_QUERIES_FOR_BATCH_DELETE = 4 + 4;
+    private static final int MAX_QUERIES_FOR_PATCH = 2 + 2;
+    private static final int MAX_QUERIES_FOR_DELETE = 1 + 2;
+
+    @Autowired
+    private EventService eventService;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private ProfileRepository profileRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EventDetailCache eventDetailCache;
+    @Autowired
+    private CategoryBitmapIndex categoryBitmapIndex;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private EventImportService eventImportService;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private EventChangeLog eventChangeLog;
+
+    private Statistics statistics;
+    private Category festival;
+    private Category gaming;
+
+    @BeforeAll
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Role role = new Role();
+        role.setName("ROLE_USER");
+        roleRepository.save(role);
+
+        // Plusieurs organisateurs : un chargement EAGER du créateur serait visible
+        List<Profile> profiles = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Profile profile = new Profile();
+            profile.setEmail("organizer" + i + "@example.com");
+            profile.setFirstName("Orga");
+            profile.setLastName("Nizer" + i);
+            profile.setPassword("password");
+            profile.setPhone("060000000" + i);
+            profile.setRole(role);
+            profiles.add(profileRepository.save(profile));
+        }
+
+        festival = new Category();
+        festival.setNameCategory("Festival");
+        categoryRepository.save(festival);
+        gaming = new Category();
+        gaming.setNameCategory("Gaming");
+        categoryRepository.save(gaming);
+
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            Event event = new Event();
+            event.setNameEvent("Event " + i);
+            event.setImgUrl("event-" + i + ".png");
+            event.setDescription("Description " + i);
+            event.setDateEvent(LocalDate.now().plusDays(i % 30));
+            event.setProgram("Programme");
+            event.setContact("Contact");
+            event.setPrice(BigDecimal.valueOf(i % 50));
+            event.setNumberPlace(100);
+            event.setAddress("Paris");
+            event.setProfile(profiles.get(i % profiles.size()));
+            event.setCategories(i % 2 == 0 ? List.of(festival, gaming) : List.of(gaming));
+            events.add(event);
+        }
+        // Historique : ne doit pas apparaître dans le listing par défaut
+        // (date passée écrite en SQL, l'entité refuse une date passée : @FutureOrPresent)
+        for (int i = 0; i < PAST_EVENT_COUNT; i++) {
+            Event event = new Event();
+            event.setNameEvent("Past event " + i);
+            event.setImgUrl("past-" + i + ".png");
+            event.setDescription("Description " + i);
+            event.setDateEvent(LocalDate.now());
+            event.setProgram("Programme");
+            event.setContact("Contact");
+            event.setPrice(BigDecimal.valueOf(i % 50));
+            event.setNumberPlace(100);
+            event.setAddress("Paris");
+            event.setProfile(profiles.get(i % profiles.size()));
+            event.setCategories(List.of(festival));
+            events.add(event);
+        }
+        eventRepository.saveAll(events);
+        jdbcTemplate.update("UPDATE t_events SET date_event = ? WHERE name_event LIKE 'Past event %'",
+                LocalDate.now().minusDays(1));
+        // Jeu de données inséré sans EventChange : index reconstruit
+        categoryBitmapIndex.build();
+    }
+
+    @AfterAll
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM t_belong");
+        eventRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+        profileRepository.deleteAllInBatch();
+        roleRepository.deleteAllInBatch();
+        categoryBitmapIndex.build();
+    }
+
+    /**
+     * TEST 1 : parcourir les 500 événements page par page
+     * Le nombre de requêtes dépend du nombre de pages, pas du nombre d'événements
+     */
+    @Test
+    void getAllEvents_ListingAllEvents_ShouldStayWithinQueryBudget() {
+        // GIVEN
+        statistics.clear();
+
+        // WHEN
+        List<EventViewDTO> listed = new ArrayList<>();
+        int pages = 0;
+        String cursor = null;
+        do {
+            EventPageDTO page = eventService.getAllEvents(new EventPageRequest(cursor, null, null, EventService.MAX_PAGE_SIZE, null, null, null, null, null, null));
+            listed.addAll(page.items());
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        // THEN
+        assertThat(listed).hasSize(EVENT_COUNT);
+        assertThat(listed).allSatisfy(event -> assertThat(event.dateEvent()).isAfterOrEqualTo(LocalDate.now()));
+        assertThat(listed).allSatisfy(event -> assertThat(event.categories()).isNotEmpty());
+        assertThat(statistics.getPrepareStatementCount())
+                .as("requêtes SQL pour lister %d événements en %d pages", EVENT_COUNT, pages)
+                .isLessThanOrEqualTo((long) pages * MAX_QUERIES_PER_PAGE);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    /**
+     * TEST 2 : une page filtrée par catégorie
+     */
+    @Test
+    void getEventsByCategory_ShouldStayWithinQueryBudget() {
+        // GIVEN
+        statistics.clear();
+
+        // WHEN
+        EventPageDTO page = eventService.getEventsByCategory(festival.getId(),
+                new EventPageRequest(null, "price", "desc", EventService.MAX_PAGE_SIZE, null, null, null, null, null, null));
+
+        // THEN
+        assertThat(page.items()).hasSize(EventService.MAX_PAGE_SIZE);
+        assertThat(page.items()).allSatisfy(event -> assertThat(event.categories()).hasSize(2));
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_QUERIES_PER_PAGE);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    /**
+     * TEST 3 : détail d'un événement (projection + catégories)
+     */
+    @Test
+    void getById_ShouldStayWithinQueryBudget() {
+        // GIVEN
+        Integer id = eventRepository.findAll().stream()
+                .filter(event -> event.getNameEvent().equals("Event 0"))
+                .findFirst()
+                .orElseThrow()
+                .getId();
+        eventDetailCache.invalidate(id); // Mesure d'un miss
+        statistics.clear();
+
+        // WHEN
+        EventViewDTO event = eventService.getById(id);
+
+        // THEN
+        assertThat(event.categories()).hasSize(2);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_QUERIES_FOR_DETAIL);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    /**
+     * TEST 4 : une seconde lecture du même détail est servie par le cache
+     * sans requête ni connexion (aucune transaction sur un hit)
+     */
+    @Test
+    void getById_WhenAlreadyCached_ShouldNotQueryDatabase() {
+        // GIVEN
+        Integer id = eventRepository.findAll().stream()
+                .filter(event -> event.getNameEvent().equals("Event 1"))
+                .findFirst()
+                .orElseThrow()
+                .getId();
+        eventService.getById(id);
+        statistics.clear();
+
+        // WHEN
+        EventViewDTO event = eventService.getById(id);
+
+        // THEN
+        assertThat(event.nameEvent()).isEqualTo("Event 1");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getConnectCount()).isZero();
+    }
+
+    /**
+     * TEST 5 : lecture en flux de tous les événements
+     * 1 requête curseur + 1 requête de catégories par paquet de STREAM_FETCH_SIZE
+     */
+    @Test
+    void streamEvents_ShouldStayWithinQueryBudget() {
+        // GIVEN
+        statistics.clear();
+        List<EventViewDTO> streamed = new ArrayList<>();
+
+        // WHEN
+        eventService.streamEvents(null, streamed::add);
+
+        // THEN : l'export comprend l'historique
+        int total = EVENT_COUNT + PAST_EVENT_COUNT;
+        int batches = (total + EventRepository.STREAM_FETCH_SIZE - 1) / EventRepository.STREAM_FETCH_SIZE;
+        assertThat(streamed).hasSize(total);
+        assertThat(streamed).allSatisfy(event -> assertThat(event.categories()).isNotEmpty());
+        assertThat(streamed).isSortedAccordingTo(Comparator.comparing(EventViewDTO::dateEvent)
+                .thenComparing(EventViewDTO::id));
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(1L + batches);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    /**
+     * TEST 6 : filtre sur plusieurs catégories (ET)
+     * Correspondances calculées en mémoire : une seule lecture de page en BDD
+     */
+    @Test
+    void getAllEvents_WithAllCategories_ShouldStayWithinQueryBudget() {
+        // GIVEN
+        statistics.clear();
+
+        // WHEN
+        EventPageDTO page = eventService.getAllEvents(new EventPageRequest(null, null, null,
+                EventService.MAX_PAGE_SIZE, null, null, null, List.of(festival.getId(), gaming.getId()), "all", null));
+
+        // THEN
+        assertThat(page.items()).hasSize(EventService.MAX_PAGE_SIZE);
+        assertThat(page.items()).allSatisfy(event -> assertThat(event.categories()).hasSize(2));
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_QUERIES_PER_PAGE);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    /**
+     * TEST 7 : lecture groupée de 50 détails
+     * À froid : une seule lecture (événements + catégories), ensuite : aucune requête
+     */
+    @Test
+    void getByIds_ShouldLoadMissingDetailsTogetherThenServeFromCache() {
+        // GIVEN
+        List<Integer> ids = eventRepository.findAll().stream()
+                .filter(event -> event.getNameEvent().startsWith("Event 1"))
+                .map(Event::getId)
+                .limit(50)
+                .toList();
+        ids.forEach(eventDetailCache::invalidate);
+        statistics.clear();
+
+        // WHEN
+        EventBatchDTO cold = eventService.getByIds(ids);
+        long coldQueries = statistics.getPrepareStatementCount();
+        statistics.clear();
+        EventBatchDTO warm = eventService.getByIds(ids);
+
+        // THEN
+        assertThat(cold.items()).extracting(EventViewDTO::id).containsExactlyElementsOf(ids);
+        assertThat(cold.missingIds()).isEmpty();
+        assertThat(coldQueries).isLessThanOrEqualTo(MAX_QUERIES_FOR_DETAIL);
+        assertThat(warm.items()).hasSize(ids.size());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getConnectCount()).isZero();
+    }
+
+    /**
+     * TEST 8 : sélection partielle, triée par prix
+     * 1 requête par page (ni colonnes TEXT ni catégories), pagination complète par curseur
+     */
+    @Test
+    void getAllEvents_WithFields_ShouldReadRequestedColumnsOnly() {
+        // GIVEN
+        statistics.clear();
+
+        // WHEN
+        List<EventViewDTO> listed = new ArrayList<>();
+        int pages = 0;
+        String cursor = null;
+        do {
+            EventPageDTO page = eventService.getAllEvents(new EventPageRequest(cursor, "price", "desc",
+                    EventService.MAX_PAGE_SIZE, null, null, null, null, null, "id,nameEvent,imgUrl,dateEvent"));
+            listed.addAll(page.items());
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        // THEN
+        assertThat(listed).hasSize(EVENT_COUNT);
+        assertThat(listed).extracting(EventViewDTO::id).doesNotHaveDuplicates();
+        assertThat(listed).allSatisfy(event -> {
+            assertThat(event.nameEvent()).isNotNull();
+            assertThat(event.price()).isNotNull(); // Colonne de tri, lue pour le curseur
+            assertThat(event.description()).isNull();
+            assertThat(event.program()).isNull();
+            assertThat(event.address()).isNull();
+            assertThat(event.categories()).isEmpty();
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(pages);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    /**
+     * TEST 9 : chargement d'une entité (vérification de propriétaire, écriture)
+     * Les colonnes TEXT ne sont lues qu'au premier accès, ensemble, en une requête
+     */
+    @Test
+    void findById_ShouldLoadTextColumnsOnlyWhenAccessed() {
+        // GIVEN
+        Integer id = jdbcTemplate.queryForObject("SELECT MIN(event_id) FROM t_events", Integer.class);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            statistics.clear();
+
+            // WHEN
+            Event event = eventRepository.findById(id).orElseThrow();
+
+            // THEN
+            assertThat(event.getNameEvent()).isNotNull();
+            assertThat(Hibernate.isPropertyInitialized(event, "description")).isFalse();
+            assertThat(Hibernate.isPropertyInitialized(event, "program")).isFalse();
+            assertThat(Hibernate.isPropertyInitialized(event, "address")).isFalse();
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+            // WHEN : premier accès à une colonne du groupe
+            assertThat(event.getDescription()).isNotBlank();
+
+            // THEN : tout le groupe est chargé par une seule requête
+            assertThat(Hibernate.isPropertyInitialized(event, "program")).isTrue();
+            assertThat(Hibernate.isPropertyInitialized(event, "address")).isTrue();
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        });
+    }
+
+    /**
+     * TEST 10 : import en lot de 200 événements (2 catégories chacun)
+     * Ids réservés par blocs et INSERT envoyés par paquets : le nombre de requêtes
+     * dépend du nombre de paquets, pas du nombre d'événements
+     */
+    @Test
+    void importEvents_ShouldInsertInBatches() {
+        // GIVEN
+        int rows = 200;
+        String date = LocalDate.now().plusDays(5).toString();
+        List<JsonNode> events = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            events.add(objectMapper.createObjectNode()
+                    .put("nameEvent", "Imported " + i)
+                    .put("description", "Description")
+                    .put("dateEvent", date)
+                    .put("program", "Programme")
+                    .put("contact", "Contact")
+                    .put("address", "Paris")
+                    .set("categoryIds", objectMapper.valueToTree(List.of(festival.getId(), gaming.getId()))));
+        }
+        authenticate("organizer0@example.com");
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                statistics.clear();
+
+                // WHEN
+                EventImportReportDTO report = eventImportService.importEvents(events);
+
+                // THEN
+                assertThat(report.imported()).isEqualTo(rows);
+                assertThat(report.rows()).extracting(EventImportRowDTO::eventId).doesNotContainNull().doesNotHaveDuplicates();
+                assertThat(statistics.getEntityInsertCount()).isEqualTo(rows);
+                // Profil + catégories + 4 blocs d'ids + 4 paquets d'événements + 8 paquets t_belong
+                assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_QUERIES_FOR_IMPORT);
+                assertThat(jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM t_belong b JOIN t_events e ON e.event_id = b.event_id WHERE e.name_event LIKE 'Imported %'",
+                        Integer.class)).isEqualTo(rows * 2);
+
+                // Jeu de données partagé par les autres tests : rien n'est conservé
+                status.setRollbackOnly();
+            });
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    /**
+     * TEST 11 : suppression groupée de 100 événements, dont un avec inscription
+     * Une requête de vérification des propriétaires + 3 suppressions ensemblistes
+     * + 100 entrées d'outbox en 2 INSERT regroupés
+     */
+    @Test
+    void applyBatch_Delete_ShouldUseSetBasedStatements() {
+        // GIVEN : 100 événements de organizer0, dont le premier a un inscrit
+        List<Integer> ids = jdbcTemplate.queryForList("""
+                SELECT e.event_id FROM t_events e JOIN t_profiles p ON p.profile_id = e.profile_id
+                WHERE p.email = 'organizer0@example.com' ORDER BY e.event_id LIMIT 100""", Integer.class);
+        authenticate("organizer0@example.com");
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update("""
+                        INSERT INTO t_register (profile_id, event_id)
+                        SELECT profile_id, ? FROM t_profiles WHERE email = 'organizer1@example.com'""", ids.get(0));
+                statistics.clear();
+
+                // WHEN
+                EventBatchResultDTO result = eventService.applyBatch(
+                        new EventBatchMutationDTO(EventBatchOperation.DELETE, ids, null, null));
+                // Entrées de l'outbox écrites au commit : comptées aussi
+                eventRepository.flush();
+
+                // THEN
+                assertThat(result.applied()).isEqualTo(ids.size());
+                assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_QUERIES_FOR_BATCH_DELETE);
+                assertThat(statistics.getEntityLoadCount()).isZero();
+                assertThat(eventRepository.findOwnersByIds(ids)).isEmpty();
+
+                // Jeu de données partagé par les autres tests : rien n'est conservé
+                status.setRollbackOnly();
+            });
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    /**
+     * TEST 12 : PATCH d'un seul attribut → lecture de l'événement seul (créateur comparé
+     * par l'id du jeton), un UPDATE ;
+     * ni catégories, ni colonnes TEXT chargées
+     */
+    @Test
+    void patch_SingleAttribute_ShouldNotLoadOtherColumns() throws Exception {
+        // GIVEN
+        Integer id = jdbcTemplate.queryForObject("""
+                SELECT MIN(e.event_id) FROM t_events e JOIN t_profiles p ON p.profile_id = e.profile_id
+                WHERE p.email = 'organizer0@example.com'""", Integer.class);
+        JsonNode patch = objectMapper.readTree("{\"numberPlace\": 42}");
+        authenticate("organizer0@example.com");
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                statistics.clear();
+
+                // WHEN
+                eventService.patch(id, patch, null);
+                eventRepository.flush();
+
+                // THEN
+                assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_QUERIES_FOR_PATCH);
+                assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+                assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+                assertThat(statistics.getCollectionLoadCount()).isZero();
+                Event event = eventRepository.findById(id).orElseThrow();
+                assertThat(event.getNumberPlace()).isEqualTo(42);
+                assertThat(Hibernate.isPropertyInitialized(event, "description")).isFalse();
+
+                // Jeu de données partagé par les autres tests : rien n'est conservé
+                status.setRollbackOnly();
+            });
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    /**
+     * TEST 13 : suppression d'un événement inscrit → une seule instruction DELETE conditionnée
+     * au créateur (inscriptions et catégories par cascade), aucune entité chargée ;
+     * 403 après la suppression sans effet et la vérification d'existence
+     */
+    @Test
+    void delete_ShouldUseOwnerCheckedSetBasedStatements() {
+        // GIVEN : un événement de organizer0 avec un inscrit
+        Integer id = jdbcTemplate.queryForObject("""
+                SELECT MIN(e.event_id) FROM t_events e JOIN t_profiles p ON p.profile_id = e.profile_id
+                WHERE p.email = 'organizer0@example.com'""", Integer.class);
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update("""
+                        INSERT INTO t_register (profile_id, event_id)
+                        SELECT profile_id, ? FROM t_profiles WHERE email = 'organizer1@example.com'""", id);
+
+                // WHEN : un autre organisateur
+                authenticate("organizer1@example.com");
+                statistics.clear();
+
+                // THEN : refus après la suppression sans effet et la vérification d'existence
+                assertThatThrownBy(() -> eventService.delete(id))
+                        .isInstanceOf(UnauthorizedAccessException.class);
+                assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+                assertThat(eventRepository.existsById(id)).isTrue();
+
+                // WHEN : le créateur
+                authenticate("organizer0@example.com");
+                statistics.clear();
+                eventService.delete(id);
+                eventRepository.flush();
+
+                // THEN
+                assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_QUERIES_FOR_DELETE);
+                assertThat(statistics.getEntityLoadCount()).isZero();
+                assertThat(jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM t_register WHERE event_id = ?", Integer.class, id)).isZero();
+                assertThat(eventRepository.existsById(id)).isFalse();
+                assertThat(jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM t_belong WHERE event_id = ?", Integer.class, id)).isZero();
+
+                // Jeu de données partagé par les autres tests : rien n'est conservé
+                status.setRollbackOnly();
+            });
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    /**
+     * TEST 14 : écriture → entrée d'outbox dans la même transaction, sans position ;
+     * positionnée par le relais puis lisible après l'offset courant
+     */
+    @Test
+    void patch_ShouldAppendOutboxEntryInSameTransaction() throws Exception {
+        // GIVEN
+        Integer id = jdbcTemplate.queryForObject("""
+                SELECT MIN(e.event_id) FROM t_events e JOIN t_profiles p ON p.profile_id = e.profile_id
+                WHERE p.email = 'organizer0@example.com'""", Integer.class);
+        JsonNode patch = objectMapper.readTree("{\"numberPlace\": 7}");
+        authenticate("organizer0@example.com");
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // Ligne du séquenceur créée au démarrage (EventChangeLog.init), schéma H2 généré compris
+                long offset = eventChangeLog.getOffset(EventChangeLog.SEQUENCER);
+
+                // WHEN
+                eventService.patch(id, patch, null);
+                eventRepository.flush();
+
+                // THEN : inscrite, pas encore positionnée
+                assertThat(jdbcTemplate.queryForObject("""
+                        SELECT COUNT(*) FROM t_event_changes
+                        WHERE event_id = ? AND change_type = 'UPDATED' AND log_position IS NULL""", Integer.class, id))
+                        .isEqualTo(1);
+
+                // WHEN : passage du relais
+                eventChangeLog.sequence(100);
+
+                // THEN
+                assertThat(eventChangeLog.findAfter(offset, 100))
+                        .extracting(EventChangeDTO::eventId, EventChangeDTO::type)
+                        .containsExactly(tuple(id, EventChange.Type.UPDATED));
+
+                // Annulation : l'entrée disparaît avec la modification
+                status.setRollbackOnly();
+            });
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM t_event_changes WHERE event_id = ?", Integer.class, id)).isZero();
+    }
+
+    /**
+     * Authentification par un jeton portant l'id du profil (claim profile_id)
+     */
+    private void authenticate(String email) {
+        Integer profileId = jdbcTemplate.queryForObject(
+                "SELECT profile_id FROM t_profiles WHERE email = ?", Integer.class, email);
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "HS256")
+                .subject(email)
+                .claim(JwtProvider.PROFILE_ID_CLAIM, profileId)
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt, List.of(), email));
+    }
+}
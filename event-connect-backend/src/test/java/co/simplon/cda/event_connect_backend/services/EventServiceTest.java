@@ -1,32 +1,74 @@
 package co.simplon.cda.event_connect_backend.services;
 
+import co.simplon.cda.event_connect_backend.cache.EventDetailCache;
+import co.simplon.cda.event_connect_backend.changes.EventChange;
+import co.simplon.cda.event_connect_backend.configuration.JwtProvider;
+import co.simplon.cda.event_connect_backend.changes.EventsChanged;
+import co.simplon.cda.event_connect_backend.changes.ImageStaged;
+import co.simplon.cda.event_connect_backend.changes.ImagesReleased;
+import co.simplon.cda.event_connect_backend.dtos.category.CategoryDTO;
+import co.simplon.cda.event_connect_backend.dtos.category.EventCategoryDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventBatchDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventBatchMutationDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventBatchOperation;
+import co.simplon.cda.event_connect_backend.dtos.event.EventBatchResultDTO;
 import co.simplon.cda.event_connect_backend.dtos.event.EventCreateDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventCursor;
+import co.simplon.cda.event_connect_backend.dtos.event.EventOwnerDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventPageDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventPageRequest;
+import co.simplon.cda.event_connect_backend.dtos.event.EventSort;
 import co.simplon.cda.event_connect_backend.dtos.event.EventUpdateDTO;
+import co.simplon.cda.event_connect_backend.dtos.event.EventVersionDTO;
 import co.simplon.cda.event_connect_backend.dtos.event.EventViewDTO;
 import co.simplon.cda.event_connect_backend.entities.Category;
 import co.simplon.cda.event_connect_backend.entities.Event;
+import co.simplon.cda.event_connect_backend.entities.ImageStatus;
 import co.simplon.cda.event_connect_backend.entities.Profile;
 import co.simplon.cda.event_connect_backend.entities.Role;
+import co.simplon.cda.event_connect_backend.exceptions.EventCapacityException;
+import co.simplon.cda.event_connect_backend.exceptions.InvalidRequestParameterException;
+import co.simplon.cda.event_connect_backend.exceptions.PreconditionFailedException;
 import co.simplon.cda.event_connect_backend.exceptions.ResourceNotFoundException;
 import co.simplon.cda.event_connect_backend.exceptions.UnauthorizedAccessException;
+import co.simplon.cda.event_connect_backend.index.CategoryBitmapIndex;
 import co.simplon.cda.event_connect_backend.repositories.CategoryRepository;
+import co.simplon.cda.event_connect_backend.repositories.EventPageCriteria;
 import co.simplon.cda.event_connect_backend.repositories.EventRepository;
 import co.simplon.cda.event_connect_backend.repositories.ProfileRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -41,15 +83,21 @@ import static org.mockito.Mockito.*;
  *
  * Structure :
  * - Tests de consultation (getAllEvents, getById, getEventsByCategory)
+ * - Tests de pagination par curseur
+ * - Tests des filtres de date (from, to, upcoming)
+ * - Tests de lecture en flux (streamEvents)
  * - Tests de création (create)
  * - Tests de modification (update)
  * - Tests de suppression (delete)
+ * - Tests des opérations groupées (applyBatch)
  * - Tests d'autorisation
  * - Tests de validation
  * - Tests edge cases et couverture complète
  */
 @ExtendWith(MockitoExtension.class)
 class EventServiceTest {
+    private static final Integer TEST_PROFILE_ID = 1;
+    private static final Integer OTHER_PROFILE_ID = 2;
 
     @Mock
     private EventRepository eventRepository;
@@ -58,9 +106,21 @@ class EventServiceTest {
     @Mock
     private ProfileRepository profileRepository;
     @Mock
+    private EventDetailCache eventDetailCache;
+    @Mock
+    private CategoryBitmapIndex categoryBitmapIndex;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
     private SecurityContext securityContext;
     @Mock
     private Authentication authentication;
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
 
     @InjectMocks
     private EventService eventService;
@@ -85,6 +145,7 @@ class EventServiceTest {
         testProfile.setPhone("0123456789");
         testProfile.setOrganization("Test Org");
         testProfile.setRole(testRole);
+        ReflectionTestUtils.setField(testProfile, "id", TEST_PROFILE_ID);
 
         // Catégorie
         testCategory = new Category();
@@ -113,18 +174,26 @@ class EventServiceTest {
     @Test
     void getAllEvents_ShouldReturnListOfEvents() {
         // GIVEN
-        Event event1 = createMockEvent(1, "Event 1");
-        Event event2 = createMockEvent(2, "Event 2");
-        when(eventRepository.findAll()).thenReturn(Arrays.asList(event1, event2));
+        EventViewDTO event1 = createMockView(1, "Event 1");
+        EventViewDTO event2 = createMockView(2, "Event 2");
+        when(eventRepository.findPage(any(EventPageCriteria.class))).thenReturn(Arrays.asList(event1, event2));
+        when(eventRepository.findCategoriesByEventIds(List.of(1, 2))).thenReturn(List.of(
+                new EventCategoryDTO(1, 1, "Festival"),
+                new EventCategoryDTO(2, 1, "Festival"),
+                new EventCategoryDTO(2, 3, "Gaming")));
 
         // WHEN
-        List<EventViewDTO> result = eventService.getAllEvents();
+        EventPageDTO result = eventService.getAllEvents(EventPageRequest.firstPage());
 
         // THEN
-        assertThat(result).hasSize(2);
-        assertThat(result.get(0).nameEvent()).isEqualTo("Event 1");
-        assertThat(result.get(1).nameEvent()).isEqualTo("Event 2");
-        verify(eventRepository, times(1)).findAll();
+        assertThat(result.items()).hasSize(2);
+        assertThat(result.items().get(0).nameEvent()).isEqualTo("Event 1");
+        assertThat(result.items().get(1).nameEvent()).isEqualTo("Event 2");
+        assertThat(result.items().get(0).categories()).extracting(CategoryDTO::nameCategory).containsExactly("Festival");
+        assertThat(result.items().get(1).categories()).extracting(CategoryDTO::id).containsExactly(1, 3);
+        assertThat(result.nextCursor()).isNull();
+        verify(eventRepository, times(1)).findPage(any(EventPageCriteria.class));
+        verify(eventRepository, times(1)).findCategoriesByEventIds(List.of(1, 2));
     }
 
     /**
@@ -133,14 +202,16 @@ class EventServiceTest {
     @Test
     void getAllEvents_WhenNoEvents_ShouldReturnEmptyList() {
         // GIVEN
-        when(eventRepository.findAll()).thenReturn(List.of());
+        when(eventRepository.findPage(any(EventPageCriteria.class))).thenReturn(List.of());
 
         // WHEN
-        List<EventViewDTO> result = eventService.getAllEvents();
+        EventPageDTO result = eventService.getAllEvents(EventPageRequest.firstPage());
 
         // THEN
-        assertThat(result).isEmpty();
-        verify(eventRepository, times(1)).findAll();
+        assertThat(result.items()).isEmpty();
+        assertThat(result.nextCursor()).isNull();
+        verify(eventRepository, times(1)).findPage(any(EventPageCriteria.class));
+        verify(eventRepository, never()).findCategoriesByEventIds(any());
     }
 
     /**
@@ -149,7 +220,9 @@ class EventServiceTest {
     @Test
     void getById_WhenEventExists_ShouldReturnEvent() {
         // GIVEN
-        when(eventRepository.findById(1)).thenReturn(Optional.of(testEvent));
+        mockCacheMiss();
+        when(eventRepository.findViewById(1)).thenReturn(Optional.of(createMockView(1, "Test Event")));
+        when(eventRepository.findCategoriesByEventIds(List.of(1))).thenReturn(List.of(new EventCategoryDTO(1, 1, "Festival")));
 
         // WHEN
         EventViewDTO result = eventService.getById(1);
@@ -158,7 +231,7 @@ class EventServiceTest {
         assertThat(result.id()).isEqualTo(1);
         assertThat(result.nameEvent()).isEqualTo("Test Event");
         assertThat(result.categories()).hasSize(1);
-        verify(eventRepository, times(1)).findById(1);
+        verify(eventRepository, times(1)).findViewById(1);
     }
 
     /**
@@ -167,7 +240,8 @@ class EventServiceTest {
     @Test
     void getById_WhenEventDoesNotExist_ShouldThrowException() {
         // GIVEN
-        when(eventRepository.findById(999)).thenReturn(Optional.empty());
+        mockCacheMiss();
+        when(eventRepository.findViewById(999)).thenReturn(Optional.empty());
 
         // WHEN & THEN
         assertThatThrownBy(() -> eventService.getById(999))
@@ -180,15 +254,19 @@ class EventServiceTest {
     @Test
     void getEventsByCategory_ShouldReturnFilteredEvents() {
         // GIVEN
-        when(eventRepository.findByCategoriesId(1)).thenReturn(List.of(testEvent));
+        when(categoryBitmapIndex.match(List.of(1), false)).thenReturn(RoaringBitmap.bitmapOf(1, 4));
+        when(eventRepository.findPage(any(EventPageCriteria.class))).thenReturn(List.of(createMockView(1, "Test Event")));
+        ArgumentCaptor<EventPageCriteria> criteria = ArgumentCaptor.forClass(EventPageCriteria.class);
 
         // WHEN
-        List<EventViewDTO> result = eventService.getEventsByCategory(1);
+        EventPageDTO result = eventService.getEventsByCategory(1, EventPageRequest.firstPage());
 
         // THEN
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).nameEvent()).isEqualTo("Test Event");
-        verify(eventRepository, times(1)).findByCategoriesId(1);
+        assertThat(result.items()).hasSize(1);
+        assertThat(result.items().get(0).nameEvent()).isEqualTo("Test Event");
+        verify(eventRepository, times(1)).findPage(criteria.capture());
+        assertThat(criteria.getValue().eventIds()).containsExactly(1, 4);
+        assertThat(criteria.getValue().categoryIds()).isNull();
     }
 
     /**
@@ -198,16 +276,21 @@ class EventServiceTest {
     void create_WithValidData_ShouldCreateEvent() {
         // GIVEN
         EventCreateDTO dto = createValidEventDTO();
-        mockAuthentication("test@example.com");
-        when(profileRepository.findByEmail("test@example.com")).thenReturn(testProfile);
+        mockAuthentication("test@example.com", TEST_PROFILE_ID);
         when(categoryRepository.findAllById(List.of(1))).thenReturn(List.of(testCategory));
         when(eventRepository.save(any(Event.class))).thenReturn(testEvent);
 
         // WHEN
         eventService.create(dto, "image.png");
 
-        // THEN
-        verify(eventRepository, times(1)).save(any(Event.class));
+        // THEN : profil référencé par l'id du jeton, sans lecture de t_profiles
+        ArgumentCaptor<Event> saved = ArgumentCaptor.forClass(Event.class);
+        verify(eventRepository, times(1)).save(saved.capture());
+        assertThat(saved.getValue().getImageStatus()).isEqualTo(ImageStatus.PENDING);
+        verify(profileRepository).getReferenceById(TEST_PROFILE_ID);
+        verify(profileRepository, never()).findIdByEmail(any());
+        verify(eventPublisher, times(1)).publishEvent(EventChange.created(testEvent.getId()));
+        verify(eventPublisher, times(1)).publishEvent(new ImageStaged(testEvent.getId(), "image.png"));
     }
 
     /**
@@ -217,8 +300,7 @@ class EventServiceTest {
     void create_WithoutImage_ShouldThrowException() {
         // GIVEN
         EventCreateDTO dto = createValidEventDTO();
-        mockAuthentication("test@example.com");
-        when(profileRepository.findByEmail("test@example.com")).thenReturn(testProfile);
+        mockAuthentication("test@example.com", TEST_PROFILE_ID);
 
         // WHEN & THEN
         assertThatThrownBy(() -> eventService.create(dto, null))
@@ -233,8 +315,7 @@ class EventServiceTest {
     void create_WithBlankImage_ShouldThrowIllegalArgumentException() {
         // GIVEN
         EventCreateDTO dto = createValidEventDTO();
-        mockAuthentication("test@example.com");
-        when(profileRepository.findByEmail("test@example.com")).thenReturn(testProfile);
+        mockAuthentication("test@example.com", TEST_PROFILE_ID);
 
         // WHEN & THEN - Avec chaîne vide
         assertThatThrownBy(() -> eventService.create(dto, ""))
@@ -246,7 +327,7 @@ class EventServiceTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("image");
 
-        verify(profileRepository, times(2)).findByEmail("test@example.com");
+        verify(profileRepository, never()).findIdByEmail(any());
         verify(eventRepository, never()).save(any(Event.class));
     }
 
@@ -257,8 +338,8 @@ class EventServiceTest {
     void create_WithNonExistentProfile_ShouldThrowException() {
         // GIVEN
         EventCreateDTO dto = createValidEventDTO();
-        mockAuthentication("unknown@example.com");
-        when(profileRepository.findByEmail("unknown@example.com")).thenReturn(null);
+        mockLegacyAuthentication("unknown@example.com");
+        when(profileRepository.findIdByEmail("unknown@example.com")).thenReturn(Optional.empty());
 
         // WHEN & THEN
         assertThatThrownBy(() -> eventService.create(dto, "image.png"))
@@ -282,12 +363,13 @@ class EventServiceTest {
                 BigDecimal.TEN,
                 50,
                 "Address",
+                null,
+                null,
                 List.of(999, 888), // IDs de catégories qui n'existent pas
                 null
         );
 
-        mockAuthentication("test@example.com");
-        when(profileRepository.findByEmail("test@example.com")).thenReturn(testProfile);
+        mockAuthentication("test@example.com", TEST_PROFILE_ID);
 
         // categoryRepository retourne une liste VIDE car les IDs n'existent pas
         when(categoryRepository.findAllById(List.of(999, 888))).thenReturn(List.of());
@@ -298,7 +380,6 @@ class EventServiceTest {
                 .hasMessageContaining("Aucune catégorie trouvée avec les IDs fournis");
 
         // Vérifications
-        verify(profileRepository, times(1)).findByEmail("test@example.com");
         verify(categoryRepository, times(1)).findAllById(List.of(999, 888));
         verify(eventRepository, never()).save(any(Event.class));
     }
@@ -320,12 +401,13 @@ class EventServiceTest {
                 BigDecimal.TEN,
                 50,
                 "Address",
+                null,
+                null,
                 null, // Pas de catégories
                 null
         );
 
-        mockAuthentication("test@example.com");
-        when(profileRepository.findByEmail("test@example.com")).thenReturn(testProfile);
+        mockAuthentication("test@example.com", TEST_PROFILE_ID);
         when(eventRepository.save(any(Event.class))).thenReturn(testEvent);
 
         // WHEN
@@ -343,16 +425,18 @@ class EventServiceTest {
     void update_AsOwner_ShouldUpdateEvent() {
         // GIVEN
         EventUpdateDTO dto = createValidUpdateDTO();
-        mockAuthentication("test@example.com");
+        mockAuthentication("test@example.com", TEST_PROFILE_ID);
         when(eventRepository.findById(1)).thenReturn(Optional.of(testEvent));
         when(categoryRepository.findAllById(List.of(1))).thenReturn(List.of(testCategory));
         when(eventRepository.save(any(Event.class))).thenReturn(testEvent);
 
         // WHEN
-        eventService.update(dto, 1, null);
+        eventService.update(dto, 1, null, null);
 
         // THEN
         verify(eventRepository, times(1)).save(any(Event.class));
+        verify(eventPublisher, times(1)).publishEvent(EventChange.updated(1));
+        assertThat(testEvent.getUpdatedAt()).isNotNull(); // Nouvelle révision (Last-Modified)
     }
 
     /**
@@ -362,11 +446,11 @@ class EventServiceTest {
     void update_AsNonOwner_ShouldThrowException() {
         // GIVEN
         EventUpdateDTO dto = createValidUpdateDTO();
-        mockAuthentication("other@example.com");
+        mockAuthentication("other@example.com", OTHER_PROFILE_ID);
         when(eventRepository.findById(1)).thenReturn(Optional.of(testEvent));
 
         // WHEN & THEN
-        assertThatThrownBy(() -> eventService.update(dto, 1, null))
+        assertThatThrownBy(() -> eventService.update(dto, 1, null, null))
                 .isInstanceOf(UnauthorizedAccessException.class);
     }
 
@@ -388,18 +472,20 @@ class EventServiceTest {
                 BigDecimal.valueOf(20),
                 200,
                 "Updated Address",
+                null,
+                null,
                 List.of(777, 666), // IDs de catégories qui n'existent pas
                 null
         );
 
-        mockAuthentication("test@example.com");
+        mockAuthentication("test@example.com", TEST_PROFILE_ID);
         when(eventRepository.findById(1)).thenReturn(Optional.of(testEvent));
 
         // categoryRepository retourne une liste VIDE car les IDs n'existent pas
         when(categoryRepository.findAllById(List.of(777, 666))).thenReturn(List.of());
 
         // WHEN & THEN
-        assertThatThrownBy(() -> eventService.update(dto, 1, null))
+        assertThatThrownBy(() -> eventService.update(dto, 1, null, null))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("Aucune catégorie trouvée avec les IDs fournis");
 
@@ -417,14 +503,14 @@ class EventServiceTest {
     void update_WithNewImage_ShouldUpdateImageUrl() {
         // GIVEN
         EventUpdateDTO dto = createValidUpdateDTO();
-        mockAuthentication("test@example.com");
+        mockAuthentication("test@example.com", TEST_PROFILE_ID);
         when(eventRepository.findById(1)).thenReturn(Optional.of(testEvent));
         when(categoryRepository.findAllById(List.of(1))).thenReturn(List.of(testCategory));
 
         String newImageUrl = "new-image.jpg";
 
         // WHEN
-        eventService.update(dto, 1, newImageUrl);
+        eventService.update(dto, 1, newImageUrl, null);
 
         // THEN
         verify(eventRepository, times(1)).save(argThat(event ->
@@ -450,11 +536,13 @@ class EventServiceTest {
                 BigDecimal.valueOf(20),
                 200,
                 "Updated Address",
+                null,
+                null,
                 null, // Pas de mise à jour des catégories
                 null
         );
 
-        mockAuthentication("test@example.com");
+        mockAuthentication("test@example.com", TEST_PROFILE_ID);
 
         // L'événement a déjà une catégorie
         Category existingCategory = new Category();
@@ -465,7 +553,7 @@ class EventServiceTest {
         when(eventRepository.findById(1)).thenReturn(Optional.of(testEvent));
 
         // WHEN
-        eventService.update(dto, 1, null);
+        eventService.update(dto, 1, null, null);
 
         // THEN
         verify(eventRepository, times(1)).save(any(Event.class));
@@ -490,15 +578,17 @@ class EventServiceTest {
                 BigDecimal.valueOf(20),
                 200,
                 "Updated Address",
+                null,
+                null,
                 List.of(), // Liste vide (≠ null)
                 null
         );
 
-        mockAuthentication("test@example.com");
+        mockAuthentication("test@example.com", TEST_PROFILE_ID);
         when(eventRepository.findById(1)).thenReturn(Optional.of(testEvent));
 
         // WHEN
-        eventService.update(dto, 1, null);
+        eventService.update(dto, 1, null, null);
 
         // THEN
         verify(eventRepository, times(1)).save(any(Event.class));
@@ -508,66 +598,734 @@ class EventServiceTest {
 
     /**
      * TEST 18 : delete() en tant que propriétaire
+     * Une seule suppression conditionnée, qui renvoie l'image, sans lecture préalable
      */
     @Test
     void delete_AsOwner_ShouldDeleteEvent() {
         // GIVEN
-        mockAuthentication("test@example.com");
-        when(eventRepository.findById(1)).thenReturn(Optional.of(testEvent));
+        mockAuthentication("test@example.com", TEST_PROFILE_ID);
+        when(eventRepository.deleteOwned(1, TEST_PROFILE_ID))
+                .thenReturn(Optional.of(new EventOwnerDTO(1, TEST_PROFILE_ID, "abc.png")));
 
         // WHEN
         eventService.delete(1);
 
         // THEN
-        verify(eventRepository, times(1)).deleteById(1);
+        verify(eventRepository, never()).findById(any());
+        verify(eventRepository, never()).existsById(any());
+        verify(eventRepository, never()).deleteById(any());
+        verify(eventPublisher, times(1)).publishEvent(EventChange.deleted(1));
+        verify(eventPublisher, times(1)).publishEvent(new ImagesReleased(List.of("abc.png")));
     }
 
     /**
      * TEST 19 : delete() en tant que non-propriétaire
+     * Rien supprimé, l'événement existe → 403
      */
     @Test
     void delete_AsNonOwner_ShouldThrowException() {
         // GIVEN
-        mockAuthentication("other@example.com");
-        when(eventRepository.findById(1)).thenReturn(Optional.of(testEvent));
+        mockAuthentication("other@example.com", OTHER_PROFILE_ID);
+        when(eventRepository.deleteOwned(1, OTHER_PROFILE_ID)).thenReturn(Optional.empty());
+        when(eventRepository.existsById(1)).thenReturn(true);
 
         // WHEN & THEN
         assertThatThrownBy(() -> eventService.delete(1))
                 .isInstanceOf(UnauthorizedAccessException.class);
-        verify(eventRepository, never()).deleteById(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    /**
+     * TEST 20 : getAllEvents() avec une ligne de plus que la taille demandée
+     * Vérifie que la page est tronquée et qu'un curseur suivant est fourni
+     */
+    @Test
+    void getAllEvents_WhenMoreRowsThanPageSize_ShouldReturnNextCursor() {
+        // GIVEN - size=2 → le repository est interrogé avec limit=3
+        List<EventViewDTO> rows = List.of(createMockView(1, "Event 1"), createMockView(2, "Event 2"), createMockView(3, "Event 3"));
+        when(eventRepository.findPage(argThat(c -> c.limit() == 3))).thenReturn(rows);
+
+        // WHEN
+        EventPageDTO result = eventService.getAllEvents(new EventPageRequest(null, "id", "asc", 2, null, null, null, null, null, null));
+
+        // THEN
+        assertThat(result.items()).extracting(EventViewDTO::id).containsExactly(1, 2);
+        EventCursor next = EventCursor.decode(result.nextCursor());
+        assertThat(next.sort()).isEqualTo(EventSort.ID);
+        assertThat(next.lastId()).isEqualTo(2);
+    }
+
+    /**
+     * TEST 21 : getAllEvents() avec un curseur
+     * Le tri et la position sont repris du curseur, pas des paramètres
+     */
+    @Test
+    void getAllEvents_WithCursor_ShouldResumeAfterCursorPosition() {
+        // GIVEN
+        EventViewDTO last = new EventViewDTO(7, "Event 7", null, null, null, null, null,
+                new BigDecimal("15.50"), null, null, null, null, null, null, List.of());
+        String cursor = EventCursor.after(EventSort.PRICE, true, last).encode();
+        when(eventRepository.findPage(any(EventPageCriteria.class))).thenReturn(List.of());
+        ArgumentCaptor<EventPageCriteria> criteria = ArgumentCaptor.forClass(EventPageCriteria.class);
+
+        // WHEN
+        eventService.getAllEvents(new EventPageRequest(cursor, "dateEvent", "asc", null, null, null, null, null, null, null));
+
+        // THEN
+        verify(eventRepository).findPage(criteria.capture());
+        assertThat(criteria.getValue().sort()).isEqualTo(EventSort.PRICE);
+        assertThat(criteria.getValue().descending()).isTrue();
+        assertThat(criteria.getValue().after().key()).isEqualTo(new BigDecimal("15.50"));
+        assertThat(criteria.getValue().after().lastId()).isEqualTo(7);
+    }
+
+    /**
+     * TEST 22 : getAllEvents() avec une taille supérieure au maximum
+     */
+    @Test
+    void getAllEvents_WithOversizedPage_ShouldCapPageSize() {
+        // GIVEN
+        when(eventRepository.findPage(any(EventPageCriteria.class))).thenReturn(new ArrayList<>());
+        ArgumentCaptor<EventPageCriteria> criteria = ArgumentCaptor.forClass(EventPageCriteria.class);
+
+        // WHEN
+        eventService.getAllEvents(new EventPageRequest(null, null, null, 10_000, null, null, null, null, null, null));
+
+        // THEN
+        verify(eventRepository).findPage(criteria.capture());
+        assertThat(criteria.getValue().limit()).isEqualTo(EventService.MAX_PAGE_SIZE + 1);
+    }
+
+    /**
+     * TEST 23 : paramètres de pagination invalides → 400
+     */
+    @Test
+    void getAllEvents_WithInvalidParameters_ShouldThrowInvalidRequestParameterException() {
+        assertThatThrownBy(() -> eventService.getAllEvents(new EventPageRequest("not-a-cursor", null, null, null, null, null, null, null, null, null)))
+                .isInstanceOf(InvalidRequestParameterException.class);
+        assertThatThrownBy(() -> eventService.getAllEvents(new EventPageRequest(null, "nameEvent", null, null, null, null, null, null, null, null)))
+                .isInstanceOf(InvalidRequestParameterException.class);
+        assertThatThrownBy(() -> eventService.getAllEvents(new EventPageRequest(null, null, "sideways", null, null, null, null, null, null, null)))
+                .isInstanceOf(InvalidRequestParameterException.class);
+        assertThatThrownBy(() -> eventService.getAllEvents(new EventPageRequest(null, null, null, 0, null, null, null, null, null, null)))
+                .isInstanceOf(InvalidRequestParameterException.class);
+
+        verify(eventRepository, never()).findPage(any());
+    }
+
+    /**
+     * TEST 24 : getAllEvents() sans filtre → événements à venir uniquement
+     */
+    @Test
+    void getAllEvents_ByDefault_ShouldStartFromToday() {
+        // GIVEN
+        when(eventRepository.findPage(any(EventPageCriteria.class))).thenReturn(new ArrayList<>());
+        ArgumentCaptor<EventPageCriteria> criteria = ArgumentCaptor.forClass(EventPageCriteria.class);
+
+        // WHEN
+        eventService.getAllEvents(EventPageRequest.firstPage());
+
+        // THEN
+        verify(eventRepository).findPage(criteria.capture());
+        assertThat(criteria.getValue().from()).isEqualTo(LocalDate.now());
+        assertThat(criteria.getValue().to()).isNull();
     }
 
-    private Event createMockEvent(Integer id, String name) {
-        Event event = new Event();
-        event.setId(id);
-        event.setNameEvent(name);
-        event.setDescription("Description");
-        event.setDateEvent(LocalDate.now().plusDays(1));
-        event.setProgram("Program");
-        event.setContact("Contact");
-        event.setPrice(BigDecimal.TEN);
-        event.setNumberPlace(50);
-        event.setAddress("Address");
-        event.setProfile(testProfile);
-        event.setCategories(List.of(testCategory));
-        return event;
+    /**
+     * TEST 25 : from / to explicites, upcoming absent → plage demandée, passé compris
+     */
+    @Test
+    void getEventsByCategory_WithDateRange_ShouldUseRequestedBounds() {
+        // GIVEN
+        LocalDate from = LocalDate.of(2025, 4, 1);
+        LocalDate to = LocalDate.of(2025, 4, 30);
+        when(categoryBitmapIndex.match(List.of(2), false)).thenReturn(RoaringBitmap.bitmapOf(7));
+        when(eventRepository.findPage(any(EventPageCriteria.class))).thenReturn(new ArrayList<>());
+        ArgumentCaptor<EventPageCriteria> criteria = ArgumentCaptor.forClass(EventPageCriteria.class);
+
+        // WHEN
+        eventService.getEventsByCategory(2, new EventPageRequest(null, null, null, null, from, to, null, null, null, null));
+
+        // THEN
+        verify(eventRepository).findPage(criteria.capture());
+        assertThat(criteria.getValue().eventIds()).containsExactly(7);
+        assertThat(criteria.getValue().from()).isEqualTo(from);
+        assertThat(criteria.getValue().to()).isEqualTo(to);
+    }
+
+    /**
+     * TEST 26 : upcoming=true ramène une borne "from" passée à aujourd'hui,
+     * upcoming=false retire la borne par défaut
+     */
+    @Test
+    void getAllEvents_WithUpcomingFlag_ShouldAdjustLowerBound() {
+        // GIVEN
+        when(eventRepository.findPage(any(EventPageCriteria.class))).thenReturn(new ArrayList<>());
+        ArgumentCaptor<EventPageCriteria> criteria = ArgumentCaptor.forClass(EventPageCriteria.class);
+
+        // WHEN
+        eventService.getAllEvents(new EventPageRequest(null, null, null, null, LocalDate.of(2020, 1, 1), null, true, null, null, null));
+        eventService.getAllEvents(new EventPageRequest(null, null, null, null, null, null, false, null, null, null));
+
+        // THEN
+        verify(eventRepository, times(2)).findPage(criteria.capture());
+        assertThat(criteria.getAllValues().get(0).from()).isEqualTo(LocalDate.now());
+        assertThat(criteria.getAllValues().get(1).from()).isNull();
+    }
+
+    /**
+     * TEST 27 : from après to → 400
+     */
+    @Test
+    void getAllEvents_WithInvertedDateRange_ShouldThrowInvalidRequestParameterException() {
+        EventPageRequest pageRequest = new EventPageRequest(null, null, null, null,
+                LocalDate.now().plusDays(10), LocalDate.now().plusDays(1), null, null, null, null);
+
+        assertThatThrownBy(() -> eventService.getAllEvents(pageRequest))
+                .isInstanceOf(InvalidRequestParameterException.class);
+        verify(eventRepository, never()).findPage(any());
+    }
+
+    /**
+     * TEST 28 : streamEvents() charge les catégories par paquets
+     */
+    @Test
+    void streamEvents_ShouldLoadCategoriesByBatch() {
+        // GIVEN
+        int total = EventRepository.STREAM_FETCH_SIZE + 1;
+        List<EventViewDTO> views = new ArrayList<>();
+        for (int id = 1; id <= total; id++) {
+            views.add(createMockView(id, "Event " + id));
+        }
+        when(eventRepository.streamViewsByCategory(1)).thenReturn(views.stream());
+        List<EventViewDTO> streamed = new ArrayList<>();
+
+        // WHEN
+        eventService.streamEvents(1, streamed::add);
+
+        // THEN
+        assertThat(streamed).hasSize(total);
+        assertThat(streamed.get(total - 1).id()).isEqualTo(total);
+        verify(eventRepository, times(2)).findCategoriesByEventIds(any());
+        verify(eventRepository, never()).streamAllViews();
+    }
+
+    /**
+     * TEST 29 : getViewsByIds() conserve l'ordre demandé et ignore les IDs inconnus
+     */
+    @Test
+    void getViewsByIds_ShouldKeepRequestedOrderAndSkipUnknownIds() {
+        // GIVEN
+        when(eventRepository.findViewsByIds(List.of(3, 999, 1)))
+                .thenReturn(List.of(createMockView(1, "Premier"), createMockView(3, "Troisième")));
+        when(eventRepository.findCategoriesByEventIds(List.of(1, 3))).thenReturn(List.of());
+
+        // WHEN
+        List<EventViewDTO> result = eventService.getViewsByIds(List.of(3, 999, 1));
+
+        // THEN
+        assertThat(result).extracting(EventViewDTO::id).containsExactly(3, 1);
+    }
+
+    /**
+     * TEST 30 : categories + match=all → intersection calculée par l'index, page lue par IDs
+     */
+    @Test
+    void getAllEvents_WithAllCategories_ShouldQueryMatchingIdsOnly() {
+        // GIVEN
+        when(categoryBitmapIndex.match(List.of(1, 4), true)).thenReturn(RoaringBitmap.bitmapOf(3, 8));
+        when(eventRepository.findPage(any(EventPageCriteria.class))).thenReturn(new ArrayList<>());
+        ArgumentCaptor<EventPageCriteria> criteria = ArgumentCaptor.forClass(EventPageCriteria.class);
+
+        // WHEN : doublon ignoré, "ALL" insensible à la casse
+        eventService.getAllEvents(new EventPageRequest(null, null, null, null, null, null, null, List.of(1, 4, 1), "ALL", null));
+
+        // THEN
+        verify(eventRepository).findPage(criteria.capture());
+        assertThat(criteria.getValue().eventIds()).containsExactly(3, 8);
+        assertThat(criteria.getValue().categoryIds()).isNull();
+    }
+
+    /**
+     * TEST 31 : aucune correspondance → page vide sans requête SQL
+     */
+    @Test
+    void getAllEvents_WithEmptyIntersection_ShouldNotQueryDatabase() {
+        // GIVEN
+        when(categoryBitmapIndex.match(List.of(1, 2), true)).thenReturn(new RoaringBitmap());
+
+        // WHEN
+        EventPageDTO result = eventService.getAllEvents(
+                new EventPageRequest(null, null, null, null, null, null, null, List.of(1, 2), "all", null));
+
+        // THEN
+        assertThat(result.items()).isEmpty();
+        assertThat(result.nextCursor()).isNull();
+        verify(eventRepository, never()).findPage(any());
+    }
+
+    /**
+     * TEST 32 : trop d'événements correspondants → filtre par catégories délégué à la BDD
+     */
+    @Test
+    void getAllEvents_WithLargeMatch_ShouldFilterByCategoriesInDatabase() {
+        // GIVEN
+        RoaringBitmap large = new RoaringBitmap();
+        large.add(1L, EventService.MAX_EVENT_IDS_FILTER + 2L);
+        when(categoryBitmapIndex.match(List.of(1, 2), false)).thenReturn(large);
+        when(eventRepository.findPage(any(EventPageCriteria.class))).thenReturn(new ArrayList<>());
+        ArgumentCaptor<EventPageCriteria> criteria = ArgumentCaptor.forClass(EventPageCriteria.class);
+
+        // WHEN
+        eventService.getAllEvents(new EventPageRequest(null, null, null, null, null, null, null, List.of(1, 2), "any", null));
+
+        // THEN
+        verify(eventRepository).findPage(criteria.capture());
+        assertThat(criteria.getValue().eventIds()).isNull();
+        assertThat(criteria.getValue().categoryIds()).containsExactly(1, 2);
+        assertThat(criteria.getValue().matchAllCategories()).isFalse();
+    }
+
+    /**
+     * TEST 33 : match inconnu ou trop de catégories → 400
+     */
+    @Test
+    void getAllEvents_WithInvalidCategoryFilter_ShouldThrow() {
+        // GIVEN
+        List<Integer> tooMany = new ArrayList<>();
+        for (int i = 1; i <= EventService.MAX_CATEGORY_FILTER + 1; i++) {
+            tooMany.add(i);
+        }
+
+        // WHEN & THEN
+        assertThatThrownBy(() -> eventService.getAllEvents(
+                new EventPageRequest(null, null, null, null, null, null, null, List.of(1), "some", null)))
+                .isInstanceOf(InvalidRequestParameterException.class);
+        assertThatThrownBy(() -> eventService.getAllEvents(
+                new EventPageRequest(null, null, null, null, null, null, null, tooMany, null, null)))
+                .isInstanceOf(InvalidRequestParameterException.class);
+        verifyNoInteractions(categoryBitmapIndex);
+        verify(eventRepository, never()).findPage(any());
+    }
+
+    /**
+     * TEST 34 : latitude sans longitude → 400, rien n'est enregistré
+     */
+    @Test
+    void create_WithLatitudeOnly_ShouldThrowInvalidRequestParameterException() {
+        // GIVEN
+        EventCreateDTO dto = new EventCreateDTO(
+                "New Event", null, "Description", LocalDate.now().plusDays(10),
+                "Programme", "Contact", BigDecimal.TEN, 50, "Address", 48.85, null, List.of(1), null
+        );
+        mockAuthentication("test@example.com", TEST_PROFILE_ID);
+
+        // WHEN & THEN
+        assertThatThrownBy(() -> eventService.create(dto, "image.png"))
+                .isInstanceOf(InvalidRequestParameterException.class)
+                .hasMessageContaining("longitude");
+        verify(eventRepository, never()).save(any());
+    }
+
+    /**
+     * TEST 35 : getByIds() → ordre demandé, doublons ignorés, IDs inconnus signalés
+     */
+    @Test
+    void getByIds_ShouldKeepRequestedOrderAndReportMissingIds() {
+        // GIVEN
+        mockCacheMissForAll();
+        when(eventRepository.findViewsByIds(List.of(3, 999, 1)))
+                .thenReturn(List.of(createMockView(1, "Premier"), createMockView(3, "Troisième")));
+        when(eventRepository.findCategoriesByEventIds(List.of(1, 3))).thenReturn(List.of());
+
+        // WHEN
+        EventBatchDTO result = eventService.getByIds(List.of(3, 999, 1, 3));
+
+        // THEN
+        assertThat(result.items()).extracting(EventViewDTO::id).containsExactly(3, 1);
+        assertThat(result.missingIds()).containsExactly(999);
+        verify(eventRepository, times(1)).findViewsByIds(any());
+    }
+
+    /**
+     * TEST 36 : aucun ID, trop d'IDs ou ID null → 400
+     */
+    @Test
+    void getByIds_WithInvalidIds_ShouldThrowInvalidRequestParameterException() {
+        // GIVEN
+        List<Integer> tooMany = new ArrayList<>();
+        for (int i = 1; i <= EventService.MAX_BATCH_IDS + 1; i++) {
+            tooMany.add(i);
+        }
+
+        // WHEN & THEN
+        assertThatThrownBy(() -> eventService.getByIds(List.of()))
+                .isInstanceOf(InvalidRequestParameterException.class);
+        assertThatThrownBy(() -> eventService.getByIds(tooMany))
+                .isInstanceOf(InvalidRequestParameterException.class);
+        assertThatThrownBy(() -> eventService.getByIds(Arrays.asList(1, null)))
+                .isInstanceOf(InvalidRequestParameterException.class);
+        verifyNoInteractions(eventDetailCache);
+    }
+
+    /**
+     * TEST 37 : suppression groupée → une vérification de propriétaire,
+     * seuls les événements de l'utilisateur sont supprimés, les autres signalés
+     */
+    @Test
+    void applyBatch_Delete_ShouldDeleteOwnedEventsOnly() {
+        // GIVEN
+        mockAuthentication("test@example.com", TEST_PROFILE_ID);
+        when(eventRepository.findOwnersByIds(List.of(1, 2, 3))).thenReturn(List.of(
+                new EventOwnerDTO(1, TEST_PROFILE_ID, "abc.png"),
+                new EventOwnerDTO(2, OTHER_PROFILE_ID, "def.png")));
+
+        // WHEN
+        EventBatchResultDTO result = eventService.applyBatch(
+                new EventBatchMutationDTO(EventBatchOperation.DELETE, List.of(1, 2, 3, 1), null, null));
+
+        // THEN
+        assertThat(result.applied()).isEqualTo(1);
+        assertThat(result.outcomes()).containsExactly(
+                new EventBatchResultDTO.Outcome(1, EventBatchResultDTO.Status.DONE),
+                new EventBatchResultDTO.Outcome(2, EventBatchResultDTO.Status.FORBIDDEN),
+                new EventBatchResultDTO.Outcome(3, EventBatchResultDTO.Status.NOT_FOUND));
+        verify(eventRepository).deleteAllByIds(List.of(1));
+        verify(eventRepository, never()).findById(any());
+        verify(eventPublisher).publishEvent(new EventsChanged(List.of(1), EventChange.Type.DELETED));
+        // Seule l'image de l'événement supprimé est libérée
+        verify(eventPublisher).publishEvent(new ImagesReleased(List.of("abc.png")));
+    }
+
+    /**
+     * TEST 38 : nouvelles catégories → liens remplacés, révision incrémentée ;
+     * aucun événement de l'utilisateur → aucune écriture
+     */
+    @Test
+    void applyBatch_Recategorize_ShouldReplaceCategoryLinks() {
+        // GIVEN
+        mockAuthentication("test@example.com", TEST_PROFILE_ID);
+        when(categoryRepository.findAllById(List.of(1))).thenReturn(List.of(testCategory));
+        when(eventRepository.findOwnersByIds(List.of(1, 2))).thenReturn(List.of(
+                new EventOwnerDTO(1, TEST_PROFILE_ID, "abc.png"),
+                new EventOwnerDTO(2, TEST_PROFILE_ID, null)));
+        when(eventRepository.findOwnersByIds(List.of(5))).thenReturn(List.of(new EventOwnerDTO(5, OTHER_PROFILE_ID, null)));
+
+        // WHEN
+        eventService.applyBatch(new EventBatchMutationDTO(EventBatchOperation.RECATEGORIZE, List.of(1, 2), null, List.of(1)));
+        EventBatchResultDTO forbidden = eventService.applyBatch(
+                new EventBatchMutationDTO(EventBatchOperation.RECATEGORIZE, List.of(5), null, List.of(1)));
+
+        // THEN
+        verify(eventRepository).deleteCategoryLinks(List.of(1, 2));
+        verify(eventRepository).insertCategoryLinks(List.of(1, 2), List.of(1));
+        verify(eventRepository).touchAll(eq(List.of(1, 2)), any());
+        assertThat(forbidden.applied()).isZero();
+        verify(eventPublisher, times(1)).publishEvent(any(EventsChanged.class));
+    }
+
+    /**
+     * TEST 39 : date passée ou catégorie inconnue → 400 avant toute lecture des événements
+     */
+    @Test
+    void applyBatch_WithInvalidParameters_ShouldThrowInvalidRequestParameterException() {
+        // GIVEN
+        mockAuthentication("test@example.com", TEST_PROFILE_ID);
+        when(categoryRepository.findAllById(List.of(1, 99))).thenReturn(List.of(testCategory));
+
+        // WHEN & THEN
+        assertThatThrownBy(() -> eventService.applyBatch(new EventBatchMutationDTO(
+                EventBatchOperation.RESCHEDULE, List.of(1), LocalDate.now().minusDays(1), null)))
+                .isInstanceOf(InvalidRequestParameterException.class)
+                .hasMessageContaining("dateEvent");
+        assertThatThrownBy(() -> eventService.applyBatch(new EventBatchMutationDTO(
+                EventBatchOperation.RECATEGORIZE, List.of(1), null, List.of(1, 99))))
+                .isInstanceOf(InvalidRequestParameterException.class)
+                .hasMessageContaining("categoryIds");
+        verify(eventRepository, never()).findOwnersByIds(any());
+    }
+
+    /**
+     * TEST 40 : update() avec une version périmée (If-Match) → 412 sans écriture ;
+     * version à jour → écriture immédiate, nouvelle révision retournée
+     */
+    @Test
+    void update_WithExpectedVersion_ShouldRejectStaleVersion() {
+        // GIVEN
+        EventUpdateDTO dto = createValidUpdateDTO();
+        mockAuthentication("test@example.com", TEST_PROFILE_ID);
+        ReflectionTestUtils.setField(testEvent, "version", 3L);
+        when(eventRepository.findById(1)).thenReturn(Optional.of(testEvent));
+
+        // WHEN & THEN
+        assertThatThrownBy(() -> eventService.update(dto, 1, "new.png", 2L))
+                .isInstanceOf(PreconditionFailedException.class);
+        verify(eventRepository, never()).save(any());
+        verifyNoInteractions(eventPublisher);
+        assertThat(testEvent.getImgUrl()).isNotEqualTo("new.png");
+
+        // WHEN
+        when(categoryRepository.findAllById(List.of(1))).thenReturn(List.of(testCategory));
+        EventVersionDTO version = eventService.update(dto, 1, null, 3L);
+
+        // THEN
+        verify(eventRepository).flush();
+        assertThat(version.version()).isEqualTo(3L);
+        assertThat(version.updatedAt()).isEqualTo(testEvent.getUpdatedAt());
+    }
+
+    /**
+     * TEST 41 : patch() de deux attributs → seuls ceux-ci modifiés, catégories non résolues
+     */
+    @Test
+    void patch_ShouldApplyOnlyPatchedAttributes() throws Exception {
+        // GIVEN
+        mockAuthentication("test@example.com", TEST_PROFILE_ID);
+        when(eventRepository.findById(1)).thenReturn(Optional.of(testEvent));
+        JsonNode patch = objectMapper.readTree("""
+                {"dateEvent": "%s", "price": null}""".formatted(LocalDate.now().plusDays(5)));
+
+        // WHEN
+        EventVersionDTO version = eventService.patch(1, patch, null);
+
+        // THEN
+        assertThat(testEvent.getDateEvent()).isEqualTo(LocalDate.now().plusDays(5));
+        assertThat(testEvent.getPrice()).isNull();
+        assertThat(testEvent.getNameEvent()).isEqualTo("Test Event");
+        assertThat(testEvent.getImgUrl()).isEqualTo("test-image.png");
+        assertThat(version.updatedAt()).isNotNull().isEqualTo(testEvent.getUpdatedAt());
+        verify(eventRepository).flush();
+        verify(eventRepository, never()).save(any());
+        verifyNoInteractions(categoryRepository);
+        verify(eventPublisher).publishEvent(EventChange.updated(1));
+    }
+
+    /**
+     * TEST 42 : patch() invalide (attribut inconnu ou non modifiable, obligatoire effacé,
+     * valeur illisible ou hors règles) → 400 sans lecture de l'événement
+     */
+    @Test
+    void patch_WithInvalidPatch_ShouldThrowBeforeLoadingEvent() throws Exception {
+        // GIVEN
+        List<String> patches = List.of(
+                "[]",
+                "{\"imgUrl\": \"x.png\"}",
+                "{\"owner\": 2}",
+                "{\"nameEvent\": null}",
+                "{\"price\": \"gratuit\"}",
+                "{\"numberPlace\": -1}",
+                "{\"dateEvent\": \"2000-01-01\"}",
+                "{\"categoryIds\": []}");
+
+        // WHEN & THEN
+        for (String patch : patches) {
+            JsonNode node = objectMapper.readTree(patch);
+            assertThatThrownBy(() -> eventService.patch(1, node, null))
+                    .as(patch)
+                    .isInstanceOf(InvalidRequestParameterException.class);
+        }
+        verifyNoInteractions(eventRepository, eventPublisher);
+    }
+
+    /**
+     * TEST 43 : valeurs identiques (catégories comprises) → ni écriture ni notification ;
+     * nouvelles catégories → résolues, coordonnées à renseigner ensemble
+     */
+    @Test
+    void patch_WithUnchangedValues_ShouldNotWrite() throws Exception {
+        // GIVEN
+        mockAuthentication("test@example.com", TEST_PROFILE_ID);
+        when(eventRepository.findById(1)).thenReturn(Optional.of(testEvent));
+        Category concert = new Category();
+        concert.setId(2);
+
+        // WHEN
+        eventService.patch(1, objectMapper.readTree("""
+                {"nameEvent": "Test Event", "categoryIds": [1], "latitude": null}"""), null);
+
+        // THEN
+        verify(eventRepository, never()).flush();
+        verifyNoInteractions(categoryRepository, eventPublisher);
+        assertThat(testEvent.getUpdatedAt()).isNull();
+
+        // WHEN
+        when(categoryRepository.findAllById(Set.of(1, 2))).thenReturn(List.of(testCategory, concert));
+        eventService.patch(1, objectMapper.readTree("{\"categoryIds\": [2, 1]}"), null);
+
+        // THEN
+        assertThat(testEvent.getCategories()).extracting(Category::getId).containsExactlyInAnyOrder(1, 2);
+        verify(eventRepository).flush();
+        assertThatThrownBy(() -> eventService.patch(1, objectMapper.readTree("{\"latitude\": 48.85}"), null))
+                .isInstanceOf(InvalidRequestParameterException.class)
+                .hasMessageContaining("longitude");
+    }
+
+    /**
+     * TEST 44 : delete() d'un événement inconnu (ou déjà supprimé) → 404
+     * Image conservée tant qu'aucune suppression n'est enregistrée
+     */
+    @Test
+    void delete_WhenMissingOrDeletedConcurrently_ShouldThrowNotFound() {
+        // GIVEN
+        mockAuthentication("test@example.com", TEST_PROFILE_ID);
+        when(eventRepository.deleteOwned(2, TEST_PROFILE_ID)).thenReturn(Optional.empty());
+        when(eventRepository.existsById(2)).thenReturn(false);
+
+        // WHEN & THEN
+        assertThatThrownBy(() -> eventService.delete(2))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    /**
+     * TEST 45 : jeton émis avant l'ajout du claim profile_id → id relu par email,
+     * propriétaire toujours comparé par id
+     */
+    @Test
+    void delete_WithLegacyToken_ShouldResolveProfileIdByEmail() {
+        // GIVEN
+        mockLegacyAuthentication("test@example.com");
+        when(profileRepository.findIdByEmail("test@example.com")).thenReturn(Optional.of(TEST_PROFILE_ID));
+        when(eventRepository.deleteOwned(1, TEST_PROFILE_ID))
+                .thenReturn(Optional.of(new EventOwnerDTO(1, TEST_PROFILE_ID, null)));
+
+        // WHEN
+        eventService.delete(1);
+
+        // THEN
+        verify(eventRepository).deleteOwned(1, TEST_PROFILE_ID);
+        verify(profileRepository, never()).findByEmail(any());
+    }
+
+    /**
+     * TEST 46 : update() avec moins de places que d'inscrits → 409 sans écriture ni notification
+     */
+    @Test
+    void update_BelowSeatsTaken_ShouldThrowEventCapacityException() {
+        // GIVEN
+        mockAuthentication("test@example.com", TEST_PROFILE_ID);
+        ReflectionTestUtils.setField(testEvent, "seatsTaken", 201);
+        when(eventRepository.findById(1)).thenReturn(Optional.of(testEvent));
+
+        // WHEN & THEN
+        assertThatThrownBy(() -> eventService.update(createValidUpdateDTO(), 1, null, null))
+                .isInstanceOf(EventCapacityException.class)
+                .hasMessageContaining("200 places");
+        verify(eventRepository, never()).save(any());
+        verify(eventRepository, never()).flush();
+        verifyNoInteractions(eventPublisher);
+    }
+
+    /**
+     * TEST 47 : patch() de numberPlace sous le nombre d'inscrits → 409 sans écriture ;
+     * inscription commitée entre la lecture et l'écriture (contrainte ck_events_capacity) → même 409
+     */
+    @Test
+    void patch_BelowSeatsTaken_ShouldThrowEventCapacityException() throws Exception {
+        // GIVEN
+        mockAuthentication("test@example.com", TEST_PROFILE_ID);
+        ReflectionTestUtils.setField(testEvent, "seatsTaken", 10);
+        when(eventRepository.findById(1)).thenReturn(Optional.of(testEvent));
+
+        // WHEN & THEN
+        assertThatThrownBy(() -> eventService.patch(1, objectMapper.readTree("{\"numberPlace\": 9}"), null))
+                .isInstanceOf(EventCapacityException.class);
+        verify(eventRepository, never()).flush();
+
+        // GIVEN : places suffisantes à la lecture, contrainte violée à l'écriture
+        doThrow(new DataIntegrityViolationException("violates check constraint \"ck_events_capacity\""))
+                .when(eventRepository).flush();
+
+        // WHEN & THEN
+        assertThatThrownBy(() -> eventService.patch(1, objectMapper.readTree("{\"numberPlace\": 10}"), null))
+                .isInstanceOf(EventCapacityException.class);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    /**
+     * TEST 48 : getById() servi par le cache → ni transaction ni lecture en BDD
+     */
+    @Test
+    void getById_WhenCached_ShouldNotOpenTransaction() {
+        // GIVEN
+        when(eventDetailCache.get(eq(1), any())).thenReturn(Optional.of(createMockView(1, "Test Event")));
+
+        // WHEN
+        EventViewDTO result = eventService.getById(1);
+
+        // THEN
+        assertThat(result.id()).isEqualTo(1);
+        verifyNoInteractions(transactionManager, eventRepository);
+    }
+
+    /**
+     * TEST 49 : getById() sur un miss → lecture dans une transaction en lecture seule
+     */
+    @Test
+    void getById_WhenNotCached_ShouldLoadInReadOnlyTransaction() {
+        // GIVEN
+        mockCacheMiss();
+        when(eventRepository.findViewById(1)).thenReturn(Optional.of(createMockView(1, "Test Event")));
+
+        // WHEN
+        eventService.getById(1);
+
+        // THEN
+        verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+        verify(transactionManager).commit(any());
+    }
+
+    private EventViewDTO createMockView(Integer id, String name) {
+        return new EventViewDTO(id, name, "image.png", "Description", LocalDate.now().plusDays(1),
+                "Program", "Contact", BigDecimal.TEN, 50, "Address", null, null, 1L, null);
     }
 
     private EventCreateDTO createValidEventDTO() {
         return new EventCreateDTO(
                 "New Event", null, "Description", LocalDate.now().plusDays(10),
-                "Programme", "Contact", BigDecimal.TEN, 50, "Address", List.of(1), null
+                "Programme", "Contact", BigDecimal.TEN, 50, "Address", null, null, List.of(1), null
         );
     }
 
     private EventUpdateDTO createValidUpdateDTO() {
         return new EventUpdateDTO(
                 1, "Updated Event", null, "Updated Description", LocalDate.now().plusDays(20),
-                "Updated Programme", "Updated Contact", BigDecimal.valueOf(20), 200, "Updated Address", List.of(1), null
+                "Updated Programme", "Updated Contact", BigDecimal.valueOf(20), 200, "Updated Address", null, null, List.of(1), null
         );
     }
 
-    private void mockAuthentication(String email) {
+    /**
+     * Cache toujours vide : le loader du service est appelé (lecture en BDD)
+     */
+    @SuppressWarnings("unchecked")
+    private void mockCacheMiss() {
+        when(eventDetailCache.get(any(), any())).thenAnswer(invocation ->
+                invocation.getArgument(1, Function.class).apply(invocation.getArgument(0)));
+    }
+
+    /**
+     * Cache toujours vide : tous les IDs sont passés au loader groupé du service
+     */
+    @SuppressWarnings("unchecked")
+    private void mockCacheMissForAll() {
+        when(eventDetailCache.getAll(any(), any())).thenAnswer(invocation ->
+                invocation.getArgument(1, Function.class).apply(List.copyOf(invocation.getArgument(0, Collection.class))));
+    }
+
+    private void mockAuthentication(String email, Integer profileId) {
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "HS256")
+                .subject(email)
+                .claim(JwtProvider.PROFILE_ID_CLAIM, profileId)
+                .build();
+        when(securityContext.getAuthentication()).thenReturn(new JwtAuthenticationToken(jwt, List.of(), email));
+        SecurityContextHolder.setContext(securityContext);
+    }
+
+    /**
+     * Jeton émis avant l'ajout du claim profile_id : l'id est relu par email
+     */
+    private void mockLegacyAuthentication(String email) {
         when(securityContext.getAuthentication()).thenReturn(authentication);
         SecurityContextHolder.setContext(securityContext);
         when(authentication.getName()).thenReturn(email);
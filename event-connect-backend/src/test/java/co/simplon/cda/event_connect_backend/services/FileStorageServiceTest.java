@@ -1,10 +1,10 @@
 package co.simplon.cda.event_connect_backend.services;
 
 import co.simplon.cda.event_connect_backend.exceptions.InvalidFileException;
-import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
@@ -15,7 +15,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.mock;
@@ -37,27 +36,16 @@ import static org.mockito.Mockito.when;
 @MockitoSettings(strictness = Strictness.LENIENT)
 class FileStorageServiceTest {
     private FileStorageService fileStorageService;
-    private static final Path UPLOAD_PATH = Paths.get("uploads/events");
+    private Path uploadPath;
+
+    // Racine de stockage propre à chaque test, supprimée par JUnit : uploads/ n'est jamais touché
+    @TempDir
+    Path storageRoot;
 
     @BeforeEach
     void setUp() {
-        fileStorageService = new FileStorageService();
-    }
-
-    @AfterEach
-    void tearDown() throws IOException {
-        // Nettoyage : supprimer les fichiers de test créés
-        if (Files.exists(UPLOAD_PATH)) {
-            Files.list(UPLOAD_PATH)
-                    .filter(path -> path.getFileName().toString().contains("-"))
-                    .forEach(path -> {
-                        try {
-                            Files.deleteIfExists(path);
-                        } catch (IOException e) {
-                            // Ignorer les erreurs de nettoyage
-                        }
-                    });
-        }
+        fileStorageService = new FileStorageService(storageRoot);
+        uploadPath = storageRoot.resolve("events");
     }
 
     /**
@@ -75,7 +63,7 @@ class FileStorageServiceTest {
         assertThat(filename).isNotNull().endsWith(".png").contains("-");
 
         // Vérifier que le fichier existe physiquement
-        Path savedFile = UPLOAD_PATH.resolve(filename);
+        Path savedFile = uploadPath.resolve(filename);
         assertThat(savedFile).exists();
     }
 
@@ -92,7 +80,7 @@ class FileStorageServiceTest {
 
         // THEN
         assertThat(filename).isNotNull().endsWith(".jpg");
-        assertThat(UPLOAD_PATH.resolve(filename)).exists();
+        assertThat(uploadPath.resolve(filename)).exists();
     }
 
     /**
@@ -108,7 +96,7 @@ class FileStorageServiceTest {
 
         // THEN
         assertThat(filename).isNotNull().endsWith(".jpeg");
-        assertThat(UPLOAD_PATH.resolve(filename)).exists();
+        assertThat(uploadPath.resolve(filename)).exists();
     }
 
     /**
@@ -124,7 +112,7 @@ class FileStorageServiceTest {
 
         // THEN
         assertThat(filename).isNotNull().endsWith(".webp");
-        assertThat(UPLOAD_PATH.resolve(filename)).exists();
+        assertThat(uploadPath.resolve(filename)).exists();
     }
 
     /**
@@ -412,7 +400,7 @@ class FileStorageServiceTest {
     void deleteImage_WithExistingFile_ShouldDeleteFile() throws IOException {
         // GIVEN - Créer un fichier réel
         String filename = "test-delete.png";
-        Path testFile = UPLOAD_PATH.resolve(filename);
+        Path testFile = uploadPath.resolve(filename);
         Files.write(testFile, "test content".getBytes());
         assertThat(testFile).exists();
 
@@ -507,6 +495,43 @@ class FileStorageServiceTest {
                 .hasMessageContaining("invalide");
     }
 
+    /**
+     * TEST 32 : Suppression avec un nom qui sort du dossier ("../") → refusée,
+     * le fichier visé hors de uploads/events est intact
+     */
+    @Test
+    void deleteImage_WithTraversalFilename_ShouldNotTouchFileOutsideDirectory() throws IOException {
+        // GIVEN - Fichier voisin de uploads/events
+        Path outside = uploadPath.resolve("../traversal-target.png");
+        Files.write(outside, "do not delete".getBytes());
+
+        try {
+            // WHEN
+            fileStorageService.deleteImage("../traversal-target.png");
+            fileStorageService.deleteImage(outside.toAbsolutePath().toString());
+            fileStorageService.discardStaged("../traversal-target.png");
+
+            // THEN
+            assertThat(outside).exists();
+        } finally {
+            Files.deleteIfExists(outside);
+        }
+    }
+
+    /**
+     * TEST 33 : Chemins hors du dossier (lecture, mise de côté) → exception
+     */
+    @Test
+    void getImagePath_WithTraversalFilename_ShouldThrowException() {
+        // WHEN & THEN
+        assertThatThrownBy(() -> fileStorageService.getImagePath("../../pom.xml"))
+                .isInstanceOf(InvalidFileException.class);
+        assertThatThrownBy(() -> fileStorageService.getImagePath("."))
+                .isInstanceOf(InvalidFileException.class);
+        assertThatThrownBy(() -> fileStorageService.getStagedPath("../events/image.png"))
+                .isInstanceOf(InvalidFileException.class);
+    }
+
     /**
      * Crée un mock de MultipartFile pour les tests
      */
@@ -10,17 +10,20 @@ import co.simplon.cda.event_connect_backend.exceptions.InvalidCredentialsExcepti
 import co.simplon.cda.event_connect_backend.exceptions.ResourceNotFoundException;
 import co.simplon.cda.event_connect_backend.repositories.ProfileRepository;
 import co.simplon.cda.event_connect_backend.repositories.RoleRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.sql.SQLException;
 import java.util.List;
-import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -70,12 +73,14 @@ class ProfileServiceTest {
         testProfile.setPhone("0123456789");
         testProfile.setOrganization("Test Org");
         testProfile.setRole(testRole);
+        ReflectionTestUtils.setField(testProfile, "id", 5);
     }
 
     // ========== TESTS create() ==========
     /**
      * TEST 1 : create() - Cas nominal
-     * Vérifie qu'un utilisateur est bien créé avec mot de passe hashé
+     * Vérifie qu'un utilisateur est bien créé avec mot de passe hashé, sans lecture
+     * préalable (email ni rôle) ; le hash n'est calculé qu'après l'INSERT accepté
      */
     @Test
     void create_WithValidData_ShouldCreateProfile() {
@@ -89,24 +94,28 @@ class ProfileServiceTest {
                 "Test Org",
                 1
         );
-
-        when(profileRepository.existsByEmail("john@example.com")).thenReturn(false);
-        when(roleRepository.findById(1)).thenReturn(Optional.of(testRole));
+        when(roleRepository.getReferenceById(1)).thenReturn(testRole);
         when(passwordEncoder.encode("password123")).thenReturn("$2a$10$hashedPassword");
-        when(profileRepository.save(any(Profile.class))).thenReturn(testProfile);
+        when(profileRepository.saveAndFlush(any(Profile.class))).thenAnswer(inv -> inv.getArgument(0));
 
         // WHEN
         profileService.create(dto);
 
         // THEN
-        verify(profileRepository, times(1)).existsByEmail("john@example.com");
-        verify(passwordEncoder, times(1)).encode("password123");
-        verify(profileRepository, times(1)).save(any(Profile.class));
+        ArgumentCaptor<Profile> captor = ArgumentCaptor.forClass(Profile.class);
+        var order = inOrder(profileRepository, passwordEncoder);
+        order.verify(profileRepository, times(1)).saveAndFlush(captor.capture());
+        order.verify(passwordEncoder).encode("password123");
+        verifyNoMoreInteractions(profileRepository);
+        assertThat(captor.getValue().getPassword()).isEqualTo("$2a$10$hashedPassword");
+        assertThat(captor.getValue().getRole()).isSameAs(testRole);
+        verify(roleRepository, never()).findById(any());
+        verify(profileRepository, never()).findByEmail(anyString());
     }
 
     /**
-     * TEST 2 : create() - Email déjà existant
-     * Vérifie que DuplicateResourceException est levée
+     * TEST 2 : create() - Email déjà existant (contrainte uk_profiles_email)
+     * Vérifie que DuplicateResourceException est levée sans calculer de hash
      */
     @Test
     void create_WithExistingEmail_ShouldThrowDuplicateResourceException() {
@@ -120,20 +129,22 @@ class ProfileServiceTest {
                 "Test Org",
                 1
         );
-
-        when(profileRepository.existsByEmail("john@example.com")).thenReturn(true);
+        when(roleRepository.getReferenceById(1)).thenReturn(testRole);
+        when(profileRepository.saveAndFlush(any(Profile.class)))
+                .thenThrow(constraintViolation("PUBLIC.UK_PROFILES_EMAIL_INDEX_A"));
 
         // WHEN & THEN
         assertThatThrownBy(() -> profileService.create(dto))
                 .isInstanceOf(DuplicateResourceException.class)
                 .hasMessageContaining("email");
 
-        verify(profileRepository, never()).save(any());
+        verify(passwordEncoder, never()).encode(anyString());
     }
 
     /**
-     * TEST 3 : create() - Rôle inexistant
-     * Vérifie que ResourceNotFoundException est levée
+     * TEST 3 : create() - Rôle inexistant (contrainte fk_profiles_role)
+     * Vérifie que ResourceNotFoundException est levée sans calculer de hash, y compris avec le nom tronqué
+     * renvoyé pour H2 (nom complet lu dans le message du pilote)
      */
     @Test
     void create_WithNonExistentRole_ShouldThrowResourceNotFoundException() {
@@ -147,21 +158,24 @@ class ProfileServiceTest {
                 "Test Org",
                 999 // Rôle inexistant
         );
-
-        when(profileRepository.existsByEmail("john@example.com")).thenReturn(false);
-        when(roleRepository.findById(999)).thenReturn(Optional.empty());
+        when(roleRepository.getReferenceById(999)).thenReturn(testRole);
+        when(profileRepository.saveAndFlush(any(Profile.class)))
+                .thenThrow(constraintViolation("K_PROFILES_ROLE",
+                        "Referential integrity constraint violation: \"FK_PROFILES_ROLE: PUBLIC.T_PROFILES "
+                                + "FOREIGN KEY(ROLE_ID) REFERENCES PUBLIC.T_ROLES(ROLE_ID) (999)\""));
 
         // WHEN & THEN
         assertThatThrownBy(() -> profileService.create(dto))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("Role");
 
-        verify(profileRepository, never()).save(any());
+        verify(passwordEncoder, never()).encode(anyString());
     }
 
     /**
-     * TEST 4 : create() - Téléphone déjà existant (contrainte DB)
-     * Couvre le bloc catch avec phone
+     * TEST 4 : create() - Téléphone déjà existant (contrainte uk_profiles_phone)
+     * Vérifie que DuplicateResourceException est levée sans calculer de hash
+     * Le nom de la contrainte, et non le message SQL, désigne le champ en cause
      */
     @Test
     void create_WithDuplicatePhone_ShouldThrowDuplicateResourceException() {
@@ -175,28 +189,22 @@ class ProfileServiceTest {
                 "Test Org",
                 1
         );
-
-        when(profileRepository.existsByEmail("john@example.com")).thenReturn(false);
-        when(roleRepository.findById(1)).thenReturn(Optional.of(testRole));
-        when(passwordEncoder.encode("password123")).thenReturn("$2a$10$hashedPassword");
-
-        // Simuler une exception de contrainte d'unicité sur le téléphone
-        DataIntegrityViolationException dbException = new DataIntegrityViolationException(
-                "could not execute statement; SQL [n/a]; constraint [unique_phone]; nested exception is org.hibernate.exception.ConstraintViolationException"
-        );
-        when(profileRepository.save(any(Profile.class))).thenThrow(dbException);
+        when(roleRepository.getReferenceById(1)).thenReturn(testRole);
+        when(profileRepository.saveAndFlush(any(Profile.class)))
+                .thenThrow(constraintViolation("uk_profiles_phone"));
 
         // WHEN & THEN
         assertThatThrownBy(() -> profileService.create(dto))
                 .isInstanceOf(DuplicateResourceException.class)
                 .hasMessageContaining("phone");
 
-        verify(profileRepository, times(1)).save(any(Profile.class));
+        verify(passwordEncoder, never()).encode(anyString());
     }
 
     /**
      * TEST 5 : create() - Erreur DB générique
-     * Couvre le else du bloc catch
+     * Une violation sans contrainte connue donne le message générique,
+     * y compris une contrainte dont le nom ressemble à une contrainte connue
      */
     @Test
     void create_WithDatabaseError_ShouldThrowDuplicateResourceException() {
@@ -210,26 +218,27 @@ class ProfileServiceTest {
                 "Test Org",
                 1
         );
+        when(roleRepository.getReferenceById(1)).thenReturn(testRole);
 
-        when(profileRepository.existsByEmail("john@example.com")).thenReturn(false);
-        when(roleRepository.findById(1)).thenReturn(Optional.of(testRole));
-        when(passwordEncoder.encode("password123")).thenReturn("$2a$10$hashedPassword");
-
-        // Simuler une exception DB générique (pas phone ni email)
+        // Simuler une exception DB générique, sans nom de contrainte (et mentionnant phone)
         DataIntegrityViolationException dbException = new DataIntegrityViolationException(
-                "Unknown database error"
+                "Unknown database error on phone"
         );
-        when(profileRepository.save(any(Profile.class))).thenThrow(dbException);
+        when(profileRepository.saveAndFlush(any(Profile.class)))
+                .thenThrow(dbException)
+                .thenThrow(constraintViolation("ck_profiles_phone_format"));
 
         // WHEN & THEN
         assertThatThrownBy(() -> profileService.create(dto))
                 .isInstanceOf(DuplicateResourceException.class)
                 .hasMessageContaining("Erreur lors de la création du profil");
+        assertThatThrownBy(() -> profileService.create(dto))
+                .isInstanceOf(DuplicateResourceException.class)
+                .hasMessageContaining("Erreur lors de la création du profil");
 
-        verify(profileRepository, times(1)).save(any(Profile.class));
+        verify(passwordEncoder, never()).encode(anyString());
     }
 
-
     // ========== TESTS authenticate() ==========
     /**
      * TEST 5 : authenticate() - Cas nominal
@@ -245,7 +254,7 @@ class ProfileServiceTest {
 
         when(profileRepository.findByEmail("test@example.com")).thenReturn(testProfile);
         when(passwordEncoder.matches("password123", testProfile.getPassword())).thenReturn(true);
-        when(jwtProvider.create("test@example.com", List.of("ROLE_USER"))).thenReturn("jwt-token-123");
+        when(jwtProvider.create("test@example.com", 5, List.of("ROLE_USER"))).thenReturn("jwt-token-123");
 
         // WHEN
         String token = profileService.authenticate(dto);
@@ -255,7 +264,7 @@ class ProfileServiceTest {
 
         verify(profileRepository, times(1)).findByEmail("test@example.com");
         verify(passwordEncoder, times(1)).matches("password123", testProfile.getPassword());
-        verify(jwtProvider, times(1)).create("test@example.com", List.of("ROLE_USER"));
+        verify(jwtProvider, times(1)).create("test@example.com", 5, List.of("ROLE_USER"));
     }
 
     /**
@@ -278,7 +287,7 @@ class ProfileServiceTest {
                 .isInstanceOf(InvalidCredentialsException.class);
 
         verify(passwordEncoder, never()).matches(anyString(), anyString());
-        verify(jwtProvider, never()).create(anyString(), any());
+        verify(jwtProvider, never()).create(anyString(), any(), any());
     }
 
     /**
@@ -300,7 +309,7 @@ class ProfileServiceTest {
         assertThatThrownBy(() -> profileService.authenticate(dto))
                 .isInstanceOf(InvalidCredentialsException.class);
 
-        verify(jwtProvider, never()).create(anyString(), any());
+        verify(jwtProvider, never()).create(anyString(), any(), any());
     }
 
     /**
@@ -334,4 +343,18 @@ class ProfileServiceTest {
         assertThatThrownBy(() -> profileService.getByEmail("unknown@example.com"))
                 .isInstanceOf(ResourceNotFoundException.class);
     }
+
+    /**
+     * Exception telle que traduite par Spring depuis Hibernate pour la contrainte donnée
+     */
+    private static DataIntegrityViolationException constraintViolation(String constraintName) {
+        return constraintViolation(constraintName, "duplicate key");
+    }
+
+    private static DataIntegrityViolationException constraintViolation(String constraintName, String driverMessage) {
+        return new DataIntegrityViolationException(
+                "could not execute statement",
+                new ConstraintViolationException("duplicate key", new SQLException(driverMessage, "23505"), constraintName)
+        );
+    }
 }